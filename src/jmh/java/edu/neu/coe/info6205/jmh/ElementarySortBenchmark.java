@@ -0,0 +1,49 @@
+package edu.neu.coe.info6205.jmh;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the quadratic sorters on words taken from the Leipzig corpora.
+ * <p>
+ * These are kept separate from LinearithmicSortBenchmark only so that the default sizes can be much smaller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class ElementarySortBenchmark extends SortState {
+
+    @Param({"InsertionSort", "InsertionSortOpt", "SelectionSort", "BubbleSort", "RandomSort"})
+    public String sorter;
+
+    @Param({"1000", "4000"})
+    public int n;
+
+    @Param({"eng-uk_web_2002_100K-words.txt", "zho-simp-tw_web_2014_10K-words.txt", "3000-common-words.txt"})
+    public String corpus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        setUpTrial(sorter, n, corpus);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        setUpInvocation();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tearDownTrial();
+    }
+
+    @Benchmark
+    public String[] sortWords() {
+        return sort();
+    }
+}
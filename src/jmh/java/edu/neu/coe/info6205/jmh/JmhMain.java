@@ -0,0 +1,31 @@
+package edu.neu.coe.info6205.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ * <p>
+ * This accepts all of the usual JMH command line options but, unless told otherwise (by -rf and/or -rff),
+ * it writes the results in JSON to jmh-result.json so that they can be compared between runs.
+ */
+public class JmhMain {
+
+    public static void main(String[] args) throws Exception {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListWithParams()
+                || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        final ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) builder.resultFormat(ResultFormatType.JSON);
+        if (!commandLineOptions.getResult().hasValue()) builder.result(RESULT_FILE);
+        new Runner(builder.build()).run();
+    }
+
+    public static final String RESULT_FILE = "jmh-result.json";
+}
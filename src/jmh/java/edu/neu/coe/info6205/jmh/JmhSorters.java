@@ -0,0 +1,75 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortPlanner;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.elementary.*;
+import edu.neu.coe.info6205.sort.linearithmic.*;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Registry of every SortWithHelper implementation which can be benchmarked by JMH.
+ * <p>
+ * The keys of this registry are the values which may be given for the "sorter" parameter of the JMH benchmarks,
+ * for example: <code>java -jar target/benchmarks.jar -p sorter=IntroSort,TimSort</code>.
+ * Each sorter is created with an uninstrumented Helper so that we measure the sort itself.
+ */
+public class JmhSorters {
+
+    /**
+     * Method to create a sorter of Strings by name.
+     *
+     * @param name   the name of the sorter (a key of the registry).
+     * @param n      the number of elements which will be sorted.
+     * @param config the configuration.
+     * @return a new SortWithHelper of String.
+     */
+    public static SortWithHelper<String> create(String name, int n, Config config) {
+        final Function<Helper<String>, SortWithHelper<String>> factory = sorters.get(name);
+        if (factory == null) throw new IllegalArgumentException("JmhSorters.create: unknown sorter: " + name + " (known sorters: " + sorters.keySet() + ")");
+        return factory.apply(new BaseHelper<>(name, n, config));
+    }
+
+    /**
+     * @return the (read-only) registry of sorter factories, keyed by name.
+     */
+    public static Map<String, Function<Helper<String>, SortWithHelper<String>>> getSorters() {
+        return Collections.unmodifiableMap(sorters);
+    }
+
+    private static final Map<String, Function<Helper<String>, SortWithHelper<String>>> sorters = new LinkedHashMap<>();
+
+    static {
+        // NOTE linearithmic sorts.
+        sorters.put("QuickSort_DualPivot", QuickSort_DualPivot::new);
+        sorters.put("QuickSort_3way", QuickSort_3way::new);
+        sorters.put("QuickSort_Basic", QuickSort_Basic::new);
+        sorters.put("QuickSort_Exp", QuickSort_Exp::new);
+        sorters.put("IntroSort", IntroSort::new);
+        sorters.put("SampleSort", SampleSort::new);
+        sorters.put("MergeSort", MergeSort::new);
+        sorters.put("MergeSortBasic", MergeSortBasic::new);
+        sorters.put("TimSort", TimSort::new);
+        sorters.put("HeapSort", HeapSort::new);
+        sorters.put("ShellSort", helper -> new ShellSort<>(5, helper));
+        // NOTE String-specific and adaptive sorts.
+        sorters.put("HuskySort", HuskySort::new);
+        sorters.put("SortPlanner", helper -> new SortPlanner<>(helper, SortPlanner.DEFAULT_SAMPLES));
+        // NOTE quadratic (or worse) sorts.
+        sorters.put("InsertionSort", InsertionSort::new);
+        sorters.put("InsertionSortOpt", InsertionSortOpt::new);
+        sorters.put("SelectionSort", SelectionSort::new);
+        sorters.put("BubbleSort", BubbleSort::new);
+        sorters.put("RandomSort", RandomSort::new);
+    }
+
+    // NOTE private constructor (utility class)
+    private JmhSorters() {
+    }
+}
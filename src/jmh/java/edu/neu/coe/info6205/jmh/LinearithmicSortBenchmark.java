@@ -0,0 +1,53 @@
+package edu.neu.coe.info6205.jmh;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the linearithmic (and sub-quadratic) sorters on words taken from the Leipzig corpora.
+ * <p>
+ * Unlike Benchmark_Timer, JMH forks a fresh JVM for each trial, warms up until the iteration time is stable
+ * and reports the error of the mean, so that small differences between (for example) QuickSort_DualPivot and IntroSort
+ * can be trusted.
+ * Any sorter known to JmhSorters may be specified on the command line, for example:
+ * <code>java -jar target/benchmarks.jar LinearithmicSortBenchmark -p sorter=MergeSort -p n=100000</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class LinearithmicSortBenchmark extends SortState {
+
+    @Param({"QuickSort_DualPivot", "QuickSort_3way", "QuickSort_Basic", "QuickSort_Exp", "IntroSort", "SampleSort", "MergeSort", "MergeSortBasic", "TimSort", "HeapSort", "ShellSort", "HuskySort", "SortPlanner"})
+    public String sorter;
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"eng-uk_web_2002_100K-words.txt", "zho-simp-tw_web_2014_10K-words.txt", "rus-su_web_2015_10K-words.txt"})
+    public String corpus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        setUpTrial(sorter, n, corpus);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        setUpInvocation();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tearDownTrial();
+    }
+
+    @Benchmark
+    public String[] sortWords() {
+        return sort();
+    }
+}
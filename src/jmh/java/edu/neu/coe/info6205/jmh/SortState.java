@@ -0,0 +1,66 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.Config;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Base class for the JMH benchmark states: it holds the sorter, the (fixed) input and the working array.
+ * <p>
+ * The concrete state classes declare the JMH parameters (sorter, n and corpus) and delegate to this class.
+ * The input is generated once per trial (with a fixed seed) and copied into the working array before each invocation,
+ * so that every invocation (in every fork) sorts exactly the same data.
+ */
+abstract class SortState {
+
+    /**
+     * Set up the sorter and the input for a trial.
+     *
+     * @param sorterName the name of the sorter (see JmhSorters).
+     * @param n          the number of words to sort.
+     * @param corpus     the resource from which the words are taken.
+     */
+    void setUpTrial(String sorterName, int n, String corpus) throws IOException {
+        sorter = JmhSorters.create(sorterName, n, Config.load(SortState.class));
+        input = WordCorpus.randomWords(WordCorpus.getWords(corpus), n, SEED);
+        work = Arrays.copyOf(input, n);
+    }
+
+    /**
+     * Restore the working array to its unsorted state (outside of the measured time).
+     */
+    void setUpInvocation() {
+        System.arraycopy(input, 0, work, 0, input.length);
+    }
+
+    /**
+     * Sort the working array (this is what is measured).
+     *
+     * @return the sorted array (returned so that JMH can consume it).
+     */
+    String[] sort() {
+        sorter.mutatingSort(work);
+        return work;
+    }
+
+    /**
+     * Check that the last invocation actually sorted the array and release the sorter.
+     * We do not want to be timing a sorter which doesn't work.
+     */
+    void tearDownTrial() {
+        try {
+            if (!sorter.getHelper().sorted(work))
+                throw new IllegalStateException("sorter " + sorter + " did not sort its input");
+        } finally {
+            sorter.close();
+        }
+    }
+
+    private static final long SEED = 0L;
+
+    private SortWithHelper<String> sorter;
+    private String[] input;
+    private String[] work;
+}
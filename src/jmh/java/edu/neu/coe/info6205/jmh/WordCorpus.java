@@ -0,0 +1,68 @@
+package edu.neu.coe.info6205.jmh;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class to load the word lists in src/main/resources (the Leipzig corpora and the common words list).
+ * <p>
+ * NOTE: unlike SortBenchmarkHelper.getWords, this reads the resource as a stream so that it works from inside the benchmarks jar.
+ */
+public class WordCorpus {
+
+    /**
+     * Method to get the (distinct) words of a resource.
+     * The Leipzig "words" files have the form: rank TAB word [TAB word] TAB frequency;
+     * other files are assumed to have one word per line.
+     *
+     * @param resource the name of the resource, for example: eng-uk_web_2002_100K-words.txt.
+     * @return an array of distinct words, each of length at least two.
+     */
+    public static String[] getWords(String resource) {
+        return cache.computeIfAbsent(resource, WordCorpus::load);
+    }
+
+    /**
+     * Method to create a random array of n words, chosen (with replacement) from words.
+     *
+     * @param words the words from which to choose.
+     * @param n     the number of words required.
+     * @param seed  the seed for the random number generator (so that every fork sorts the same data).
+     * @return a new array of n words.
+     */
+    public static String[] randomWords(String[] words, int n, long seed) {
+        final Random random = new Random(seed);
+        final String[] result = new String[n];
+        for (int i = 0; i < n; i++) result[i] = words[random.nextInt(words.length)];
+        return result;
+    }
+
+    private static String[] load(String resource) {
+        final InputStream stream = WordCorpus.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) throw new IllegalArgumentException("WordCorpus: cannot find resource: " + resource);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().map(WordCorpus::getWord).filter(w -> w.length() >= MINIMUM_LENGTH).distinct().toArray(String[]::new);
+        } catch (IOException e) {
+            throw new RuntimeException("WordCorpus: cannot read resource: " + resource, e);
+        }
+    }
+
+    private static String getWord(String line) {
+        final String[] fields = line.split("\t");
+        return fields.length > 1 ? fields[1] : line.trim();
+    }
+
+    private static final int MINIMUM_LENGTH = 2;
+
+    private static final Map<String, String[]> cache = new ConcurrentHashMap<>();
+
+    // NOTE private constructor (utility class)
+    private WordCorpus() {
+    }
+}
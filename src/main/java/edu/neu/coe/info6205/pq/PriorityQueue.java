@@ -101,6 +101,47 @@ public class PriorityQueue<K> implements Iterable<K> {
         swimUp(last); // reorder the binary heap
     }
 
+    /**
+     * Offer an element to this Priority Queue, treated as a bounded queue.
+     * <p>
+     * If there is room, this is the same as give.
+     * Otherwise, key replaces the root element only if the root would be taken before key (i.e. it is larger, if max is true).
+     * Thus, a max-PQ of capacity k to which a stream of elements has been offered holds the k smallest elements of the stream
+     * (and a min-PQ holds the k largest), with the least eligible of them at the root.
+     *
+     * @param key the value of the key to offer.
+     * @return true if key was retained.
+     */
+    public boolean offer(K key) {
+        if (last < binHeap.length - 1) {
+            give(key);
+            return true;
+        }
+        if (last == 0) return false;
+        final int cmp = comparator.compare(binHeap[1], key);
+        // NOTE in the case of a tie, the incumbent is retained.
+        if (max ? cmp <= 0 : cmp >= 0) return false;
+        binHeap[1] = key;
+        sink(1);
+        return true;
+    }
+
+    /**
+     * @return the root element (the element which would be taken next) without removing it.
+     * @throws PQException if this priority queue is empty
+     */
+    public K peek() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        return binHeap[1];
+    }
+
+    /**
+     * @return the maximum number of elements which this Priority Queue can hold.
+     */
+    public int capacity() {
+        return binHeap.length - 1;
+    }
+
     /**
      * Remove the root element from this Priority Queue and adjust the binary heap accordingly.
      * If max is true, then the result will be the maximum element, else the minimum element.
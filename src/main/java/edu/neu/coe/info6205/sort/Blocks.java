@@ -0,0 +1,77 @@
+package edu.neu.coe.info6205.sort;
+
+/**
+ * The division of the sub-array from ... to-1 into blocks, one per thread, for a parallel distribution sort
+ * (such as SampleSort, ClassicSort or BucketSortPrimitive).
+ * <p>
+ * Such a sort proceeds in phases: each block counts its elements per bucket in its own histogram (offsets[block]);
+ * the prefix sums over (bucket, block) then tell each block exactly where to write each of its elements,
+ * so that all of the blocks can be distributed at once without synchronization.
+ */
+public final class Blocks {
+
+    /**
+     * Constructor for Blocks.
+     *
+     * @param from    the index of the first element.
+     * @param to      the index of the first element not included.
+     * @param nBlocks the number of blocks (at least one).
+     */
+    public Blocks(int from, int to, int nBlocks) {
+        if (nBlocks < 1) throw new IllegalArgumentException("Blocks: nBlocks must be positive: " + nBlocks);
+        this.from = from;
+        this.to = to;
+        this.nBlocks = nBlocks;
+        this.blockSize = (to - from + nBlocks - 1) / nBlocks;
+    }
+
+    /**
+     * NOTE when blockSize is rounded up, the trailing blocks may be empty: they start at to (not beyond it).
+     *
+     * @param block the index of a block.
+     * @return the index of the first element of the block.
+     */
+    public int start(int block) {
+        return Math.min(to, from + block * blockSize);
+    }
+
+    /**
+     * @param block the index of a block.
+     * @return the index of the first element after the block.
+     */
+    public int end(int block) {
+        return Math.min(to, start(block) + blockSize);
+    }
+
+    public int getBlocks() {
+        return nBlocks;
+    }
+
+    /**
+     * Replace the count of each bucket of each block by its offset: the prefix sums over (bucket, block),
+     * so that bucket k of block b starts at offsets[b][k].
+     *
+     * @param offsets the counts of each block (one row per block, one column per bucket), replaced by the offsets.
+     * @return the start of each bucket, followed by the total count.
+     */
+    public static int[] prefixSums(int[][] offsets) {
+        final int nBuckets = offsets.length > 0 ? offsets[0].length : 0;
+        final int[] result = new int[nBuckets + 1];
+        int sum = 0;
+        for (int k = 0; k < nBuckets; k++) {
+            result[k] = sum;
+            for (int[] counts : offsets) {
+                final int count = counts[k];
+                counts[k] = sum;
+                sum += count;
+            }
+        }
+        result[nBuckets] = sum;
+        return result;
+    }
+
+    private final int from;
+    private final int to;
+    private final int nBlocks;
+    private final int blockSize;
+}
@@ -0,0 +1,163 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static edu.neu.coe.info6205.util.Utilities.formatWhole;
+
+/**
+ * Instrumenting Helper which may be shared by the threads of a parallel sort.
+ * <p>
+ * The counters of InstrumentedHelper are plain fields, so that two threads which increment them at the same time
+ * will lose counts (and will fight over the same cache line).
+ * In this Helper, the counters are striped in the manner of LongAdder: each thread increments its own private stripe
+ * (with plain, non-atomic, writes) and the stripes are only summed when the statistics are gathered (in postProcess).
+ * <p>
+ * NOTE: the sums are only guaranteed to be complete if every thread which has incremented a counter has finished
+ * (for example, the sort's tasks have all been joined) before the counts are read.
+ *
+ * @param <X> the underlying type (must be Comparable).
+ */
+public class ConcurrentInstrumentedHelper<X extends Comparable<X>> extends InstrumentedHelper<X> {
+
+    @Override
+    public void incrementCompares(long n) {
+        if (countCompares) stripe.get()[COMPARES_SLOT] += n;
+    }
+
+    @Override
+    public void incrementSwaps(long n) {
+        if (countSwaps) stripe.get()[SWAPS_SLOT] += n;
+    }
+
+    @Override
+    public void incrementCopies(int n) {
+        if (countCopies) stripe.get()[COPIES_SLOT] += n;
+    }
+
+    @Override
+    public void incrementHits(int n) {
+        if (countHits) stripe.get()[HITS_SLOT] += n;
+    }
+
+    @Override
+    public void incrementFixes(int n) {
+        if (countFixes) stripe.get()[FIXES_SLOT] += n;
+    }
+
+    @Override
+    public long getCompares() {
+        return sum(COMPARES_SLOT);
+    }
+
+    @Override
+    public long getSwaps() {
+        return sum(SWAPS_SLOT);
+    }
+
+    @Override
+    public long getFixes() {
+        return sum(FIXES_SLOT);
+    }
+
+    @Override
+    protected long getHits() {
+        return sum(HITS_SLOT);
+    }
+
+    @Override
+    protected long getCopies() {
+        return sum(COPIES_SLOT);
+    }
+
+    @Override
+    protected void resetCounters() {
+        for (long[] counts : stripes) Arrays.fill(counts, 0L);
+    }
+
+    @Override
+    public void registerDepth(int depth) {
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    @Override
+    public int maxDepth() {
+        return maxDepth.get();
+    }
+
+    /**
+     * @return the number of threads which have incremented a counter since this Helper was created.
+     */
+    public int stripes() {
+        return stripes.size();
+    }
+
+    @Override
+    public String toString() {
+        return "Concurrent instrumenting helper for " + description + " with " + formatWhole(n) + " elements";
+    }
+
+    /**
+     * Constructor for explicit random number generator.
+     *
+     * @param description the description of this Helper (for humans).
+     * @param n           the number of elements expected to be sorted. The field n is mutable so can be set after the constructor.
+     * @param random      a random number generator.
+     * @param config      the configuration (note that the seed value is ignored).
+     */
+    public ConcurrentInstrumentedHelper(String description, int n, Random random, Config config) {
+        super(description, n, random, config);
+    }
+
+    /**
+     * Constructor to create a Helper
+     *
+     * @param description the description of this Helper (for humans).
+     * @param n           the number of elements expected to be sorted. The field n is mutable so can be set after the constructor.
+     * @param seed        the seed for the random number generator.
+     * @param config      the configuration.
+     */
+    public ConcurrentInstrumentedHelper(String description, int n, long seed, Config config) {
+        this(description, n, new Random(seed), config);
+    }
+
+    /**
+     * Constructor to create a Helper
+     *
+     * @param description the description of this Helper (for humans).
+     * @param n           the number of elements expected to be sorted. The field n is mutable so can be set after the constructor.
+     * @param config      The configuration.
+     */
+    public ConcurrentInstrumentedHelper(String description, int n, Config config) {
+        this(description, n, config.getLong("helper", "seed", System.currentTimeMillis()), config);
+    }
+
+    private long sum(int slot) {
+        long result = 0;
+        for (long[] counts : stripes) result += counts[slot];
+        return result;
+    }
+
+    private static final int COMPARES_SLOT = 0;
+    private static final int SWAPS_SLOT = 1;
+    private static final int COPIES_SLOT = 2;
+    private static final int FIXES_SLOT = 3;
+    private static final int HITS_SLOT = 4;
+    // NOTE each stripe is padded out to 128 bytes so that two threads' stripes are unlikely to share a cache line.
+    private static final int STRIPE_LENGTH = 16;
+
+    private final Queue<long[]> stripes = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<long[]> stripe = ThreadLocal.withInitial(this::newStripe);
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    private long[] newStripe() {
+        final long[] result = new long[STRIPE_LENGTH];
+        stripes.add(result);
+        return result;
+    }
+}
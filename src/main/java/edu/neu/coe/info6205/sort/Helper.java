@@ -1,7 +1,5 @@
 package edu.neu.coe.info6205.sort;
 
-import edu.neu.coe.info6205.sort.linearithmic.MergeSortBasic;
-
 import static java.util.Arrays.binarySearch;
 
 /**
@@ -190,8 +188,8 @@ public interface Helper<X extends Comparable<X>> extends GenericHelper<X> {
      * @param xs an array of Xs.
      * @return the number of inversions.
      */
-    default int inversions(X[] xs) {
-        return MergeSortBasic.countInversions(xs);
+    default long inversions(X[] xs) {
+        return Inversions.count(xs);
     }
 
     /**
@@ -234,6 +232,39 @@ public interface Helper<X extends Comparable<X>> extends GenericHelper<X> {
         // do nothing.
     }
 
+    /**
+     * If instrumenting, increment the number of compares by n.
+     * <p>
+     * NOTE: this is intended for sorts which do not operate on arrays of X (for example, primitive sorts)
+     * and which therefore cannot use the instrumented compare methods.
+     *
+     * @param n the number of compares made.
+     */
+    default void incrementCompares(long n) {
+        // do nothing.
+    }
+
+    /**
+     * If instrumenting, increment the number of swaps by n.
+     * <p>
+     * NOTE: this is intended for sorts which do not operate on arrays of X (for example, primitive sorts)
+     * and which therefore cannot use the instrumented swap methods.
+     *
+     * @param n the number of swaps made.
+     */
+    default void incrementSwaps(long n) {
+        // do nothing.
+    }
+
+    /**
+     * If instrumenting, add the current counts to the statistics.
+     * This is invoked by postProcess(X[]) but may also be invoked directly by sorts which do not operate on arrays of X
+     * (such sorts are responsible for checking that their result is sorted).
+     */
+    default void gatherStatistics() {
+        // do nothing.
+    }
+
     /**
      * Method to do any required preProcessing.
      *
@@ -45,7 +45,8 @@ public class HelperFactory {
      * @return a Helper<X></X>
      */
     public static <X extends Comparable<X>> Helper<X> create(String description, int nElements, boolean instrumented, Config config) {
-        return instrumented ? new InstrumentedHelper<>(description, nElements, config) : new BaseHelper<>(description, nElements, config);
+        if (!instrumented) return new BaseHelper<>(description, nElements, config);
+        return isConcurrent(config) ? new ConcurrentInstrumentedHelper<>(description, nElements, config) : new InstrumentedHelper<>(description, nElements, config);
     }
 
     /**
@@ -60,7 +61,8 @@ public class HelperFactory {
      * @return a Helper<X></X>
      */
     public static <X extends Comparable<X>> Helper<X> create(String description, int nElements, boolean instrumented, long seed, Config config) {
-        return instrumented ? new InstrumentedHelper<>(description, nElements, seed, config) : new BaseHelper<>(description, nElements, seed, config);
+        if (!instrumented) return new BaseHelper<>(description, nElements, seed, config);
+        return isConcurrent(config) ? new ConcurrentInstrumentedHelper<>(description, nElements, seed, config) : new InstrumentedHelper<>(description, nElements, seed, config);
     }
 
     /**
@@ -77,4 +79,14 @@ public class HelperFactory {
         return new ClassicHelper<>(description, nElements, new Random(config.getLong("helper", "seed", System.currentTimeMillis())), config);
     }
 
+    /**
+     * Method to determine if an instrumented Helper must be safe for use by several threads at once.
+     *
+     * @param config the configuration.
+     * @return true if concurrent is set to true in the instrumenting section.
+     */
+    private static boolean isConcurrent(Config config) {
+        return Boolean.parseBoolean(config.get(InstrumentedHelper.INSTRUMENTING, InstrumentedHelper.CONCURRENT));
+    }
+
 }
@@ -279,15 +279,11 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      * @param n the size to be managed.
      */
     public void init(int n) {
-        compares = 0;
-        swaps = 0;
-        copies = 0;
-        fixes = 0;
-        hits = 0;
+        resetCounters();
         // NOTE: it's an error to reset the StatPack if we've been here before
         if (n == this.n && statPack != null) return;
         super.init(n);
-        statPack = new StatPack(Statistics.NORMALIZER_LINEARITHMIC_NATURAL, n, COMPARES, SWAPS, COPIES, INVERSIONS, FIXES, HITS);
+        statPack = new StatPack(Statistics.NORMALIZER_LINEARITHMIC_NATURAL, n, COMPARES, SWAPS, COPIES, INVERSIONS, ESTIMATED_INVERSIONS, FIXES, HITS);
     }
 
     /**
@@ -299,10 +295,16 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
     @Override
     public X[] preProcess(X[] xs) {
         final X[] result = super.preProcess(xs);
-        // NOTE: because counting inversions is so slow, we only do if for a (configured) number of samples.
-        if (countInversions-- > 0) {
+        // NOTE: counting inversions takes O(n log n) time so we do it only for a (configured) number of runs (every run if negative).
+        // Otherwise, if inversionsamples is set, we estimate the inversions in O(inversionsamples) time.
+        // NOTE an estimate is recorded as ESTIMATED_INVERSIONS so that it is never mistaken for an exact count.
+        if (countInversions != 0) {
+            if (countInversions > 0) countInversions--;
             if (statPack != null) statPack.add(INVERSIONS, inversions(result));
             else throw new RuntimeException("InstrumentedHelper.postProcess: no StatPack");
+        } else if (inversionSamples > 0) {
+            if (statPack != null) statPack.add(ESTIMATED_INVERSIONS, Inversions.estimate(result, inversionSamples, inversionRandom).mean);
+            else throw new RuntimeException("InstrumentedHelper.postProcess: no StatPack");
         }
         return result;
     }
@@ -319,21 +321,25 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
     public void postProcess(X[] xs) {
         super.postProcess(xs);
         if (!sorted(xs)) throw new BaseHelper.HelperException("Array is not sorted");
-        gatherStatistic();
+        gatherStatistics();
     }
 
-    private void gatherStatistic() {
+    /**
+     * Add the current counts to the statistics.
+     */
+    @Override
+    public void gatherStatistics() {
         if (statPack == null) throw new RuntimeException("InstrumentedHelper.postProcess: no StatPack");
         if (countCompares)
-            statPack.add(COMPARES, compares);
+            statPack.add(COMPARES, getCompares());
         if (countSwaps)
-            statPack.add(SWAPS, swaps);
+            statPack.add(SWAPS, getSwaps());
         if (countCopies)
-            statPack.add(COPIES, copies);
+            statPack.add(COPIES, getCopies());
         if (countFixes)
-            statPack.add(FIXES, fixes);
+            statPack.add(FIXES, getFixes());
         if (countHits)
-            statPack.add(HITS, hits);
+            statPack.add(HITS, getHits());
     }
 
     @Override
@@ -380,6 +386,7 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
         this.countSwaps = config.getBoolean(INSTRUMENTING, SWAPS);
         this.countCompares = config.getBoolean(INSTRUMENTING, COMPARES);
         this.countInversions = config.getInt(INSTRUMENTING, INVERSIONS, 0);
+        this.inversionSamples = config.getInt(INSTRUMENTING, INVERSION_SAMPLES, 0);
         this.countFixes = config.getBoolean(INSTRUMENTING, FIXES);
         this.countHits = config.getBoolean(INSTRUMENTING, HITS); // the number of array accesses
         this.cutoff = config.getInt("helper", "cutoff", 0);
@@ -423,19 +430,22 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
     public static final String COMPARES = "compares";
     public static final String COPIES = "copies";
     public static final String INVERSIONS = "inversions";
+    public static final String INVERSION_SAMPLES = "inversionsamples";
+    public static final String ESTIMATED_INVERSIONS = "estimatedinversions";
     public static final String FIXES = "fixes";
     public static final String HITS = "hits";
     public static final String INSTRUMENTING = "instrumenting";
+    public static final String CONCURRENT = "concurrent";
 
-    public int getCompares() {
+    public long getCompares() {
         return compares;
     }
 
-    public int getSwaps() {
+    public long getSwaps() {
         return swaps;
     }
 
-    public int getFixes() {
+    public long getFixes() {
         return fixes;
     }
     
@@ -480,51 +490,80 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
     @Override
     public String showFixes(X[] xs) {
         checkFixes(xs);
-        return "fixes+inversions: " + (fixes + inversions(xs));
+        return "fixes+inversions: " + (getFixes() + inversions(xs));
     }
 
-    private void incrementCompares() {
+    /**
+     * If instrumenting, increment the number of compares by n.
+     *
+     * @param n the number of compares made.
+     */
+    @Override
+    public void incrementCompares(long n) {
         if (countCompares)
-            compares++;
+            compares += n;
     }
 
-    private void incrementSwaps(int n) {
+    /**
+     * If instrumenting, increment the number of swaps by n.
+     *
+     * @param n the number of swaps made.
+     */
+    @Override
+    public void incrementSwaps(long n) {
         if (countSwaps)
             swaps += n;
     }
 
-    // NOTE: the following private methods are only for testing (using reflection).
+    private void incrementCompares() {
+        incrementCompares(1);
+    }
+
+    /**
+     * Reset all of the counters to zero.
+     */
+    protected void resetCounters() {
+        compares = 0;
+        swaps = 0;
+        copies = 0;
+        fixes = 0;
+        hits = 0;
+    }
+
+    // NOTE: the following methods are (other than for sub-classes) only for testing (using reflection).
 
-    private int getHits() {
+    protected long getHits() {
         return hits;
     }
 
-    private int getCopies() {
+    protected long getCopies() {
         return copies;
     }
 
     private void checkFixes(X[] xs) {
         if (statPack != null) {
             final double initial = statPack.total(INVERSIONS);
-            final int inversions = inversions(xs);
-            if (fixes + inversions != initial) {
+            final long inversions = inversions(xs);
+            if (getFixes() + inversions != initial) {
                 System.err.println("inversions and fixes don't match");
             }
         }
     }
 
     private final int cutoff;
-    private final boolean countCopies;
-    private final boolean countSwaps;
-    private final boolean countCompares;
-    private final boolean countFixes;
-    private final boolean countHits;
+    protected final boolean countCopies;
+    protected final boolean countSwaps;
+    protected final boolean countCompares;
+    protected final boolean countFixes;
+    protected final boolean countHits;
     private StatPack statPack;
-    private int compares = 0;
-    private int swaps = 0;
-    private int copies = 0;
-    private int fixes = 0;
-    private int hits = 0;
+    private long compares = 0;
+    private long swaps = 0;
+    private long copies = 0;
+    private long fixes = 0;
+    private long hits = 0;
     private int countInversions;
+    private final int inversionSamples;
+    private final Random inversionRandom = new Random(0L);
     private int maxDepth = 0;
 }
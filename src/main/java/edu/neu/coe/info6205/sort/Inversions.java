@@ -0,0 +1,209 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.BufferPool;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Measures of the presortedness of an array: the number of inversions, that is to say pairs of elements which are out of order.
+ * <p>
+ * The exact count is made in O(n log n) time by a merge sort (of a copy of the array) which,
+ * whenever it takes an element from the right-hand run, adds the number of elements remaining in the left-hand run.
+ * Runs which are already in order are not merged at all, so a (nearly) sorted array is counted in (nearly) linear time.
+ * The copy and auxiliary arrays are taken from (and returned to) a shared BufferPool,
+ * and arrays of at least PARALLEL_THRESHOLD elements are counted in parallel (in the common fork/join pool).
+ * <p>
+ * The estimate is made in O(m) time by comparing m randomly chosen pairs of elements
+ * and comes with a (Wilson score) confidence interval.
+ */
+public final class Inversions {
+
+    /**
+     * Count the inversions of xs (which remains unchanged).
+     *
+     * @param xs  the array.
+     * @param <X> the underlying type.
+     * @return the number of pairs i &lt; j such that xs[j] is less than xs[i].
+     */
+    public static <X extends Comparable<X>> long count(X[] xs) {
+        return count(xs, 0, xs.length);
+    }
+
+    /**
+     * Count the inversions of the sub-array xs[from] ... xs[to-1] (which remains unchanged).
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to consider.
+     * @param to   the index of the first element not to consider.
+     * @param <X>  the underlying type.
+     * @return the number of pairs from &lt;= i &lt; j &lt; to such that xs[j] is less than xs[i].
+     */
+    public static <X extends Comparable<X>> long count(X[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return 0;
+        final Object[] a = pool.acquire(n);
+        final Object[] aux = pool.acquire(n);
+        try {
+            System.arraycopy(xs, from, a, 0, n);
+            if (n >= PARALLEL_THRESHOLD) return ForkJoinPool.commonPool().invoke(new Counter(a, aux, 0, n));
+            return count(a, aux, 0, n);
+        } finally {
+            // NOTE clear the buffers so that the pool does not prevent the elements from being garbage-collected.
+            Arrays.fill(a, 0, n, null);
+            Arrays.fill(aux, 0, n, null);
+            pool.release(a);
+            pool.release(aux);
+        }
+    }
+
+    /**
+     * Estimate the inversions of xs by comparing randomly chosen pairs of (distinct) elements.
+     *
+     * @param xs      the array.
+     * @param samples the number of pairs to compare.
+     * @param random  the source of randomness.
+     * @param <X>     the underlying type.
+     * @return an Estimate of the number of inversions.
+     */
+    public static <X extends Comparable<X>> Estimate estimate(X[] xs, int samples, Random random) {
+        final int n = xs.length;
+        final double pairs = (double) n * (n - 1) / 2;
+        if (n < 2 || samples < 1) return new Estimate(0, 0, 0, pairs, 0);
+        int inverted = 0;
+        for (int k = 0; k < samples; k++) {
+            final int i = random.nextInt(n);
+            int j = random.nextInt(n - 1);
+            if (j >= i) j++;
+            if (i < j ? xs[j].compareTo(xs[i]) < 0 : xs[i].compareTo(xs[j]) < 0) inverted++;
+        }
+        final double p = (double) inverted / samples;
+        // NOTE the Wilson score interval remains sensible even when p is 0 or 1 (i.e. the array appears to be sorted or reversed).
+        final double z = Z_95, z2 = z * z;
+        final double centre = (p + z2 / (2 * samples)) / (1 + z2 / samples);
+        final double halfWidth = z / (1 + z2 / samples) * Math.sqrt(p * (1 - p) / samples + z2 / (4.0 * samples * samples));
+        return new Estimate(p * pairs, Math.sqrt(p * (1 - p) / samples) * pairs, Math.max(0, centre - halfWidth) * pairs, Math.min(1, centre + halfWidth) * pairs, samples);
+    }
+
+    /**
+     * An estimate of the number of inversions.
+     */
+    public static class Estimate {
+        /**
+         * The estimated number of inversions.
+         */
+        public final double mean;
+        /**
+         * The standard error of the estimate.
+         */
+        public final double standardError;
+        /**
+         * The lower bound of the 95% confidence interval.
+         */
+        public final double lower;
+        /**
+         * The upper bound of the 95% confidence interval.
+         */
+        public final double upper;
+        /**
+         * The number of pairs compared.
+         */
+        public final int samples;
+
+        public Estimate(double mean, double standardError, double lower, double upper, int samples) {
+            this.mean = mean;
+            this.standardError = standardError;
+            this.lower = lower;
+            this.upper = upper;
+            this.samples = samples;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f +/- %.0f (95%%: %.0f .. %.0f from %d samples)", mean, standardError, lower, upper, samples);
+        }
+    }
+
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Sort a[lo] ... a[hi-1] (with aux as the auxiliary array), returning the number of inversions.
+     */
+    private static long count(Object[] a, Object[] aux, int lo, int hi) {
+        if (hi - lo <= CUTOFF) return insertionSort(a, lo, hi);
+        final int mid = (lo + hi) >>> 1;
+        return count(a, aux, lo, mid) + count(a, aux, mid, hi) + merge(a, aux, lo, mid, hi);
+    }
+
+    /**
+     * Insertion sort of a[lo] ... a[hi-1]: each element moved one place is one inversion.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static long insertionSort(Object[] a, int lo, int hi) {
+        long result = 0;
+        for (int i = lo + 1; i < hi; i++) {
+            final Comparable x = (Comparable) a[i];
+            int j = i;
+            while (j > lo && x.compareTo(a[j - 1]) < 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = x;
+            result += i - j;
+        }
+        return result;
+    }
+
+    /**
+     * Merge the sorted runs a[lo] ... a[mid-1] and a[mid] ... a[hi-1], returning the number of inversions between them.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static long merge(Object[] a, Object[] aux, int lo, int mid, int hi) {
+        if (((Comparable) a[mid]).compareTo(a[mid - 1]) >= 0) return 0;
+        System.arraycopy(a, lo, aux, lo, hi - lo);
+        long result = 0;
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi)
+            if (((Comparable) aux[j]).compareTo(aux[i]) < 0) {
+                result += mid - i;
+                a[k++] = aux[j++];
+            } else a[k++] = aux[i++];
+        if (i < mid) System.arraycopy(aux, i, a, k, mid - i);
+        // NOTE any remaining elements of the right-hand run are already in place.
+        return result;
+    }
+
+    @SuppressWarnings("serial")
+    private static class Counter extends RecursiveTask<Long> {
+        Counter(Object[] a, Object[] aux, int lo, int hi) {
+            this.a = a;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hi - lo < PARALLEL_THRESHOLD) return count(a, aux, lo, hi);
+            final int mid = (lo + hi) >>> 1;
+            final Counter left = new Counter(a, aux, lo, mid);
+            left.fork();
+            final long right = new Counter(a, aux, mid, hi).compute();
+            return left.join() + right + merge(a, aux, lo, mid, hi);
+        }
+
+        private final Object[] a;
+        private final Object[] aux;
+        private final int lo;
+        private final int hi;
+    }
+
+    private static final int CUTOFF = 12;
+    private static final double Z_95 = 1.96;
+    private static final BufferPool<Object> pool = new BufferPool<>(Object[]::new, 4);
+
+    private Inversions() {
+    }
+}
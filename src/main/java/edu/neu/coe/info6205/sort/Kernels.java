@@ -0,0 +1,227 @@
+package edu.neu.coe.info6205.sort;
+
+/**
+ * Uninstrumented sort kernels.
+ * <p>
+ * The Helper-based sorts compare, swap and copy through the Helper interface for every element.
+ * Once more than one implementation of Helper has been loaded, those call sites become polymorphic (or megamorphic)
+ * and the JIT compiler can no longer inline them, so that even an uninstrumented sort runs much slower than Arrays.sort.
+ * The methods of this class make no calls other than compareTo and (static) calls to each other,
+ * so they can be compiled just like the JDK's own sorts.
+ * They are the same algorithms as the corresponding Helper-based sorts (though with tail-loops in place of some recursion).
+ */
+public final class Kernels {
+
+    /**
+     * Stable insertion sort (by half-exchanges) of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     * @param <X>  the underlying type.
+     */
+    public static <X extends Comparable<X>> void insertionSort(X[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            final X x = xs[i];
+            int j = i;
+            while (j > from && x.compareTo(xs[j - 1]) < 0) {
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            xs[j] = x;
+        }
+    }
+
+    /**
+     * Dual-pivot quicksort of the sub-array xs[from] ... xs[to-1],
+     * switching to insertion sort for sub-arrays smaller than cutoff
+     * and to heap sort for sub-arrays at a depth of more than depthLimit.
+     *
+     * @param xs         the array.
+     * @param from       the index of the first element to sort.
+     * @param to         the index of the first element not to sort.
+     * @param cutoff     the size of sub-array below which we use insertion sort.
+     * @param depthLimit the depth of recursion beyond which we use heap sort (Integer.MAX_VALUE for plain quicksort).
+     * @param <X>        the underlying type.
+     */
+    public static <X extends Comparable<X>> void quickSortDualPivot(X[] xs, int from, int to, int cutoff, int depthLimit) {
+        int lo = from, hi = to - 1, depth = depthLimit;
+        while (true) {
+            if (hi - lo + 1 < cutoff || hi <= lo) {
+                insertionSort(xs, lo, hi + 1);
+                return;
+            }
+            if (depth-- <= 0) {
+                heapSort(xs, lo, hi + 1);
+                return;
+            }
+            if (xs[hi].compareTo(xs[lo]) < 0) swap(xs, lo, hi);
+            final X v1 = xs[lo], v2 = xs[hi];
+            int lt = lo + 1, gt = hi - 1, i = lt;
+            while (i <= gt) {
+                final X x = xs[i];
+                if (x.compareTo(v1) < 0) {
+                    xs[i++] = xs[lt];
+                    xs[lt++] = x;
+                } else if (x.compareTo(v2) > 0) {
+                    xs[i] = xs[gt];
+                    xs[gt--] = x;
+                } else i++;
+            }
+            swap(xs, lo, --lt);
+            swap(xs, hi, ++gt);
+            // NOTE if the pivots are equal then so is everything between them.
+            final int nLeft = lt - lo, nMiddle = v1.compareTo(v2) < 0 ? gt - lt - 1 : 0, nRight = hi - gt;
+            // NOTE recurse into the two smaller partitions and loop on the largest so that the stack depth is logarithmic.
+            if (nLeft >= nMiddle && nLeft >= nRight) {
+                if (nMiddle > 0) quickSortDualPivot(xs, lt + 1, gt, cutoff, depth);
+                quickSortDualPivot(xs, gt + 1, hi + 1, cutoff, depth);
+                hi = lt - 1;
+            } else if (nMiddle >= nRight) {
+                quickSortDualPivot(xs, lo, lt, cutoff, depth);
+                quickSortDualPivot(xs, gt + 1, hi + 1, cutoff, depth);
+                lo = lt + 1;
+                hi = gt - 1;
+            } else {
+                quickSortDualPivot(xs, lo, lt, cutoff, depth);
+                if (nMiddle > 0) quickSortDualPivot(xs, lt + 1, gt, cutoff, depth);
+                lo = gt + 1;
+            }
+        }
+    }
+
+    /**
+     * Three-way quicksort of the sub-array xs[from] ... xs[to-1], switching to insertion sort for sub-arrays smaller than cutoff.
+     *
+     * @param xs     the array.
+     * @param from   the index of the first element to sort.
+     * @param to     the index of the first element not to sort.
+     * @param cutoff the size of sub-array below which we use insertion sort.
+     * @param <X>    the underlying type.
+     */
+    public static <X extends Comparable<X>> void quickSort3way(X[] xs, int from, int to, int cutoff) {
+        int lo = from, hi = to - 1;
+        while (true) {
+            if (hi - lo + 1 < cutoff || hi <= lo) {
+                insertionSort(xs, lo, hi + 1);
+                return;
+            }
+            if (xs[hi].compareTo(xs[lo]) < 0) swap(xs, lo, hi);
+            final X v = xs[lo];
+            int lt = lo, gt = hi, i = lo + 1;
+            while (i <= gt) {
+                final X x = xs[i];
+                final int cmp = x.compareTo(v);
+                if (cmp < 0) {
+                    xs[i++] = xs[lt];
+                    xs[lt++] = x;
+                } else if (cmp > 0) {
+                    xs[i] = xs[gt];
+                    xs[gt--] = x;
+                } else i++;
+            }
+            // NOTE recurse into the smaller side and loop on the larger so that the stack depth is logarithmic.
+            if (lt - lo < hi - gt) {
+                quickSort3way(xs, lo, lt, cutoff);
+                lo = gt + 1;
+            } else {
+                quickSort3way(xs, gt + 1, hi + 1, cutoff);
+                hi = lt - 1;
+            }
+        }
+    }
+
+    /**
+     * Stable merge sort of the sub-array xs[from] ... xs[to-1], switching to insertion sort for sub-arrays of at most cutoff elements.
+     * <p>
+     * Element i of the sub-array corresponds to element i - from of aux.
+     *
+     * @param xs        the array.
+     * @param from      the index of the first element to sort.
+     * @param to        the index of the first element not to sort.
+     * @param aux       an auxiliary array whose length is at least to - from.
+     * @param cutoff    the size of sub-array at or below which we use insertion sort.
+     * @param insurance if true, we skip the merge whenever the two halves are already in order.
+     * @param noCopy    if true, the array and aux exchange roles at each level, rather than copying the array into aux before each merge.
+     * @param <X>       the underlying type.
+     */
+    public static <X extends Comparable<X>> void mergeSort(X[] xs, int from, int to, X[] aux, int cutoff, boolean insurance, boolean noCopy) {
+        if (to - from <= 1) return;
+        // NOTE for noCopy, aux must start off with the same contents as xs.
+        if (noCopy) System.arraycopy(xs, from, aux, 0, to - from);
+        mergeSort(xs, 0, aux, from, from, to, Math.max(cutoff, 1), insurance, noCopy);
+    }
+
+    /**
+     * Heap sort of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     * @param <X>  the underlying type.
+     */
+    public static <X extends Comparable<X>> void heapSort(X[] xs, int from, int to) {
+        final int n = to - from;
+        for (int i = n / 2; i >= 1; i--) downHeap(xs, i, n, from);
+        for (int i = n; i > 1; i--) {
+            swap(xs, from, from + i - 1);
+            downHeap(xs, 1, i - 1, from);
+        }
+    }
+
+    /**
+     * Sort element i (for lo <= i < hi) of a (which is a[i - aOffset]), using b (with bOffset) as the auxiliary array.
+     */
+    private static <X extends Comparable<X>> void mergeSort(X[] a, int aOffset, X[] b, int bOffset, int lo, int hi, int cutoff, boolean insurance, boolean noCopy) {
+        if (hi - lo <= cutoff) {
+            insertionSort(a, lo - aOffset, hi - aOffset);
+            return;
+        }
+        final int mid = (lo + hi) >>> 1;
+        if (noCopy) {
+            mergeSort(b, bOffset, a, aOffset, lo, mid, cutoff, insurance, true);
+            mergeSort(b, bOffset, a, aOffset, mid, hi, cutoff, insurance, true);
+            if (insurance && b[mid - 1 - bOffset].compareTo(b[mid - bOffset]) <= 0)
+                System.arraycopy(b, lo - bOffset, a, lo - aOffset, hi - lo);
+            else merge(b, bOffset, a, aOffset, lo, mid, hi);
+        } else {
+            mergeSort(a, aOffset, b, bOffset, lo, mid, cutoff, insurance, false);
+            mergeSort(a, aOffset, b, bOffset, mid, hi, cutoff, insurance, false);
+            if (insurance && a[mid - 1 - aOffset].compareTo(a[mid - aOffset]) <= 0) return;
+            System.arraycopy(a, lo - aOffset, b, lo - bOffset, hi - lo);
+            merge(b, bOffset, a, aOffset, lo, mid, hi);
+        }
+    }
+
+    /**
+     * Merge the sorted runs [lo, mid) and [mid, hi) of sorted into result (stably).
+     */
+    private static <X extends Comparable<X>> void merge(X[] sorted, int sOffset, X[] result, int rOffset, int lo, int mid, int hi) {
+        int i = lo - sOffset, j = mid - sOffset, k = lo - rOffset;
+        final int iEnd = mid - sOffset, jEnd = hi - sOffset;
+        while (i < iEnd && j < jEnd) result[k++] = sorted[j].compareTo(sorted[i]) < 0 ? sorted[j++] : sorted[i++];
+        if (i < iEnd) System.arraycopy(sorted, i, result, k, iEnd - i);
+        else if (j < jEnd) System.arraycopy(sorted, j, result, k, jEnd - j);
+    }
+
+    private static <X extends Comparable<X>> void downHeap(X[] xs, int i, int n, int lo) {
+        final X d = xs[lo + i - 1];
+        while (i <= n / 2) {
+            int child = 2 * i;
+            if (child < n && xs[lo + child - 1].compareTo(xs[lo + child]) < 0) child++;
+            if (d.compareTo(xs[lo + child - 1]) >= 0) break;
+            xs[lo + i - 1] = xs[lo + child - 1];
+            i = child;
+        }
+        xs[lo + i - 1] = d;
+    }
+
+    private static void swap(Object[] xs, int i, int j) {
+        final Object temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    private Kernels() {
+    }
+}
@@ -0,0 +1,23 @@
+package edu.neu.coe.info6205.sort;
+
+/**
+ * An uninstrumented sort of a sub-array.
+ * <p>
+ * A sort which has a SortKernel uses it (instead of its Helper-based implementation)
+ * whenever its Helper is not instrumented. The choice is made once, when the sort is constructed.
+ * See Kernels for the implementations.
+ *
+ * @param <X> the underlying type.
+ */
+@FunctionalInterface
+public interface SortKernel<X> {
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    void sort(X[] xs, int from, int to);
+}
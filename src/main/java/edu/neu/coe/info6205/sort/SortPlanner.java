@@ -0,0 +1,249 @@
+/*
+  (c) Copyright 2018, 2019 Phasmid Software
+ */
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.linearithmic.IntroSort;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSort;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_3way;
+import edu.neu.coe.info6205.sort.linearithmic.TimSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Sort which samples its input and then delegates to whichever of the sorts of this package best suits it.
+ * <p>
+ * The profile of the input is estimated from a fixed number of samples (so that the planning is O(1)),
+ * none of whose compares is counted by the Helper:
+ * <dl>
+ *     <dt>runs</dt><dd>the proportion of randomly chosen adjacent pairs which are out of order (times n);</dd>
+ *     <dt>inversions</dt><dd>the proportion of randomly chosen (not necessarily adjacent) pairs which are out of order (times n(n-1)/2);</dd>
+ *     <dt>duplicates</dt><dd>the proportion of an evenly spaced sample which is equal to another member of the sample;</dd>
+ *     <dt>key type</dt><dd>the class of the elements (which determines how expensive a compare is likely to be).</dd>
+ * </dl>
+ * The plan is then, in order of precedence:
+ * <ol>
+ *     <li>tiny arrays: insertion sort;</li>
+ *     <li>nearly sorted arrays (few runs or few inversions): Timsort, which is adaptive to runs;</li>
+ *     <li>many duplicates: 3-way quicksort, which is linear when there are only a few distinct keys;</li>
+ *     <li>keys with expensive compares (e.g. String): merge sort, which makes the fewest compares;</li>
+ *     <li>otherwise: introsort.</li>
+ * </ol>
+ * Every delegate shares the Helper of this sort so that, if it is instrumented, the statistics include the delegated sort.
+ * The decision is logged (at debug level) together with Helper.showStats.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class SortPlanner<X extends Comparable<X>> extends SortWithHelper<X> {
+
+    /**
+     * The algorithms to which a SortPlanner may delegate.
+     */
+    public enum Algorithm {INSERTION, TIM, QUICK_3WAY, MERGE, INTRO}
+
+    /**
+     * Constructor for SortPlanner.
+     *
+     * @param helper  an explicit instance of Helper to be used.
+     * @param samples the number of samples to take for each statistic.
+     */
+    public SortPlanner(Helper<X> helper, int samples) {
+        super(helper);
+        if (samples < 2) throw new IllegalArgumentException("SortPlanner: samples must be at least 2");
+        this.samples = samples;
+        insertionSort = new InsertionSort<>(helper);
+        timSort = new TimSort<>(helper);
+        quickSort3way = new QuickSort_3way<>(helper);
+        mergeSort = new MergeSort<>(helper);
+        introSort = new IntroSort<>(helper);
+    }
+
+    /**
+     * Constructor for SortPlanner which takes the number of samples from the sortplanner section of the configuration.
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public SortPlanner(int N, Config config) {
+        this(HelperFactory.create(DESCRIPTION, N, config), config.getInt(SORTPLANNER, SAMPLES, DEFAULT_SAMPLES));
+        closeHelper = true;
+    }
+
+    /**
+     * Method to sort.
+     * <p>
+     * NOTE: the delegate sorts are all invoked through sort(X[], int, int) so that only one call to init is made.
+     *
+     * @param xs       sort the array xs, returning the sorted result, leaving xs unchanged.
+     * @param makeCopy if set to true, we make a copy first and sort that.
+     * @return the result (sorted version of xs).
+     */
+    @Override
+    public X[] sort(X[] xs, boolean makeCopy) {
+        getHelper().init(xs.length);
+        X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Profile the sub-array xs[from] ... xs[to-1] and then sort it with the chosen algorithm.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    @Override
+    public void sort(X[] xs, int from, int to) {
+        final Profile profile = profile(xs, from, to);
+        final Algorithm algorithm = plan(profile);
+        lastProfile = profile;
+        lastAlgorithm = algorithm;
+        switch (algorithm) {
+            case INSERTION:
+                insertionSort.sort(xs, from, to);
+                break;
+            case TIM:
+                timSort.sort(xs, from, to);
+                break;
+            case QUICK_3WAY:
+                // NOTE QuickSort does not implement sort(X[], int, int).
+                if (quickSort3way.getKernel() != null) quickSort3way.getKernel().sort(xs, from, to);
+                else quickSort3way.sort(xs, from, to, 0);
+                break;
+            case MERGE:
+                mergeSort.sort(xs, from, to);
+                break;
+            default:
+                if (introSort.getKernel() != null) introSort.getKernel().sort(xs, from, to);
+                else introSort.sort(xs, from, to);
+        }
+        logger.debug(() -> "SortPlanner: " + algorithm + " for " + profile + "; " + getHelper().showStats());
+    }
+
+    /**
+     * Estimate the profile of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to profile.
+     * @param to   the index of the first element not to profile.
+     * @return a Profile.
+     */
+    public Profile profile(X[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return new Profile(n, n > 0 && xs[from] != null ? xs[from].getClass() : null, n, 0, 0);
+        // NOTE for small arrays, we take fewer samples so that the profile never costs more than the sort.
+        final int m = Math.min(samples, n);
+        int descents = 0, inversions = 0;
+        for (int k = 0; k < m; k++) {
+            final int i = from + random.nextInt(n - 1);
+            if (xs[i + 1].compareTo(xs[i]) < 0) descents++;
+            final int a = from + random.nextInt(n), b = from + random.nextInt(n);
+            if (xs[Math.max(a, b)].compareTo(xs[Math.min(a, b)]) < 0) inversions++;
+        }
+        final Comparable<?>[] sample = new Comparable<?>[m];
+        // NOTE the duplicates sample is taken without replacement (evenly spaced) so that, when m is close to n, distinct keys do not appear to be duplicated.
+        for (int k = 0; k < m; k++) sample[k] = xs[from + (int) ((long) k * n / m)];
+        return new Profile(n, xs[from].getClass(), (double) descents / m * (n - 1) + 1, (double) inversions / m * n * (n - 1) / 2, duplicates(sample));
+    }
+
+    /**
+     * Choose an algorithm for the given profile.
+     *
+     * @param profile the profile of the input.
+     * @return the Algorithm to be used.
+     */
+    public Algorithm plan(Profile profile) {
+        final int n = profile.n;
+        if (n <= INSERTION_CUTOFF) return Algorithm.INSERTION;
+        if (profile.runs <= n / RUN_LENGTH || profile.inversions <= n) return Algorithm.TIM;
+        if (profile.duplicates >= DUPLICATES_THRESHOLD) return Algorithm.QUICK_3WAY;
+        if (profile.keyType != null && !Number.class.isAssignableFrom(profile.keyType) && profile.keyType != Character.class)
+            return Algorithm.MERGE;
+        return Algorithm.INTRO;
+    }
+
+    /**
+     * @return the algorithm chosen by the most recent sort (or null if there has been none).
+     */
+    public Algorithm getLastAlgorithm() {
+        return lastAlgorithm;
+    }
+
+    /**
+     * @return the profile of the input to the most recent sort (or null if there has been none).
+     */
+    public Profile getLastProfile() {
+        return lastProfile;
+    }
+
+    /**
+     * The (estimated) characteristics of an input to be sorted.
+     */
+    public static class Profile {
+        public final int n;
+        public final Class<?> keyType;
+        public final double runs;
+        public final double inversions;
+        public final double duplicates;
+
+        public Profile(int n, Class<?> keyType, double runs, double inversions, double duplicates) {
+            this.n = n;
+            this.keyType = keyType;
+            this.runs = runs;
+            this.inversions = inversions;
+            this.duplicates = duplicates;
+        }
+
+        @Override
+        public String toString() {
+            return "Profile{" +
+                    "n=" + n +
+                    ", keyType=" + (keyType != null ? keyType.getSimpleName() : "?") +
+                    ", runs=" + Math.round(runs) +
+                    ", inversions=" + Math.round(inversions) +
+                    ", duplicates=" + String.format("%.2f", duplicates) +
+                    '}';
+        }
+    }
+
+    public static final String DESCRIPTION = "Sort planner";
+    public static final String SORTPLANNER = "sortplanner";
+    public static final String SAMPLES = "samples";
+    public static final int DEFAULT_SAMPLES = 256;
+
+    /**
+     * @param sample a sample (which will be sorted).
+     * @return the proportion of elements of the sample which are equal to their predecessor once the sample is sorted.
+     */
+    private static double duplicates(Object[] sample) {
+        if (sample.length < 2) return 0;
+        Arrays.sort(sample);
+        int duplicates = 0;
+        for (int i = 1; i < sample.length; i++) if (sample[i].equals(sample[i - 1])) duplicates++;
+        return (double) duplicates / sample.length;
+    }
+
+    // NOTE arrays at or below this size are insertion sorted.
+    private static final int INSERTION_CUTOFF = 32;
+    // NOTE an array whose runs are, on average, at least this long is considered nearly sorted.
+    private static final int RUN_LENGTH = 32;
+    // NOTE a sample of which at least this proportion are duplicates is considered to have few distinct keys.
+    private static final double DUPLICATES_THRESHOLD = 0.25;
+
+    private final int samples;
+    private final Random random = new Random(0L);
+    private final InsertionSort<X> insertionSort;
+    private final TimSort<X> timSort;
+    private final QuickSort_3way<X> quickSort3way;
+    private final MergeSort<X> mergeSort;
+    private final IntroSort<X> introSort;
+    private Profile lastProfile;
+    private Algorithm lastAlgorithm;
+
+    final static LazyLogger logger = new LazyLogger(SortPlanner.class);
+}
@@ -13,6 +13,7 @@ public abstract class SortWithHelper<X extends Comparable<X>> implements Sort<X>
 
     public SortWithHelper(Helper<X> helper) {
         this.helper = helper;
+        this.kernel = helper.instrumented() ? null : createKernel();
     }
 
     public SortWithHelper(String description, int N, Config config) {
@@ -29,6 +30,27 @@ public abstract class SortWithHelper<X extends Comparable<X>> implements Sort<X>
         return helper;
     }
 
+    /**
+     * Method to create the uninstrumented kernel of this sort (see Kernels).
+     * <p>
+     * NOTE: this is invoked by the constructor (only if the Helper is not instrumented),
+     * so the kernel must not depend on the fields of the sub-class until it is actually invoked.
+     *
+     * @return a SortKernel, or null (the default) if this sort has no kernel.
+     */
+    protected SortKernel<X> createKernel() {
+        return null;
+    }
+
+    /**
+     * Get the kernel which is to be used in place of the Helper-based sort.
+     *
+     * @return a SortKernel, or null if the Helper is instrumented or this sort has no kernel.
+     */
+    public SortKernel<X> getKernel() {
+        return kernel;
+    }
+
     /**
      * Perform initializing step for this Sort.
      *
@@ -70,6 +92,7 @@ public abstract class SortWithHelper<X extends Comparable<X>> implements Sort<X>
     }
 
     private final Helper<X> helper;
+    private final SortKernel<X> kernel;
     protected boolean closeHelper = false;
 
 }
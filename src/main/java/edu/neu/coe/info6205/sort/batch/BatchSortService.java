@@ -0,0 +1,312 @@
+package edu.neu.coe.info6205.sort.batch;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortKernel;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.counting.LSDRadixSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Service which sorts (in place) many small arrays, spread across a fixed pool of worker threads.
+ * <p>
+ * Neither a SortWithHelper nor its Helper may be shared between threads, and Sort.sort(X[], boolean) calls init for every array.
+ * Instead, each worker thread creates (on first use) its own sorter, from the given factory, and reuses it (and hence any scratch buffers which it holds)
+ * for every array which it sorts.
+ * If the sorter has a SortKernel (i.e. it is not instrumented) the kernel is invoked directly;
+ * otherwise, the sorter is initialized before each sort (always with the size of its first array, since a Helper may not change its size)
+ * and post-processed after it, so that the statistics of an instrumented sorter accumulate, one sort at a time,
+ * over all of the arrays which its thread sorts. The statistics of each instrumented sorter are logged when the service is closed.
+ * <p>
+ * The arrays are handed to the workers in chunks (of chunkSize arrays), so that the cost of scheduling is amortized over many sorts.
+ * When the arrays come from a Stream, at most two chunks per thread are outstanding at any one time, so that the stream is consumed lazily.
+ * Each chunk records the latency of each of its sorts; the Report (for each call) gives the aggregate throughput and latency percentiles.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class BatchSortService<X extends Comparable<X>> implements AutoCloseable {
+
+    /**
+     * Constructor for BatchSortService.
+     *
+     * @param factory   the supplier of sorters (called once per worker thread).
+     * @param threads   the number of worker threads.
+     * @param chunkSize the number of arrays handed to a worker at a time.
+     */
+    public BatchSortService(Supplier<? extends SortWithHelper<X>> factory, int threads, int chunkSize) {
+        if (threads < 1 || chunkSize < 1)
+            throw new IllegalArgumentException("BatchSortService: threads and chunkSize must be positive");
+        this.factory = factory;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "batch-sort-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker = ThreadLocal.withInitial(this::createWorker);
+    }
+
+    /**
+     * Constructor for BatchSortService which takes its threads and chunksize from the batchsort section of the configuration.
+     * If threads is not specified, we use one thread per available processor.
+     *
+     * @param factory the supplier of sorters (called once per worker thread).
+     * @param config  the configuration.
+     */
+    public BatchSortService(Supplier<? extends SortWithHelper<X>> factory, Config config) {
+        this(factory, threads(config.getInt(BATCHSORT, THREADS, 0)), config.getInt(BATCHSORT, CHUNK_SIZE, DEFAULT_CHUNK_SIZE));
+    }
+
+    /**
+     * Sort each of the given arrays in place.
+     *
+     * @param arrays the arrays.
+     * @return a Report of the throughput and latencies.
+     */
+    public Report sort(Collection<X[]> arrays) {
+        return sort(arrays.iterator(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Sort each of the arrays of the given stream in place.
+     *
+     * @param arrays the arrays.
+     * @return a Report of the throughput and latencies.
+     */
+    public Report sort(Stream<X[]> arrays) {
+        return sort(arrays.iterator(), 2 * threads);
+    }
+
+    /**
+     * @return the number of sorters created so far (at most one per worker thread).
+     */
+    public int getSorters() {
+        synchronized (sorters) {
+            return sorters.size();
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Shut down the workers and wait (for up to TERMINATION_TIMEOUT seconds) for any running chunks to finish;
+     * then log the statistics of any instrumented sorters, and close the sorters.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS))
+                logger.warn("BatchSortService: workers did not terminate within " + TERMINATION_TIMEOUT + " seconds");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (sorters) {
+            for (SortWithHelper<X> sorter : sorters) {
+                final Helper<X> helper = sorter.getHelper();
+                if (helper.instrumented()) logger.info("BatchSortService: " + helper.showStats());
+                sorter.close();
+            }
+            sorters.clear();
+        }
+    }
+
+    /**
+     * The throughput and latencies of one call to sort.
+     */
+    public static class Report {
+
+        Report(long arrays, long elements, long wallNanos, long[] latencies) {
+            this.arrays = arrays;
+            this.elements = elements;
+            this.wallNanos = wallNanos;
+            this.latencies = latencies;
+        }
+
+        /**
+         * @return the number of arrays sorted per second (of elapsed time).
+         */
+        public double getThroughput() {
+            return wallNanos > 0 ? arrays * 1E9 / wallNanos : 0;
+        }
+
+        /**
+         * @return the number of elements sorted per second (of elapsed time).
+         */
+        public double getElementsPerSecond() {
+            return wallNanos > 0 ? elements * 1E9 / wallNanos : 0;
+        }
+
+        /**
+         * Get a percentile of the latency of the individual sorts (by the nearest-rank method).
+         *
+         * @param p the percentile (between 0 and 100).
+         * @return the latency, in nanoseconds, which at least p% of the sorts did not exceed.
+         */
+        public long getLatency(double p) {
+            if (p < 0 || p > 100) throw new IllegalArgumentException("Report: percentile must be between 0 and 100: " + p);
+            if (latencies.length == 0) return 0;
+            final int rank = (int) Math.ceil(p / 100 * latencies.length);
+            return latencies[Math.max(rank, 1) - 1];
+        }
+
+        public long getArrays() {
+            return arrays;
+        }
+
+        public long getElements() {
+            return elements;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d arrays (%,d elements) in %.3f ms: %,.0f arrays/sec, %,.0f elements/sec; latency (ns): p50=%,d p90=%,d p99=%,d p99.9=%,d max=%,d",
+                    arrays, elements, wallNanos / 1E6, getThroughput(), getElementsPerSecond(),
+                    getLatency(50), getLatency(90), getLatency(99), getLatency(99.9), getLatency(100));
+        }
+
+        private final long arrays;
+        private final long elements;
+        private final long wallNanos;
+        private final long[] latencies;
+    }
+
+    public static final String BATCHSORT = "batchsort";
+    public static final String THREADS = "threads";
+    public static final String CHUNK_SIZE = "chunksize";
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private Report sort(Iterator<X[]> arrays, int maxPending) {
+        final long start = System.nanoTime();
+        final Deque<Future<long[]>> pending = new ArrayDeque<>();
+        final List<long[]> results = new ArrayList<>();
+        try {
+            while (arrays.hasNext()) {
+                final List<X[]> chunk = new ArrayList<>(chunkSize);
+                while (chunk.size() < chunkSize && arrays.hasNext()) chunk.add(arrays.next());
+                if (pending.size() >= maxPending) results.add(await(pending.removeFirst()));
+                pending.addLast(executor.submit(() -> worker.get().sort(chunk)));
+            }
+            while (!pending.isEmpty()) results.add(await(pending.removeFirst()));
+        } catch (RuntimeException e) {
+            // NOTE nothing will wait for the outstanding chunks, so they must not continue to run.
+            for (Future<long[]> future : pending) future.cancel(true);
+            throw e;
+        }
+        final long wallNanos = System.nanoTime() - start;
+        // NOTE each result holds the latencies of a chunk followed by the number of elements in the chunk.
+        int count = 0;
+        long elements = 0;
+        for (long[] result : results) count += result.length - 1;
+        final long[] latencies = new long[count];
+        int index = 0;
+        for (long[] result : results) {
+            System.arraycopy(result, 0, latencies, index, result.length - 1);
+            index += result.length - 1;
+            elements += result[result.length - 1];
+        }
+        new LSDRadixSort().sort(latencies);
+        return new Report(count, elements, wallNanos, latencies);
+    }
+
+    private static long[] await(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("BatchSortService: interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("BatchSortService: sort failed", e.getCause());
+        }
+    }
+
+    private Worker createWorker() {
+        final SortWithHelper<X> sorter = factory.get();
+        synchronized (sorters) {
+            sorters.add(sorter);
+        }
+        return new Worker(sorter);
+    }
+
+    private static int threads(int threads) {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The state of one worker thread.
+     */
+    private class Worker {
+        Worker(SortWithHelper<X> sorter) {
+            this.sorter = sorter;
+            this.kernel = sorter.getKernel();
+        }
+
+        /**
+         * Sort each array of the chunk.
+         *
+         * @return the latency of each sort followed by the total number of elements.
+         */
+        long[] sort(List<X[]> chunk) {
+            final long[] result = new long[chunk.size() + 1];
+            long elements = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                final X[] xs = chunk.get(i);
+                final long start = System.nanoTime();
+                final boolean instrumented = kernel == null && sorter.getHelper().instrumented();
+                if (kernel != null) kernel.sort(xs, 0, xs.length);
+                else {
+                    // NOTE a Helper may not be re-initialized with a different size; re-initializing it with its own size resets its counters.
+                    final int n = sorter.getHelper().getN();
+                    sorter.init(n == 0 ? xs.length : n);
+                    sorter.sort(xs, 0, xs.length);
+                }
+                result[i] = System.nanoTime() - start;
+                // NOTE post-processing (which checks the result and gathers the statistics of this sort) is not part of the latency.
+                if (instrumented) sorter.postProcess(xs);
+                elements += xs.length;
+            }
+            result[chunk.size()] = elements;
+            return result;
+        }
+
+        private final SortWithHelper<X> sorter;
+        private final SortKernel<X> kernel;
+    }
+
+    private static final int TERMINATION_TIMEOUT = 60;
+
+    private final Supplier<? extends SortWithHelper<X>> factory;
+    private final int threads;
+    private final int chunkSize;
+    private final ExecutorService executor;
+    private final ThreadLocal<Worker> worker;
+    private final List<SortWithHelper<X>> sorters = new ArrayList<>();
+
+    final static LazyLogger logger = new LazyLogger(BatchSortService.class);
+}
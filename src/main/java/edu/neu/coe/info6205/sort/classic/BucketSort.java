@@ -27,28 +27,31 @@ public class BucketSort<X extends Comparable<X>> implements Sort<X> {
 
     @Override
     public void sort(X[] xs, int from, int to) {
-        logger.info(helper.inversions(xs));
-        // Determine the min, max and gap.
+        // Determine the min, max and gap, taking the value of each element only once.
+        // NOTE max must start at -Double.MAX_VALUE (not Double.MIN_VALUE, which is positive) for negative values.
+        final int n = to - from;
+        final double[] values = new double[n];
         double min = Double.MAX_VALUE;
-        double max = Double.MIN_VALUE;
-        Number[] ys = (Number[]) xs;
-        for (int i = from; i < to; i++) {
-            if (ys[i].doubleValue() < min) min = ys[i].doubleValue();
-            if (max < ys[i].doubleValue()) max = ys[i].doubleValue();
+        double max = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            final double value = ((Number) xs[from + i]).doubleValue();
+            values[i] = value;
+            if (value < min) min = value;
+            if (max < value) max = value;
         }
-        double gap = (max - min) / bucket.length;
+        final double gap = (max - min) / bucket.length;
 
         // Assign the elements to buckets
-        for (int i = from; i < to; i++) {
-            int index = (int) Math.floor((ys[i].doubleValue() - min) / gap);
+        for (Bag<X> xes : bucket) xes.clear();
+        for (int i = 0; i < n; i++) {
+            // NOTE if all values are equal, gap is zero and the index is NaN, which casts to zero.
+            int index = (int) Math.floor((values[i] - min) / gap);
             if (index == bucket.length) index--;
-            bucket[index].add(xs[i]);
+            bucket[index].add(xs[from + i]);
         }
 
-        unloadBuckets(bucket, xs, helper);
-
-        logger.info(sort.toString());
-        logger.info(helper.inversions(xs));
+        unloadBuckets(bucket, xs, from, helper);
+        logger.debug(() -> "BucketSort: sorted " + n + " elements in " + bucket.length + " buckets");
     }
 
     @Override
@@ -101,12 +104,13 @@ public class BucketSort<X extends Comparable<X>> implements Sort<X> {
      *
      * @param buckets an array of Bag of X elements.
      * @param xs      an array of X elements to be filled.
+     * @param from    the index of xs at which to start filling.
      * @param helper  a helper whose compare method we will use.
      * @param <X>     the underlying type of the array and the Helper.
      */
     @SuppressWarnings("unchecked")
-    private static <X extends Comparable<X>> void unloadBuckets(Bag<X>[] buckets, X[] xs, final Helper<X> helper) {
-        Index index = new Index();
+    private static <X extends Comparable<X>> void unloadBuckets(Bag<X>[] buckets, X[] xs, int from, final Helper<X> helper) {
+        Index index = new Index(from);
         Arrays.stream(buckets).forEach(xes -> {
             final Object[] objects = xes.asArray();
             Arrays.sort(objects, (o, t1) -> helper.compare((X) o, (X) t1));
@@ -115,7 +119,11 @@ public class BucketSort<X extends Comparable<X>> implements Sort<X> {
     }
 
     static class Index {
-        int index = 0;
+        Index(int index) {
+            this.index = index;
+        }
+
+        int index;
 
         int getNext() {
             return index++;
@@ -0,0 +1,406 @@
+package edu.neu.coe.info6205.sort.classic;
+
+import edu.neu.coe.info6205.sort.Blocks;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parallel bucket sort of primitive (double and long) keys, intended for (more or less) uniformly distributed values such as telemetry.
+ * <p>
+ * The array is divided into one block per thread and the sort proceeds in phases, each of which is divided evenly among the threads:
+ * <ol>
+ *     <li>each block finds its minimum and maximum;</li>
+ *     <li>a random sample of the keys determines the number of buckets (see below);</li>
+ *     <li>each block counts its keys per bucket (in its own, local, histogram),
+ *     the bucket of a key being (key - min) * buckets / (max - min);</li>
+ *     <li>the prefix sums of these counts (over bucket, then block) tell each block exactly where to write each of its keys,
+ *     so that all of the blocks can be distributed into the auxiliary array at once, without synchronization;</li>
+ *     <li>the buckets are sorted (by Arrays.sort) concurrently, in groups of roughly equal size, and copied back.</li>
+ * </ol>
+ * The sample is histogrammed into coarse cells: the number of buckets is chosen so that each occupied cell has, on average,
+ * about bucketSize keys per bucket. If one cell holds many times its share of the sample, the keys are not uniformly distributed
+ * (and some buckets would be huge), so we fall back on Arrays.parallelSort.
+ * <p>
+ * For doubles, NaNs are gathered in a final bucket; as for Arrays.sort, -0.0 precedes 0.0 and NaN follows everything else.
+ * An instance holds no state other than its configuration, so it may be shared between threads.
+ */
+public class BucketSortPrimitive {
+
+    /**
+     * Constructor for BucketSortPrimitive.
+     *
+     * @param cutoff     the size of array at or below which we simply use Arrays.sort.
+     * @param bucketSize the number of keys we aim to have in each bucket.
+     * @param samples    the number of keys sampled to choose the number of buckets.
+     * @param pool       the pool in which to run the sort.
+     */
+    public BucketSortPrimitive(int cutoff, int bucketSize, int samples, ForkJoinPool pool) {
+        if (cutoff < 1 || bucketSize < 1 || samples < 1)
+            throw new IllegalArgumentException("BucketSortPrimitive: cutoff, bucketSize and samples must be positive");
+        this.cutoff = cutoff;
+        this.bucketSize = bucketSize;
+        this.samples = samples;
+        this.pool = pool;
+    }
+
+    /**
+     * Constructor for BucketSortPrimitive which uses the common pool.
+     */
+    public BucketSortPrimitive() {
+        this(DEFAULT_CUTOFF, DEFAULT_BUCKET_SIZE, DEFAULT_SAMPLES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for BucketSortPrimitive which takes its cutoff, bucketsize, samples and threads from the bucketsort section of the configuration.
+     * If threads is not specified, we use the common pool.
+     *
+     * @param config the configuration.
+     */
+    public BucketSortPrimitive(Config config) {
+        this(config.getInt(BUCKETSORT, CUTOFF, DEFAULT_CUTOFF), config.getInt(BUCKETSORT, BUCKET_SIZE, DEFAULT_BUCKET_SIZE),
+                config.getInt(BUCKETSORT, SAMPLES, DEFAULT_SAMPLES), Pools.getPool(config.getInt(BUCKETSORT, THREADS, 0)));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(double[] xs, int from, int to) {
+        if (to - from <= cutoff) Arrays.sort(xs, from, to);
+        else if (!pool.invoke(new DoubleJob(xs, from, to))) Arrays.parallelSort(xs, from, to);
+    }
+
+    /**
+     * Sort the whole of an array of doubles.
+     *
+     * @param xs the array to be sorted.
+     */
+    public void sort(double[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(long[] xs, int from, int to) {
+        if (to - from <= cutoff) Arrays.sort(xs, from, to);
+        else if (!pool.invoke(new LongJob(xs, from, to))) Arrays.parallelSort(xs, from, to);
+    }
+
+    /**
+     * Sort the whole of an array of longs.
+     *
+     * @param xs the array to be sorted.
+     */
+    public void sort(long[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    public int getCutoff() {
+        return cutoff;
+    }
+
+    public int getBucketSize() {
+        return bucketSize;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public String toString() {
+        return "BucketSortPrimitive{cutoff=" + cutoff + ", bucketSize=" + bucketSize + ", samples=" + samples + ", parallelism=" + getParallelism() + "}";
+    }
+
+    public static final String BUCKETSORT = "bucketsort";
+    public static final String CUTOFF = "cutoff";
+    public static final String BUCKET_SIZE = "bucketsize";
+    public static final String SAMPLES = "samples";
+    public static final String THREADS = "threads";
+
+    public static final int DEFAULT_CUTOFF = 1 << 13;
+    public static final int DEFAULT_BUCKET_SIZE = 256;
+    public static final int DEFAULT_SAMPLES = 1024;
+
+    /**
+     * Choose the number of buckets from a histogram (over coarse cells) of a sample of the keys.
+     *
+     * @param n         the number of keys to be sorted.
+     * @param histogram the number of sampled keys in each cell.
+     * @return the number of buckets, or zero if the keys are too far from uniformly distributed.
+     */
+    private int chooseBuckets(int n, int[] histogram) {
+        int sampled = 0, occupied = 0, largest = 0;
+        for (int count : histogram) {
+            sampled += count;
+            if (count > 0) occupied++;
+            largest = Math.max(largest, count);
+        }
+        if (occupied == 0) return 1;
+        if (largest > SKEW * (double) sampled / occupied + SKEW) return 0;
+        // NOTE keys in unoccupied cells (as far as we know) are rare, so we spread the buckets more thinly there.
+        final long buckets = (long) n / bucketSize * histogram.length / occupied;
+        return (int) Math.max(1, Math.min(buckets, MAX_BUCKETS));
+    }
+
+    /**
+     * The state of one sort, independent of the type of key.
+     * The Job returns false (having changed nothing) if a bucket sort would be inappropriate.
+     */
+    @SuppressWarnings("serial")
+    private abstract class Job extends RecursiveTask<Boolean> {
+
+        Job(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.nBlocks = pool.getParallelism();
+            this.blocks = new Blocks(from, to, nBlocks);
+            this.mins = new double[nBlocks];
+            this.maxs = new double[nBlocks];
+        }
+
+        protected Boolean compute() {
+            // Phase 1: the minimum and maximum of each block.
+            final List<RecursiveAction> tasks = new ArrayList<>(nBlocks);
+            for (int b = 0; b < nBlocks; b++) tasks.add(new Block(b, Block.RANGE));
+            invokeAll(tasks);
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+            for (int b = 0; b < nBlocks; b++) {
+                min = Math.min(min, mins[b]);
+                max = Math.max(max, maxs[b]);
+            }
+            // NOTE if every key is NaN, there is nothing to do; if the keys are all equal (perhaps zeros of both signs) or the range is infinite, we cannot use buckets.
+            if (min > max) return true;
+            if (!(max > min) || !Double.isFinite(max - min)) return false;
+            // Phase 2: choose the number of buckets (plus one for NaN).
+            final int cells = Math.max(1, samples / SAMPLES_PER_CELL);
+            final int[] histogram = new int[cells];
+            scale = cells / (max - min);
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < samples; i++) {
+                final int k = bucket(from + random.nextInt(to - from), cells);
+                if (k < cells) histogram[k]++;
+            }
+            final int buckets = chooseBuckets(to - from, histogram);
+            if (buckets == 0) return false;
+            nBuckets = buckets + 1;
+            scale = buckets / (max - min);
+            // Phase 3: count the keys of each block per bucket.
+            offsets = new int[nBlocks][nBuckets];
+            tasks.clear();
+            for (int b = 0; b < nBlocks; b++) tasks.add(new Block(b, Block.COUNT));
+            invokeAll(tasks);
+            // Phase 4: prefix sums over (bucket, block), so that bucket k of block b starts at offsets[b][k].
+            final int[] bucketStarts = Blocks.prefixSums(offsets);
+            final int sum = bucketStarts[nBuckets];
+            allocate(sum);
+            // Phase 5: distribute into aux.
+            tasks.clear();
+            for (int b = 0; b < nBlocks; b++) tasks.add(new Block(b, Block.DISTRIBUTE));
+            invokeAll(tasks);
+            // Phase 6: sort the buckets (in groups of about grain keys) and copy them back.
+            tasks.clear();
+            final int grain = Math.max(bucketSize, sum / (nBlocks * GROUPS_PER_THREAD));
+            for (int k = 0, first = 0; k < nBuckets; k++)
+                if (bucketStarts[k + 1] - bucketStarts[first] >= grain || k == nBuckets - 1) {
+                    tasks.add(new SortBuckets(bucketStarts, first, k + 1));
+                    first = k + 1;
+                }
+            invokeAll(tasks);
+            return true;
+        }
+
+        /**
+         * Determine which of buckets buckets xs[i] belongs to (NaN belongs to an extra bucket, numbered buckets).
+         * Because scale is positive and floating-point arithmetic is monotonic, the buckets are in the same order as the keys.
+         * The key equal to max yields buckets, so we clamp to the last (non-NaN) bucket.
+         */
+        abstract int bucket(int i, int buckets);
+
+        /**
+         * Set mins[block] and maxs[block] to the least and greatest keys (other than NaN) in xs[lo] ... xs[hi-1].
+         */
+        abstract void range(int block, int lo, int hi);
+
+        abstract void allocate(int n);
+
+        /**
+         * Copy xs[lo] ... xs[hi-1] into aux, where next[k] is the next index of aux for bucket k.
+         */
+        abstract void distribute(int lo, int hi, int[] next);
+
+        /**
+         * Sort aux[lo] ... aux[hi-1] and copy it back into xs.
+         */
+        abstract void sortAndCopy(int lo, int hi, boolean sort);
+
+        private class Block extends RecursiveAction {
+            Block(int block, int phase) {
+                this.block = block;
+                this.phase = phase;
+            }
+
+            protected void compute() {
+                final int lo = blocks.start(block), hi = blocks.end(block);
+                switch (phase) {
+                    case RANGE:
+                        range(block, lo, hi);
+                        break;
+                    case COUNT:
+                        final int[] counts = offsets[block];
+                        for (int i = lo; i < hi; i++) counts[bucket(i, nBuckets - 1)]++;
+                        break;
+                    default:
+                        distribute(lo, hi, offsets[block]);
+                }
+            }
+
+            static final int RANGE = 0;
+            static final int COUNT = 1;
+            static final int DISTRIBUTE = 2;
+
+            private final int block;
+            private final int phase;
+        }
+
+        private class SortBuckets extends RecursiveAction {
+            SortBuckets(int[] bucketStarts, int first, int last) {
+                this.bucketStarts = bucketStarts;
+                this.first = first;
+                this.last = last;
+            }
+
+            protected void compute() {
+                for (int k = first; k < last; k++) {
+                    final int lo = bucketStarts[k], hi = bucketStarts[k + 1];
+                    // NOTE the NaN bucket need not be sorted.
+                    if (hi > lo) sortAndCopy(lo, hi, k < nBuckets - 1);
+                }
+            }
+
+            private final int[] bucketStarts;
+            private final int first;
+            private final int last;
+        }
+
+        final int from;
+        final int to;
+        final int nBlocks;
+        final Blocks blocks;
+        final double[] mins;
+        final double[] maxs;
+        double min;
+        double max;
+        double scale;
+        int nBuckets;
+        int[][] offsets;
+    }
+
+    @SuppressWarnings("serial")
+    private class DoubleJob extends Job {
+        DoubleJob(double[] xs, int from, int to) {
+            super(from, to);
+            this.xs = xs;
+        }
+
+        int bucket(int i, int buckets) {
+            final double x = xs[i];
+            // NOTE NaN is the only value which is not equal to itself.
+            return x != x ? buckets : Math.min((int) ((x - min) * scale), buckets - 1);
+        }
+
+        void range(int block, int lo, int hi) {
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                final double x = xs[i];
+                if (x < min) min = x;
+                if (x > max) max = x;
+            }
+            mins[block] = min;
+            maxs[block] = max;
+        }
+
+        void allocate(int n) {
+            aux = new double[n];
+        }
+
+        void distribute(int lo, int hi, int[] next) {
+            for (int i = lo; i < hi; i++) aux[next[bucket(i, nBuckets - 1)]++] = xs[i];
+        }
+
+        void sortAndCopy(int lo, int hi, boolean sort) {
+            if (sort) Arrays.sort(aux, lo, hi);
+            System.arraycopy(aux, lo, xs, from + lo, hi - lo);
+        }
+
+        private final double[] xs;
+        private double[] aux;
+    }
+
+    @SuppressWarnings("serial")
+    private class LongJob extends Job {
+        LongJob(long[] xs, int from, int to) {
+            super(from, to);
+            this.xs = xs;
+        }
+
+        int bucket(int i, int buckets) {
+            // NOTE the conversion of long to double is monotonic (though not exact), which is all that matters here.
+            return Math.min((int) (((double) xs[i] - min) * scale), buckets - 1);
+        }
+
+        void range(int block, int lo, int hi) {
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            for (int i = lo; i < hi; i++) {
+                final long x = xs[i];
+                if (x < min) min = x;
+                if (x > max) max = x;
+            }
+            mins[block] = lo < hi ? min : Double.POSITIVE_INFINITY;
+            maxs[block] = lo < hi ? max : Double.NEGATIVE_INFINITY;
+        }
+
+        void allocate(int n) {
+            aux = new long[n];
+        }
+
+        void distribute(int lo, int hi, int[] next) {
+            for (int i = lo; i < hi; i++) aux[next[bucket(i, nBuckets - 1)]++] = xs[i];
+        }
+
+        void sortAndCopy(int lo, int hi, boolean sort) {
+            if (sort) Arrays.sort(aux, lo, hi);
+            System.arraycopy(aux, lo, xs, from + lo, hi - lo);
+        }
+
+        private final long[] xs;
+        private long[] aux;
+    }
+
+    private static final int SAMPLES_PER_CELL = 8;
+    private static final int SKEW = 4;
+    private static final int GROUPS_PER_THREAD = 4;
+    private static final int MAX_BUCKETS = 1 << 20;
+
+    private final int cutoff;
+    private final int bucketSize;
+    private final int samples;
+    private final ForkJoinPool pool;
+}
@@ -1,20 +1,37 @@
 package edu.neu.coe.info6205.sort.classic;
 
-import edu.neu.coe.info6205.bqs.Bag;
-import edu.neu.coe.info6205.bqs.Bag_Array;
+import edu.neu.coe.info6205.sort.Blocks;
 import edu.neu.coe.info6205.sort.GenericHelper;
 import edu.neu.coe.info6205.sort.GenericSortWithGenericHelper;
+import edu.neu.coe.info6205.sort.HelperFactory;
 import edu.neu.coe.info6205.sort.Sort;
-import edu.neu.coe.info6205.sort.SortException;
 import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * This sort method sorts elements according to their class, i.e. the sort key is the value of x.classify().
+ * <p>
+ * This is a (stable) counting sort in two passes over the elements:
+ * the first calls classify() on each element (once only), remembering its class in a primitive array and counting it in a histogram;
+ * the second writes each element directly into its final slot (in an auxiliary array) according to the prefix sums of the histogram.
+ * <p>
+ * If the classes are dense, i.e. there are no more than max(maxclasses, n / blocks) possible classes between the least and the greatest
+ * (where there is one block per thread for a parallel sort, otherwise one block),
+ * the histogram is indexed directly by class (less the least class).
+ * Otherwise, the classes are sparse: the distinct classes are sorted and each class is replaced by its rank among them
+ * (found by binary search), so that the histogram has one entry per distinct class.
+ * <p>
+ * For at least parallelthreshold elements, the array is divided into one block per thread (as in SampleSort):
+ * each block classifies its elements and counts them in its own histogram;
+ * the prefix sums over (class, block) then tell each block exactly where to write each of its elements,
+ * so that all of the blocks can be distributed at once without synchronization.
  *
  * @param <X> the underlying type which must extend Classify.
  */
@@ -24,28 +41,17 @@ public class ClassicSort<X extends Classify<X>> extends GenericSortWithGenericHe
 
     @Override
     public void sort(X[] xs, int from, int to) {
-        Map<Integer, Bag<X>> map = new HashMap<>();
-        for (int i = from; i < to; i++) {
-            int classs = xs[i].classify();
-            Bag<X> xBag = map.getOrDefault(classs, new Bag_Array<>());
-            xBag.add(xs[i]);
-            map.put(classs, xBag);
-        }
+        if (to - from <= 1) return;
+        final Job job = new Job(xs, from, to, to - from >= parallelThreshold ? pool.getParallelism() : 1);
+        if (job.nBlocks > 1) pool.invoke(job);
+        else job.compute();
+    }
 
-        // Iterate over the bags in class order, copying each bag back to the original array.
-        Set<Integer> classes = map.keySet();
-        int i = from;
-        for (int classs : classes) {
-            if (i >= to) throw new SortException("ClassicSort: logic error: " + i + ", " + to);
-            Bag<X> xBag = map.get(classs);
-            // FIXME Apparently, we can't use asArray. So, we will use iterator instead.
-//            X[] array = xBag.asArray();
-//            System.arraycopy(array, 0, xs, i, array.length);
-//            i += array.length;
-
-            // XXX alternative code
-            for (X x : xBag) xs[i++] = x;
-        }
+    /**
+     * @return true if the most recent sort treated its classes as dense.
+     */
+    public boolean isDense() {
+        return dense;
     }
 
     @Override
@@ -76,16 +82,158 @@ public class ClassicSort<X extends Classify<X>> extends GenericSortWithGenericHe
         if (closeHelper) getHelper().close();
     }
 
-    ClassicSort(GenericHelper<X> helper) {
+    ClassicSort(GenericHelper<X> helper, int parallelThreshold, int maxClasses, ForkJoinPool pool) {
         super(helper);
         closeHelper = true;
+        if (parallelThreshold < 1 || maxClasses < 1)
+            throw new IllegalArgumentException("ClassicSort: parallelThreshold and maxClasses must be positive");
+        this.parallelThreshold = parallelThreshold;
+        this.maxClasses = maxClasses;
+        this.pool = pool;
+    }
+
+    ClassicSort(GenericHelper<X> helper) {
+        this(helper, getInt(helper.getConfig(), PARALLEL_THRESHOLD, DEFAULT_PARALLEL_THRESHOLD), getInt(helper.getConfig(), MAX_CLASSES, DEFAULT_MAX_CLASSES),
+                Pools.getPool(getInt(helper.getConfig(), THREADS, 0)));
     }
 
     ClassicSort() throws IOException {
-        super(DESCRIPTION, 0, Config.load(ClassicSort.class));
-        closeHelper = true;
+        this(HelperFactory.createGeneric(DESCRIPTION, 0, Config.load(ClassicSort.class)));
     }
 
-    private final boolean closeHelper;
+    public static final String CLASSICSORT = "classicsort";
+    public static final String PARALLEL_THRESHOLD = "parallelthreshold";
+    public static final String MAX_CLASSES = "maxclasses";
+    public static final String THREADS = "threads";
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    public static final int DEFAULT_MAX_CLASSES = 1 << 16;
+
+    private static int getInt(Config config, String key, int defaultValue) {
+        return config != null ? config.getInt(CLASSICSORT, key, defaultValue) : defaultValue;
+    }
+
+    /**
+     * The state of one sort.
+     */
+    @SuppressWarnings("serial")
+    private class Job extends RecursiveAction {
 
+        Job(X[] xs, int from, int to, int nBlocks) {
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.blocks = new Blocks(0, to - from, nBlocks);
+            this.nBlocks = nBlocks;
+            this.classes = new int[to - from];
+            this.mins = new int[nBlocks];
+            this.maxs = new int[nBlocks];
+        }
+
+        protected void compute() {
+            // Pass 1: classify each element (once), noting the least and greatest class of each block.
+            forEachBlock(this::classify);
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            for (int b = 0; b < nBlocks; b++) {
+                min = Math.min(min, mins[b]);
+                max = Math.max(max, maxs[b]);
+            }
+            final int n = to - from;
+            // NOTE each block has its own histogram, so the dense histograms take nBlocks times the number of possible classes.
+            dense = (long) max - min < Math.max(maxClasses, n / nBlocks);
+            if (dense) {
+                base = min;
+                nClasses = max - min + 1;
+            } else {
+                // NOTE the sparse class map: the sorted, distinct classes.
+                final int[] sorted = classes.clone();
+                Arrays.sort(sorted);
+                int k = 0;
+                for (int i = 0; i < n; i++) if (k == 0 || sorted[i] != sorted[k - 1]) sorted[k++] = sorted[i];
+                sparse = Arrays.copyOf(sorted, k);
+                nClasses = k;
+            }
+            // Count the classes of each block.
+            offsets = new int[nBlocks][nClasses];
+            forEachBlock(this::count);
+            // Prefix sums over (class, block), so that class k of block b starts at offsets[b][k].
+            Blocks.prefixSums(offsets);
+            // Pass 2: write each element into its final slot, then copy back.
+            aux = Arrays.copyOfRange(xs, from, to);
+            forEachBlock(this::distribute);
+        }
+
+        private void classify(int block, int lo, int hi) {
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            for (int i = lo; i < hi; i++) {
+                final int c = xs[from + i].classify();
+                classes[i] = c;
+                if (c < min) min = c;
+                if (c > max) max = c;
+            }
+            mins[block] = min;
+            maxs[block] = max;
+        }
+
+        private void count(int block, int lo, int hi) {
+            final int[] counts = offsets[block];
+            for (int i = lo; i < hi; i++) {
+                final int k = dense ? classes[i] - base : Arrays.binarySearch(sparse, classes[i]);
+                // NOTE we replace the class by its index in the histogram, ready for distribution.
+                classes[i] = k;
+                counts[k]++;
+            }
+        }
+
+        private void distribute(int block, int lo, int hi) {
+            final int[] next = offsets[block];
+            for (int i = lo; i < hi; i++) xs[from + next[classes[i]]++] = aux[i];
+        }
+
+        /**
+         * Apply the given phase to each block: concurrently if there is more than one block.
+         * The bounds of each block are relative to from.
+         */
+        private void forEachBlock(Phase phase) {
+            if (nBlocks == 1) {
+                phase.apply(0, 0, to - from);
+                return;
+            }
+            final List<RecursiveAction> tasks = new ArrayList<>(nBlocks);
+            for (int b = 0; b < nBlocks; b++) {
+                final int block = b;
+                final int lo = blocks.start(block), hi = blocks.end(block);
+                tasks.add(new RecursiveAction() {
+                    protected void compute() {
+                        phase.apply(block, lo, hi);
+                    }
+                });
+            }
+            invokeAll(tasks);
+        }
+
+        private final X[] xs;
+        private final int from;
+        private final int to;
+        private final Blocks blocks;
+        private final int nBlocks;
+        private final int[] classes;
+        private final int[] mins;
+        private final int[] maxs;
+        private int base;
+        private int[] sparse;
+        private int nClasses;
+        private int[][] offsets;
+        private X[] aux;
+    }
+
+    private interface Phase {
+        void apply(int block, int lo, int hi);
+    }
+
+    private final boolean closeHelper;
+    private final int parallelThreshold;
+    private final int maxClasses;
+    private final ForkJoinPool pool;
+    private volatile boolean dense;
 }
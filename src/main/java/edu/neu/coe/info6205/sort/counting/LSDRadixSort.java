@@ -0,0 +1,250 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Class to implement Least significant digit radix sort of primitive keys: int, long, float and double.
+ * <p>
+ * Each key is treated as an unsigned binary number, split into digits of bits bits (typically 8 or 11) with shifts and masks:
+ * <ul>
+ *     <li>for int and long, the sign bit is flipped so that negative numbers precede positive numbers;</li>
+ *     <li>for float and double, the IEEE-754 bits are transformed so that unsigned order is numeric order
+ *     (the sign bit of a positive number is flipped; all the bits of a negative number are flipped).
+ *     As for Arrays.sort, -0.0 precedes 0.0 and NaN follows everything else (NaN is always returned in its canonical form).</li>
+ * </ul>
+ * The histograms of all of the digits are computed in a single read pass at the outset.
+ * Any pass in which every key has the same digit (for example, the high-order digits of small numbers) is skipped.
+ * A single scratch buffer (of the size of the sub-array to be sorted) is allocated per sort and exchanges roles with the array at each pass.
+ * The sort is stable, and an instance holds no state other than its digit size, so it may be shared between threads.
+ */
+public class LSDRadixSort {
+
+    /**
+     * Constructor for LSDRadixSort.
+     *
+     * @param bits the number of bits in each digit (between 1 and 16).
+     */
+    public LSDRadixSort(int bits) {
+        if (bits < 1 || bits > 16)
+            throw new IllegalArgumentException("LSDRadixSort: the number of bits in a digit must be between 1 and 16: " + bits);
+        this.bits = bits;
+        this.radix = 1 << bits;
+    }
+
+    /**
+     * Constructor for LSDRadixSort with the default (8-bit) digits.
+     */
+    public LSDRadixSort() {
+        this(DEFAULT_BITS);
+    }
+
+    /**
+     * Constructor for LSDRadixSort which takes its digit size from the lsdradixsort section of the configuration.
+     *
+     * @param config the configuration.
+     */
+    public LSDRadixSort(Config config) {
+        this(config.getInt(LSDRADIXSORT, BITS, DEFAULT_BITS));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(int[] xs, int from, int to) {
+        sort(xs, from, to, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Sort the array xs.
+     *
+     * @param xs the array.
+     */
+    public void sort(int[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(long[] xs, int from, int to) {
+        sort(xs, from, to, Long.MIN_VALUE);
+    }
+
+    /**
+     * Sort the array xs.
+     *
+     * @param xs the array.
+     */
+    public void sort(long[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(float[] xs, int from, int to) {
+        final int n = to - from;
+        if (n <= 1) return;
+        final int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            final int x = Float.floatToIntBits(xs[from + i]);
+            keys[i] = x ^ (x >> 31 | Integer.MIN_VALUE);
+        }
+        sort(keys, 0, n, 0);
+        for (int i = 0; i < n; i++) {
+            final int key = keys[i];
+            xs[from + i] = Float.intBitsToFloat(key < 0 ? key ^ Integer.MIN_VALUE : ~key);
+        }
+    }
+
+    /**
+     * Sort the array xs.
+     *
+     * @param xs the array.
+     */
+    public void sort(float[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(double[] xs, int from, int to) {
+        final int n = to - from;
+        if (n <= 1) return;
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            final long x = Double.doubleToLongBits(xs[from + i]);
+            keys[i] = x ^ (x >> 63 | Long.MIN_VALUE);
+        }
+        sort(keys, 0, n, 0L);
+        for (int i = 0; i < n; i++) {
+            final long key = keys[i];
+            xs[from + i] = Double.longBitsToDouble(key < 0 ? key ^ Long.MIN_VALUE : ~key);
+        }
+    }
+
+    /**
+     * Sort the array xs.
+     *
+     * @param xs the array.
+     */
+    public void sort(double[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * @return the number of bits in each digit.
+     */
+    public int getBits() {
+        return bits;
+    }
+
+    public static final String LSDRADIXSORT = "lsdradixsort";
+    public static final String BITS = "bits";
+
+    public static final int DEFAULT_BITS = 8;
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1] as unsigned numbers after flipping the bits given by flip.
+     */
+    private void sort(int[] xs, int from, int to, int flip) {
+        final int n = to - from;
+        if (n <= 1) return;
+        final int mask = radix - 1;
+        final int passes = (Integer.SIZE + bits - 1) / bits;
+        // NOTE count[pass * radix + digit] is the number of keys with that digit in that pass.
+        final int[] count = new int[passes * radix];
+        for (int i = from; i < to; i++) {
+            final int key = xs[i] ^ flip;
+            for (int p = 0, base = 0; p < passes; p++, base += radix) count[base + (key >>> p * bits & mask)]++;
+        }
+        int[] source = xs, target = null;
+        int sourceOffset = from, targetOffset = 0;
+        for (int p = 0, base = 0; p < passes; p++, base += radix) {
+            final int shift = p * bits;
+            if (count[base + ((source[sourceOffset] ^ flip) >>> shift & mask)] == n) continue;
+            if (target == null) target = new int[n];
+            // transform counts to indices
+            for (int r = 0, index = targetOffset; r < radix; r++) {
+                final int c = count[base + r];
+                count[base + r] = index;
+                index += c;
+            }
+            // distribute
+            for (int i = sourceOffset; i < sourceOffset + n; i++) {
+                final int x = source[i];
+                target[count[base + ((x ^ flip) >>> shift & mask)]++] = x;
+            }
+            final int[] temp = source;
+            source = target;
+            target = temp;
+            final int tempOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tempOffset;
+        }
+        // copy back
+        if (source != xs) System.arraycopy(source, sourceOffset, xs, from, n);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1] as unsigned numbers after flipping the bits given by flip.
+     */
+    private void sort(long[] xs, int from, int to, long flip) {
+        final int n = to - from;
+        if (n <= 1) return;
+        final int mask = radix - 1;
+        final int passes = (Long.SIZE + bits - 1) / bits;
+        // NOTE count[pass * radix + digit] is the number of keys with that digit in that pass.
+        final int[] count = new int[passes * radix];
+        for (int i = from; i < to; i++) {
+            final long key = xs[i] ^ flip;
+            for (int p = 0, base = 0; p < passes; p++, base += radix) count[base + (int) (key >>> p * bits & mask)]++;
+        }
+        long[] source = xs, target = null;
+        int sourceOffset = from, targetOffset = 0;
+        for (int p = 0, base = 0; p < passes; p++, base += radix) {
+            final int shift = p * bits;
+            if (count[base + (int) ((source[sourceOffset] ^ flip) >>> shift & mask)] == n) continue;
+            if (target == null) target = new long[n];
+            // transform counts to indices
+            for (int r = 0, index = targetOffset; r < radix; r++) {
+                final int c = count[base + r];
+                count[base + r] = index;
+                index += c;
+            }
+            // distribute
+            for (int i = sourceOffset; i < sourceOffset + n; i++) {
+                final long x = source[i];
+                target[count[base + (int) ((x ^ flip) >>> shift & mask)]++] = x;
+            }
+            final long[] temp = source;
+            source = target;
+            target = temp;
+            final int tempOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tempOffset;
+        }
+        // copy back
+        if (source != xs) System.arraycopy(source, sourceOffset, xs, from, n);
+    }
+
+    private final int bits;
+    private final int radix;
+}
@@ -1,79 +1,116 @@
 package edu.neu.coe.info6205.sort.counting;
 
-public class LSDStringSort {
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
-    private final int ASCII_RANGE = 256;
+/**
+ * Class to implement Least significant digit string sort (a radix sort).
+ * <p>
+ * Each (UTF-16) character is split into one or more digits according to the radix,
+ * which may be any power of two from 2 to 65536: with a radix of 65536, there is one pass per character;
+ * with the default radix of 256, there are two passes per character, but the pass of the high-order byte is skipped
+ * whenever (as for ASCII text) every String has the same high-order byte in that position.
+ * Indeed, any pass in which every String has the same digit is skipped.
+ * <p>
+ * The digits of each pass are computed (with charAt) just once and cached, then used for both the histogram and the distribution.
+ * A single auxiliary array (of the size of the sub-array to be sorted) is allocated per sort and exchanges roles with the array at each pass.
+ * For sub-arrays of at least parallelThreshold elements, the digits and histogram of each pass are computed in parallel.
+ */
+public class LSDStringSort {
 
     /**
-     * findMaxLength method returns maximum length of all available strings in an array
+     * Constructor for LSDStringSort.
      *
-     * @param strArr It contains an array of String from which maximum length needs to be found
-     * @return int Returns maximum length value
+     * @param radix             the radix (a power of two between 2 and 65536).
+     * @param parallelThreshold the size of sub-array at or above which the histograms are computed in parallel (at least 2).
+     * @param pool              the pool in which to compute the histograms.
      */
-    private int findMaxLength(String[] strArr) {
-        int maxLength = strArr[0].length();
-        for (String str : strArr)
-            maxLength = Math.max(maxLength, str.length());
-        return maxLength;
+    public LSDStringSort(int radix, int parallelThreshold, ForkJoinPool pool) {
+        if (radix < 2 || radix > CHAR_RANGE || Integer.bitCount(radix) != 1)
+            throw new IllegalArgumentException("LSDStringSort: radix must be a power of two between 2 and " + CHAR_RANGE + ": " + radix);
+        this.bits = Integer.numberOfTrailingZeros(radix);
+        // NOTE a digit may not straddle two characters.
+        if (16 % bits != 0)
+            throw new IllegalArgumentException("LSDStringSort: the number of bits in a digit must divide 16: " + radix);
+        // NOTE the histogram of a range is split until it has at most parallelThreshold/2 elements, which must not be zero.
+        if (parallelThreshold < 2)
+            throw new IllegalArgumentException("LSDStringSort: parallelThreshold must be at least 2: " + parallelThreshold);
+        this.radix = radix;
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
     }
 
     /**
-     * charAsciiVal method returns ASCII value of particular character in a String.
+     * Constructor for LSDStringSort which uses the common pool.
      *
-     * @param str          String input for which ASCII Value need to be found
-     * @param charPosition Character position of which ASCII value needs to be found. If character
-     *                     doesn't exist then ASCII value of null i.e. 0 is returned
-     * @return int Returns ASCII value
+     * @param radix the radix (a power of two between 2 and 65536).
      */
-    private int charAsciiVal(String str, int charPosition) {
-        if (charPosition >= str.length()) {
-            return 0;
-        }
-        return str.charAt(charPosition);
+    public LSDStringSort(int radix) {
+        this(radix, DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
     }
 
     /**
-     * charSort method is implementation of LSD sort algorithm at particular character.
-     *
-     * @param strArr       It contains an array of String on which LSD char sort needs to be performed
-     * @param charPosition This is the character position on which sort would be performed
-     * @param from         This is the starting index from which sorting operation will begin
-     * @param to           This is the ending index up until which sorting operation will be continued
+     * Constructor for LSDStringSort with the default radix (256).
      */
-    private void charSort(String[] strArr, int charPosition, int from, int to) {
-        int[] count = new int[ASCII_RANGE + 2];
-        String[] result = new String[strArr.length];
-
-        for (int i = from; i <= to; i++) {
-            int c = charAsciiVal(strArr[i], charPosition);
-            count[c + 2]++;
-        }
-
-        // transform counts to indices
-        for (int r = 1; r < ASCII_RANGE + 2; r++)
-            count[r] += count[r - 1];
-
-        // distribute
-        for (int i = from; i <= to; i++) {
-            int c = charAsciiVal(strArr[i], charPosition);
-            result[count[c + 1]++] = strArr[i];
-        }
+    public LSDStringSort() {
+        this(DEFAULT_RADIX);
+    }
 
-        // copy back
-        if (to + 1 - from >= 0) System.arraycopy(result, 0, strArr, from, to + 1 - from);
+    /**
+     * Constructor for LSDStringSort which takes its radix, parallel threshold and threads from the lsdstringsort section of the configuration.
+     *
+     * @param config the configuration.
+     */
+    public LSDStringSort(Config config) {
+        this(config.getInt(LSDSTRINGSORT, RADIX, DEFAULT_RADIX), config.getInt(LSDSTRINGSORT, PARALLEL_THRESHOLD, DEFAULT_PARALLEL_THRESHOLD), Pools.getPool(config.getInt(LSDSTRINGSORT, Pools.THREADS, 0)));
     }
 
     /**
      * sort method is implementation of LSD String sort algorithm.
+     * <p>
+     * NOTE that, unlike most sorts of this package, to is inclusive.
      *
      * @param strArr It contains an array of String on which LSD sort needs to be performed
      * @param from   This is the starting index from which sorting operation will begin
      * @param to     This is the ending index up until which sorting operation will be continued
      */
     public void sort(String[] strArr, int from, int to) {
-        int maxLength = findMaxLength(strArr);
-        for (int i = maxLength - 1; i >= 0; i--)
-            charSort(strArr, i, from, to);
+        final int n = to + 1 - from;
+        if (n <= 1) return;
+        final int maxLength = findMaxLength(strArr, from, to + 1);
+        final int digitsPerChar = 16 / bits;
+        final int[] digits = new int[n];
+        final int[] count = new int[radix + 3];
+        String[] source = strArr, target = new String[n];
+        int sourceOffset = from, targetOffset = 0;
+        for (int d = maxLength * digitsPerChar - 1; d >= 0; d--) {
+            // NOTE the digit at position d of each String is cached in digits[i] as its value plus one (zero for a missing character).
+            final int charPosition = d / digitsPerChar;
+            final int shift = (digitsPerChar - 1 - d % digitsPerChar) * bits;
+            Arrays.fill(count, 0);
+            if (n >= parallelThreshold)
+                pool.invoke(new Histogram(source, sourceOffset, digits, 0, n, charPosition, shift)).copyInto(count);
+            else histogram(source, sourceOffset, digits, 0, n, charPosition, shift, count, 2);
+            if (count[digits[0] + 2] == n) continue;
+            // transform counts to indices
+            for (int r = 1; r < radix + 3; r++)
+                count[r] += count[r - 1];
+            // distribute
+            for (int i = 0; i < n; i++)
+                target[targetOffset + count[digits[i] + 1]++] = source[sourceOffset + i];
+            final String[] temp = source;
+            source = target;
+            target = temp;
+            final int tempOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tempOffset;
+        }
+        // copy back
+        if (source != strArr) System.arraycopy(source, sourceOffset, strArr, from, n);
     }
 
     /**
@@ -84,4 +121,101 @@ public class LSDStringSort {
     public void sort(String[] strArr) {
         sort(strArr, 0, strArr.length - 1);
     }
+
+    /**
+     * @return the radix.
+     */
+    public int getRadix() {
+        return radix;
+    }
+
+    public static final String LSDSTRINGSORT = "lsdstringsort";
+    public static final String RADIX = "radix";
+    public static final String PARALLEL_THRESHOLD = "parallelthreshold";
+
+    public static final int CHAR_RANGE = 1 << 16;
+    public static final int DEFAULT_RADIX = 1 << 8;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 17;
+
+    /**
+     * findMaxLength method returns maximum length of all strings in a sub-array.
+     *
+     * @param strArr It contains an array of String from which maximum length needs to be found
+     * @param from   the index of the first String to be considered.
+     * @param to     the index of the first String not to be considered.
+     * @return int Returns maximum length value
+     */
+    private static int findMaxLength(String[] strArr, int from, int to) {
+        int maxLength = 0;
+        for (int i = from; i < to; i++)
+            maxLength = Math.max(maxLength, strArr[i].length());
+        return maxLength;
+    }
+
+    /**
+     * Compute (and cache) the digits of source[offset+lo] ... source[offset+hi-1] and count them in count[digit + base].
+     */
+    private void histogram(String[] source, int offset, int[] digits, int lo, int hi, int charPosition, int shift, int[] count, int base) {
+        final int mask = radix - 1;
+        for (int i = lo; i < hi; i++) {
+            final String s = source[offset + i];
+            final int digit = charPosition < s.length() ? (s.charAt(charPosition) >>> shift & mask) + 1 : 0;
+            digits[i] = digit;
+            count[digit + base]++;
+        }
+    }
+
+    /**
+     * Task to compute the histogram of a range of digits, in parallel.
+     */
+    @SuppressWarnings("serial")
+    private class Histogram extends RecursiveTask<Histogram> {
+
+        Histogram(String[] source, int offset, int[] digits, int lo, int hi, int charPosition, int shift) {
+            this.source = source;
+            this.offset = offset;
+            this.digits = digits;
+            this.lo = lo;
+            this.hi = hi;
+            this.charPosition = charPosition;
+            this.shift = shift;
+        }
+
+        @Override
+        protected Histogram compute() {
+            if (hi - lo <= parallelThreshold / 2) {
+                counts = new int[radix + 1];
+                histogram(source, offset, digits, lo, hi, charPosition, shift, counts, 0);
+                return this;
+            }
+            final int mid = (lo + hi) >>> 1;
+            final Histogram left = new Histogram(source, offset, digits, lo, mid, charPosition, shift);
+            left.fork();
+            final Histogram right = new Histogram(source, offset, digits, mid, hi, charPosition, shift).compute();
+            counts = left.join().counts;
+            for (int r = 0; r < counts.length; r++) counts[r] += right.counts[r];
+            return this;
+        }
+
+        /**
+         * Copy the histogram into count (which has two more leading elements than counts).
+         */
+        void copyInto(int[] count) {
+            System.arraycopy(counts, 0, count, 2, counts.length);
+        }
+
+        private final String[] source;
+        private final int offset;
+        private final int[] digits;
+        private final int lo;
+        private final int hi;
+        private final int charPosition;
+        private final int shift;
+        private int[] counts;
+    }
+
+    private final int radix;
+    private final int bits;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
 }
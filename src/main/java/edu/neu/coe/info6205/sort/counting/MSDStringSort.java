@@ -1,56 +1,253 @@
 package edu.neu.coe.info6205.sort.counting;
 
 import edu.neu.coe.info6205.sort.elementary.InsertionSortMSD;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Class to implement Most significant digit string sort (a radix sort).
+ * <p>
+ * As for LSDStringSort, each (UTF-16) character is split into one or more digits according to the radix
+ * (a power of two whose number of bits divides 16) so that any String may be sorted.
+ * A sub-array in which every String has the same digit is not distributed at all: we simply move on to the next digit.
+ * Sub-arrays smaller than cutoff are sorted by InsertionSortMSD.
+ * <p>
+ * An instance of MSDStringSort holds only its configuration: all of the state of a sort (such as the auxiliary array)
+ * belongs to that sort, so that an instance may be used by several threads at once.
+ * Buckets of at least parallelThreshold elements are sorted as separate tasks in the fork/join pool.
+ * <p>
+ * If inPlace is true, each sub-array is permuted into its buckets in place (as in "American flag" sort),
+ * so that no auxiliary array is required at all (at the cost of stability, which is irrelevant for Strings).
  */
 public class MSDStringSort {
 
     /**
-     * Sort an array of Strings using MSDStringSort.
+     * Constructor for MSDStringSort.
+     *
+     * @param radix             the radix (a power of two whose number of bits divides 16).
+     * @param cutoff            the size of sub-array below which we use insertion sort (at least 1, which disables insertion sort).
+     * @param parallelThreshold the size of bucket at or above which we sort it as a separate task (at least 2).
+     * @param pool              the pool in which to run the separate tasks.
+     * @param inPlace           true if the buckets are to be formed in place (American flag sort).
+     */
+    public MSDStringSort(int radix, int cutoff, int parallelThreshold, ForkJoinPool pool, boolean inPlace) {
+        if (radix < 2 || radix > LSDStringSort.CHAR_RANGE || Integer.bitCount(radix) != 1 || 16 % Integer.numberOfTrailingZeros(radix) != 0)
+            throw new IllegalArgumentException("MSDStringSort: radix must be a power of two whose number of bits divides 16: " + radix);
+        if (cutoff < 1)
+            throw new IllegalArgumentException("MSDStringSort: cutoff must be at least 1: " + cutoff);
+        // NOTE a bucket of fewer than two Strings is already sorted and must never be forked as a separate task.
+        if (parallelThreshold < 2)
+            throw new IllegalArgumentException("MSDStringSort: parallelThreshold must be at least 2: " + parallelThreshold);
+        this.radix = radix;
+        this.bits = Integer.numberOfTrailingZeros(radix);
+        this.digitsPerChar = 16 / bits;
+        this.cutoff = cutoff;
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+        this.inPlace = inPlace;
+    }
+
+    /**
+     * Constructor for MSDStringSort with the default radix, cutoff and parallel threshold and which uses the common pool.
+     *
+     * @param inPlace true if the buckets are to be formed in place (American flag sort).
+     */
+    public MSDStringSort(boolean inPlace) {
+        this(DEFAULT_RADIX, DEFAULT_CUTOFF, DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool(), inPlace);
+    }
+
+    /**
+     * Constructor for MSDStringSort with all the default settings.
+     */
+    public MSDStringSort() {
+        this(false);
+    }
+
+    /**
+     * Constructor for MSDStringSort which takes its settings from the msdstringsort section of the configuration.
+     *
+     * @param config the configuration.
+     */
+    public MSDStringSort(Config config) {
+        this(config.getInt(MSDSTRINGSORT, LSDStringSort.RADIX, DEFAULT_RADIX),
+                config.getInt(MSDSTRINGSORT, CUTOFF, DEFAULT_CUTOFF),
+                config.getInt(MSDSTRINGSORT, LSDStringSort.PARALLEL_THRESHOLD, DEFAULT_PARALLEL_THRESHOLD),
+                Pools.getPool(config.getInt(MSDSTRINGSORT, Pools.THREADS, 0)),
+                config.getBoolean(MSDSTRINGSORT, INPLACE));
+    }
+
+    /**
+     * Sort an array of Strings using MSDStringSort (with the default settings).
      *
      * @param a the array to be sorted.
      */
     public static void sort(String[] a) {
-        int n = a.length;
-        aux = new String[n];
-        sort(a, 0, n, 0);
+        new MSDStringSort().sort(a, 0, a.length);
     }
 
     /**
-     * Sort from a[lo] to a[hi] (exclusive), ignoring the first d characters of each String.
-     * This method is recursive.
+     * Sort the sub-array a[from] ... a[to-1].
      *
-     * @param a the array to be sorted.
-     * @param lo the low index.
-     * @param hi the high index (one above the highest actually processed).
-     * @param d the number of characters in each String to be skipped.
-     */
-    private static void sort(String[] a, int lo, int hi, int d) {
-        if (hi < lo + cutoff) InsertionSortMSD.sort(a, lo, hi, d);
-        else {
-            int[] count = new int[radix + 2];        // Compute frequency counts.
-            for (int i = lo; i < hi; i++)
-                count[charAt(a[i], d) + 2]++;
-            for (int r = 0; r < radix + 1; r++)      // Transform counts to indices.
+     * @param a    the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(String[] a, int from, int to) {
+        final Job job = new Job(a, from, to);
+        if (to - from >= parallelThreshold) pool.invoke(job.new Task(from, to, 0));
+        else job.sort(from, to, 0);
+    }
+
+    /**
+     * @return true if this sort forms its buckets in place.
+     */
+    public boolean isInPlace() {
+        return inPlace;
+    }
+
+    public static final String MSDSTRINGSORT = "msdstringsort";
+    public static final String CUTOFF = "cutoff";
+    public static final String INPLACE = "inplace";
+
+    public static final int DEFAULT_RADIX = 1 << 8;
+    public static final int DEFAULT_CUTOFF = 15;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 15;
+
+    /**
+     * The state of one sort.
+     */
+    private class Job {
+
+        Job(String[] a, int from, int to) {
+            this.a = a;
+            this.offset = from;
+            this.aux = inPlace ? null : new String[to - from];
+        }
+
+        /**
+         * Sort from a[lo] to a[hi] (exclusive), all of whose digits before the one at level are known to be equal.
+         * This method is recursive.
+         *
+         * @param lo    the low index.
+         * @param hi    the high index (one above the highest actually processed).
+         * @param level the index of the digit on which to distribute.
+         */
+        void sort(int lo, int hi, int level) {
+            final int n = hi - lo;
+            int[] count;
+            while (true) {
+                if (n < cutoff) {
+                    InsertionSortMSD.sort(a, lo, hi, level / digitsPerChar);
+                    return;
+                }
+                count = new int[radix + 3];        // Compute frequency counts.
+                for (int i = lo; i < hi; i++)
+                    count[digit(a[i], level) + 2]++;
+                final int first = digit(a[lo], level);
+                if (count[first + 2] < n) break;
+                // NOTE every String has the same digit: if they have all ended, they are equal; otherwise, try the next digit.
+                if (first == 0) return;
+                level++;
+            }
+            for (int r = 0; r < radix + 2; r++)      // Transform counts to indices.
                 count[r + 1] += count[r];
+            if (inPlace) count = permute(lo, hi, level, count);
+            else distribute(lo, hi, level, count);
+            // NOTE bucket r now extends from lo + count[r] to lo + count[r+1]; bucket 0 (ended Strings) is already sorted.
+            List<ForkJoinTask<Void>> tasks = null;
+            for (int r = 1; r <= radix; r++) {
+                final int bucketLo = lo + count[r], bucketHi = lo + count[r + 1];
+                if (bucketHi - bucketLo >= parallelThreshold) {
+                    if (tasks == null) tasks = new ArrayList<>();
+                    tasks.add(new Task(bucketLo, bucketHi, level + 1).fork());
+                } else if (bucketHi - bucketLo > 1) sort(bucketLo, bucketHi, level + 1);
+            }
+            if (tasks != null) for (ForkJoinTask<Void> task : tasks) task.join();
+        }
+
+        /**
+         * Distribute a[lo] ... a[hi-1] into aux and copy back.
+         */
+        private void distribute(int lo, int hi, int level, int[] count) {
+            final int base = lo - offset;
             for (int i = lo; i < hi; i++)     // Distribute.
-                aux[count[charAt(a[i], d) + 1]++] = a[i];
-            // Copy back.
-            if (hi - lo >= 0) System.arraycopy(aux, 0, a, lo, hi - lo);
-            // Recursively sort for each character value.
-            // FIXME
-            // END 
+                aux[base + count[digit(a[i], level) + 1]++] = a[i];
+            System.arraycopy(aux, base, a, lo, hi - lo);     // Copy back.
+        }
+
+        /**
+         * Permute a[lo] ... a[hi-1] in place so that each String is in its bucket.
+         *
+         * @return the bounds of the buckets (as for distribute).
+         */
+        private int[] permute(int lo, int hi, int level, int[] count) {
+            // NOTE next[r+1] is the (relative) index of the next unplaced element of bucket r; count[r+2] is the end of bucket r.
+            final int[] next = Arrays.copyOf(count, count.length);
+            for (int r = 0; r <= radix; r++) {
+                final int end = count[r + 2];
+                while (next[r + 1] < end) {
+                    String s = a[lo + next[r + 1]];
+                    int d = digit(s, level);
+                    // NOTE follow the cycle which begins here until we find a String which belongs in bucket r.
+                    while (d != r) {
+                        final int i = lo + next[d + 1]++;
+                        final String t = a[i];
+                        a[i] = s;
+                        s = t;
+                        d = digit(s, level);
+                    }
+                    a[lo + next[r + 1]++] = s;
+                }
+            }
+            return next;
         }
+
+        @SuppressWarnings("serial")
+        private class Task extends RecursiveAction {
+            Task(int lo, int hi, int level) {
+                this.lo = lo;
+                this.hi = hi;
+                this.level = level;
+            }
+
+            @Override
+            protected void compute() {
+                sort(lo, hi, level);
+            }
+
+            private final int lo;
+            private final int hi;
+            private final int level;
+        }
+
+        private final String[] a;
+        private final int offset;
+        private final String[] aux;       // auxiliary array for distribution (null if inPlace)
     }
 
-    private static int charAt(String s, int d) {
-        if (d < s.length()) return s.charAt(d);
-        else return -1;
+    /**
+     * @param s     a String.
+     * @param level the index of a digit.
+     * @return one more than the digit of s at level, or 0 if s has no such digit.
+     */
+    private int digit(String s, int level) {
+        final int d = level / digitsPerChar;
+        if (d >= s.length()) return 0;
+        return (s.charAt(d) >>> (digitsPerChar - 1 - level % digitsPerChar) * bits & radix - 1) + 1;
     }
 
-    private static final int radix = 256;
-    private static final int cutoff = 15;
-    private static String[] aux;       // auxiliary array for distribution
-}
\ No newline at end of file
+    private final int radix;
+    private final int bits;
+    private final int digitsPerChar;
+    private final int cutoff;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+    private final boolean inPlace;
+}
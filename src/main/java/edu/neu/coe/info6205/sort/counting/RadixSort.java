@@ -8,7 +8,8 @@ package edu.neu.coe.info6205.sort.counting;
  * position and value (place value). Radix sort uses counting sort as a
  * subroutine to sort an array of numbers.
  * <p>
- * <b>Disclaimer:</b> This radix sort can only sort positive integers
+ * NOTE that countSort (base 10) can only sort non-negative integers,
+ * but sort now delegates to LSDRadixSort (byte digits), which sorts any integers, including negative ones.
  *
  * @version 1.0
  * @since 13th May 2020
@@ -85,14 +86,10 @@ public class RadixSort {
         if (to > numArr.length - 1)
             throw new ArrayIndexOutOfBoundsException("To should be between 0 and " + (numArr.length - 1));
 
-        // Finding max number
-        int maxVal = findMaxInt(numArr, from, to);
-        //Performing counting sort on every exponent
-        int exp = 1;
-        while (maxVal / exp > 0) {
-            countSort(numArr, exp, from, to);
-            exp *= 10;
-        }
+        // NOTE to is inclusive here but exclusive for LSDRadixSort.
+        lsdRadixSort.sort(numArr, from, to + 1);
     }
 
+    private final LSDRadixSort lsdRadixSort = new LSDRadixSort();
+
 }
@@ -2,6 +2,8 @@
 package edu.neu.coe.info6205.sort.elementary;
 
 import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.Kernels;
+import edu.neu.coe.info6205.sort.SortKernel;
 import edu.neu.coe.info6205.sort.SortWithHelper;
 
 public class HeapSort<X extends Comparable<X>> extends SortWithHelper<X> {
@@ -10,9 +12,18 @@ public class HeapSort<X extends Comparable<X>> extends SortWithHelper<X> {
         super(helper);
     }
 
+    @Override
+    protected SortKernel<X> createKernel() {
+        return Kernels::heapSort;
+    }
+
     @Override
     public void sort(X[] array, int from, int to) {
         if (array == null || array.length <= 1) return;
+        if (getKernel() != null) {
+            Kernels.heapSort(array, from, to);
+            return;
+        }
 
         // XXX construction phase
         buildMaxHeap(array);
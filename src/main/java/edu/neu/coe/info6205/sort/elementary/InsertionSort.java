@@ -12,6 +12,8 @@ import java.util.function.UnaryOperator;
 import java.util.function.Supplier;
 import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.Kernels;
+import edu.neu.coe.info6205.sort.SortKernel;
 import edu.neu.coe.info6205.sort.SortWithHelper;
 import edu.neu.coe.info6205.threesum.ThreeSumQuadratic;
 import edu.neu.coe.info6205.util.Config;
@@ -141,6 +143,10 @@ public class InsertionSort<X extends Comparable<X>> extends SortWithHelper<X> {
     //default boolean swapStableConditional(X[] xs, int i) {
     // public Benchmark_Timer(String description, UnaryOperator<T> fPre, Consumer<T> fRun)
     public void sort(X[] xs, int from, int to) {
+        if (getKernel() != null) {
+            Kernels.insertionSort(xs, from, to);
+            return;
+        }
         final Helper<X> helper = getHelper();
         for(int i = from;i< to;i++) {
         	int j = i;
@@ -157,6 +163,11 @@ public class InsertionSort<X extends Comparable<X>> extends SortWithHelper<X> {
         // END 
     }
     
+    @Override
+    protected SortKernel<X> createKernel() {
+        return Kernels::insertionSort;
+    }
+
     public static final String DESCRIPTION = "Insertion sort";
 
     public static <T extends Comparable<T>> void sort(T[] ts) {
@@ -12,8 +12,16 @@ public class InsertionSortMSD {
                 swap(a, j, j - 1);
     }
 
+    /**
+     * Equivalent to v.substring(d).compareTo(w.substring(d)) < 0 but without creating any new Strings.
+     */
     private static boolean less(String v, String w, int d) {
-        return v.substring(d).compareTo(w.substring(d)) < 0;
+        final int n = Math.min(v.length(), w.length());
+        for (int i = d; i < n; i++) {
+            final char x = v.charAt(i), y = w.charAt(i);
+            if (x != y) return x < y;
+        }
+        return v.length() < w.length();
     }
 
     private static void swap(Object[] a, int j, int i) {
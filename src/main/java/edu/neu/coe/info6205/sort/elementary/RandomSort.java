@@ -59,7 +59,7 @@ public class RandomSort<X extends Comparable<X>> extends SortWithHelper<X> {
         final Helper<X> helper = getHelper();
         boolean instrumented = helper.instrumented();
         QuickRandom r = new QuickRandom(N);
-        int inversions = instrumented ? helper.inversions(xs) : 0;
+        long inversions = instrumented ? helper.inversions(xs) : 0;
         if (N > CUTOFF) {
             int m = (int) (FACTOR * Utilities.lg(N) * N);
             for (int i = m; i > 0; i--) {
@@ -68,8 +68,8 @@ public class RandomSort<X extends Comparable<X>> extends SortWithHelper<X> {
                 helper.swapConditional(xs, j, r.get());
             }
             if (instrumented) {
-                final int currentInversions = helper.inversions(xs);
-                final int fixes = inversions - currentInversions;
+                final long currentInversions = helper.inversions(xs);
+                final long fixes = inversions - currentInversions;
                 inversions = currentInversions;
                 System.out.println("pre-processor: inversions=" + currentInversions + ", fixes=" + fixes + ", comparisons=" + m);
             }
@@ -78,8 +78,8 @@ public class RandomSort<X extends Comparable<X>> extends SortWithHelper<X> {
         if (instrumented) {
             String s = helper.showStats();
             System.out.println("after insertion sort: " + s);
-            final int currentInversions = helper.inversions(xs);
-            final int fixes = inversions - currentInversions;
+            final long currentInversions = helper.inversions(xs);
+            final long fixes = inversions - currentInversions;
             System.out.println("insertion sort: inversions=" + currentInversions + ", fixes=" + fixes);
         }
     }
@@ -113,7 +113,7 @@ public class ShellSort<X extends Comparable<X>> extends SortWithHelper<X> {
      */
     private void hSort(int h, X[] xs, int from, int to) {
         final Helper<X> helper = getHelper();
-        int inversionsStart = 0;
+        long inversionsStart = 0;
         if (helper.instrumented()) {
             inversionsStart = helper.inversions(xs);
             logger.debug("hSort (begin) with h=" + h + ", current inversionsStart=" + inversionsStart);
@@ -123,7 +123,7 @@ public class ShellSort<X extends Comparable<X>> extends SortWithHelper<X> {
             while (j >= h + from && helper.swapConditional(xs, j - h, j)) j -= h;
         }
         if (helper.instrumented()) {
-            int inversionsEnd = helper.inversions(xs);
+            long inversionsEnd = helper.inversions(xs);
             int proportionFixed = (int) (100.0 * (inversionsStart - inversionsEnd) / inversionsStart);
             logger.debug("hSort (end) with h=" + h + ", inversions fixed=" + proportionFixed + "%");
         }
@@ -0,0 +1,562 @@
+package edu.neu.coe.info6205.sort.external;
+
+import edu.neu.coe.info6205.pq.PQException;
+import edu.neu.coe.info6205.pq.PriorityQueue;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * External merge sort of the lines of a (UTF-8) text file which may be very much larger than the heap.
+ * <p>
+ * The sort proceeds in two phases:
+ * <ol>
+ *     <li>run formation: the input is read through an NIO channel into a fixed-size buffer and split into lines,
+ *     which are gathered into chunks of (approximately) at most memory / (threads + 1) bytes.
+ *     Each chunk is sorted (by a SortWithHelper obtained from the sorter factory) on one of threads threads,
+ *     while the next chunk is being read, and spilled to a temporary run file in which each line is written as
+ *     its UTF-8 length (as a variable-length integer) followed by its UTF-8 bytes;</li>
+ *     <li>merging: the runs are merged, fanIn at a time, using a (minimum) PriorityQueue of the head of each run,
+ *     until at most fanIn runs remain, which are then merged into the output file.
+ *     The runs are read either through buffered channels or (if mapped is true) as memory-mapped files.
+ *     A mapped run is unmapped when its reader is closed, i.e. before the run file is deleted.</li>
+ * </ol>
+ * Lines are terminated by '\n' (a preceding '\r' is removed); the lines of the output are terminated by '\n'.
+ * The sort is stable if the chunk sorter is stable (the merges take equal lines from the earlier run first).
+ */
+public class ExternalMergeSort {
+
+    /**
+     * Constructor for ExternalMergeSort.
+     *
+     * @param memory        the (approximate) number of bytes of heap to be used for the lines of the chunks in memory.
+     * @param fanIn         the maximum number of runs to be merged at once (at least 2).
+     * @param threads       the number of chunks which may be sorted at once.
+     * @param bufferSize    the size (in bytes) of each I/O buffer.
+     * @param mapped        true if runs are to be read as memory-mapped files.
+     * @param tempDirectory the directory for the run files (or null for the default temporary-file directory).
+     * @param sorterFactory a function which, given the number of elements in a chunk, yields a sorter for that chunk.
+     */
+    public ExternalMergeSort(long memory, int fanIn, int threads, int bufferSize, boolean mapped, Path tempDirectory, IntFunction<SortWithHelper<String>> sorterFactory) {
+        if (fanIn < 2) throw new IllegalArgumentException("ExternalMergeSort: fanIn must be at least 2: " + fanIn);
+        if (threads < 1) throw new IllegalArgumentException("ExternalMergeSort: threads must be at least 1: " + threads);
+        this.chunkMemory = Math.max(1, memory / (threads + 1));
+        this.fanIn = fanIn;
+        this.threads = threads;
+        this.bufferSize = Math.max(bufferSize, MIN_BUFFER_SIZE);
+        this.mapped = mapped;
+        this.tempDirectory = tempDirectory;
+        this.sorterFactory = sorterFactory;
+    }
+
+    /**
+     * Constructor for ExternalMergeSort which takes its settings from the externalsort section of the configuration.
+     *
+     * @param config        the configuration.
+     * @param sorterFactory a function which, given the number of elements in a chunk, yields a sorter for that chunk.
+     */
+    public ExternalMergeSort(Config config, IntFunction<SortWithHelper<String>> sorterFactory) {
+        this(config.getLong(EXTERNALSORT, MEMORY, DEFAULT_MEMORY),
+                config.getInt(EXTERNALSORT, FANIN, DEFAULT_FANIN),
+                config.getInt(EXTERNALSORT, THREADS, DEFAULT_THREADS),
+                config.getInt(EXTERNALSORT, BUFFERSIZE, DEFAULT_BUFFERSIZE),
+                config.getBoolean(EXTERNALSORT, MAPPED),
+                getTempDirectory(config),
+                sorterFactory);
+    }
+
+    /**
+     * Constructor for ExternalMergeSort which takes its settings from the externalsort section of the configuration
+     * and which sorts each chunk with MergeSort.
+     *
+     * @param config the configuration.
+     */
+    public ExternalMergeSort(Config config) {
+        this(config, n -> new MergeSort<>(n, config));
+    }
+
+    /**
+     * Sort the lines of input into output.
+     *
+     * @param input  the path of the input file.
+     * @param output the path of the output file (which will be overwritten).
+     * @return the number of lines sorted.
+     * @throws IOException if the input cannot be read, or a run or the output cannot be written.
+     */
+    public long sort(Path input, Path output) throws IOException {
+        runs = 0;
+        mergePasses = 0;
+        final List<Path> runFiles = new ArrayList<>();
+        // NOTE the runs created by a merge pass are not in runFiles until the pass is complete, so they are tracked here too.
+        final List<Path> mergedFiles = new ArrayList<>();
+        try {
+            final long lines = formRuns(input, runFiles);
+            runs = runFiles.size();
+            logger.debug(() -> "ExternalMergeSort: " + lines + " lines in " + runs + " runs from " + input);
+            while (runFiles.size() > fanIn) {
+                final List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runFiles.size(); i += fanIn) {
+                    final List<Path> group = runFiles.subList(i, Math.min(i + fanIn, runFiles.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    final Path run = createRunFile();
+                    mergedFiles.add(run);
+                    merged.add(run);
+                    try (RunWriter writer = new RunWriter(run, bufferSize)) {
+                        merge(group, writer);
+                    }
+                    for (Path path : group) Files.delete(path);
+                }
+                runFiles.clear();
+                runFiles.addAll(merged);
+                mergePasses++;
+            }
+            try (LineWriter writer = new LineWriter(output)) {
+                merge(runFiles, writer);
+            }
+            mergePasses++;
+            return lines;
+        } finally {
+            for (Path path : runFiles) Files.deleteIfExists(path);
+            for (Path path : mergedFiles) Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * @return the number of runs formed by the most recent sort.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return the number of merge passes (including the final one) made by the most recent sort.
+     */
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    public static final String EXTERNALSORT = "externalsort";
+    public static final String MEMORY = "memory";
+    public static final String FANIN = "fanin";
+    public static final String THREADS = "threads";
+    public static final String BUFFERSIZE = "buffersize";
+    public static final String MAPPED = "mapped";
+    public static final String TEMPDIRECTORY = "tempdirectory";
+
+    public static final long DEFAULT_MEMORY = 1L << 26;
+    public static final int DEFAULT_FANIN = 64;
+    public static final int DEFAULT_THREADS = 2;
+    public static final int DEFAULT_BUFFERSIZE = 1 << 16;
+
+    /**
+     * Read the input, sort it in chunks and spill each chunk to a run file.
+     *
+     * @param input    the path of the input file.
+     * @param runFiles the list to which the run files are added (in input order).
+     * @return the number of lines read.
+     */
+    private long formRuns(Path input, List<Path> runFiles) throws IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final Deque<Future<Path>> pending = new ArrayDeque<>();
+        long lines = 0;
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+            final byte[] bytes = buffer.array();
+            byte[] partial = new byte[256];
+            int partialLength = 0;
+            List<String> chunk = new ArrayList<>();
+            long chunkBytes = 0;
+            while (channel.read(buffer) >= 0) {
+                final int end = buffer.position();
+                int start = 0;
+                for (int i = 0; i < end; i++) {
+                    if (bytes[i] != '\n') continue;
+                    final String line;
+                    if (partialLength > 0) {
+                        partial = append(partial, partialLength, bytes, start, i - start);
+                        line = decode(partial, partialLength + i - start);
+                        partialLength = 0;
+                    } else line = decode(bytes, start, i - start);
+                    chunk.add(line);
+                    lines++;
+                    chunkBytes += STRING_OVERHEAD + 2L * line.length();
+                    if (chunkBytes >= chunkMemory) {
+                        spill(chunk, executor, pending, runFiles);
+                        chunk = new ArrayList<>();
+                        chunkBytes = 0;
+                    }
+                    start = i + 1;
+                }
+                partial = append(partial, partialLength, bytes, start, end - start);
+                partialLength += end - start;
+                buffer.clear();
+            }
+            // NOTE the last line need not be terminated.
+            if (partialLength > 0) {
+                chunk.add(decode(partial, partialLength));
+                lines++;
+            }
+            if (!chunk.isEmpty()) spill(chunk, executor, pending, runFiles);
+            while (!pending.isEmpty()) runFiles.add(complete(pending.removeFirst()));
+            return lines;
+        } finally {
+            // NOTE if we failed, wait for any outstanding chunks so that their run files can be deleted.
+            executor.shutdown();
+            while (!pending.isEmpty())
+                try {
+                    runFiles.add(complete(pending.removeFirst()));
+                } catch (IOException e) {
+                    logger.warn("ExternalMergeSort: failed to form run", e);
+                }
+            awaitTermination(executor);
+        }
+    }
+
+    /**
+     * Wait for the threads of the (shut down) executor to terminate, so that none outlives the sort.
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS))
+                logger.warn("ExternalMergeSort: run-forming threads did not terminate within " + TERMINATION_TIMEOUT + " seconds");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Submit a chunk to be sorted and written to a run file, first waiting (if necessary) until fewer than threads chunks are outstanding.
+     */
+    private void spill(List<String> chunk, ExecutorService executor, Deque<Future<Path>> pending, List<Path> runFiles) throws IOException {
+        if (pending.size() >= threads) runFiles.add(complete(pending.removeFirst()));
+        final String[] xs = chunk.toArray(new String[0]);
+        pending.addLast(executor.submit(() -> {
+            final SortWithHelper<String> sorter = sorterFactory.apply(xs.length);
+            try {
+                sorter.mutatingSort(xs);
+            } finally {
+                sorter.close();
+            }
+            final Path run = createRunFile();
+            try (RunWriter writer = new RunWriter(run, bufferSize)) {
+                for (String x : xs) writer.accept(x);
+            }
+            return run;
+        }));
+    }
+
+    private static Path complete(Future<Path> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("ExternalMergeSort: interrupted while forming run", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            if (e.getCause() instanceof UncheckedIOException) throw ((UncheckedIOException) e.getCause()).getCause();
+            throw new IOException("ExternalMergeSort: failed to form run", e.getCause());
+        }
+    }
+
+    /**
+     * Merge the given runs into sink using a priority queue.
+     */
+    private void merge(List<Path> runFiles, Sink sink) throws IOException {
+        final List<RunReader> readers = new ArrayList<>();
+        try {
+            // NOTE ties are broken by run index so that the merge is stable.
+            final PriorityQueue<Head> pq = new PriorityQueue<>(runFiles.size(), false, Comparator.<Head, String>comparing(h -> h.value).thenComparingInt(h -> h.index), true);
+            for (Path path : runFiles) {
+                final RunReader reader = new RunReader(path, bufferSize, mapped);
+                readers.add(reader);
+                final String value = reader.read();
+                if (value != null) pq.give(new Head(value, readers.size() - 1, reader));
+            }
+            while (!pq.isEmpty()) {
+                final Head head = pq.take();
+                sink.accept(head.value);
+                head.value = head.reader.read();
+                if (head.value != null) pq.give(head);
+            }
+        } catch (PQException e) {
+            throw new IllegalStateException("ExternalMergeSort: logic error", e);
+        } finally {
+            for (RunReader reader : readers) reader.close();
+        }
+    }
+
+    private Path createRunFile() throws IOException {
+        return tempDirectory != null ? Files.createTempFile(tempDirectory, "run", ".bin") : Files.createTempFile("run", ".bin");
+    }
+
+    private static Path getTempDirectory(Config config) {
+        final String directory = config.get(EXTERNALSORT, TEMPDIRECTORY);
+        return directory == null || directory.isEmpty() ? null : Paths.get(directory);
+    }
+
+    private static byte[] append(byte[] partial, int partialLength, byte[] bytes, int start, int length) {
+        if (partialLength + length > partial.length)
+            partial = Arrays.copyOf(partial, Math.max(2 * partial.length, partialLength + length));
+        System.arraycopy(bytes, start, partial, partialLength, length);
+        return partial;
+    }
+
+    private static String decode(byte[] bytes, int length) {
+        return decode(bytes, 0, length);
+    }
+
+    private static String decode(byte[] bytes, int start, int length) {
+        if (length > 0 && bytes[start + length - 1] == '\r') length--;
+        return new String(bytes, start, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The current head of a run, as an element of the priority queue.
+     */
+    private static class Head {
+        Head(String value, int index, RunReader reader) {
+            this.value = value;
+            this.index = index;
+            this.reader = reader;
+        }
+
+        String value;
+        final int index;
+        final RunReader reader;
+    }
+
+    /**
+     * The destination of a merge.
+     */
+    private interface Sink extends Closeable {
+        void accept(String x) throws IOException;
+    }
+
+    /**
+     * Writer of a run file: each String is written as its UTF-8 length (seven bits per byte, high bit set on all but the last byte)
+     * followed by its UTF-8 bytes.
+     */
+    private static class RunWriter implements Sink {
+        RunWriter(Path path, int bufferSize) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = ByteBuffer.allocate(bufferSize);
+        }
+
+        public void accept(String x) throws IOException {
+            final byte[] bytes = x.getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < 5 + bytes.length) flush();
+            int length = bytes.length;
+            while (length >= 0x80) {
+                buffer.put((byte) (length | 0x80));
+                length >>>= 7;
+            }
+            buffer.put((byte) length);
+            // NOTE a String which is too long for the buffer is written directly.
+            if (buffer.remaining() >= bytes.length) buffer.put(bytes);
+            else {
+                flush();
+                final ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining()) channel.write(wrapped);
+            }
+        }
+
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+    }
+
+    /**
+     * Reader of a run file (see RunWriter), either through a buffered channel or as a memory-mapped file.
+     */
+    private static class RunReader implements Closeable {
+        RunReader(Path path, int bufferSize, boolean mapped) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            // NOTE a file which is too large to be mapped as one buffer is read through the channel instead.
+            if (mapped && channel.size() <= Integer.MAX_VALUE) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                this.mapped = true;
+            } else {
+                buffer = ByteBuffer.allocate(bufferSize);
+                buffer.flip();
+                this.mapped = false;
+            }
+        }
+
+        /**
+         * @return the next String of the run, or null if there are no more.
+         */
+        String read() throws IOException {
+            if (!ensure(1)) return null;
+            int length = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (!ensure(1)) throw new IOException("ExternalMergeSort: truncated run file");
+                final byte b = buffer.get();
+                length |= (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            if (!ensure(length)) throw new IOException("ExternalMergeSort: truncated run file");
+            final String result;
+            if (buffer.hasArray()) {
+                result = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                final byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                result = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return result;
+        }
+
+        public void close() throws IOException {
+            try {
+                if (mapped) unmap(buffer);
+            } finally {
+                // NOTE a closed reader has nothing more to read (and must not touch an unmapped buffer).
+                buffer = EMPTY;
+                channel.close();
+            }
+        }
+
+        /**
+         * Release the mapping of buffer now, rather than when it is garbage-collected,
+         * since some platforms (notably Windows) will not delete a file while it is mapped.
+         * NOTE there is no public API for this in Java 11, so we use sun.misc.Unsafe.invokeCleaner (if it is available).
+         */
+        private static void unmap(ByteBuffer buffer) {
+            if (INVOKE_CLEANER == null) return;
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("ExternalMergeSort: cannot unmap run", e);
+            }
+        }
+
+        private static Object getUnsafe() {
+            try {
+                final Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return field.get(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                logger.debug("ExternalMergeSort: mapped runs will be unmapped by the garbage collector: " + e);
+                return null;
+            }
+        }
+
+        private static Method getInvokeCleaner() {
+            try {
+                return UNSAFE != null ? UNSAFE.getClass().getMethod("invokeCleaner", ByteBuffer.class) : null;
+            } catch (NoSuchMethodException e) {
+                logger.debug("ExternalMergeSort: mapped runs will be unmapped by the garbage collector: " + e);
+                return null;
+            }
+        }
+
+        private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+        private static final Object UNSAFE = getUnsafe();
+        private static final Method INVOKE_CLEANER = getInvokeCleaner();
+
+        /**
+         * Ensure that at least n bytes are available in the buffer (unless the end of the file is reached).
+         *
+         * @return true if n bytes are available.
+         */
+        private boolean ensure(int n) throws IOException {
+            if (buffer.remaining() >= n) return true;
+            if (mapped) return false;
+            if (n > buffer.capacity()) {
+                final ByteBuffer larger = ByteBuffer.allocate(n);
+                larger.put(buffer);
+                buffer = larger;
+            } else buffer.compact();
+            while (buffer.position() < n && channel.read(buffer) >= 0) {
+                // keep reading
+            }
+            buffer.flip();
+            return buffer.remaining() >= n;
+        }
+
+        private final FileChannel channel;
+        private final boolean mapped;
+        private ByteBuffer buffer;
+    }
+
+    /**
+     * Writer of the (UTF-8) output file: one line per String.
+     */
+    private static class LineWriter implements Sink {
+        LineWriter(Path path) throws IOException {
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        }
+
+        public void accept(String x) throws IOException {
+            writer.write(x);
+            writer.write('\n');
+        }
+
+        public void close() throws IOException {
+            writer.close();
+        }
+
+        private final BufferedWriter writer;
+    }
+
+    // NOTE the approximate number of bytes of heap used by a String (and its reference) over and above its characters.
+    private static final int STRING_OVERHEAD = 56;
+    private static final int MIN_BUFFER_SIZE = 16;
+    private static final int TERMINATION_TIMEOUT = 60;
+
+    private final long chunkMemory;
+    private final int fanIn;
+    private final int threads;
+    private final int bufferSize;
+    private final boolean mapped;
+    private final Path tempDirectory;
+    private final IntFunction<SortWithHelper<String>> sorterFactory;
+    private int runs;
+    private int mergePasses;
+
+    final static LazyLogger logger = new LazyLogger(ExternalMergeSort.class);
+}
@@ -4,10 +4,24 @@
 
 package edu.neu.coe.info6205.sort.hashCode;
 
+import edu.neu.coe.info6205.sort.counting.LSDRadixSort;
+
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Sort of a list of elements whose hashCode is (weakly) consistent with their natural order,
+ * i.e. x.hashCode() &lt; y.hashCode() implies x.compareTo(y) &lt; 0.
+ * <p>
+ * Each hash is packed together with the index of its element into a long (hash in the high 32 bits, index in the low 32 bits)
+ * so that the pairs can be sorted by LSDRadixSort in O(n) time.
+ * Then each run of equal hashes (collisions) is sorted according to the natural order of its elements.
+ * Both sorts are stable, so equal elements remain in their original order.
+ * The list is read (once) through toArray and the result is built from an array, so no List.get calls are made.
+ *
+ * @param <X> the underlying comparable type.
+ */
 public class HashCodeSort<X extends Comparable<X>> {
 
     /**
@@ -17,55 +31,44 @@ public class HashCodeSort<X extends Comparable<X>> {
      * @return the result
      */
     public List<X> sort(List<X> a) {
-        int n = a.size();
-        int[] indices = new int[n];
-        int[] hashes = new int[n];
-        init(a, indices, hashes);
-        insertionSort(n, indices, hashes);
-        verify(n, indices, hashes, a);
-        return createResult(n, indices, hashes, a);
+        final Object[] elements = a.toArray();
+        final int n = elements.length;
+        final long[] keys = new long[n];
+        init(elements, keys);
+        radixSort.sort(keys);
+        final Object[] result = createResult(elements, keys);
+        resolveCollisions(keys, result);
+        @SuppressWarnings("unchecked") final List<X> xs = (List<X>) (List<?>) Arrays.asList(result);
+        return new ArrayList<>(xs);
     }
 
-    // Sort the arrays indices and hashes by comparing hashes
-    private void insertionSort(int n, int[] indices, int[] hashes) {
-        // TO IMPLEMENT (8 points)
-        for (int i = 0; i < n; i++)
-            for (int j = i; j > 0; j--)
-                if (hashes[j] < hashes[j - 1]) {
-                    exchange(indices, j);
-                    exchange(hashes, j);
-                }
+    // Initialize the keys from the hashes of the elements and their indices
+    private void init(Object[] elements, long[] keys) {
+        // NOTE the signed order of the keys is the order of the hashes, then of the indices (which are non-negative).
+        for (int i = 0; i < elements.length; i++) keys[i] = (long) elements[i].hashCode() << 32 | i;
     }
 
-    // Verify that the arrays are in true order according to natural ordering on X
-    private void verify(int n, int[] indices, int[] hashes, List<X> a) {
-        // TO IMPLEMENT (8 points)
-        for (int i = 1; i < n; i++)
-            if (hashes[i - 1] == hashes[i])
-                if (a.get(indices[i - 1]).compareTo(a.get(indices[i])) > 0)
-                    exchange(indices, i);
+    // Build the resulting array from the indices in the sorted keys
+    private Object[] createResult(Object[] elements, long[] keys) {
+        final Object[] result = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) result[i] = elements[(int) keys[i]];
+        return result;
     }
 
-    // Exchange elements i-1 and i in the array
-    private void exchange(int[] array, int i) {
-        final int temp = array[i];
-        array[i] = array[i - 1];
-        array[i - 1] = temp;
+    // Sort each run of equal hashes according to the natural ordering on X
+    private void resolveCollisions(long[] keys, Object[] result) {
+        final int n = keys.length;
+        for (int lo = 0, hi; lo < n; lo = hi) {
+            final int hash = hash(keys[lo]);
+            hi = lo + 1;
+            while (hi < n && hash(keys[hi]) == hash) hi++;
+            if (hi - lo > 1) Arrays.sort(result, lo, hi);
+        }
     }
 
-    // Build the resulting List<X> from the indices
-    private List<X> createResult(int n, int[] indices, int[] hashes, List<X> a) {
-        List<X> result = new ArrayList<>();
-        for (int i = 0; i < n; i++) result.add(a.get(indices[i]));
-        return result;
+    private static int hash(long key) {
+        return (int) (key >> 32);
     }
 
-    // Initialize the indices and hashes arrays from the list "a"
-    private void init(Collection<X> a, int[] indices, int[] hashes) {
-        int index = 0;
-        for (Object x : a) {
-            indices[index] = index;
-            hashes[index++] = x.hashCode();
-        }
-    }
+    private final LSDRadixSort radixSort = new LSDRadixSort();
 }
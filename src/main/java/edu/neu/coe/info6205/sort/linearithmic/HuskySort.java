@@ -0,0 +1,193 @@
+/*
+  (c) Copyright 2018, 2019 Phasmid Software
+ */
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+
+/**
+ * Husky sort of Strings.
+ * <p>
+ * Each String is encoded as a long "husky code" which preserves order (though not necessarily uniqueness):
+ * if s.compareTo(t) is negative, then code(s) is no greater than code(t).
+ * The codes are sorted (with the Strings following them as a permutation) using primitive long compares
+ * which are very much cheaper than String.compareTo.
+ * Since only Strings with equal codes can then be out of order, a final pass of insertion sort (using compareTo) completes the sort in linear time
+ * (unless there are many Strings which share a long prefix).
+ * <p>
+ * There are two coders:
+ * if the first nine characters of every String are ASCII, nine seven-bit characters are packed into each code;
+ * otherwise, four sixteen-bit (UTF-16) characters are packed into each code (with the sign bit flipped so that signed order is String order).
+ * <p>
+ * If the Helper is instrumented, only the compares (and swaps) of the final insertion sort are counted.
+ */
+public class HuskySort extends SortWithHelper<String> {
+
+    public static final String DESCRIPTION = "Husky sort";
+
+    /**
+     * Constructor for HuskySort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public HuskySort(Helper<String> helper) {
+        super(helper);
+        insertionSort = new InsertionSort<>(helper);
+    }
+
+    /**
+     * Constructor for HuskySort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public HuskySort(int N, Config config) {
+        super(DESCRIPTION, N, config);
+        insertionSort = new InsertionSort<>(getHelper());
+    }
+
+    @Override
+    public String[] sort(String[] xs, boolean makeCopy) {
+        getHelper().init(xs.length);
+        String[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    @Override
+    public void sort(String[] xs, int from, int to) {
+        final int n = to - from;
+        if (n <= 1) return;
+        final long[] codes = new long[n];
+        final boolean ascii = isAscii(xs, from, to);
+        for (int i = 0; i < n; i++) codes[i] = ascii ? asciiCode(xs[from + i]) : unicodeCode(xs[from + i]);
+        sort(codes, xs, 0, n, from, 2 * floor_lg(n));
+        insertionSort.sort(xs, from, to);
+    }
+
+    /**
+     * Method to determine whether the ASCII coder can be used for the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element.
+     * @param to   the index of the first element not to be considered.
+     * @return true if the first ASCII_CHARS characters of every element are ASCII.
+     */
+    static boolean isAscii(String[] xs, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final String x = xs[i];
+            final int length = Math.min(x.length(), ASCII_CHARS);
+            for (int j = 0; j < length; j++) if (x.charAt(j) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Encode the first nine (ASCII) characters of x as a non-negative long.
+     *
+     * @param x a String whose first nine characters are ASCII.
+     * @return the husky code.
+     */
+    static long asciiCode(String x) {
+        final int length = Math.min(x.length(), ASCII_CHARS);
+        long result = 0;
+        for (int i = 0; i < length; i++) result = result << 7 | x.charAt(i);
+        // NOTE missing characters are treated as zero, which precedes every other character (as the end of a String does).
+        return result << 7 * (ASCII_CHARS - length);
+    }
+
+    /**
+     * Encode the first four (UTF-16) characters of x as a long.
+     *
+     * @param x a String.
+     * @return the husky code.
+     */
+    static long unicodeCode(String x) {
+        final int length = Math.min(x.length(), UNICODE_CHARS);
+        long result = 0;
+        for (int i = 0; i < length; i++) result = result << 16 | x.charAt(i);
+        result <<= 16 * (UNICODE_CHARS - length);
+        // NOTE flip the sign bit so that (signed) long order matches (unsigned) char order.
+        return result ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Sort codes[lo] ... codes[hi-1] (as a dual-pivot quicksort) and, in step, xs[lo+offset] ... xs[hi-1+offset].
+     */
+    private static void sort(long[] codes, String[] xs, int lo, int hi, int offset, int depth) {
+        while (hi - lo > CUTOFF) {
+            if (depth-- <= 0) {
+                heapSort(codes, xs, lo, hi, offset);
+                return;
+            }
+            final int last = hi - 1;
+            if (codes[lo] > codes[last]) swap(codes, xs, lo, last, offset);
+            final long v1 = codes[lo], v2 = codes[last];
+            int lt = lo + 1, gt = last - 1, i = lt;
+            while (i <= gt) {
+                final long x = codes[i];
+                if (x < v1) swap(codes, xs, lt++, i++, offset);
+                else if (x > v2) swap(codes, xs, i, gt--, offset);
+                else i++;
+            }
+            swap(codes, xs, lo, --lt, offset);
+            swap(codes, xs, last, ++gt, offset);
+            sort(codes, xs, lo, lt, offset, depth);
+            // NOTE if the pivots are equal, then so are all of the codes between them.
+            if (v1 < v2) sort(codes, xs, lt + 1, gt, offset, depth);
+            lo = gt + 1;
+        }
+        for (int i = lo + 1; i < hi; i++)
+            for (int j = i; j > lo && codes[j] < codes[j - 1]; j--) swap(codes, xs, j, j - 1, offset);
+    }
+
+    private static void heapSort(long[] codes, String[] xs, int lo, int hi, int offset) {
+        final int n = hi - lo;
+        for (int k = n / 2; k >= 1; k--) sink(codes, xs, k, n, lo, offset);
+        for (int k = n; k > 1; k--) {
+            swap(codes, xs, lo, lo + k - 1, offset);
+            sink(codes, xs, 1, k - 1, lo, offset);
+        }
+    }
+
+    private static void sink(long[] codes, String[] xs, int k, int n, int lo, int offset) {
+        while (2 * k <= n) {
+            int child = 2 * k;
+            if (child < n && codes[lo + child - 1] < codes[lo + child]) child++;
+            if (codes[lo + k - 1] >= codes[lo + child - 1]) break;
+            swap(codes, xs, lo + k - 1, lo + child - 1, offset);
+            k = child;
+        }
+    }
+
+    private static void swap(long[] codes, String[] xs, int i, int j, int offset) {
+        final long code = codes[i];
+        codes[i] = codes[j];
+        codes[j] = code;
+        final String x = xs[i + offset];
+        xs[i + offset] = xs[j + offset];
+        xs[j + offset] = x;
+    }
+
+    private static int floor_lg(int a) {
+        return 31 - Integer.numberOfLeadingZeros(a);
+    }
+
+    private static final int ASCII_CHARS = 9;
+    private static final int UNICODE_CHARS = 4;
+    private static final int CUTOFF = 16;
+
+    private final InsertionSort<String> insertionSort;
+}
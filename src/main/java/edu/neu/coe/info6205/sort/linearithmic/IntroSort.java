@@ -5,6 +5,8 @@ package edu.neu.coe.info6205.sort.linearithmic;
 
 import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.Kernels;
+import edu.neu.coe.info6205.sort.SortKernel;
 import edu.neu.coe.info6205.util.Config;
 
 import java.util.Arrays;
@@ -53,18 +55,29 @@ public class IntroSort<X extends Comparable<X>> extends QuickSort_DualPivot<X> {
         depthThreshold = 2 * floor_lg(xs.length);
         X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
         int from = 0, to = result.length;
-        sort(result, from, to, 0);
+        final SortKernel<X> kernel = getKernel();
+        if (kernel != null) kernel.sort(result, from, to);
+        else sort(result, from, to, 0);
         return result;
     }
 
+    @Override
+    protected SortKernel<X> createKernel() {
+        // NOTE sub-arrays of up to sizeThreshold elements are insertion-sorted.
+        return (xs, from, to) -> Kernels.quickSortDualPivot(xs, from, to, sizeThreshold + 1, 2 * floor_lg(to - from));
+    }
+
     /**
+     * Sort the sub-array xs[from] ... xs[to-1], switching to heap sort if the depth of the recursion exceeds 2 lg(to-from).
+     *
      * @param xs   an array of Xs.
      * @param from the index of the first element to sort.
      * @param to   the index of the first element not to sort.
      */
     @Override
     public void sort(X[] xs, int from, int to) {
-        sort(xs, from, to, 2 * floor_lg(to - from));
+        depthThreshold = 2 * floor_lg(to - from);
+        sort(xs, from, to, 0);
     }
 
     /**
@@ -1,8 +1,11 @@
 package edu.neu.coe.info6205.sort.linearithmic;
 
 import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.Kernels;
+import edu.neu.coe.info6205.sort.SortKernel;
 import edu.neu.coe.info6205.sort.SortWithHelper;
 import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.BufferPool;
 import edu.neu.coe.info6205.util.Config;
 
 import java.util.Arrays;
@@ -42,51 +45,108 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
         return result;
     }
 
+    /**
+     * Sort the sub-array a[from] ... a[to-1].
+     * <p>
+     * The auxiliary array (which has only to - from elements) is taken from, and returned to, a pool,
+     * so that repeated sorts of similar sizes allocate nothing.
+     *
+     * @param a    the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
     @Override
     public void sort(X[] a, int from, int to) {
-        // CONSIDER don't copy but just allocate according to the xs/aux interchange optimization
-        X[] aux = Arrays.copyOf(a, a.length);
-        sort(a, aux, from, to);
+        final SortKernel<X> kernel = getKernel();
+        if (kernel != null) {
+            kernel.sort(a, from, to);
+            return;
+        }
+        if (to - from <= 1) return;
+        final Config config = getHelper().getConfig();
+        final boolean insurance = config.getBoolean(MERGESORT, INSURANCE);
+        final boolean noCopy = config.getBoolean(MERGESORT, NOCOPY);
+        final X[] aux = acquire(to - from);
+        try {
+            // NOTE for noCopy, aux must start off with the same contents as a.
+            if (noCopy) System.arraycopy(a, from, aux, 0, to - from);
+            sort(a, 0, aux, from, from, to, Math.max(getHelper().cutoff(), 1), insurance, noCopy);
+        } finally {
+            pool.release(aux);
+        }
+    }
+
+    /**
+     * @return the pool from which this sort takes its auxiliary arrays.
+     */
+    public BufferPool<Comparable<?>> getPool() {
+        return pool;
     }
 
-    private void sort(X[] a, X[] aux, int from, int to) {
+    @Override
+    protected SortKernel<X> createKernel() {
+        final Config config = getHelper().getConfig();
+        final boolean insurance = config.getBoolean(MERGESORT, INSURANCE);
+        final boolean noCopy = config.getBoolean(MERGESORT, NOCOPY);
+        final int cutoff = getHelper().cutoff();
+        return (xs, from, to) -> {
+            if (to - from <= 1) return;
+            final X[] aux = acquire(to - from);
+            try {
+                Kernels.mergeSort(xs, from, to, aux, cutoff, insurance, noCopy);
+            } finally {
+                pool.release(aux);
+            }
+        };
+    }
+
+    /**
+     * Sort element i (for lo <= i < hi) of a (which is a[i - aOffset]), using b (with bOffset) as the auxiliary array.
+     * <p>
+     * With noCopy, a and b exchange roles at each level of the recursion (and b must start with the same contents as a);
+     * otherwise, the two sorted halves of a are copied into b and then merged back into a.
+     * With insurance, we don't merge at all when the two halves are already in order.
+     */
+    private void sort(X[] a, int aOffset, X[] b, int bOffset, int lo, int hi, int cutoff, boolean insurance, boolean noCopy) {
         final Helper<X> helper = getHelper();
-        Config config = helper.getConfig();
-        boolean insurance = config.getBoolean(MERGESORT, INSURANCE);
-        boolean noCopy = config.getBoolean(MERGESORT, NOCOPY);
-        if (to <= from + helper.cutoff()) {
-            insertionSort.sort(a, from, to);
+        if (hi - lo <= cutoff) {
+            insertionSort.sort(a, lo - aOffset, hi - aOffset);
             return;
         }
-        // public void copy(X[] source, int i, X[] target, int j) {
-        //public int compare(X v, X w) {
-        
-        if (helper.instrumented()) {
-        	if(to<=from) return;
-        	int mid = from+(to-from)/2;
-        	sort(aux,a,from,mid);
-        	sort(aux,a,mid,to);
-        	merge(aux,a,from,mid,to);
-        	
-        	
+        final int mid = lo + (hi - lo) / 2;
+        if (noCopy) {
+            sort(b, bOffset, a, aOffset, lo, mid, cutoff, insurance, true);
+            sort(b, bOffset, a, aOffset, mid, hi, cutoff, insurance, true);
+            if (insurance && !helper.less(b[mid - bOffset], b[mid - 1 - bOffset]))
+                System.arraycopy(b, lo - bOffset, a, lo - aOffset, hi - lo);
+            else merge(b, bOffset, a, aOffset, lo, mid, hi);
+        } else {
+            sort(a, aOffset, b, bOffset, lo, mid, cutoff, insurance, false);
+            sort(a, aOffset, b, bOffset, mid, hi, cutoff, insurance, false);
+            if (insurance && !helper.less(a[mid - aOffset], a[mid - 1 - aOffset])) return;
+            System.arraycopy(a, lo - aOffset, b, lo - bOffset, hi - lo);
+            merge(b, bOffset, a, aOffset, lo, mid, hi);
         }
-
-        // FIXME : implement merge sort with insurance and no-copy optimizations
-        // END 
     }
 
     // CONSIDER combine with MergeSortBasic perhaps.
-    private void merge(X[] sorted, X[] result, int from, int mid, int to) {
+    private void merge(X[] sorted, int sOffset, X[] result, int rOffset, int from, int mid, int to) {
         final Helper<X> helper = getHelper();
         int i = from;
         int j = mid;
         for (int k = from; k < to; k++)
-            if (i >= mid) helper.copy(sorted, j++, result, k);
-            else if (j >= to) helper.copy(sorted, i++, result, k);
-            else if (helper.less(sorted[j], sorted[i])) {
+            if (i >= mid) helper.copy(sorted, j++ - sOffset, result, k - rOffset);
+            else if (j >= to) helper.copy(sorted, i++ - sOffset, result, k - rOffset);
+            else if (helper.less(sorted[j - sOffset], sorted[i - sOffset])) {
                 helper.incrementFixes(mid - i);
-                helper.copy(sorted, j++, result, k);
-            } else helper.copy(sorted, i++, result, k);
+                helper.copy(sorted, j++ - sOffset, result, k - rOffset);
+            } else helper.copy(sorted, i++ - sOffset, result, k - rOffset);
+    }
+
+    private X[] acquire(int n) {
+        // NOTE the pool holds Comparable[] (the erasure of X[]) so this cast is safe.
+        @SuppressWarnings("unchecked") final X[] result = (X[]) pool.acquire(n);
+        return result;
     }
 
     public static final String MERGESORT = "mergesort";
@@ -101,5 +161,6 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
     }
 
     private final InsertionSort<X> insertionSort;
+    private final BufferPool<Comparable<?>> pool = new BufferPool<>(Comparable<?>[]::new);
 }
 
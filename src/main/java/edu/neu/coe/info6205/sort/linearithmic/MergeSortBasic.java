@@ -1,7 +1,7 @@
 package edu.neu.coe.info6205.sort.linearithmic;
 
 import edu.neu.coe.info6205.sort.Helper;
-import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.Inversions;
 import edu.neu.coe.info6205.sort.SortWithHelper;
 import edu.neu.coe.info6205.sort.elementary.InsertionSort;
 import edu.neu.coe.info6205.util.Config;
@@ -68,18 +68,15 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithHelper<X> {
     }
 
     /**
-     * This method is designed to count inversions in linearithmic time, using merge sort.
+     * Count the inversions in linearithmic time, using merge sort (see Inversions.count).
+     * The merge sort works on a copy of ys so that ys is not changed.
      *
      * @param ys  an array of comparable Y elements.
      * @param <Y> the underlying type of the elements.
      * @return the number of inversions in ys, which remains unchanged.
      */
-    public static <Y extends Comparable<Y>> int countInversions(Y[] ys) {
-        final Config config = Config.setupConfigFixes();
-        MergeSortBasic<Y> sorter = new MergeSortBasic<>(ys.length, config);
-        Y[] sorted = sorter.sort(ys, true); // CONSIDER passing false
-        InstrumentedHelper<Y> helper = (InstrumentedHelper<Y>) sorter.getHelper();
-        return helper.getFixes();
+    public static <Y extends Comparable<Y>> long countInversions(Y[] ys) {
+        return Inversions.count(ys);
     }
 
     private void merge(X[] aux, X[] a, int lo, int mid, int hi) {
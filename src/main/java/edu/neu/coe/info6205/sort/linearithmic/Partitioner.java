@@ -1,9 +1,16 @@
 package edu.neu.coe.info6205.sort.linearithmic;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface Partitioner<X extends Comparable<X>> {
 
+    /**
+     * The maximum number of partitions which any partitioner may yield.
+     * The bounds array passed to partition(X[], int, int, int[]) must have at least 2 * MAX_PARTITIONS elements.
+     */
+    int MAX_PARTITIONS = 3;
+
     /**
      * Method to partition the given partition into smaller partitions.
      *
@@ -11,4 +18,43 @@ public interface Partitioner<X extends Comparable<X>> {
      * @return an array of partitions, whose length depends on the sorting method being used.
      */
     List<Partition<X>> partition(Partition<X> partition);
+
+    /**
+     * Method to partition the sub-array xs[from] ... xs[to-1] into smaller partitions, without allocating anything.
+     * <p>
+     * Partition i extends from bounds[2*i] (inclusive) to bounds[2*i+1] (exclusive).
+     * <p>
+     * NOTE: the default implementation simply delegates to partition(Partition) so that it is NOT allocation-free:
+     * each of the partitioners of this package overrides it (and implements partition(Partition) in terms of it).
+     *
+     * @param xs     the array.
+     * @param from   the index of the first element to partition.
+     * @param to     the index of the first element NOT to partition.
+     * @param bounds an array (of at least 2 * MAX_PARTITIONS elements) into which the bounds of the partitions will be written.
+     * @return the number of partitions.
+     */
+    default int partition(X[] xs, int from, int to, int[] bounds) {
+        final List<Partition<X>> partitions = partition(new Partition<>(xs, from, to));
+        int k = 0;
+        for (Partition<X> p : partitions) {
+            bounds[k++] = p.from;
+            bounds[k++] = p.to;
+        }
+        return partitions.size();
+    }
+
+    /**
+     * Method to convert the result of partition(X[], int, int, int[]) into a list of Partitions.
+     *
+     * @param xs     the array.
+     * @param bounds the bounds of the partitions.
+     * @param n      the number of partitions.
+     * @param <X>    the underlying type.
+     * @return a list of n Partitions.
+     */
+    static <X extends Comparable<X>> List<Partition<X>> partitions(X[] xs, int[] bounds, int n) {
+        final List<Partition<X>> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) result.add(new Partition<>(xs, bounds[2 * i], bounds[2 * i + 1]));
+        return result;
+    }
 }
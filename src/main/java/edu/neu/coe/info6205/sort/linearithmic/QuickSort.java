@@ -1,13 +1,13 @@
 package edu.neu.coe.info6205.sort.linearithmic;
 
 import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortKernel;
 import edu.neu.coe.info6205.sort.SortWithHelper;
 import edu.neu.coe.info6205.sort.elementary.InsertionSort;
 import edu.neu.coe.info6205.util.Config;
 import edu.neu.coe.info6205.util.LazyLogger;
 
 import java.util.Arrays;
-import java.util.Collection;
 
 public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<X> {
 
@@ -50,12 +50,18 @@ public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<
         // CONSIDER merge with MergeSortBasic and maybe others.
         getHelper().init(xs.length);
         X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
-        sort(result, 0, result.length, 0);
+        final SortKernel<X> kernel = getKernel();
+        if (kernel != null) kernel.sort(result, 0, result.length);
+        else sort(result, 0, result.length, 0);
         return result;
     }
 
     /**
      * Sort the sub-array xs[from] ... xs[to-1]
+     * <p>
+     * Rather than recursing, we keep the partitions which are still to be sorted on an explicit stack of (from, to, depth) triples,
+     * and we always continue with the smallest of the new partitions (stacking the others, largest first).
+     * Thus the stack holds O(log n) partitions, and the only allocations are the stack and bounds arrays (once per call).
      *
      * @param xs    the complete array from which this sub-array derives.
      * @param from  the index of the first element to sort.
@@ -63,12 +69,39 @@ public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<
      * @param depth the depth of the recursion.
      */
     public void sort(X[] xs, int from, int to, int depth) {
-        if (terminator(xs, from, to, depth)) return;
-        getHelper().registerDepth(depth);
-        Partition<X> partition = createPartition(xs, from, to);
         if (partitioner == null) throw new RuntimeException("partitioner not set");
-        Collection<Partition<X>> partitions = partitioner.partition(partition);
-        partitions.forEach(p -> sort(p.xs, p.from, p.to, depth + 1));
+        final int[] bounds = new int[2 * Partitioner.MAX_PARTITIONS];
+        int[] stack = new int[3 * STACK_PARTITIONS];
+        int sp = 0;
+        int lo = from, hi = to, level = depth;
+        while (true) {
+            if (!terminator(xs, lo, hi, level)) {
+                getHelper().registerDepth(level);
+                final int n = partitioner.partition(xs, lo, hi, bounds);
+                int smallest = 0;
+                for (int i = 1; i < n; i++) if (size(bounds, i) < size(bounds, smallest)) smallest = i;
+                if (sp + 3 * n > stack.length) stack = Arrays.copyOf(stack, 2 * stack.length + 3 * n);
+                // NOTE push the other partitions, largest first, so that the smaller ones are popped first.
+                int done = 1 << smallest;
+                for (int k = 1; k < n; k++) {
+                    int largest = -1;
+                    for (int i = 0; i < n; i++)
+                        if ((done & 1 << i) == 0 && (largest < 0 || size(bounds, i) > size(bounds, largest))) largest = i;
+                    done |= 1 << largest;
+                    stack[sp++] = bounds[2 * largest];
+                    stack[sp++] = bounds[2 * largest + 1];
+                    stack[sp++] = level + 1;
+                }
+                lo = bounds[2 * smallest];
+                hi = bounds[2 * smallest + 1];
+                level++;
+            } else if (sp == 0) return;
+            else {
+                level = stack[--sp];
+                hi = stack[--sp];
+                lo = stack[--sp];
+            }
+        }
     }
 
     /**
@@ -101,6 +134,10 @@ public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<
         return false;
     }
 
+    private static int size(int[] bounds, int i) {
+        return bounds[2 * i + 1] - bounds[2 * i];
+    }
+
     public InsertionSort<X> getInsertionSort() {
         return insertionSort;
     }
@@ -124,6 +161,9 @@ public abstract class QuickSort<X extends Comparable<X>> extends SortWithHelper<
 
     private final InsertionSort<X> insertionSort;
 
+    // NOTE the initial capacity of the stack (in partitions): enough for any array when the partitions are balanced.
+    private static final int STACK_PARTITIONS = 64;
+
     protected Partitioner<X> partitioner;
 
     final static LazyLogger logger = new LazyLogger(QuickSort.class);
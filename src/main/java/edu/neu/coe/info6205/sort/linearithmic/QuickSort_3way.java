@@ -3,9 +3,10 @@ package edu.neu.coe.info6205.sort.linearithmic;
 import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.Kernels;
+import edu.neu.coe.info6205.sort.SortKernel;
 import edu.neu.coe.info6205.util.Config;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
@@ -49,6 +50,11 @@ public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
         this(new InstrumentedHelper<>(DESCRIPTION, N, config));
     }
 
+    @Override
+    protected SortKernel<X> createKernel() {
+        return (xs, from, to) -> Kernels.quickSort3way(xs, from, to, getHelper().cutoff());
+    }
+
     public Partitioner<X> createPartitioner() {
         return new Partitioner_3Way(getHelper());
     }
@@ -62,10 +68,24 @@ public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
          * @return an array of partitions, whose length depends on the sorting method being used.
          */
         public List<Partition<X>> partition(Partition<X> partition) {
+            final int[] bounds = new int[2 * MAX_PARTITIONS];
+            return Partitioner.partitions(partition.xs, bounds, partition(partition.xs, partition.from, partition.to, bounds));
+        }
+
+        /**
+         * Method to partition the sub-array xs[from] ... xs[to-1] into two partitions, either side of the elements equal to the pivot.
+         *
+         * @param xs     the array.
+         * @param from   the index of the first element to partition.
+         * @param to     the index of the first element NOT to partition.
+         * @param bounds an array into which the bounds of the partitions will be written.
+         * @return 2.
+         */
+        @Override
+        public int partition(X[] xs, int from, int to, int[] bounds) {
             // CONSIDER merge with Partitioner_DualPivot
-            X[] xs = partition.xs;
-            int lt = partition.from;
-            int gt = partition.to - 1;
+            int lt = from;
+            int gt = to - 1;
             helper.swapConditional(xs, lt, gt);
             X v = xs[lt];
             int i = lt + 1;
@@ -86,10 +106,11 @@ public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
                     else i++;
                 }
 
-            List<Partition<X>> partitions = new ArrayList<>();
-            partitions.add(new Partition<>(xs, partition.from, lt));
-            partitions.add(new Partition<>(xs, gt + 1, partition.to));
-            return partitions;
+            bounds[0] = from;
+            bounds[1] = lt;
+            bounds[2] = gt + 1;
+            bounds[3] = to;
+            return 2;
         }
 
         public Partitioner_3Way(Helper<X> helper) {
@@ -3,7 +3,6 @@ package edu.neu.coe.info6205.sort.linearithmic;
 import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.util.Config;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class QuickSort_Basic<X extends Comparable<X>> extends QuickSort<X> {
@@ -62,9 +61,21 @@ public class QuickSort_Basic<X extends Comparable<X>> extends QuickSort<X> {
          * @return an array of partitions, whose length depends on the sorting method being used.
          */
         public List<Partition<X>> partition(Partition<X> partition) {
-            final X[] xs = partition.xs;
-            final int from = partition.from;
-            final int to = partition.to;
+            final int[] bounds = new int[2 * MAX_PARTITIONS];
+            return Partitioner.partitions(partition.xs, bounds, partition(partition.xs, partition.from, partition.to, bounds));
+        }
+
+        /**
+         * Method to partition the sub-array xs[from] ... xs[to-1] into two partitions, either side of the pivot.
+         *
+         * @param xs     the array.
+         * @param from   the index of the first element to partition.
+         * @param to     the index of the first element NOT to partition.
+         * @param bounds an array into which the bounds of the partitions will be written.
+         * @return 2.
+         */
+        @Override
+        public int partition(X[] xs, int from, int to, int[] bounds) {
             final int hi = to - 1;
             X v = xs[from];
             int i = from;
@@ -90,10 +101,11 @@ public class QuickSort_Basic<X extends Comparable<X>> extends QuickSort<X> {
                 swap(xs, from, j);
             }
 
-            List<Partition<X>> partitions = new ArrayList<>();
-            partitions.add(new Partition<>(xs, from, j));
-            partitions.add(new Partition<>(xs, j + 1, to));
-            return partitions;
+            bounds[0] = from;
+            bounds[1] = j;
+            bounds[2] = j + 1;
+            bounds[3] = to;
+            return 2;
         }
 
         private void swap(X[] ys, int i, int j) {
@@ -1,9 +1,10 @@
 package edu.neu.coe.info6205.sort.linearithmic;
 
 import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.Kernels;
+import edu.neu.coe.info6205.sort.SortKernel;
 import edu.neu.coe.info6205.util.Config;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,6 +41,11 @@ public class QuickSort_DualPivot<X extends Comparable<X>> extends QuickSort<X> {
         this(DESCRIPTION, N, config);
     }
 
+    @Override
+    protected SortKernel<X> createKernel() {
+        return (xs, from, to) -> Kernels.quickSortDualPivot(xs, from, to, getHelper().cutoff(), Integer.MAX_VALUE);
+    }
+
     @Override
     public Partitioner<X> createPartitioner() {
         return new Partitioner_DualPivot(getHelper());
@@ -58,9 +64,23 @@ public class QuickSort_DualPivot<X extends Comparable<X>> extends QuickSort<X> {
          * @return an array of partitions, whose length depends on the sorting method being used.
          */
         public List<Partition<X>> partition(Partition<X> partition) {
-            final X[] xs = partition.xs;
-            final int lo = partition.from;
-            final int hi = partition.to - 1;
+            final int[] bounds = new int[2 * MAX_PARTITIONS];
+            return Partitioner.partitions(partition.xs, bounds, partition(partition.xs, partition.from, partition.to, bounds));
+        }
+
+        /**
+         * Method to partition the sub-array xs[from] ... xs[to-1] into three partitions, either side of (and between) the two pivots.
+         *
+         * @param xs     the array.
+         * @param from   the index of the first element to partition.
+         * @param to     the index of the first element NOT to partition.
+         * @param bounds an array into which the bounds of the partitions will be written.
+         * @return 3.
+         */
+        @Override
+        public int partition(X[] xs, int from, int to, int[] bounds) {
+            final int lo = from;
+            final int hi = to - 1;
             helper.swapConditional(xs, lo, hi);
             int lt = lo + 1;
             int gt = hi - 1;
@@ -89,11 +109,13 @@ public class QuickSort_DualPivot<X extends Comparable<X>> extends QuickSort<X> {
                 swap(xs, hi, ++gt);
             }
 
-            List<Partition<X>> partitions = new ArrayList<>();
-            partitions.add(new Partition<>(xs, lo, lt));
-            partitions.add(new Partition<>(xs, lt + 1, gt));
-            partitions.add(new Partition<>(xs, gt + 1, hi + 1));
-            return partitions;
+            bounds[0] = lo;
+            bounds[1] = lt;
+            bounds[2] = lt + 1;
+            bounds[3] = gt;
+            bounds[4] = gt + 1;
+            bounds[5] = to;
+            return 3;
         }
 
         // CONSIDER invoke swap in BaseHelper.
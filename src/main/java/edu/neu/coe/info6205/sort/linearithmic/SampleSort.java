@@ -0,0 +1,334 @@
+/*
+  (c) Copyright 2018, 2019 Phasmid Software
+ */
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Blocks;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parallel sample sort.
+ * <p>
+ * A random sample of (oversampling * buckets) elements is sorted and every oversampling-th element is taken as a splitter.
+ * The array is then divided into one block per thread and each block classifies its elements (by binary search of the splitters)
+ * and counts them per bucket. The prefix sums of these counts tell each block exactly where to write each of its elements
+ * so that the blocks can all be distributed into the auxiliary array at the same time without any synchronization.
+ * Finally, the buckets are sorted concurrently and copied back.
+ * <p>
+ * Unlike a merge tree, there is no final (sequential, or partly sequential) merge step:
+ * every phase is divided evenly among the threads, so the speedup should be nearly linear in the number of cores.
+ * <p>
+ * Duplicate splitters are removed and each (distinct) splitter has its own "equality bucket" which,
+ * since all of its elements are equal, need not be sorted. This prevents many duplicates from overloading a bucket.
+ * <p>
+ * If the Helper is instrumented, the compares, copies and hits of the classification and distribution phases are counted
+ * (once per block) but those of the bucket sorts (which use Arrays.sort) are not.
+ * Since the blocks run concurrently, the Helper must be concurrent (set concurrent to true in the instrumenting section)
+ * for these counts to be accurate.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class SampleSort<X extends Comparable<X>> extends SortWithHelper<X> {
+
+    /**
+     * Constructor for SampleSort.
+     *
+     * @param helper       an explicit instance of Helper to be used.
+     * @param cutoff       the size of array at or below which we sort sequentially.
+     * @param oversampling the number of sample elements per bucket.
+     * @param pool         the pool in which to run the sort.
+     */
+    public SampleSort(Helper<X> helper, int cutoff, int oversampling, ForkJoinPool pool) {
+        super(helper);
+        if (cutoff < 1 || oversampling < 1)
+            throw new IllegalArgumentException("SampleSort: cutoff and oversampling must be positive");
+        this.cutoff = cutoff;
+        this.oversampling = oversampling;
+        this.pool = pool;
+    }
+
+    /**
+     * Constructor for SampleSort which uses the common pool.
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public SampleSort(Helper<X> helper) {
+        this(helper, DEFAULT_CUTOFF, DEFAULT_OVERSAMPLING, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for SampleSort which takes its cutoff, oversampling and threads from the samplesort section of the configuration.
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public SampleSort(int N, Config config) {
+        this(HelperFactory.create(DESCRIPTION, N, config), config);
+        closeHelper = true;
+    }
+
+    /**
+     * Constructor for SampleSort which uses a BaseHelper and takes its cutoff, oversampling and threads from the samplesort section of the configuration.
+     *
+     * @param config the configuration.
+     */
+    public SampleSort(Config config) {
+        this(new BaseHelper<>(DESCRIPTION, config), config);
+    }
+
+    private SampleSort(Helper<X> helper, Config config) {
+        this(helper, config.getInt(SAMPLESORT, CUTOFF, DEFAULT_CUTOFF), config.getInt(SAMPLESORT, OVERSAMPLING, DEFAULT_OVERSAMPLING), Pools.getPool(config.getInt(SAMPLESORT, THREADS, 0)));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(X[] xs, int from, int to) {
+        final int n = to - from;
+        final int threads = pool.getParallelism();
+        if (n <= cutoff || threads < 2) {
+            Arrays.sort(xs, from, to);
+            return;
+        }
+        final X[] splitters = chooseSplitters(xs, from, to, threads * BUCKETS_PER_THREAD);
+        pool.invoke(new Job(xs, from, to, splitters, threads, getHelper()));
+    }
+
+    public int getCutoff() {
+        return cutoff;
+    }
+
+    public int getOversampling() {
+        return oversampling;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public static final String DESCRIPTION = "Sample sort";
+
+    public static final String SAMPLESORT = "samplesort";
+    public static final String CUTOFF = "cutoff";
+    public static final String OVERSAMPLING = "oversampling";
+    public static final String THREADS = "threads";
+
+    public static final int DEFAULT_CUTOFF = 1 << 14;
+    public static final int DEFAULT_OVERSAMPLING = 32;
+
+    /**
+     * Choose the (distinct) splitters by sorting a random sample of xs[from..to).
+     *
+     * @param xs      the array.
+     * @param from    the index of the first element to sort.
+     * @param to      the index of the first element not to sort.
+     * @param buckets the number of (non-equality) buckets required.
+     * @return an ordered array of at most buckets-1 distinct splitters.
+     */
+    X[] chooseSplitters(X[] xs, int from, int to, int buckets) {
+        final int n = to - from;
+        final int sampleSize = Math.min(n, buckets * oversampling);
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final X[] sample = newArray(xs, sampleSize);
+        for (int i = 0; i < sampleSize; i++) sample[i] = xs[from + random.nextInt(n)];
+        Arrays.sort(sample);
+        final List<X> result = new ArrayList<>(buckets);
+        for (int i = 1; i < buckets; i++) {
+            final X x = sample[(int) ((long) i * sampleSize / buckets)];
+            if (result.isEmpty() || result.get(result.size() - 1).compareTo(x) < 0) result.add(x);
+        }
+        return result.toArray(newArray(xs, 0));
+    }
+
+    /**
+     * Create an (empty) array of the same runtime type as xs without copying any of its elements.
+     *
+     * @param xs  an array.
+     * @param n   the length of the new array.
+     * @param <X> the underlying type.
+     * @return a new array of n nulls.
+     */
+    @SuppressWarnings("unchecked")
+    private static <X> X[] newArray(X[] xs, int n) {
+        return (X[]) Array.newInstance(xs.getClass().getComponentType(), n);
+    }
+
+    /**
+     * Determine the bucket to which x belongs.
+     * Bucket 2i holds the elements between splitters[i-1] and splitters[i] (exclusive);
+     * bucket 2i+1 holds the elements equal to splitters[i].
+     *
+     * @param splitters the ordered, distinct splitters.
+     * @param x         the element.
+     * @return the bucket number, in the range 0 through 2 * splitters.length.
+     */
+    static <X extends Comparable<X>> int classify(X[] splitters, X x) {
+        int lo = 0, hi = splitters.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int cf = splitters[mid].compareTo(x);
+            if (cf < 0) lo = mid + 1;
+            else if (cf > 0) hi = mid;
+            else return 2 * mid + 1;
+        }
+        return 2 * lo;
+    }
+
+    /**
+     * The state of one sort.
+     */
+    @SuppressWarnings("serial")
+    private class Job extends RecursiveAction {
+
+        Job(X[] xs, int from, int to, X[] splitters, int threads, Helper<X> helper) {
+            this.helper = helper;
+            this.instrumented = helper.instrumented();
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.splitters = splitters;
+            this.nBuckets = 2 * splitters.length + 1;
+            this.blocks = new Blocks(from, to, threads);
+            this.nBlocks = threads;
+            this.buckets = new int[to - from];
+            this.offsets = new int[threads][nBuckets];
+            this.aux = newArray(xs, to - from);
+        }
+
+        protected void compute() {
+            // Phase 1: classify and count.
+            final List<RecursiveAction> tasks = new ArrayList<>(nBlocks);
+            for (int b = 0; b < nBlocks; b++) tasks.add(new Classify(b));
+            invokeAll(tasks);
+            // Phase 2: prefix sums over (bucket, block), so that bucket k of block b starts at offsets[b][k].
+            final int[] bucketStarts = Blocks.prefixSums(offsets);
+            // Phase 3: distribute into aux.
+            tasks.clear();
+            for (int b = 0; b < nBlocks; b++) tasks.add(new Distribute(b));
+            invokeAll(tasks);
+            // Phase 4: sort each bucket and copy it back.
+            tasks.clear();
+            for (int k = 0; k < nBuckets; k++)
+                if (bucketStarts[k + 1] > bucketStarts[k])
+                    tasks.add(new SortBucket(bucketStarts[k], bucketStarts[k + 1], (k & 1) == 0));
+            invokeAll(tasks);
+        }
+
+        private class Classify extends RecursiveAction {
+            Classify(int block) {
+                this.block = block;
+            }
+
+            protected void compute() {
+                final int[] counts = offsets[block];
+                final int lo = blocks.start(block), hi = blocks.end(block);
+                if (instrumented) {
+                    for (int i = lo; i < hi; i++) {
+                        final int k = classifyCounting(xs[i]);
+                        buckets[i - from] = k;
+                        counts[k]++;
+                    }
+                    helper.incrementCompares(compares);
+                    helper.incrementHits(hi - lo);
+                } else
+                    for (int i = lo; i < hi; i++) {
+                        final int k = classify(splitters, xs[i]);
+                        buckets[i - from] = k;
+                        counts[k]++;
+                    }
+            }
+
+            /**
+             * Same as classify but counts the compares.
+             */
+            private int classifyCounting(X x) {
+                int lo = 0, hi = splitters.length;
+                while (lo < hi) {
+                    final int mid = (lo + hi) >>> 1;
+                    compares++;
+                    final int cf = splitters[mid].compareTo(x);
+                    if (cf < 0) lo = mid + 1;
+                    else if (cf > 0) hi = mid;
+                    else return 2 * mid + 1;
+                }
+                return 2 * lo;
+            }
+
+            private int compares = 0;
+
+            private final int block;
+        }
+
+        private class Distribute extends RecursiveAction {
+            Distribute(int block) {
+                this.block = block;
+            }
+
+            protected void compute() {
+                final int[] next = offsets[block];
+                final int lo = blocks.start(block), hi = blocks.end(block);
+                for (int i = lo; i < hi; i++) aux[next[buckets[i - from]]++] = xs[i];
+                if (instrumented) {
+                    helper.incrementCopies(hi - lo);
+                    helper.incrementHits(2 * (hi - lo));
+                }
+            }
+
+            private final int block;
+        }
+
+        private class SortBucket extends RecursiveAction {
+            SortBucket(int lo, int hi, boolean unsorted) {
+                this.lo = lo;
+                this.hi = hi;
+                this.unsorted = unsorted;
+            }
+
+            protected void compute() {
+                // NOTE an equality bucket is already sorted.
+                if (unsorted) Arrays.sort(aux, lo, hi);
+                System.arraycopy(aux, lo, xs, from + lo, hi - lo);
+            }
+
+            private final int lo;
+            private final int hi;
+            private final boolean unsorted;
+        }
+
+        private final Helper<X> helper;
+        private final boolean instrumented;
+        private final X[] xs;
+        private final int from;
+        private final int to;
+        private final X[] splitters;
+        private final int nBuckets;
+        private final Blocks blocks;
+        private final int nBlocks;
+        private final int[] buckets;
+        private final int[][] offsets;
+        private final X[] aux;
+    }
+
+    private static final int BUCKETS_PER_THREAD = 4;
+
+    private final int cutoff;
+    private final int oversampling;
+    private final ForkJoinPool pool;
+}
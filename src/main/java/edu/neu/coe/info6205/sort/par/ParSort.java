@@ -1,66 +1,345 @@
 package edu.neu.coe.info6205.sort.par;
 
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+
 import java.util.Arrays;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
- * This code has been fleshed out by Ziyao Qiao. Thanks very much.
- * CONSIDER tidy it up a bit.
+ * Parallel merge sort based on fork/join, for int[] and for arrays of Comparable.
+ * <p>
+ * The array is divided recursively until sub-arrays are no larger than cutoff, at which point they are sorted by Arrays.sort.
+ * Exactly one auxiliary array (the size of the range to be sorted) is allocated for each sort:
+ * the array and the auxiliary array exchange roles (ping-pong) at each level so that the sorted halves are
+ * merged directly into the place where the parent expects them.
+ * Merges of more than mergeCutoff elements are themselves done in parallel (by splitting the larger run at its midpoint
+ * and binary-searching the other run), so that the top-level merges do not leave all but one thread idle.
+ * The merge is stable.
+ * <p>
+ * Configuration is per instance. The pools are shared (see Pools), so that creating a ParSort never leaks threads.
+ * <p>
+ * This code was originally fleshed out by Ziyao Qiao. Thanks very much.
  */
-class ParSort {
-
-    public static int cutoff = 1000;
-    public static int numOfThreads =2;
-
-
-    public static void sort(int[] array, int from, int to) {
-    	//System.out.println("!!!!!!!!!!!!!!!!!!!!!");
-        if (to - from < cutoff) Arrays.sort(array, from, to);
-        else {
-            // FIXME next few lines should be removed from public repo.
-            CompletableFuture<int[]> parsort1 = parsort(array, from, from + (to - from) / 2); // TO IMPLEMENT
-            CompletableFuture<int[]> parsort2 = parsort(array, from + (to - from) / 2, to); // TO IMPLEMENT
-            CompletableFuture<int[]> parsort = parsort1.thenCombine(parsort2, (xs1, xs2) -> {
-                int[] result = new int[xs1.length + xs2.length];
-                // TO IMPLEMENT
-                int i = 0;
-                int j = 0;
-                //merge
-                for (int k = 0; k < result.length; k++) {
-                    if (i >= xs1.length) {
-                        result[k] = xs2[j++];
-                    } else if (j >= xs2.length) {
-                        result[k] = xs1[i++];
-                    } else if (xs2[j] < xs1[i]) {
-                        result[k] = xs2[j++];
-                    } else {
-                        result[k] = xs1[i++];
+public class ParSort {
+
+    /**
+     * Constructor for ParSort.
+     *
+     * @param cutoff      the size of sub-array at or below which we sort sequentially.
+     * @param mergeCutoff the number of elements at or below which we merge sequentially (values below 2 are taken as 2).
+     * @param pool        the ForkJoinPool in which to run the sort.
+     */
+    public ParSort(int cutoff, int mergeCutoff, ForkJoinPool pool) {
+        if (cutoff < 1 || mergeCutoff < 1) throw new IllegalArgumentException("ParSort: cutoff and mergeCutoff must be positive");
+        this.cutoff = cutoff;
+        // NOTE a merge of two single elements cannot be split further (one side of the split is the same merge), so it must be sequential.
+        this.mergeCutoff = Math.max(2, mergeCutoff);
+        this.pool = pool;
+    }
+
+    /**
+     * Constructor for ParSort which uses the shared pool with the given parallelism.
+     *
+     * @param cutoff      the size of sub-array at or below which we sort sequentially.
+     * @param parallelism the number of threads to use.
+     */
+    public ParSort(int cutoff, int parallelism) {
+        this(cutoff, DEFAULT_MERGE_CUTOFF, Pools.getPool(parallelism));
+    }
+
+    /**
+     * Constructor for ParSort which uses the common pool.
+     *
+     * @param cutoff the size of sub-array at or below which we sort sequentially.
+     */
+    public ParSort(int cutoff) {
+        this(cutoff, DEFAULT_MERGE_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for ParSort which takes its cutoff, mergecutoff and threads from the parsort section of the configuration.
+     * If threads is not specified, we use the common pool.
+     *
+     * @param config the configuration.
+     */
+    public ParSort(Config config) {
+        this(config.getInt(PARSORT, CUTOFF, DEFAULT_CUTOFF), config.getInt(PARSORT, MERGE_CUTOFF, DEFAULT_MERGE_CUTOFF), Pools.getPool(config.getInt(PARSORT, Pools.THREADS, 0)));
+    }
+
+    /**
+     * Sort the whole of an array of ints.
+     *
+     * @param xs the array to be sorted.
+     */
+    public void sort(int[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(int[] xs, int from, int to) {
+        if (to - from <= cutoff) Arrays.sort(xs, from, to);
+        else pool.invoke(new IntSort(xs, new int[to - from], from).task(from, to, false));
+    }
+
+    /**
+     * Sort the whole of an array of Xs.
+     *
+     * @param xs  the array to be sorted.
+     * @param <X> the underlying type.
+     */
+    public <X extends Comparable<? super X>> void sort(X[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     * @param <X>  the underlying type.
+     */
+    public <X extends Comparable<? super X>> void sort(X[] xs, int from, int to) {
+        if (to - from <= cutoff) Arrays.sort(xs, from, to);
+        else pool.invoke(new ComparableSort<>(xs, Arrays.copyOfRange(xs, from, to), from).task(from, to, false));
+    }
+
+    public int getCutoff() {
+        return cutoff;
+    }
+
+    public int getMergeCutoff() {
+        return mergeCutoff;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public String toString() {
+        return "ParSort{cutoff=" + cutoff + ", mergeCutoff=" + mergeCutoff + ", parallelism=" + getParallelism() + "}";
+    }
+
+    public static final String PARSORT = "parsort";
+    public static final String CUTOFF = "cutoff";
+    public static final String MERGE_CUTOFF = "mergecutoff";
+
+    public static final int DEFAULT_CUTOFF = 1 << 13;
+    public static final int DEFAULT_MERGE_CUTOFF = 1 << 16;
+
+    /**
+     * The state of one sort of int[].
+     * Logical index i of the range being sorted is at xs[i] and at aux[i - offset].
+     */
+    private class IntSort {
+
+        IntSort(int[] xs, int[] aux, int offset) {
+            this.xs = xs;
+            this.aux = aux;
+            this.offset = offset;
+        }
+
+        /**
+         * @param lo    the first (logical) index to sort.
+         * @param hi    the first (logical) index not to sort.
+         * @param toAux if true, the sorted result must end up in aux; otherwise in xs.
+         * @return a task which sorts xs[lo..hi) into the appropriate array.
+         */
+        RecursiveAction task(int lo, int hi, boolean toAux) {
+            return new RecursiveAction() {
+                protected void compute() {
+                    if (hi - lo <= cutoff) {
+                        // NOTE the data has never been moved from xs before we reach a leaf.
+                        Arrays.sort(xs, lo, hi);
+                        if (toAux) System.arraycopy(xs, lo, aux, lo - offset, hi - lo);
+                        return;
                     }
+                    final int mid = (lo + hi) >>> 1;
+                    invokeAll(task(lo, mid, !toAux), task(mid, hi, !toAux));
+                    if (toAux) new MergeTask(xs, 0, aux, offset, lo, mid, mid, hi, lo).invoke();
+                    else new MergeTask(aux, offset, xs, 0, lo, mid, mid, hi, lo).invoke();
+                }
+            };
+        }
+
+        /**
+         * Task to merge src[lo1..hi1) with src[lo2..hi2) into dst starting at k (all indices logical).
+         */
+        @SuppressWarnings("serial")
+        private class MergeTask extends RecursiveAction {
+            MergeTask(int[] src, int srcOffset, int[] dst, int dstOffset, int lo1, int hi1, int lo2, int hi2, int k) {
+                this.src = src;
+                this.srcOffset = srcOffset;
+                this.dst = dst;
+                this.dstOffset = dstOffset;
+                this.lo1 = lo1;
+                this.hi1 = hi1;
+                this.lo2 = lo2;
+                this.hi2 = hi2;
+                this.k = k;
+            }
+
+            protected void compute() {
+                final int n1 = hi1 - lo1, n2 = hi2 - lo2;
+                if (n1 + n2 <= mergeCutoff) {
+                    int i = lo1 - srcOffset, j = lo2 - srcOffset, d = k - dstOffset;
+                    final int end1 = hi1 - srcOffset, end2 = hi2 - srcOffset;
+                    while (i < end1 && j < end2) dst[d++] = src[j] < src[i] ? src[j++] : src[i++];
+                    if (i < end1) System.arraycopy(src, i, dst, d, end1 - i);
+                    else if (j < end2) System.arraycopy(src, j, dst, d, end2 - j);
+                    return;
+                }
+                final int m1, m2;
+                if (n1 >= n2) {
+                    // NOTE elements of the second run which equal the split value go to the right (stability).
+                    m1 = (lo1 + hi1) >>> 1;
+                    m2 = lowerBound(src[m1 - srcOffset], lo2, hi2);
+                } else {
+                    // NOTE elements of the first run which equal the split value go to the left (stability).
+                    m2 = (lo2 + hi2) >>> 1;
+                    m1 = upperBound(src[m2 - srcOffset], lo1, hi1);
+                }
+                final int k2 = k + (m1 - lo1) + (m2 - lo2);
+                invokeAll(new MergeTask(src, srcOffset, dst, dstOffset, lo1, m1, lo2, m2, k),
+                        new MergeTask(src, srcOffset, dst, dstOffset, m1, hi1, m2, hi2, k2));
+            }
+
+            private int lowerBound(int x, int lo, int hi) {
+                while (lo < hi) {
+                    final int mid = (lo + hi) >>> 1;
+                    if (src[mid - srcOffset] < x) lo = mid + 1;
+                    else hi = mid;
                 }
-                return result;
-            });
+                return lo;
+            }
 
-            parsort.whenComplete((result, throwable) -> System.arraycopy(result, 0, array, from, result.length));
-//            System.out.println("# threads: "+ ForkJoinPool.commonPool().getRunningThreadCount());
-            parsort.join();
+            private int upperBound(int x, int lo, int hi) {
+                while (lo < hi) {
+                    final int mid = (lo + hi) >>> 1;
+                    if (src[mid - srcOffset] <= x) lo = mid + 1;
+                    else hi = mid;
+                }
+                return lo;
+            }
+
+            private final int[] src;
+            private final int srcOffset;
+            private final int[] dst;
+            private final int dstOffset;
+            private final int lo1, hi1, lo2, hi2, k;
         }
+
+        private final int[] xs;
+        private final int[] aux;
+        private final int offset;
     }
 
-    private static CompletableFuture<int[]> parsort(int[] array, int from, int to) {
-    	ForkJoinPool myPool = new ForkJoinPool(numOfThreads);
-    	//System.out.println("pool.getParallelism())"+ myPool.getParallelism());
-    	//!!!!!!!!!!!
-        return CompletableFuture.supplyAsync(
-                () -> {
-                    int[] result = new int[to - from];
-                    // TO IMPLEMENT
-                    System.arraycopy(array, from, result, 0, result.length);
-                    sort(result, 0, to - from);
-                    return result;
-                },
-                myPool
-                //!!!!!!!!!!!
-        );
+    /**
+     * The state of one sort of X[].
+     * Logical index i of the range being sorted is at xs[i] and at aux[i - offset].
+     * See IntSort for the details.
+     */
+    private class ComparableSort<X extends Comparable<? super X>> {
+
+        ComparableSort(X[] xs, X[] aux, int offset) {
+            this.xs = xs;
+            this.aux = aux;
+            this.offset = offset;
+        }
+
+        RecursiveAction task(int lo, int hi, boolean toAux) {
+            return new RecursiveAction() {
+                protected void compute() {
+                    if (hi - lo <= cutoff) {
+                        Arrays.sort(xs, lo, hi);
+                        if (toAux) System.arraycopy(xs, lo, aux, lo - offset, hi - lo);
+                        return;
+                    }
+                    final int mid = (lo + hi) >>> 1;
+                    invokeAll(task(lo, mid, !toAux), task(mid, hi, !toAux));
+                    if (toAux) new MergeTask(xs, 0, aux, offset, lo, mid, mid, hi, lo).invoke();
+                    else new MergeTask(aux, offset, xs, 0, lo, mid, mid, hi, lo).invoke();
+                }
+            };
+        }
+
+        @SuppressWarnings("serial")
+        private class MergeTask extends RecursiveAction {
+            MergeTask(X[] src, int srcOffset, X[] dst, int dstOffset, int lo1, int hi1, int lo2, int hi2, int k) {
+                this.src = src;
+                this.srcOffset = srcOffset;
+                this.dst = dst;
+                this.dstOffset = dstOffset;
+                this.lo1 = lo1;
+                this.hi1 = hi1;
+                this.lo2 = lo2;
+                this.hi2 = hi2;
+                this.k = k;
+            }
+
+            protected void compute() {
+                final int n1 = hi1 - lo1, n2 = hi2 - lo2;
+                if (n1 + n2 <= mergeCutoff) {
+                    int i = lo1 - srcOffset, j = lo2 - srcOffset, d = k - dstOffset;
+                    final int end1 = hi1 - srcOffset, end2 = hi2 - srcOffset;
+                    while (i < end1 && j < end2) dst[d++] = src[j].compareTo(src[i]) < 0 ? src[j++] : src[i++];
+                    if (i < end1) System.arraycopy(src, i, dst, d, end1 - i);
+                    else if (j < end2) System.arraycopy(src, j, dst, d, end2 - j);
+                    return;
+                }
+                final int m1, m2;
+                if (n1 >= n2) {
+                    m1 = (lo1 + hi1) >>> 1;
+                    m2 = lowerBound(src[m1 - srcOffset], lo2, hi2);
+                } else {
+                    m2 = (lo2 + hi2) >>> 1;
+                    m1 = upperBound(src[m2 - srcOffset], lo1, hi1);
+                }
+                final int k2 = k + (m1 - lo1) + (m2 - lo2);
+                invokeAll(new MergeTask(src, srcOffset, dst, dstOffset, lo1, m1, lo2, m2, k),
+                        new MergeTask(src, srcOffset, dst, dstOffset, m1, hi1, m2, hi2, k2));
+            }
+
+            private int lowerBound(X x, int lo, int hi) {
+                while (lo < hi) {
+                    final int mid = (lo + hi) >>> 1;
+                    if (src[mid - srcOffset].compareTo(x) < 0) lo = mid + 1;
+                    else hi = mid;
+                }
+                return lo;
+            }
+
+            private int upperBound(X x, int lo, int hi) {
+                while (lo < hi) {
+                    final int mid = (lo + hi) >>> 1;
+                    if (src[mid - srcOffset].compareTo(x) <= 0) lo = mid + 1;
+                    else hi = mid;
+                }
+                return lo;
+            }
+
+            private final X[] src;
+            private final int srcOffset;
+            private final X[] dst;
+            private final int dstOffset;
+            private final int lo1, hi1, lo2, hi2, k;
+        }
+
+        private final X[] xs;
+        private final X[] aux;
+        private final int offset;
     }
-}
\ No newline at end of file
+
+    private final int cutoff;
+    private final int mergeCutoff;
+    private final ForkJoinPool pool;
+}
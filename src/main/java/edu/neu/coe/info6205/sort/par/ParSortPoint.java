@@ -0,0 +1,51 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+import edu.neu.coe.info6205.util.BenchmarkStore;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+import edu.neu.coe.info6205.util.Sweep;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measurement of ParSort at one point of a Sweep.
+ * <p>
+ * The parameters are: n (the size of the array); cutoff (the absolute cutoff) or cutoffratio (the cutoff as a fraction of n);
+ * mergecutoff; threads; and runs (the number of timed runs).
+ * The result is the mean time, in milliseconds, to sort an array of n random ints.
+ * The time of each run is also recorded in the BenchmarkStore (if one is configured).
+ */
+public class ParSortPoint implements Sweep.Point {
+
+    @Override
+    public double measure(Map<String, String> parameters) throws IOException {
+        final int n = getInt(parameters, N, DEFAULT_N);
+        final int cutoff = parameters.containsKey(CUTOFF_RATIO) ? (int) Math.max(1, n * Double.parseDouble(parameters.get(CUTOFF_RATIO))) : getInt(parameters, ParSort.CUTOFF, ParSort.DEFAULT_CUTOFF);
+        final int mergeCutoff = getInt(parameters, ParSort.MERGE_CUTOFF, ParSort.DEFAULT_MERGE_CUTOFF);
+        final int threads = getInt(parameters, Pools.THREADS, 0);
+        final int runs = getInt(parameters, RUNS, DEFAULT_RUNS);
+        final ParSort parSort = new ParSort(cutoff, mergeCutoff, Pools.getPool(threads));
+        final Random random = new Random();
+        final int[] source = new int[n];
+        for (int i = 0; i < n; i++) source[i] = random.nextInt();
+        final Benchmark_Timer<int[]> benchmark = new Benchmark_Timer<>("ParSort", int[]::clone, parSort::sort, null);
+        final BenchmarkStore store = BenchmarkStore.create(Config.load(ParSortPoint.class));
+        if (store != null) benchmark.withStore(store, "n=" + n + ", cutoff=" + cutoff + ", mergecutoff=" + mergeCutoff + ", threads=" + parSort.getParallelism());
+        return benchmark.measure(() -> source, runs).getMean();
+    }
+
+    public static final String N = "n";
+    public static final String CUTOFF_RATIO = "cutoffratio";
+    public static final String RUNS = "runs";
+
+    public static final int DEFAULT_N = 1_000_000;
+    public static final int DEFAULT_RUNS = 10;
+
+    private static int getInt(Map<String, String> parameters, String key, int defaultValue) {
+        final String s = parameters.get(key);
+        return s == null || s.isEmpty() ? defaultValue : Integer.parseInt(s);
+    }
+}
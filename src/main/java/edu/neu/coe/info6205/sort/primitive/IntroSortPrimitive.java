@@ -0,0 +1,231 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Class IntroSortPrimitive: the primitive counterpart of IntroSort, for int[], long[] and double[].
+ * <p>
+ * This is a dual-pivot quicksort which switches to heap sort when the recursion depth exceeds 2 lg n
+ * and to insertion sort for small sub-arrays.
+ */
+public class IntroSortPrimitive extends QuickSort_DualPivotPrimitive {
+
+    public static final String DESCRIPTION = "Intro sort (primitive)";
+
+    /**
+     * Constructor for IntroSortPrimitive
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public IntroSortPrimitive(Helper<?> helper) {
+        super(helper);
+    }
+
+    /**
+     * Constructor for IntroSortPrimitive
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public IntroSortPrimitive(int N, Config config) {
+        super(DESCRIPTION, N, config);
+    }
+
+    @Override
+    public void sort(int[] xs, int from, int to) {
+        depthThreshold = 2 * floor_lg(to - from);
+        sort(xs, from, to, 0);
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort:
+     * small sub-arrays are sorted by insertion sort and, if the recursion is too deep, we switch to heap sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    @Override
+    protected boolean terminator(int[] xs, int from, int to, int depth) {
+        if (to - from <= sizeThreshold) {
+            if (to > from + 1) insertionSort(xs, from, to);
+            return true;
+        }
+        if (depth >= depthThreshold) {
+            heapSort(xs, from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private void heapSort(int[] a, int from, int to) {
+        final int n = to - from;
+        for (int i = n / 2; i >= 1; i--) downHeap(a, i, n, from);
+        for (int i = n; i > 1; i--) {
+            final int temp = a[from];
+            a[from] = a[from + i - 1];
+            a[from + i - 1] = temp;
+            instrument(0, 1, 0, 4);
+            downHeap(a, 1, i - 1, from);
+        }
+    }
+
+    private void downHeap(int[] a, int i, int n, int lo) {
+        int compares = 0, swaps = 0, hits = 1;
+        final int d = a[lo + i - 1];
+        while (i <= n / 2) {
+            int child = 2 * i;
+            if (child < n) {
+                compares++;
+                hits += 2;
+                if (a[lo + child - 1] < a[lo + child]) child++;
+            }
+            compares++;
+            hits++;
+            if (d >= a[lo + child - 1]) break;
+            a[lo + i - 1] = a[lo + child - 1];
+            swaps++;
+            hits += 2;
+            i = child;
+        }
+        a[lo + i - 1] = d;
+        instrument(compares, swaps, 0, hits + 1);
+    }
+
+    @Override
+    public void sort(long[] xs, int from, int to) {
+        depthThreshold = 2 * floor_lg(to - from);
+        sort(xs, from, to, 0);
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort:
+     * small sub-arrays are sorted by insertion sort and, if the recursion is too deep, we switch to heap sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    @Override
+    protected boolean terminator(long[] xs, int from, int to, int depth) {
+        if (to - from <= sizeThreshold) {
+            if (to > from + 1) insertionSort(xs, from, to);
+            return true;
+        }
+        if (depth >= depthThreshold) {
+            heapSort(xs, from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private void heapSort(long[] a, int from, int to) {
+        final int n = to - from;
+        for (int i = n / 2; i >= 1; i--) downHeap(a, i, n, from);
+        for (int i = n; i > 1; i--) {
+            final long temp = a[from];
+            a[from] = a[from + i - 1];
+            a[from + i - 1] = temp;
+            instrument(0, 1, 0, 4);
+            downHeap(a, 1, i - 1, from);
+        }
+    }
+
+    private void downHeap(long[] a, int i, int n, int lo) {
+        int compares = 0, swaps = 0, hits = 1;
+        final long d = a[lo + i - 1];
+        while (i <= n / 2) {
+            int child = 2 * i;
+            if (child < n) {
+                compares++;
+                hits += 2;
+                if (a[lo + child - 1] < a[lo + child]) child++;
+            }
+            compares++;
+            hits++;
+            if (d >= a[lo + child - 1]) break;
+            a[lo + i - 1] = a[lo + child - 1];
+            swaps++;
+            hits += 2;
+            i = child;
+        }
+        a[lo + i - 1] = d;
+        instrument(compares, swaps, 0, hits + 1);
+    }
+
+    @Override
+    protected void sortDoubles(double[] xs, int from, int to) {
+        depthThreshold = 2 * floor_lg(to - from);
+        sort(xs, from, to, 0);
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort:
+     * small sub-arrays are sorted by insertion sort and, if the recursion is too deep, we switch to heap sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    @Override
+    protected boolean terminator(double[] xs, int from, int to, int depth) {
+        if (to - from <= sizeThreshold) {
+            if (to > from + 1) insertionSort(xs, from, to);
+            return true;
+        }
+        if (depth >= depthThreshold) {
+            heapSort(xs, from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private void heapSort(double[] a, int from, int to) {
+        final int n = to - from;
+        for (int i = n / 2; i >= 1; i--) downHeap(a, i, n, from);
+        for (int i = n; i > 1; i--) {
+            final double temp = a[from];
+            a[from] = a[from + i - 1];
+            a[from + i - 1] = temp;
+            instrument(0, 1, 0, 4);
+            downHeap(a, 1, i - 1, from);
+        }
+    }
+
+    private void downHeap(double[] a, int i, int n, int lo) {
+        int compares = 0, swaps = 0, hits = 1;
+        final double d = a[lo + i - 1];
+        while (i <= n / 2) {
+            int child = 2 * i;
+            if (child < n) {
+                compares++;
+                hits += 2;
+                if (a[lo + child - 1] < a[lo + child]) child++;
+            }
+            compares++;
+            hits++;
+            if (d >= a[lo + child - 1]) break;
+            a[lo + i - 1] = a[lo + child - 1];
+            swaps++;
+            hits += 2;
+            i = child;
+        }
+        a[lo + i - 1] = d;
+        instrument(compares, swaps, 0, hits + 1);
+    }
+
+    private static int floor_lg(int a) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(a, 1));
+    }
+
+    private int depthThreshold = Integer.MAX_VALUE;
+
+    private static final int sizeThreshold = 16;
+}
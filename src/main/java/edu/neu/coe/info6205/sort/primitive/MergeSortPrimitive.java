@@ -0,0 +1,224 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+import static edu.neu.coe.info6205.sort.linearithmic.MergeSort.INSURANCE;
+import static edu.neu.coe.info6205.sort.linearithmic.MergeSort.MERGESORT;
+
+/**
+ * Class MergeSortPrimitive: the primitive counterpart of MergeSort, for int[], long[] and double[].
+ * <p>
+ * This merge sort allocates one auxiliary array (of the size of the sub-array to be sorted) per sort
+ * and never copies between the auxiliary array and the array to be sorted other than at the start:
+ * instead, the roles of the two arrays are exchanged at each level of the recursion.
+ * If mergesort.insurance is configured, we skip the merge when the two halves are already in order.
+ */
+public class MergeSortPrimitive extends PrimitiveSortWithHelper {
+
+    public static final String DESCRIPTION = "MergeSort (primitive)";
+
+    /**
+     * Constructor for MergeSortPrimitive
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public MergeSortPrimitive(Helper<?> helper) {
+        super(helper);
+        this.insurance = getInsurance(helper.getConfig());
+        this.cutoff = helper.cutoff();
+    }
+
+    /**
+     * Constructor for MergeSortPrimitive
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public MergeSortPrimitive(int N, Config config) {
+        super(DESCRIPTION, N, config);
+        this.insurance = getInsurance(config);
+        this.cutoff = helper.cutoff();
+    }
+
+    @Override
+    public void sort(int[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return;
+        final int[] aux = new int[n];
+        System.arraycopy(xs, from, aux, 0, n);
+        instrument(0, 0, n, 2 * n);
+        sort(aux, 0, xs, from, n);
+    }
+
+    /**
+     * Sort n elements into dst[dstFrom] ... dst[dstFrom+n-1].
+     * On entry, the same n elements must be in both src (starting at srcFrom) and dst (starting at dstFrom).
+     * The roles of src and dst are exchanged at each level of the recursion so that no copying is required.
+     *
+     * @param src     the source array (which is used as auxiliary space).
+     * @param srcFrom the index of the first element in src.
+     * @param dst     the destination array.
+     * @param dstFrom the index of the first element in dst.
+     * @param n       the number of elements to sort.
+     */
+    private void sort(int[] src, int srcFrom, int[] dst, int dstFrom, int n) {
+        if (n <= cutoff) {
+            insertionSort(dst, dstFrom, dstFrom + n);
+            return;
+        }
+        final int h = n / 2;
+        sort(dst, dstFrom, src, srcFrom, h);
+        sort(dst, dstFrom + h, src, srcFrom + h, n - h);
+        if (insurance) {
+            instrument(1, 0, 0, 2);
+            if (src[srcFrom + h - 1] <= src[srcFrom + h]) {
+                System.arraycopy(src, srcFrom, dst, dstFrom, n);
+                instrument(0, 0, n, 2 * n);
+                return;
+            }
+        }
+        merge(src, srcFrom, h, n, dst, dstFrom);
+    }
+
+    private void merge(int[] src, int from, int h, int n, int[] dst, int dstFrom) {
+        int compares = 0;
+        int i = from;
+        final int mid = from + h;
+        int j = mid;
+        final int hi = from + n;
+        final int end = dstFrom + n;
+        for (int k = dstFrom; k < end; k++)
+            if (i >= mid) dst[k] = src[j++];
+            else if (j >= hi) dst[k] = src[i++];
+            else {
+                compares++;
+                if (src[j] < src[i]) dst[k] = src[j++];
+                else dst[k] = src[i++];
+            }
+        instrument(compares, 0, n, 2 * n + 2 * compares);
+    }
+
+    @Override
+    public void sort(long[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return;
+        final long[] aux = new long[n];
+        System.arraycopy(xs, from, aux, 0, n);
+        instrument(0, 0, n, 2 * n);
+        sort(aux, 0, xs, from, n);
+    }
+
+    /**
+     * Sort n elements into dst[dstFrom] ... dst[dstFrom+n-1].
+     * On entry, the same n elements must be in both src (starting at srcFrom) and dst (starting at dstFrom).
+     * The roles of src and dst are exchanged at each level of the recursion so that no copying is required.
+     *
+     * @param src     the source array (which is used as auxiliary space).
+     * @param srcFrom the index of the first element in src.
+     * @param dst     the destination array.
+     * @param dstFrom the index of the first element in dst.
+     * @param n       the number of elements to sort.
+     */
+    private void sort(long[] src, int srcFrom, long[] dst, int dstFrom, int n) {
+        if (n <= cutoff) {
+            insertionSort(dst, dstFrom, dstFrom + n);
+            return;
+        }
+        final int h = n / 2;
+        sort(dst, dstFrom, src, srcFrom, h);
+        sort(dst, dstFrom + h, src, srcFrom + h, n - h);
+        if (insurance) {
+            instrument(1, 0, 0, 2);
+            if (src[srcFrom + h - 1] <= src[srcFrom + h]) {
+                System.arraycopy(src, srcFrom, dst, dstFrom, n);
+                instrument(0, 0, n, 2 * n);
+                return;
+            }
+        }
+        merge(src, srcFrom, h, n, dst, dstFrom);
+    }
+
+    private void merge(long[] src, int from, int h, int n, long[] dst, int dstFrom) {
+        int compares = 0;
+        int i = from;
+        final int mid = from + h;
+        int j = mid;
+        final int hi = from + n;
+        final int end = dstFrom + n;
+        for (int k = dstFrom; k < end; k++)
+            if (i >= mid) dst[k] = src[j++];
+            else if (j >= hi) dst[k] = src[i++];
+            else {
+                compares++;
+                if (src[j] < src[i]) dst[k] = src[j++];
+                else dst[k] = src[i++];
+            }
+        instrument(compares, 0, n, 2 * n + 2 * compares);
+    }
+
+    @Override
+    protected void sortDoubles(double[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return;
+        final double[] aux = new double[n];
+        System.arraycopy(xs, from, aux, 0, n);
+        instrument(0, 0, n, 2 * n);
+        sort(aux, 0, xs, from, n);
+    }
+
+    /**
+     * Sort n elements into dst[dstFrom] ... dst[dstFrom+n-1].
+     * On entry, the same n elements must be in both src (starting at srcFrom) and dst (starting at dstFrom).
+     * The roles of src and dst are exchanged at each level of the recursion so that no copying is required.
+     *
+     * @param src     the source array (which is used as auxiliary space).
+     * @param srcFrom the index of the first element in src.
+     * @param dst     the destination array.
+     * @param dstFrom the index of the first element in dst.
+     * @param n       the number of elements to sort.
+     */
+    private void sort(double[] src, int srcFrom, double[] dst, int dstFrom, int n) {
+        if (n <= cutoff) {
+            insertionSort(dst, dstFrom, dstFrom + n);
+            return;
+        }
+        final int h = n / 2;
+        sort(dst, dstFrom, src, srcFrom, h);
+        sort(dst, dstFrom + h, src, srcFrom + h, n - h);
+        if (insurance) {
+            instrument(1, 0, 0, 2);
+            if (src[srcFrom + h - 1] <= src[srcFrom + h]) {
+                System.arraycopy(src, srcFrom, dst, dstFrom, n);
+                instrument(0, 0, n, 2 * n);
+                return;
+            }
+        }
+        merge(src, srcFrom, h, n, dst, dstFrom);
+    }
+
+    private void merge(double[] src, int from, int h, int n, double[] dst, int dstFrom) {
+        int compares = 0;
+        int i = from;
+        final int mid = from + h;
+        int j = mid;
+        final int hi = from + n;
+        final int end = dstFrom + n;
+        for (int k = dstFrom; k < end; k++)
+            if (i >= mid) dst[k] = src[j++];
+            else if (j >= hi) dst[k] = src[i++];
+            else {
+                compares++;
+                if (src[j] < src[i]) dst[k] = src[j++];
+                else dst[k] = src[i++];
+            }
+        instrument(compares, 0, n, 2 * n + 2 * compares);
+    }
+
+    private static boolean getInsurance(Config config) {
+        return config != null && config.getBoolean(MERGESORT, INSURANCE);
+    }
+
+    private final boolean insurance;
+    private final int cutoff;
+}
@@ -0,0 +1,335 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Base class for sorts of primitive arrays (int[], long[] and double[]) with a Helper.
+ * <p>
+ * These sorts are the primitive counterparts of the sorts in the linearithmic and elementary packages:
+ * they do not box their keys and they compare with the primitive operators rather than compareTo.
+ * The Helper is used only for its configuration (for example, cutoff) and for instrumentation:
+ * each sort counts its compares, swaps, copies and hits in local variables and passes them to the Helper
+ * via instrument at the end of each partition (or merge), so that an uninstrumented sort pays (almost) nothing for it.
+ * <p>
+ * Doubles are ordered as by Double.compare: -0.0 precedes 0.0 and NaN values are placed at the end.
+ */
+public abstract class PrimitiveSortWithHelper {
+
+    public PrimitiveSortWithHelper(Helper<?> helper) {
+        this.helper = helper;
+        this.instrumented = helper.instrumented();
+    }
+
+    public PrimitiveSortWithHelper(String description, int N, Config config) {
+        this(HelperFactory.create(description, N, config));
+        closeHelper = true;
+    }
+
+    /**
+     * Mutating sort of an entire array of ints.
+     *
+     * @param xs the array to be sorted.
+     */
+    public void sort(int[] xs) {
+        init(xs.length);
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Mutating sort of an entire array of longs.
+     *
+     * @param xs the array to be sorted.
+     */
+    public void sort(long[] xs) {
+        init(xs.length);
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Mutating sort of an entire array of doubles.
+     *
+     * @param xs the array to be sorted.
+     */
+    public void sort(double[] xs) {
+        init(xs.length);
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Mutating sort of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public abstract void sort(int[] xs, int from, int to);
+
+    /**
+     * Mutating sort of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public abstract void sort(long[] xs, int from, int to);
+
+    /**
+     * Mutating sort of the sub-array xs[from] ... xs[to-1].
+     * NaN values are moved to the end before sorting and, after sorting, any run of zeros is arranged so that -0.0 precedes 0.0.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(double[] xs, int from, int to) {
+        int end = to;
+        for (int i = to - 1; i >= from; i--)
+            if (Double.isNaN(xs[i])) {
+                double x = xs[i];
+                xs[i] = xs[--end];
+                xs[end] = x;
+            }
+        sortDoubles(xs, from, end);
+        fixSignedZeros(xs, from, end);
+    }
+
+    /**
+     * Mutating sort of the sub-array xs[from] ... xs[to-1] which is guaranteed not to contain NaN.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    protected abstract void sortDoubles(double[] xs, int from, int to);
+
+    /**
+     * Perform initializing step for this Sort.
+     *
+     * @param n the number of elements to be sorted.
+     */
+    public void init(int n) {
+        helper.init(n);
+    }
+
+    /**
+     * Method to post-process an array after sorting.
+     * If instrumented, this checks that the array is sorted and adds the counts to the Helper's statistics.
+     *
+     * @param xs the array which has been sorted.
+     */
+    public void postProcess(int[] xs) {
+        postProcess(sorted(xs));
+    }
+
+    /**
+     * Method to post-process an array after sorting.
+     * If instrumented, this checks that the array is sorted and adds the counts to the Helper's statistics.
+     *
+     * @param xs the array which has been sorted.
+     */
+    public void postProcess(long[] xs) {
+        postProcess(sorted(xs));
+    }
+
+    /**
+     * Method to post-process an array after sorting.
+     * If instrumented, this checks that the array is sorted and adds the counts to the Helper's statistics.
+     *
+     * @param xs the array which has been sorted.
+     */
+    public void postProcess(double[] xs) {
+        postProcess(sorted(xs));
+    }
+
+    /**
+     * Get the Helper associated with this Sort.
+     *
+     * @return the Helper
+     */
+    public Helper<?> getHelper() {
+        return helper;
+    }
+
+    @Override
+    public String toString() {
+        return helper.toString();
+    }
+
+    public void close() {
+        if (closeHelper) helper.close();
+    }
+
+    /**
+     * @param xs an array of ints.
+     * @return true if xs is in ascending order.
+     */
+    public static boolean sorted(int[] xs) {
+        for (int i = 1; i < xs.length; i++) if (xs[i - 1] > xs[i]) return false;
+        return true;
+    }
+
+    /**
+     * @param xs an array of longs.
+     * @return true if xs is in ascending order.
+     */
+    public static boolean sorted(long[] xs) {
+        for (int i = 1; i < xs.length; i++) if (xs[i - 1] > xs[i]) return false;
+        return true;
+    }
+
+    /**
+     * @param xs an array of doubles.
+     * @return true if xs is in ascending order (according to Double.compare).
+     */
+    public static boolean sorted(double[] xs) {
+        for (int i = 1; i < xs.length; i++) if (Double.compare(xs[i - 1], xs[i]) > 0) return false;
+        return true;
+    }
+
+    /**
+     * Pass the counts of one step of the sort (for example, a partition) to the Helper, if instrumenting.
+     *
+     * @param compares the number of compares.
+     * @param swaps    the number of swaps.
+     * @param copies   the number of copies.
+     * @param hits     the number of array accesses.
+     */
+    protected final void instrument(long compares, long swaps, int copies, int hits) {
+        if (instrumented) {
+            helper.incrementCompares(compares);
+            helper.incrementSwaps(swaps);
+            helper.incrementCopies(copies);
+            helper.incrementHits(hits);
+        }
+    }
+
+    /**
+     * Insertion sort of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    protected void insertionSort(int[] xs, int from, int to) {
+        long compares = 0, swaps = 0;
+        int hits = 0;
+        for (int i = from + 1; i < to; i++) {
+            final int x = xs[i];
+            int j = i;
+            hits++;
+            while (j > from) {
+                compares++;
+                hits++;
+                if (xs[j - 1] <= x) break;
+                xs[j] = xs[j - 1];
+                swaps++;
+                hits += 2;
+                j--;
+            }
+            xs[j] = x;
+            hits++;
+        }
+        instrument(compares, swaps, 0, hits);
+    }
+
+    /**
+     * Insertion sort of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    protected void insertionSort(long[] xs, int from, int to) {
+        long compares = 0, swaps = 0;
+        int hits = 0;
+        for (int i = from + 1; i < to; i++) {
+            final long x = xs[i];
+            int j = i;
+            hits++;
+            while (j > from) {
+                compares++;
+                hits++;
+                if (xs[j - 1] <= x) break;
+                xs[j] = xs[j - 1];
+                swaps++;
+                hits += 2;
+                j--;
+            }
+            xs[j] = x;
+            hits++;
+        }
+        instrument(compares, swaps, 0, hits);
+    }
+
+    /**
+     * Insertion sort of the sub-array xs[from] ... xs[to-1], which must not contain NaN.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    protected void insertionSort(double[] xs, int from, int to) {
+        long compares = 0, swaps = 0;
+        int hits = 0;
+        for (int i = from + 1; i < to; i++) {
+            final double x = xs[i];
+            int j = i;
+            hits++;
+            while (j > from) {
+                compares++;
+                hits++;
+                if (xs[j - 1] <= x) break;
+                xs[j] = xs[j - 1];
+                swaps++;
+                hits += 2;
+                j--;
+            }
+            xs[j] = x;
+            hits++;
+        }
+        instrument(compares, swaps, 0, hits);
+    }
+
+    /**
+     * Get the cutoff (the size of sub-array at or below which we switch to insertion sort).
+     *
+     * @return the configured cutoff.
+     */
+    protected int cutoff() {
+        return helper.cutoff();
+    }
+
+    protected final Helper<?> helper;
+    protected final boolean instrumented;
+    private boolean closeHelper = false;
+
+    private void postProcess(boolean sorted) {
+        if (instrumented) {
+            if (!sorted) throw new BaseHelper.HelperException("Array is not sorted");
+            helper.gatherStatistics();
+        }
+    }
+
+    /**
+     * The sorting methods treat -0.0 and 0.0 as equal so, after sorting, we rewrite any run of zeros
+     * so that the negative zeros precede the positive zeros.
+     */
+    private static void fixSignedZeros(double[] xs, int from, int to) {
+        int lo = from, hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (xs[mid] < 0.0) lo = mid + 1;
+            else hi = mid;
+        }
+        int negativeZeros = 0;
+        int end = lo;
+        while (end < to && xs[end] == 0.0) {
+            if (Double.doubleToRawLongBits(xs[end]) != 0L) negativeZeros++;
+            end++;
+        }
+        for (int i = lo; i < end; i++) xs[i] = i < lo + negativeZeros ? -0.0 : 0.0;
+    }
+}
@@ -0,0 +1,342 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Class QuickSort_DualPivotPrimitive: the primitive counterpart of QuickSort_DualPivot, for int[], long[] and double[].
+ * <p>
+ * The pivots are chosen at random; the sort recurses into the two smaller partitions and loops on the largest,
+ * so that the depth of the stack is logarithmic.
+ * <p>
+ * NOTE: the three versions of each method differ only in the type of the array elements.
+ */
+public class QuickSort_DualPivotPrimitive extends PrimitiveSortWithHelper {
+
+    public static final String DESCRIPTION = "QuickSort dual pivot (primitive)";
+
+    public QuickSort_DualPivotPrimitive(String description, int N, Config config) {
+        super(description, N, config);
+    }
+
+    /**
+     * Constructor for QuickSort_DualPivotPrimitive
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public QuickSort_DualPivotPrimitive(Helper<?> helper) {
+        super(helper);
+    }
+
+    /**
+     * Constructor for QuickSort_DualPivotPrimitive
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public QuickSort_DualPivotPrimitive(int N, Config config) {
+        this(DESCRIPTION, N, config);
+    }
+
+    @Override
+    public void sort(int[] xs, int from, int to) {
+        sort(xs, from, to, 0);
+    }
+
+    @Override
+    public void sort(long[] xs, int from, int to) {
+        sort(xs, from, to, 0);
+    }
+
+    @Override
+    protected void sortDoubles(double[] xs, int from, int to) {
+        sort(xs, from, to, 0);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1]
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    protected void sort(int[] xs, int from, int to, int depth) {
+        int lo = from, hi = to - 1;
+        while (!terminator(xs, lo, hi + 1, depth)) {
+            helper.registerDepth(depth);
+            // NOTE the pivots are chosen at random so that no input (such as a sorted array) is always partitioned badly.
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            swap(xs, lo, lo + random.nextInt(hi - lo + 1));
+            swap(xs, hi, lo + 1 + random.nextInt(hi - lo));
+            int compares = 1, swaps = 2, hits = 10;
+            if (xs[lo] > xs[hi]) {
+                swap(xs, lo, hi);
+                swaps++;
+                hits += 2;
+            }
+            final int v1 = xs[lo];
+            final int v2 = xs[hi];
+            hits += 2;
+            int lt = lo + 1;
+            int gt = hi - 1;
+            int i = lt;
+            while (i <= gt) {
+                final int x = xs[i];
+                compares++;
+                hits++;
+                if (x < v1) {
+                    swap(xs, lt++, i++);
+                    swaps++;
+                    hits += 4;
+                } else {
+                    compares++;
+                    hits++;
+                    if (x > v2) {
+                        swap(xs, i, gt--);
+                        swaps++;
+                        hits += 4;
+                    } else i++;
+                }
+            }
+            swap(xs, lo, --lt);
+            swap(xs, hi, ++gt);
+            instrument(compares, swaps + 2, 0, hits + 8);
+            depth++;
+            // NOTE if the pivots are equal then so is everything between them.
+            final int nLeft = lt - lo, nMiddle = v1 < v2 ? gt - lt - 1 : 0, nRight = hi - gt;
+            // NOTE recurse into the two smaller partitions and loop on the largest so that the stack depth is logarithmic.
+            if (nLeft >= nMiddle && nLeft >= nRight) {
+                if (nMiddle > 0) sort(xs, lt + 1, gt, depth);
+                sort(xs, gt + 1, hi + 1, depth);
+                hi = lt - 1;
+            } else if (nMiddle >= nRight) {
+                sort(xs, lo, lt, depth);
+                sort(xs, gt + 1, hi + 1, depth);
+                lo = lt + 1;
+                hi = gt - 1;
+            } else {
+                sort(xs, lo, lt, depth);
+                if (nMiddle > 0) sort(xs, lt + 1, gt, depth);
+                lo = gt + 1;
+            }
+        }
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    protected boolean terminator(int[] xs, int from, int to, int depth) {
+        // NOTE: we reduce the cutoff by 1 so that we can use 1 to disable cutoff (because 0 gives the default of 7).
+        // NOTE: a partition needs at least two elements (for the two pivots) whatever the cutoff.
+        if (to - from <= Math.max(1, cutoff() - 1)) {
+            insertionSort(xs, from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private static void swap(int[] xs, int i, int j) {
+        final int temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1]
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    protected void sort(long[] xs, int from, int to, int depth) {
+        int lo = from, hi = to - 1;
+        while (!terminator(xs, lo, hi + 1, depth)) {
+            helper.registerDepth(depth);
+            // NOTE the pivots are chosen at random so that no input (such as a sorted array) is always partitioned badly.
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            swap(xs, lo, lo + random.nextInt(hi - lo + 1));
+            swap(xs, hi, lo + 1 + random.nextInt(hi - lo));
+            int compares = 1, swaps = 2, hits = 10;
+            if (xs[lo] > xs[hi]) {
+                swap(xs, lo, hi);
+                swaps++;
+                hits += 2;
+            }
+            final long v1 = xs[lo];
+            final long v2 = xs[hi];
+            hits += 2;
+            int lt = lo + 1;
+            int gt = hi - 1;
+            int i = lt;
+            while (i <= gt) {
+                final long x = xs[i];
+                compares++;
+                hits++;
+                if (x < v1) {
+                    swap(xs, lt++, i++);
+                    swaps++;
+                    hits += 4;
+                } else {
+                    compares++;
+                    hits++;
+                    if (x > v2) {
+                        swap(xs, i, gt--);
+                        swaps++;
+                        hits += 4;
+                    } else i++;
+                }
+            }
+            swap(xs, lo, --lt);
+            swap(xs, hi, ++gt);
+            instrument(compares, swaps + 2, 0, hits + 8);
+            depth++;
+            // NOTE if the pivots are equal then so is everything between them.
+            final int nLeft = lt - lo, nMiddle = v1 < v2 ? gt - lt - 1 : 0, nRight = hi - gt;
+            // NOTE recurse into the two smaller partitions and loop on the largest so that the stack depth is logarithmic.
+            if (nLeft >= nMiddle && nLeft >= nRight) {
+                if (nMiddle > 0) sort(xs, lt + 1, gt, depth);
+                sort(xs, gt + 1, hi + 1, depth);
+                hi = lt - 1;
+            } else if (nMiddle >= nRight) {
+                sort(xs, lo, lt, depth);
+                sort(xs, gt + 1, hi + 1, depth);
+                lo = lt + 1;
+                hi = gt - 1;
+            } else {
+                sort(xs, lo, lt, depth);
+                if (nMiddle > 0) sort(xs, lt + 1, gt, depth);
+                lo = gt + 1;
+            }
+        }
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    protected boolean terminator(long[] xs, int from, int to, int depth) {
+        // NOTE: we reduce the cutoff by 1 so that we can use 1 to disable cutoff (because 0 gives the default of 7).
+        // NOTE: a partition needs at least two elements (for the two pivots) whatever the cutoff.
+        if (to - from <= Math.max(1, cutoff() - 1)) {
+            insertionSort(xs, from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private static void swap(long[] xs, int i, int j) {
+        final long temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1]
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    protected void sort(double[] xs, int from, int to, int depth) {
+        int lo = from, hi = to - 1;
+        while (!terminator(xs, lo, hi + 1, depth)) {
+            helper.registerDepth(depth);
+            // NOTE the pivots are chosen at random so that no input (such as a sorted array) is always partitioned badly.
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            swap(xs, lo, lo + random.nextInt(hi - lo + 1));
+            swap(xs, hi, lo + 1 + random.nextInt(hi - lo));
+            int compares = 1, swaps = 2, hits = 10;
+            if (xs[lo] > xs[hi]) {
+                swap(xs, lo, hi);
+                swaps++;
+                hits += 2;
+            }
+            final double v1 = xs[lo];
+            final double v2 = xs[hi];
+            hits += 2;
+            int lt = lo + 1;
+            int gt = hi - 1;
+            int i = lt;
+            while (i <= gt) {
+                final double x = xs[i];
+                compares++;
+                hits++;
+                if (x < v1) {
+                    swap(xs, lt++, i++);
+                    swaps++;
+                    hits += 4;
+                } else {
+                    compares++;
+                    hits++;
+                    if (x > v2) {
+                        swap(xs, i, gt--);
+                        swaps++;
+                        hits += 4;
+                    } else i++;
+                }
+            }
+            swap(xs, lo, --lt);
+            swap(xs, hi, ++gt);
+            instrument(compares, swaps + 2, 0, hits + 8);
+            depth++;
+            // NOTE if the pivots are equal then so is everything between them.
+            final int nLeft = lt - lo, nMiddle = v1 < v2 ? gt - lt - 1 : 0, nRight = hi - gt;
+            // NOTE recurse into the two smaller partitions and loop on the largest so that the stack depth is logarithmic.
+            if (nLeft >= nMiddle && nLeft >= nRight) {
+                if (nMiddle > 0) sort(xs, lt + 1, gt, depth);
+                sort(xs, gt + 1, hi + 1, depth);
+                hi = lt - 1;
+            } else if (nMiddle >= nRight) {
+                sort(xs, lo, lt, depth);
+                sort(xs, gt + 1, hi + 1, depth);
+                lo = lt + 1;
+                hi = gt - 1;
+            } else {
+                sort(xs, lo, lt, depth);
+                if (nMiddle > 0) sort(xs, lt + 1, gt, depth);
+                lo = gt + 1;
+            }
+        }
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    protected boolean terminator(double[] xs, int from, int to, int depth) {
+        // NOTE: we reduce the cutoff by 1 so that we can use 1 to disable cutoff (because 0 gives the default of 7).
+        // NOTE: a partition needs at least two elements (for the two pivots) whatever the cutoff.
+        if (to - from <= Math.max(1, cutoff() - 1)) {
+            insertionSort(xs, from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private static void swap(double[] xs, int i, int j) {
+        final double temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+}
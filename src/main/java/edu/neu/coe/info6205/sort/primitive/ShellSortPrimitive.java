@@ -0,0 +1,198 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class ShellSortPrimitive: the primitive counterpart of ShellSort, for int[], long[] and double[].
+ * <p>
+ * Each h-sort moves elements into place with half-exchanges (each of which is counted as a swap)
+ * rather than with full swaps.
+ */
+public class ShellSortPrimitive extends PrimitiveSortWithHelper {
+
+    public static final String DESCRIPTION = "Shell sort (primitive) in mode: ";
+
+    /**
+     * Constructor for ShellSortPrimitive
+     *
+     * @param m      the "gap" (h) sequence to follow (see ShellSort):
+     *               1: ordinary insertion sort;
+     *               2: Shell's original sequence (powers of two less one);
+     *               3: Knuth's sequence based on 3: 1, 4, 13, etc.
+     *               4: Sedgewick's 1986 sequence.
+     *               5: Pratt sequence (1971) 2^i*3^j with i, j >= 0.
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public ShellSortPrimitive(int m, Helper<?> helper) {
+        super(helper);
+        this.m = m;
+    }
+
+    /**
+     * Constructor for ShellSortPrimitive
+     *
+     * @param m      the "gap" (h) sequence to follow.
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public ShellSortPrimitive(int m, int N, Config config) {
+        super(DESCRIPTION + m, N, config);
+        this.m = m;
+    }
+
+    @Override
+    public void sort(int[] xs, int from, int to) {
+        final int[] gaps = gaps(m, to - from);
+        for (int g = gaps.length - 1; g >= 0; g--) hSort(gaps[g], xs, from, to);
+    }
+
+    /**
+     * Private method to h-sort an array.
+     *
+     * @param h    the stride (gap) of the h-sort.
+     * @param xs   the array to be sorted.
+     * @param from the first index to be considered in array xs.
+     * @param to   one plus the last index to be considered in array xs.
+     */
+    private void hSort(int h, int[] xs, int from, int to) {
+        long compares = 0, swaps = 0;
+        int hits = 0;
+        for (int i = h + from; i < to; i++) {
+            final int x = xs[i];
+            hits++;
+            int j = i;
+            while (j >= h + from) {
+                compares++;
+                hits++;
+                if (xs[j - h] <= x) break;
+                xs[j] = xs[j - h];
+                swaps++;
+                hits += 2;
+                j -= h;
+            }
+            xs[j] = x;
+            hits++;
+        }
+        instrument(compares, swaps, 0, hits);
+    }
+
+    @Override
+    public void sort(long[] xs, int from, int to) {
+        final int[] gaps = gaps(m, to - from);
+        for (int g = gaps.length - 1; g >= 0; g--) hSort(gaps[g], xs, from, to);
+    }
+
+    /**
+     * Private method to h-sort an array.
+     *
+     * @param h    the stride (gap) of the h-sort.
+     * @param xs   the array to be sorted.
+     * @param from the first index to be considered in array xs.
+     * @param to   one plus the last index to be considered in array xs.
+     */
+    private void hSort(int h, long[] xs, int from, int to) {
+        long compares = 0, swaps = 0;
+        int hits = 0;
+        for (int i = h + from; i < to; i++) {
+            final long x = xs[i];
+            hits++;
+            int j = i;
+            while (j >= h + from) {
+                compares++;
+                hits++;
+                if (xs[j - h] <= x) break;
+                xs[j] = xs[j - h];
+                swaps++;
+                hits += 2;
+                j -= h;
+            }
+            xs[j] = x;
+            hits++;
+        }
+        instrument(compares, swaps, 0, hits);
+    }
+
+    @Override
+    protected void sortDoubles(double[] xs, int from, int to) {
+        final int[] gaps = gaps(m, to - from);
+        for (int g = gaps.length - 1; g >= 0; g--) hSort(gaps[g], xs, from, to);
+    }
+
+    /**
+     * Private method to h-sort an array.
+     *
+     * @param h    the stride (gap) of the h-sort.
+     * @param xs   the array to be sorted.
+     * @param from the first index to be considered in array xs.
+     * @param to   one plus the last index to be considered in array xs.
+     */
+    private void hSort(int h, double[] xs, int from, int to) {
+        long compares = 0, swaps = 0;
+        int hits = 0;
+        for (int i = h + from; i < to; i++) {
+            final double x = xs[i];
+            hits++;
+            int j = i;
+            while (j >= h + from) {
+                compares++;
+                hits++;
+                if (xs[j - h] <= x) break;
+                xs[j] = xs[j - h];
+                swaps++;
+                hits += 2;
+                j -= h;
+            }
+            xs[j] = x;
+            hits++;
+        }
+        instrument(compares, swaps, 0, hits);
+    }
+
+    /**
+     * Method to yield the gaps of the given sequence which are less than n, in ascending order (the first gap is always 1).
+     *
+     * @param m the "gap" sequence.
+     * @param n the number of elements to be sorted.
+     * @return an array of gaps in ascending order.
+     */
+    static int[] gaps(int m, int n) {
+        final List<Integer> result = new ArrayList<>();
+        result.add(1);
+        switch (m) {
+            case 1:
+                break;
+            case 2:
+                for (long h = 3; h < n; h = 2 * h + 1) result.add((int) h);
+                break;
+            case 3:
+                for (long h = 4; h < n; h = 3 * h + 1) result.add((int) h);
+                break;
+            case 4:
+                for (int k = 1; sedgewick(k) < n; k++) result.add((int) sedgewick(k));
+                break;
+            case 5:
+                for (long j = 1; j < n; j *= 3)
+                    for (long i = j; i < n; i *= 2)
+                        if (i > 1) result.add((int) i);
+                Collections.sort(result);
+                break;
+            default:
+                throw new RuntimeException("invalid m value: " + m);
+        }
+        final int[] gaps = new int[result.size()];
+        for (int i = 0; i < gaps.length; i++) gaps[i] = result.get(i);
+        return gaps;
+    }
+
+    private static long sedgewick(int k) {
+        if (k % 2 == 0) return 9L * ((1L << k) - (1L << (k / 2))) + 1;
+        else return 8L * (1L << k) - 6L * (1L << ((k + 1) / 2)) + 1;
+    }
+
+    private final int m;
+}
@@ -0,0 +1,157 @@
+package edu.neu.coe.info6205.sort.select;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.linearithmic.IntroSort;
+import edu.neu.coe.info6205.sort.linearithmic.Partitioner;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_3way;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Random;
+
+/**
+ * Selection of the kth smallest element of an array (and partial sort of the k smallest elements) in linear expected time.
+ * <p>
+ * This is quicksort in which, after each partition, we continue only with the partition which contains index k.
+ * The partitioning is done by any of the Partitioners of the quicksorts (by default, that of QuickSort_3way),
+ * so that, if the Helper is instrumented, its statistics account for the selection.
+ * Before each partition, random elements are swapped into the pivot positions (the first and last elements) so that
+ * (already sorted) inputs do not cause quadratic behavior;
+ * and, should the number of partitions nevertheless exceed 4 lg n, the remaining sub-array is simply sorted (by IntroSort).
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class QuickSelect<X extends Comparable<X>> {
+
+    public static final String DESCRIPTION = "Quick select";
+
+    /**
+     * Constructor for QuickSelect.
+     *
+     * @param helper      an explicit instance of Helper to be used.
+     * @param partitioner the partitioner (which should use the same helper).
+     */
+    public QuickSelect(Helper<X> helper, Partitioner<X> partitioner) {
+        this.helper = helper;
+        this.partitioner = partitioner;
+        insertionSort = new InsertionSort<>(helper);
+        introSort = new IntroSort<>(helper);
+    }
+
+    /**
+     * Constructor for QuickSelect which uses the partitioner of QuickSort_3way.
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public QuickSelect(Helper<X> helper) {
+        this(helper, new QuickSort_3way<>(helper).createPartitioner());
+    }
+
+    /**
+     * Constructor for QuickSelect which uses the partitioner of QuickSort_3way.
+     *
+     * @param N      the number elements we expect to select from.
+     * @param config the configuration.
+     */
+    public QuickSelect(int N, Config config) {
+        this(HelperFactory.create(DESCRIPTION, N, config));
+        closeHelper = true;
+    }
+
+    /**
+     * Select the kth smallest element (counting from zero) of xs.
+     * <p>
+     * On return, xs[k] is that element, no element of xs[0] ... xs[k-1] is greater, and no element of xs[k+1] ... xs[n-1] is smaller.
+     *
+     * @param xs the array (which will be re-arranged).
+     * @param k  the rank of the element required (0 for the smallest, n-1 for the largest).
+     * @return the kth smallest element.
+     */
+    public X select(X[] xs, int k) {
+        helper.init(xs.length);
+        return select(xs, 0, xs.length, k);
+    }
+
+    /**
+     * Select the element of the sub-array xs[from] ... xs[to-1] which belongs at index k (where from &lt;= k &lt; to).
+     *
+     * @param xs   the array (which will be re-arranged).
+     * @param from the index of the first element to be considered.
+     * @param to   the index of the first element not to be considered.
+     * @param k    the index of the element required.
+     * @return the element which, if the sub-array were sorted, would be at index k.
+     */
+    public X select(X[] xs, int from, int to, int k) {
+        if (k < from || k >= to) throw new IllegalArgumentException("QuickSelect: k must be between " + from + " and " + (to - 1) + ": " + k);
+        final int[] bounds = new int[2 * Partitioner.MAX_PARTITIONS];
+        int lo = from, hi = to;
+        int partitions = 4 * floor_lg(to - from);
+        while (hi - lo > 1) {
+            if (hi - lo <= helper.cutoff()) {
+                insertionSort.sort(xs, lo, hi);
+                break;
+            }
+            if (partitions-- <= 0) {
+                if (introSort.getKernel() != null) introSort.getKernel().sort(xs, lo, hi);
+                else introSort.sort(xs, lo, hi);
+                break;
+            }
+            helper.swap(xs, lo, lo + random.nextInt(hi - lo));
+            helper.swap(xs, hi - 1, lo + 1 + random.nextInt(hi - lo - 1));
+            final int n = partitioner.partition(xs, lo, hi, bounds);
+            // NOTE if k is in none of the partitions, then it is the index of a pivot (or of an element equal to the pivot), which is already in place.
+            boolean found = false;
+            for (int i = 0; i < n && !found; i++)
+                if (k >= bounds[2 * i] && k < bounds[2 * i + 1]) {
+                    lo = bounds[2 * i];
+                    hi = bounds[2 * i + 1];
+                    found = true;
+                }
+            if (!found) break;
+        }
+        return xs[k];
+    }
+
+    /**
+     * Partially sort xs so that xs[0] ... xs[k-1] are the k smallest elements, in order.
+     * The order of the remaining elements is undefined.
+     * This takes O(n + k log k) time rather than O(n log n).
+     *
+     * @param xs the array (which will be re-arranged).
+     * @param k  the number of smallest elements required in order.
+     */
+    public void partialSort(X[] xs, int k) {
+        final int n = xs.length;
+        if (k <= 0) return;
+        helper.init(n);
+        if (k < n) select(xs, 0, n, k - 1);
+        final int to = Math.min(k, n);
+        if (introSort.getKernel() != null) introSort.getKernel().sort(xs, 0, to);
+        else introSort.sort(xs, 0, to);
+    }
+
+    /**
+     * Get the Helper associated with this QuickSelect.
+     *
+     * @return the Helper
+     */
+    public Helper<X> getHelper() {
+        return helper;
+    }
+
+    public void close() {
+        if (closeHelper) helper.close();
+    }
+
+    private static int floor_lg(int a) {
+        return 31 - Integer.numberOfLeadingZeros(a);
+    }
+
+    private final Helper<X> helper;
+    private final Partitioner<X> partitioner;
+    private final InsertionSort<X> insertionSort;
+    private final IntroSort<X> introSort;
+    private final Random random = new Random(0L);
+    private boolean closeHelper = false;
+}
@@ -0,0 +1,100 @@
+package edu.neu.coe.info6205.sort.select;
+
+import edu.neu.coe.info6205.pq.PQException;
+import edu.neu.coe.info6205.pq.PriorityQueue;
+import edu.neu.coe.info6205.sort.Helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming selection of the k smallest (or largest) elements, in O(n log k) time and O(k) space.
+ * <p>
+ * The elements retained so far are held in a bounded PriorityQueue of capacity k whose root is the least eligible of them
+ * (a max-PQ when we want the smallest elements), so that each new element need only be compared with the root
+ * and (if it is retained) sunk into the heap: see PriorityQueue.offer.
+ * All compares are made through the Helper so that, if it is instrumented, they are counted.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class TopK<X extends Comparable<X>> {
+
+    /**
+     * Constructor for TopK.
+     *
+     * @param k       the number of elements to retain.
+     * @param largest true if we want the k largest elements, false for the k smallest.
+     * @param helper  the Helper through which elements are compared.
+     */
+    public TopK(int k, boolean largest, Helper<X> helper) {
+        if (k < 1) throw new IllegalArgumentException("TopK: k must be positive: " + k);
+        this.largest = largest;
+        // NOTE for the k smallest elements, the root must be the largest (so the queue is a max-PQ), and vice versa.
+        pq = new PriorityQueue<>(k, !largest, helper::compare, false);
+    }
+
+    /**
+     * Offer an element to this TopK.
+     *
+     * @param x the element.
+     * @return true if x is (for now) one of the top k elements.
+     */
+    public boolean add(X x) {
+        count++;
+        return pq.offer(x);
+    }
+
+    /**
+     * Offer each of the given elements to this TopK.
+     *
+     * @param xs the elements.
+     */
+    public void addAll(Iterable<X> xs) {
+        for (X x : xs) add(x);
+    }
+
+    /**
+     * @return the number of elements retained (the lesser of k and the number of elements added).
+     */
+    public int size() {
+        return pq.size();
+    }
+
+    /**
+     * @return the number of elements added.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Remove the elements retained, returning them best first (i.e. in ascending order for the smallest, descending order for the largest).
+     * This TopK may then be re-used.
+     *
+     * @return a list of the (at most k) top elements.
+     */
+    public List<X> take() {
+        final List<X> result = new ArrayList<>(pq.size());
+        try {
+            while (!pq.isEmpty()) result.add(pq.take());
+        } catch (PQException e) {
+            throw new IllegalStateException("TopK: logic error", e);
+        }
+        // NOTE the least eligible element is taken first.
+        Collections.reverse(result);
+        count = 0;
+        return result;
+    }
+
+    /**
+     * @return true if this TopK retains the largest elements.
+     */
+    public boolean isLargest() {
+        return largest;
+    }
+
+    private final boolean largest;
+    private final PriorityQueue<X> pq;
+    private long count = 0;
+}
@@ -3,6 +3,7 @@ package edu.neu.coe.info6205.symbolTable.tree;
 import edu.neu.coe.info6205.util.*;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -39,11 +40,15 @@ public class BSTBenchmark<K extends Comparable<K>, V> extends Benchmark_Timer<K[
             logger.info("BST has " + bst.size() + " nodes initially");
             final Stats stats = new Stats(bst.size());
             final BSTBenchmark<String, Integer> benchmark = new BSTBenchmark<>(String.class, bst, words, nRuns, SortBenchmark.timeLoggersLinearithmic, stats);
+            final BenchmarkStore store = BenchmarkStore.create(Config.load(BSTBenchmark.class));
+            if (store != null) benchmark.withStore(store, "n=" + x + ", mode=" + mode + ", runs=" + nRuns);
             final Supplier<String[]> supplier = () -> Utilities.fillRandomArray(String.class, random, runSampleSize, r -> words[r.nextInt(words.length)]);
             final double result = benchmark.runBenchmark(supplier);
             logger.info("Stats: " + stats + "; average milliseconds: " + formatDecimal3Places(result));
         } catch (FileNotFoundException e) {
             logger.error("BSTBenchmark: cannot find word file: " + e.getLocalizedMessage());
+        } catch (IOException e) {
+            logger.error("BSTBenchmark: cannot load configuration: " + e.getLocalizedMessage());
         }
     }
 
@@ -58,7 +63,7 @@ public class BSTBenchmark<K extends Comparable<K>, V> extends Benchmark_Timer<K[
     }
 
     public double runBenchmark(final Supplier<K[]> supplier) {
-        return runFromSupplier(supplier, nRuns);
+        return measure(supplier, nRuns).getMean();
     }
 
     /**
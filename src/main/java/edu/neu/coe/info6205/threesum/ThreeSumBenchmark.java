@@ -1,18 +1,27 @@
 package edu.neu.coe.info6205.threesum;
 
+import edu.neu.coe.info6205.util.BenchmarkStore;
 import edu.neu.coe.info6205.util.Benchmark_Timer;
+import edu.neu.coe.info6205.util.ComplexityEstimator;
+import edu.neu.coe.info6205.util.Config;
 import edu.neu.coe.info6205.util.TimeLogger;
 import edu.neu.coe.info6205.util.Utilities;
 
+import java.io.IOException;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import org.junit.Test;
 public class ThreeSumBenchmark {
-    public ThreeSumBenchmark(int runs, int n, int m) {
+    public ThreeSumBenchmark(int runs, int n, int m, BenchmarkStore store) {
         this.runs = runs;
         this.supplier = new Source(n, m).intsSupplier(10);
         this.n = n;
+        this.store = store;
+    }
+
+    public ThreeSumBenchmark(int runs, int n, int m) {
+        this(runs, n, m, null);
     }
 
     public void runBenchmarks() {
@@ -24,45 +33,46 @@ public class ThreeSumBenchmark {
         benchmarkThreeSum("ThreeSumCubic", (xs) -> new ThreeSumCubic(xs).getTriples(), n, timeLoggersCubic);
     }
 
-    public static void main(String[] args) {
-    	
-        new ThreeSumBenchmark(100, 250, 250).runBenchmarks();
-        new ThreeSumBenchmark(50, 500, 500).runBenchmarks();
-        new ThreeSumBenchmark(20, 1000, 1000).runBenchmarks();
-        new ThreeSumBenchmark(10, 2000, 2000).runBenchmarks();
-        new ThreeSumBenchmark(5, 4000, 4000).runBenchmarks();
-        new ThreeSumBenchmark(3, 8000, 8000).runBenchmarks();
-        new ThreeSumBenchmark(2, 16000, 16000).runBenchmarks();
+    public static void main(String[] args) throws IOException {
+        final BenchmarkStore store = BenchmarkStore.create(Config.load(ThreeSumBenchmark.class));
+        new ThreeSumBenchmark(100, 250, 250, store).runBenchmarks();
+        new ThreeSumBenchmark(50, 500, 500, store).runBenchmarks();
+        new ThreeSumBenchmark(20, 1000, 1000, store).runBenchmarks();
+        new ThreeSumBenchmark(10, 2000, 2000, store).runBenchmarks();
+        new ThreeSumBenchmark(5, 4000, 4000, store).runBenchmarks();
+        new ThreeSumBenchmark(3, 8000, 8000, store).runBenchmarks();
+        new ThreeSumBenchmark(2, 16000, 16000, store).runBenchmarks();
+        estimateComplexity(250, 6, 100);
     }
     private void benchmarkThreeSum(final String description, final Consumer<int[]> function, int n, final TimeLogger[] timeLoggers) {
-    	
-    	// public Benchmark_Timer(String description, Consumer<T> fRun, Consumer<T> fPost) {this(description, null, fRun, fPost); }
         if (description.equals("ThreeSumCubic") && n > 4000) return;
-        else{
-        	/*
-        	System.out.println("n=" + n);
-        	System.out.println("runs="+runs);
-        	int[] tmp = supplier.get();
-        	System.out.print("len="+tmp.length);
-        	for(int i = 0 ; i <tmp.length;i++ ) {
-        		System.out.print(" "+tmp[i]);
-        	}
-        	 function.accept(tmp);
-        	 */
-        	
-        	 Benchmark_Timer<int[]> bT = new Benchmark_Timer<int[]>(description,function);
-        	 double t = bT.runFromSupplier(supplier, runs);
-        	 timeLoggers[0].log(t, runs);
-        	 timeLoggers[1].log(t, runs);
-        }
-
-       
-        // FIXME
-        // END 
+        final Benchmark_Timer<int[]> benchmark = new Benchmark_Timer<>(description, function);
+        if (store != null) benchmark.withStore(store, "n=" + n + ", runs=" + runs);
+        final double time = benchmark.measure(supplier, runs).getMean();
+        for (TimeLogger timeLogger : timeLoggers) timeLogger.log(time, n);
     }
 
-   
+    /**
+     * Estimate the order of growth of each of the ThreeSum implementations by a doubling experiment,
+     * and check it against the expected order.
+     *
+     * @param start the smallest size.
+     * @param steps the number of sizes (each double the previous).
+     * @param runs  the number of runs at the smallest size (the number is reduced as the size grows).
+     */
+    public static void estimateComplexity(int start, int steps, int runs) {
+        estimateComplexity("ThreeSumQuadratic", (xs) -> new ThreeSumQuadratic(xs).getTriples(), start, steps, runs, 2, 0);
+        estimateComplexity("ThreeSumQuadraticWithCalipers", (xs) -> new ThreeSumQuadraticWithCalipers(xs).getTriples(), start, steps, runs, 2, 0);
+        estimateComplexity("ThreeSumQuadrithmic", (xs) -> new ThreeSumQuadrithmic(xs).getTriples(), start, steps, runs, 2, 1);
+        estimateComplexity("ThreeSumCubic", (xs) -> new ThreeSumCubic(xs).getTriples(), start, Math.min(steps, 5), runs, 3, 0);
+    }
 
+    private static void estimateComplexity(final String description, final Consumer<int[]> function, int start, int steps, int runs, double expectedA, double expectedB) {
+        final ComplexityEstimator<int[]> estimator = new ComplexityEstimator<>(start, steps);
+        final ComplexityEstimator.Report report = estimator.estimate(new Benchmark_Timer<>(description, function),
+                n -> new Source(n, n).intsSupplier(10), n -> runs * start / n, expectedA, expectedB);
+        System.out.println(description + ":\n" + report);
+    }
 
     private final static TimeLogger[] timeLoggersCubic = {
             new TimeLogger("Raw time per run (mSec): ", (time, n) -> time),
@@ -80,4 +90,5 @@ public class ThreeSumBenchmark {
     private final int runs;
     private final Supplier<int[]> supplier;
     private final int n;
+    private final BenchmarkStore store;
 }
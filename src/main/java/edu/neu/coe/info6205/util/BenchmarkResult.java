@@ -0,0 +1,174 @@
+package edu.neu.coe.info6205.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of one benchmark, as recorded (one row per result) by a BenchmarkStore.
+ * <p>
+ * Each row has the columns given by HEADER: the time of recording (milliseconds since the epoch), the name of the benchmark,
+ * its parameters (e.g. "n=1000"), the (git) revision of the code, the JVM, and the time of each run (in nanoseconds, separated by spaces).
+ * Fields which contain a comma, a quote or a line break are quoted (as in RFC 4180).
+ */
+public class BenchmarkResult implements FileData {
+
+    public static final String HEADER = "timestamp,name,parameters,revision,jvm,laps\n";
+
+    /**
+     * Constructor for BenchmarkResult.
+     *
+     * @param timestamp  the time of recording (milliseconds since the epoch).
+     * @param name       the name of the benchmark.
+     * @param parameters the parameters of the benchmark.
+     * @param revision   the revision of the code.
+     * @param jvm        the JVM on which the benchmark ran.
+     * @param laps       the time of each run, in nanoseconds.
+     */
+    public BenchmarkResult(long timestamp, String name, String parameters, String revision, String jvm, long[] laps) {
+        this.timestamp = timestamp;
+        this.name = name;
+        this.parameters = parameters;
+        this.revision = revision;
+        this.jvm = jvm;
+        this.laps = laps;
+    }
+
+    /**
+     * Split the content of a file into rows (without their line terminators).
+     * A line break within a quoted field is part of the row, not the end of it.
+     *
+     * @param content the content of the file.
+     * @return the (non-empty) rows, in order.
+     */
+    public static List<String> rows(String content) {
+        final List<String> result = new ArrayList<>();
+        final StringBuilder row = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < content.length(); i++) {
+            final char c = content.charAt(i);
+            // NOTE an escaped quote ("") toggles quoted twice, which leaves it unchanged.
+            if (c == '"') quoted = !quoted;
+            if (quoted || (c != '\n' && c != '\r')) row.append(c);
+            else if (row.length() > 0) {
+                result.add(row.toString());
+                row.setLength(0);
+            }
+        }
+        if (row.length() > 0) result.add(row.toString());
+        return result;
+    }
+
+    /**
+     * Parse a row (without its line terminator, but possibly with line breaks in quoted fields) as written by toFile.
+     *
+     * @param row the row.
+     * @return a BenchmarkResult.
+     * @throws IllegalArgumentException if the row is malformed.
+     */
+    public static BenchmarkResult parse(String row) {
+        final List<String> fields = split(row);
+        if (fields.size() != 6) throw new IllegalArgumentException("BenchmarkResult: expected 6 fields but found " + fields.size() + ": " + row);
+        try {
+            final String lapField = fields.get(5).trim();
+            final String[] ws = lapField.isEmpty() ? new String[0] : lapField.split(" ");
+            final long[] laps = new long[ws.length];
+            for (int i = 0; i < ws.length; i++) laps[i] = Long.parseLong(ws[i]);
+            return new BenchmarkResult(Long.parseLong(fields.get(0)), fields.get(1), fields.get(2), fields.get(3), fields.get(4), laps);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("BenchmarkResult: malformed number in row: " + row, e);
+        }
+    }
+
+    @Override
+    public String toFile() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(timestamp).append(',').append(quote(name)).append(',').append(quote(parameters)).append(',')
+                .append(quote(revision)).append(',').append(quote(jvm)).append(',');
+        for (int i = 0; i < laps.length; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(laps[i]);
+        }
+        return sb.append('\n').toString();
+    }
+
+    /**
+     * @return the statistics of the runs.
+     */
+    public LapStatistics getLapStatistics() {
+        return new LapStatistics(laps, 0);
+    }
+
+    /**
+     * @return the key which identifies the benchmark (name and parameters), regardless of revision.
+     */
+    public String getKey() {
+        return name + " (" + parameters + ")";
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    public String getJvm() {
+        return jvm;
+    }
+
+    /**
+     * @return a copy of the time of each run, in nanoseconds.
+     */
+    public long[] getLaps() {
+        return laps.clone();
+    }
+
+    @Override
+    public String toString() {
+        return getKey() + " @" + revision + " on " + jvm + ": " + getLapStatistics();
+    }
+
+    private static String quote(String s) {
+        if (s == null) return "";
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static List<String> split(String row) {
+        final List<String> result = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < row.length(); i++) {
+            final char c = row.charAt(i);
+            if (quoted) {
+                if (c != '"') field.append(c);
+                else if (i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else quoted = false;
+            } else if (c == '"') quoted = true;
+            else if (c == ',') {
+                result.add(field.toString());
+                field.setLength(0);
+            } else field.append(c);
+        }
+        result.add(field.toString());
+        return result;
+    }
+
+    private final long timestamp;
+    private final String name;
+    private final String parameters;
+    private final String revision;
+    private final String jvm;
+    private final long[] laps;
+}
@@ -0,0 +1,292 @@
+package edu.neu.coe.info6205.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only store of benchmark results, kept in a local CSV file (see BenchmarkResult for the format).
+ * <p>
+ * Each result records the revision of the code (by default, the current git revision) and the JVM,
+ * together with the time of each run, so that the results of two revisions can be compared statistically.
+ * A slowdown is flagged as a regression only if it is both significant (by Welch's t-test, at the 5% level)
+ * and greater than a threshold (e.g. 5%), so that neither noise nor trivial differences are reported.
+ * <p>
+ * The main program compares two revisions: BenchmarkStore file baselineRevision [currentRevision [threshold]].
+ * It exits with status 1 if there is any regression.
+ */
+public class BenchmarkStore {
+
+    /**
+     * Constructor for BenchmarkStore.
+     *
+     * @param fileName    the name of the file (it, and its directory, will be created if necessary).
+     * @param revision    the revision to be recorded with each result.
+     * @param fileHandler the FileHandler which appends the results.
+     */
+    public BenchmarkStore(String fileName, String revision, FileHandler<BenchmarkResult> fileHandler) {
+        this.fileName = fileName;
+        this.revision = revision;
+        this.fileHandler = fileHandler;
+    }
+
+    /**
+     * Constructor for BenchmarkStore which records the current git revision and writes CSV.
+     *
+     * @param fileName the name of the file.
+     */
+    public BenchmarkStore(String fileName) {
+        this(fileName, gitRevision(), new FileHandlerImpl_CSV<>());
+    }
+
+    /**
+     * Method to get the BenchmarkStore given by the benchmarkstore section of the configuration.
+     *
+     * @param config the configuration (may be null).
+     * @return a BenchmarkStore, or null if no file is configured.
+     */
+    public static BenchmarkStore create(Config config) {
+        if (config == null) return null;
+        final String file = config.get(BENCHMARKSTORE, FILE);
+        if (file == null || file.isEmpty()) return null;
+        final String revision = config.get(BENCHMARKSTORE, REVISION);
+        return new BenchmarkStore(file, revision == null || revision.isEmpty() ? gitRevision() : revision, new FileHandlerImpl_CSV<>());
+    }
+
+    /**
+     * Append a result to the store.
+     *
+     * @param name       the name of the benchmark.
+     * @param parameters the parameters of the benchmark.
+     * @param laps       the time of each run, in nanoseconds.
+     * @return the BenchmarkResult which was recorded.
+     */
+    public BenchmarkResult record(String name, String parameters, long[] laps) {
+        final BenchmarkResult result = new BenchmarkResult(System.currentTimeMillis(), name, parameters, revision, jvm(), laps);
+        final File parent = new File(fileName).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs())
+            logger.warn("BenchmarkStore: unable to create directory " + parent);
+        if (!fileHandler.appendcsv(BenchmarkResult.HEADER, fileName, Collections.singletonList(result)))
+            logger.warn("BenchmarkStore: unable to record result in " + fileName + ": " + result);
+        else logger.debug(() -> "BenchmarkStore: recorded " + result);
+        return result;
+    }
+
+    /**
+     * Read all of the results in the store, in the order in which they were recorded.
+     * A malformed row is logged and skipped.
+     *
+     * @return a list of BenchmarkResult (empty if the file does not exist).
+     * @throws IOException if the file cannot be read.
+     */
+    public List<BenchmarkResult> read() throws IOException {
+        final File file = new File(fileName);
+        final List<BenchmarkResult> result = new ArrayList<>();
+        if (!file.exists()) return result;
+        final List<String> rows = BenchmarkResult.rows(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        for (int i = 0; i < rows.size(); i++) {
+            final String row = rows.get(i);
+            if (i == 0 && row.equals(BenchmarkResult.HEADER.trim())) continue;
+            try {
+                result.add(BenchmarkResult.parse(row));
+            } catch (IllegalArgumentException e) {
+                logger.warn("BenchmarkStore: skipping row " + i + " of " + fileName + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compare the (most recent) results of each benchmark for two revisions.
+     *
+     * @param baselineRevision the baseline revision.
+     * @param currentRevision  the current revision.
+     * @param threshold        the least relative slowdown (e.g. 0.05) which is considered a regression.
+     * @return a Comparison for each benchmark (name and parameters) with results for both revisions.
+     * @throws IOException if the file cannot be read.
+     */
+    public List<Comparison> compare(String baselineRevision, String currentRevision, double threshold) throws IOException {
+        final Map<String, BenchmarkResult> baselines = new LinkedHashMap<>();
+        final Map<String, BenchmarkResult> currents = new LinkedHashMap<>();
+        for (BenchmarkResult r : read()) {
+            if (r.getRevision().equals(baselineRevision)) baselines.put(r.getKey(), r);
+            if (r.getRevision().equals(currentRevision)) currents.put(r.getKey(), r);
+        }
+        final List<Comparison> result = new ArrayList<>();
+        for (Map.Entry<String, BenchmarkResult> e : baselines.entrySet()) {
+            final BenchmarkResult current = currents.get(e.getKey());
+            if (current != null) result.add(new Comparison(e.getValue(), current, threshold));
+        }
+        return result;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    /**
+     * The comparison of the results of one benchmark for two revisions.
+     */
+    public static class Comparison {
+
+        /**
+         * Constructor for Comparison.
+         *
+         * @param baseline  the result for the baseline revision.
+         * @param current   the result for the current revision.
+         * @param threshold the least relative slowdown which is considered a regression.
+         */
+        public Comparison(BenchmarkResult baseline, BenchmarkResult current, double threshold) {
+            this.baseline = baseline;
+            this.current = current;
+            this.threshold = threshold;
+            final LapStatistics b = baseline.getLapStatistics();
+            final LapStatistics c = current.getLapStatistics();
+            ratio = b.getMean() > 0 ? c.getMean() / b.getMean() : 1;
+            final int nb = b.getLaps(), nc = c.getLaps();
+            if (nb < 2 || nc < 2) {
+                t = 0;
+                df = 0;
+            } else {
+                final double vb = b.getStdDev() * b.getStdDev() / nb, vc = c.getStdDev() * c.getStdDev() / nc;
+                final double se = Math.sqrt(vb + vc);
+                t = se > 0 ? (c.getMean() - b.getMean()) / se : 0;
+                // NOTE Welch-Satterthwaite degrees of freedom.
+                df = se > 0 ? (vb + vc) * (vb + vc) / (vb * vb / (nb - 1) + vc * vc / (nc - 1)) : nb + nc - 2;
+            }
+        }
+
+        /**
+         * @return true if the current revision is significantly slower than the baseline (by more than the threshold).
+         */
+        public boolean isRegression() {
+            return isSignificant() && ratio > 1 + threshold;
+        }
+
+        /**
+         * @return true if the current revision is significantly faster than the baseline (by more than the threshold).
+         */
+        public boolean isImprovement() {
+            return isSignificant() && ratio < 1 / (1 + threshold);
+        }
+
+        /**
+         * @return true if the difference of the means is significant at the 5% level (two-sided).
+         */
+        public boolean isSignificant() {
+            return df >= 1 && Math.abs(t) > LapStatistics.tQuantile((int) Math.floor(df));
+        }
+
+        /**
+         * @return the ratio of the mean time of the current revision to that of the baseline.
+         */
+        public double getRatio() {
+            return ratio;
+        }
+
+        /**
+         * @return Welch's t statistic (positive if the current revision is slower).
+         */
+        public double getT() {
+            return t;
+        }
+
+        public BenchmarkResult getBaseline() {
+            return baseline;
+        }
+
+        public BenchmarkResult getCurrent() {
+            return current;
+        }
+
+        @Override
+        public String toString() {
+            final String verdict = isRegression() ? "REGRESSION" : isImprovement() ? "improvement" : isSignificant() ? "minor change" : "no significant change";
+            return String.format("%s: %s; mean %.4f -> %.4f ms (x%.3f, t=%.2f)", baseline.getKey(), verdict,
+                    baseline.getLapStatistics().getMean(), current.getLapStatistics().getMean(), ratio, t);
+        }
+
+        private final BenchmarkResult baseline;
+        private final BenchmarkResult current;
+        private final double threshold;
+        private final double ratio;
+        private final double t;
+        private final double df;
+    }
+
+    /**
+     * Compare two revisions of the results in a file.
+     *
+     * @param args file baselineRevision [currentRevision [threshold]].
+     * @throws IOException if the file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkStore file baselineRevision [currentRevision [threshold]]");
+            System.exit(2);
+        }
+        final BenchmarkStore store = new BenchmarkStore(args[0], args.length > 2 ? args[2] : gitRevision(), new FileHandlerImpl_CSV<>());
+        final double threshold = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_THRESHOLD;
+        final List<Comparison> comparisons = store.compare(args[1], store.getRevision(), threshold);
+        boolean regression = false;
+        for (Comparison comparison : comparisons) {
+            System.out.println(comparison);
+            regression |= comparison.isRegression();
+        }
+        System.out.println(comparisons.size() + " benchmarks compared (" + args[1] + " -> " + store.getRevision() + ")");
+        if (regression) System.exit(1);
+    }
+
+    /**
+     * Method to get the current git revision (of the working directory).
+     *
+     * @return HEAD as given by git describe (its abbreviated hash, or its nearest tag if there is one), followed by "-dirty"
+     * if there are uncommitted changes (since then the code measured is not that of HEAD), or "unknown" if it cannot be determined.
+     */
+    public static String gitRevision() {
+        try {
+            final Process process = new ProcessBuilder("git", "describe", "--always", "--dirty").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                final String line = reader.readLine();
+                if (process.waitFor() == 0 && line != null && !line.isEmpty()) return line.trim();
+            }
+        } catch (IOException e) {
+            logger.debug(() -> "BenchmarkStore: git is not available: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @return the name and version of the JVM.
+     */
+    public static String jvm() {
+        return System.getProperty("java.vm.name") + " " + System.getProperty("java.version");
+    }
+
+    public static final String BENCHMARKSTORE = "benchmarkstore";
+    public static final String FILE = "file";
+    public static final String REVISION = "revision";
+
+    public static final double DEFAULT_THRESHOLD = 0.05;
+    public static final String UNKNOWN = "unknown";
+
+    private final String fileName;
+    private final String revision;
+    private final FileHandler<BenchmarkResult> fileHandler;
+
+    final static LazyLogger logger = new LazyLogger(BenchmarkStore.class);
+}
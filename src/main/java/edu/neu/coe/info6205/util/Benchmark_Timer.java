@@ -56,11 +56,130 @@ public class Benchmark_Timer<T> implements Benchmark<T> {
             fRun.accept(t);
             return t;
         };
-        
         new Timer().repeat(getWarmupRuns(m), supplier, function, fPre, null);
 
         // Timed phase
-        return new Timer().repeat(m, supplier, function, fPre, fPost);
+        final Timer timer = new Timer();
+        final ResourceUsage usage = newResourceUsage();
+        final double result = timer.repeat(m, supplier, function, accountedPre(usage), accountedPost(usage));
+        if (resourceUsage != null) logger.info("End run: " + description + ": " + resourceUsage);
+        record(timer);
+        return result;
+    }
+
+    /**
+     * Record the time of each timed run of subsequent calls of runFromSupplier and measure in a BenchmarkStore.
+     *
+     * @param store      the BenchmarkStore (or null to stop recording).
+     * @param parameters the parameters of the benchmark (e.g. "n=1000") to be recorded with the description.
+     * @return this Benchmark_Timer.
+     */
+    public Benchmark_Timer<T> withStore(BenchmarkStore store, String parameters) {
+        this.store = store;
+        this.parameters = parameters;
+        return this;
+    }
+
+    /**
+     * Enable (or disable) the accounting of the resources (allocation, CPU time and garbage collection) used by each timed run.
+     * The accounting applies to subsequent calls of runFromSupplier and measure (but not to their warmup runs).
+     *
+     * @param enabled true if resources are to be accounted for.
+     * @return this Benchmark_Timer.
+     */
+    public Benchmark_Timer<T> withResourceUsage(boolean enabled) {
+        resourceAccounting = enabled;
+        return this;
+    }
+
+    /**
+     * @return the ResourceUsage of the timed runs of the most recent call of runFromSupplier or measure (null if resources are not accounted for).
+     */
+    public ResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
+    /**
+     * Warm up until the run times reach a steady state (with the default window, coefficient of variation and limit)
+     * and then run function f m times, recording the time of each run.
+     *
+     * @param supplier a Supplier of a T
+     * @param m        the number of times the function f will be called (after warmup).
+     * @return the LapStatistics of the m timed runs.
+     */
+    public LapStatistics measure(Supplier<T> supplier, int m) {
+        return measure(supplier, m, DEFAULT_WINDOW, DEFAULT_MAX_COV, DEFAULT_MAX_WARMUP_RUNS);
+    }
+
+    /**
+     * Warm up until the run times reach a steady state and then run function f m times, recording the time of each run.
+     * <p>
+     * Unlike runFromSupplier, the number of warmup runs is not fixed: warmup continues (for at least getWarmupRuns(m) runs)
+     * until the coefficient of variation of the last window runs is no greater than maxCoV, or until maxWarmupRuns runs have been made.
+     *
+     * @param supplier      a Supplier of a T
+     * @param m             the number of times the function f will be called (after warmup).
+     * @param window        the number of (most recent) warmup runs whose variation is considered.
+     * @param maxCoV        the greatest coefficient of variation which is considered steady.
+     * @param maxWarmupRuns the greatest number of warmup runs.
+     * @return the LapStatistics of the m timed runs.
+     */
+    public LapStatistics measure(Supplier<T> supplier, int m, int window, double maxCoV, int maxWarmupRuns) {
+        logger.info("Begin measure: " + description + " with " + formatWhole(m) + " runs");
+        final Function<T, T> function = t -> {
+            fRun.accept(t);
+            return t;
+        };
+        final int warmups = new Timer().repeatUntilSteady(supplier, function, fPre, window, maxCoV, getWarmupRuns(m), maxWarmupRuns);
+        final Timer timer = new Timer();
+        final ResourceUsage usage = newResourceUsage();
+        timer.repeat(m, supplier, function, accountedPre(usage), accountedPost(usage));
+        record(timer);
+        final LapStatistics result = timer.lapStatistics(warmups);
+        logger.info("End measure: " + description + ": " + result + (resourceUsage != null ? "; " + resourceUsage : ""));
+        return result;
+    }
+
+    private void record(Timer timer) {
+        if (store != null) store.record(description, parameters, timer.getLapTicks());
+    }
+
+    /**
+     * @return a new ResourceUsage for the timed runs (also available from getResourceUsage), or null if resources are not accounted for.
+     */
+    private ResourceUsage newResourceUsage() {
+        resourceUsage = resourceAccounting ? new ResourceUsage() : null;
+        return resourceUsage;
+    }
+
+    /**
+     * Get the pre-function of a timed run, which, if resources are to be accounted for, begins the accounting after fPre.
+     * NOTE the accounting is done while the clock is stopped so that it does not inflate the run times.
+     *
+     * @param usage the ResourceUsage (may be null).
+     * @return a function of T => T (or null if there is neither fPre nor accounting).
+     */
+    private UnaryOperator<T> accountedPre(ResourceUsage usage) {
+        if (usage == null) return fPre;
+        return t -> {
+            final T result = fPre != null ? fPre.apply(t) : t;
+            usage.begin();
+            return result;
+        };
+    }
+
+    /**
+     * Get the post-function of a timed run, which, if resources are to be accounted for, ends the accounting before fPost.
+     *
+     * @param usage the ResourceUsage (may be null).
+     * @return a Consumer of T (or null if there is neither fPost nor accounting).
+     */
+    private Consumer<T> accountedPost(ResourceUsage usage) {
+        if (usage == null) return fPost;
+        return t -> {
+            usage.end();
+            if (fPost != null) fPost.accept(t);
+        };
     }
 
     /**
@@ -120,10 +239,18 @@ public class Benchmark_Timer<T> implements Benchmark<T> {
         this(description, null, f, null);
     }
 
+    public static final int DEFAULT_WINDOW = 10;
+    public static final double DEFAULT_MAX_COV = 0.05;
+    public static final int DEFAULT_MAX_WARMUP_RUNS = 1000;
+
     private final String description;
     private final UnaryOperator<T> fPre;
     private final Consumer<T> fRun;
     private final Consumer<T> fPost;
+    private boolean resourceAccounting = false;
+    private ResourceUsage resourceUsage = null;
+    private BenchmarkStore store = null;
+    private String parameters = "";
 
     final static LazyLogger logger = new LazyLogger(Benchmark_Timer.class);
 }
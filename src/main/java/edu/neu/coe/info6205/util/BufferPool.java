@@ -0,0 +1,112 @@
+package edu.neu.coe.info6205.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.IntFunction;
+
+/**
+ * A pool of reusable arrays (typically the auxiliary arrays of sorts), keyed by capacity.
+ * <p>
+ * Capacities are rounded up to a power of two so that sorts of similar (rather than identical) sizes share buffers:
+ * once the pool has warmed up, repeated sorts allocate nothing.
+ * At most maxPerCapacity buffers of each capacity are retained; any others are left to the garbage collector.
+ * <p>
+ * NOTE: released buffers are not cleared, so a buffer may keep its (stale) elements alive until it is reused.
+ * This class is thread-safe, but acquire and release are intended to be called once per sort, not in an inner loop.
+ *
+ * @param <T> the component type of the arrays.
+ */
+public final class BufferPool<T> {
+
+    /**
+     * Constructor for BufferPool.
+     *
+     * @param allocator      the function which allocates a new array of the given length.
+     * @param maxPerCapacity the maximum number of buffers of each capacity to retain.
+     */
+    public BufferPool(IntFunction<T[]> allocator, int maxPerCapacity) {
+        this.allocator = allocator;
+        this.maxPerCapacity = maxPerCapacity;
+        // NOTE a generic array cannot be created; this is safe because every element is null or a Deque<T[]> created by release.
+        @SuppressWarnings({"unchecked", "rawtypes"}) final Deque<T[]>[] free = new Deque[32];
+        this.free = free;
+    }
+
+    /**
+     * Constructor for BufferPool which retains at most one buffer of each capacity.
+     *
+     * @param allocator the function which allocates a new array of the given length.
+     */
+    public BufferPool(IntFunction<T[]> allocator) {
+        this(allocator, 1);
+    }
+
+    /**
+     * Get a buffer, either from the pool or newly allocated.
+     *
+     * @param n the minimum length of the buffer.
+     * @return an array whose length is at least n (specifically, n rounded up to a power of two).
+     */
+    public synchronized T[] acquire(int n) {
+        final int key = key(n);
+        final Deque<T[]> buffers = free[key];
+        // NOTE lengths above 2^30 cannot be rounded up to a power of two so such buffers have exactly the requested length.
+        if (buffers != null && !buffers.isEmpty() && buffers.peek().length >= n) {
+            hits++;
+            return buffers.pop();
+        }
+        misses++;
+        return allocator.apply(key > 30 ? n : 1 << key);
+    }
+
+    /**
+     * Return a buffer (previously acquired from this pool) to the pool.
+     *
+     * @param buffer the buffer.
+     */
+    public synchronized void release(T[] buffer) {
+        final int key = key(buffer.length);
+        if (free[key] == null) free[key] = new ArrayDeque<>();
+        if (free[key].size() < maxPerCapacity) free[key].push(buffer);
+    }
+
+    /**
+     * @return the number of calls to acquire which were satisfied from the pool.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of calls to acquire which required an allocation.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Discard all retained buffers.
+     */
+    public synchronized void clear() {
+        for (Deque<T[]> buffers : free) if (buffers != null) buffers.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "BufferPool{hits=" + hits + ", misses=" + misses + "}";
+    }
+
+    /**
+     * @param n a (non-negative) length.
+     * @return the smallest k such that 2^k is at least n (i.e. ceiling(lg n)).
+     */
+    static int key(int n) {
+        return n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+    }
+
+    private final IntFunction<T[]> allocator;
+    private final int maxPerCapacity;
+    private final Deque<T[]>[] free;
+    private long hits = 0;
+    private long misses = 0;
+}
@@ -0,0 +1,313 @@
+package edu.neu.coe.info6205.util;
+
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Estimator of the empirical order of growth of a Benchmark, by means of a doubling experiment.
+ * <p>
+ * The benchmark is run for each size of a geometric ladder (start, start*ratio, start*ratio^2, ...).
+ * Then two models are fitted by least squares to the logarithms of the sizes and times:
+ * a power law (t = c n^a) and a power law with a logarithmic factor (t = c n^a (log n)^b).
+ * Each exponent is reported with its standard error and 95% confidence interval (by Student's t-distribution).
+ * <p>
+ * Given an expected model n^a0 (log n)^b0, the times are divided by that model and the remaining growth d (t/model = c n^d) is fitted.
+ * The measured growth deviates from the model if the confidence interval of d excludes zero and |d| exceeds a tolerance
+ * (since a small but consistent deviation may be due to caching effects rather than to the algorithm).
+ *
+ * @param <T> the type of input to the benchmark.
+ */
+public class ComplexityEstimator<T> {
+
+    /**
+     * Constructor for ComplexityEstimator.
+     *
+     * @param start     the smallest size.
+     * @param steps     the number of sizes (at least three).
+     * @param ratio     the ratio of successive sizes (typically 2).
+     * @param tolerance the least deviation from the expected exponent which is reported (e.g. 0.1).
+     */
+    public ComplexityEstimator(int start, int steps, double ratio, double tolerance) {
+        if (start < 2 || steps < 3 || ratio <= 1)
+            throw new IllegalArgumentException("ComplexityEstimator: start must be at least 2, steps at least 3 and ratio greater than 1");
+        this.start = start;
+        this.steps = steps;
+        this.ratio = ratio;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Constructor for ComplexityEstimator which doubles the size at each step and uses the default tolerance.
+     *
+     * @param start the smallest size.
+     * @param steps the number of sizes (at least three).
+     */
+    public ComplexityEstimator(int start, int steps) {
+        this(start, steps, 2, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * @return the sizes of the ladder.
+     */
+    public int[] sizes() {
+        final int[] result = new int[steps];
+        double n = start;
+        for (int i = 0; i < steps; i++, n *= ratio) result[i] = (int) Math.round(n);
+        return result;
+    }
+
+    /**
+     * Run the benchmark for each size of the ladder and estimate its order of growth.
+     *
+     * @param benchmark the benchmark (if it is a Benchmark_Timer, each size is measured after warming up until steady).
+     * @param source    a function which, given a size, yields a supplier of inputs of that size.
+     * @param runs      a function which, given a size, yields the number of runs.
+     * @param expectedA the expected exponent of n.
+     * @param expectedB the expected exponent of log n.
+     * @return a Report.
+     */
+    public Report estimate(Benchmark<T> benchmark, IntFunction<Supplier<T>> source, IntUnaryOperator runs, double expectedA, double expectedB) {
+        final int[] sizes = sizes();
+        final double[] times = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            final Supplier<T> supplier = source.apply(sizes[i]);
+            final int m = Math.max(1, runs.applyAsInt(sizes[i]));
+            // NOTE a Benchmark_Timer warms up until steady (and logs the lap statistics of the timed runs).
+            times[i] = benchmark instanceof Benchmark_Timer ? ((Benchmark_Timer<T>) benchmark).measure(supplier, m).getMean() : benchmark.runFromSupplier(supplier, m);
+            final int k = i;
+            logger.debug(() -> "ComplexityEstimator: n=" + sizes[k] + ": " + times[k] + " mSec");
+        }
+        final Report result = new Report(sizes, times, expectedA, expectedB, tolerance);
+        logger.info("ComplexityEstimator: " + result.summary());
+        return result;
+    }
+
+    public static final double DEFAULT_TOLERANCE = 0.1;
+
+    /**
+     * The result of a doubling experiment.
+     */
+    public static class Report {
+
+        /**
+         * Constructor for Report.
+         *
+         * @param sizes     the sizes (n).
+         * @param times     the corresponding times (all positive).
+         * @param expectedA the expected exponent of n.
+         * @param expectedB the expected exponent of log n.
+         * @param tolerance the least deviation from the expected exponent which is reported.
+         */
+        public Report(int[] sizes, double[] times, double expectedA, double expectedB, double tolerance) {
+            if (sizes.length != times.length || sizes.length < 3)
+                throw new IllegalArgumentException("Report: there must be at least three sizes, each with a time");
+            this.sizes = sizes;
+            this.times = times;
+            this.expectedA = expectedA;
+            this.expectedB = expectedB;
+            this.tolerance = tolerance;
+            final int k = sizes.length;
+            final double[] x = new double[k], lx = new double[k], y = new double[k], residual = new double[k];
+            for (int i = 0; i < k; i++) {
+                if (!(times[i] > 0)) throw new IllegalArgumentException("Report: times must be positive: " + times[i]);
+                x[i] = Math.log(sizes[i]);
+                lx[i] = Math.log(x[i]);
+                y[i] = Math.log(times[i]);
+                residual[i] = y[i] - expectedA * x[i] - expectedB * lx[i];
+            }
+            powerLaw = Fit.leastSquares(y, x);
+            logPowerLaw = k > 3 ? Fit.leastSquares(y, x, lx) : null;
+            deviation = Fit.leastSquares(residual, x);
+        }
+
+        /**
+         * @return the fit of log t = log c + a log n.
+         */
+        public Fit getPowerLaw() {
+            return powerLaw;
+        }
+
+        /**
+         * @return the fit of log t = log c + a log n + b log log n (null if there are fewer than four sizes).
+         */
+        public Fit getLogPowerLaw() {
+            return logPowerLaw;
+        }
+
+        /**
+         * @return the fit of the growth of the times relative to the expected model (log t/model = log c + d log n).
+         */
+        public Fit getDeviation() {
+            return deviation;
+        }
+
+        /**
+         * @return true if the times grow significantly (and by more than the tolerance) faster or slower than the expected model.
+         */
+        public boolean isDeviant() {
+            final double d = deviation.getCoefficient(1);
+            return Math.abs(d) > tolerance && (deviation.getLower(1) > 0 || deviation.getUpper(1) < 0);
+        }
+
+        /**
+         * @return a one-line summary of the estimated exponents and of any deviation.
+         */
+        public String summary() {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(String.format("n^%.3f (95%% CI %.3f..%.3f)", powerLaw.getCoefficient(1), powerLaw.getLower(1), powerLaw.getUpper(1)));
+            if (logPowerLaw != null)
+                sb.append(String.format("; n^%.3f log^%.3f n (+/- %.3f, %.3f)", logPowerLaw.getCoefficient(1), logPowerLaw.getCoefficient(2), logPowerLaw.getHalfWidth(1), logPowerLaw.getHalfWidth(2)));
+            sb.append(String.format("; expected n^%s log^%s n: ", expectedA, expectedB));
+            sb.append(isDeviant() ? String.format("DEVIATES by n^%.3f", deviation.getCoefficient(1)) : "consistent");
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder(String.format("%12s %14s %8s %8s%n", "n", "time (mSec)", "ratio", "lg ratio"));
+            for (int i = 0; i < sizes.length; i++) {
+                sb.append(String.format("%12d %14.4f", sizes[i], times[i]));
+                if (i > 0) {
+                    final double r = times[i] / times[i - 1];
+                    // NOTE the lg ratio is the exponent of growth between successive sizes.
+                    sb.append(String.format(" %8.3f %8.3f", r, Math.log(r) / Math.log((double) sizes[i] / sizes[i - 1])));
+                }
+                sb.append(String.format("%n"));
+            }
+            return sb.append(summary()).toString();
+        }
+
+        private final int[] sizes;
+        private final double[] times;
+        private final double expectedA;
+        private final double expectedB;
+        private final double tolerance;
+        private final Fit powerLaw;
+        private final Fit logPowerLaw;
+        private final Fit deviation;
+    }
+
+    /**
+     * An ordinary least-squares fit of y = b0 + b1 x1 + ... + bp xp.
+     */
+    public static class Fit {
+
+        /**
+         * Fit y to the given regressors (an intercept is always included).
+         *
+         * @param y  the observations.
+         * @param xs the regressors.
+         * @return a Fit whose coefficient 0 is the intercept and coefficient i is that of xs[i-1].
+         * @throws IllegalArgumentException if the regressors are (numerically) collinear.
+         */
+        public static Fit leastSquares(double[] y, double[]... xs) {
+            final int k = y.length, p = xs.length + 1;
+            // NOTE the normal equations (X'X) b = X'y, where the first column of X is all ones.
+            final double[][] xtx = new double[p][p];
+            final double[] xty = new double[p];
+            for (int i = 0; i < k; i++)
+                for (int r = 0; r < p; r++) {
+                    final double xr = r == 0 ? 1 : xs[r - 1][i];
+                    xty[r] += xr * y[i];
+                    for (int c = 0; c < p; c++) xtx[r][c] += xr * (c == 0 ? 1 : xs[c - 1][i]);
+                }
+            final double[][] inverse = invert(xtx);
+            final double[] b = new double[p];
+            for (int r = 0; r < p; r++)
+                for (int c = 0; c < p; c++) b[r] += inverse[r][c] * xty[c];
+            double sse = 0, sst = 0, mean = 0;
+            for (double v : y) mean += v / k;
+            for (int i = 0; i < k; i++) {
+                double fitted = b[0];
+                for (int j = 1; j < p; j++) fitted += b[j] * xs[j - 1][i];
+                sse += (y[i] - fitted) * (y[i] - fitted);
+                sst += (y[i] - mean) * (y[i] - mean);
+            }
+            final int df = k - p;
+            final double[] se = new double[p];
+            for (int j = 0; j < p; j++) se[j] = df > 0 ? Math.sqrt(sse / df * inverse[j][j]) : Double.NaN;
+            return new Fit(b, se, df, sst > 0 ? 1 - sse / sst : 1);
+        }
+
+        Fit(double[] coefficients, double[] standardErrors, int df, double rSquared) {
+            this.coefficients = coefficients;
+            this.standardErrors = standardErrors;
+            this.df = df;
+            this.rSquared = rSquared;
+        }
+
+        public double getCoefficient(int i) {
+            return coefficients[i];
+        }
+
+        public double getStandardError(int i) {
+            return standardErrors[i];
+        }
+
+        /**
+         * @param i the index of the coefficient.
+         * @return the half-width of the 95% confidence interval of the coefficient (NaN if there are no degrees of freedom).
+         */
+        public double getHalfWidth(int i) {
+            return df > 0 ? LapStatistics.tQuantile(df) * standardErrors[i] : Double.NaN;
+        }
+
+        public double getLower(int i) {
+            return coefficients[i] - getHalfWidth(i);
+        }
+
+        public double getUpper(int i) {
+            return coefficients[i] + getHalfWidth(i);
+        }
+
+        public int getDegreesOfFreedom() {
+            return df;
+        }
+
+        public double getRSquared() {
+            return rSquared;
+        }
+
+        private static double[][] invert(double[][] m) {
+            final int p = m.length;
+            final double[][] a = new double[p][2 * p];
+            for (int r = 0; r < p; r++) {
+                System.arraycopy(m[r], 0, a[r], 0, p);
+                a[r][p + r] = 1;
+            }
+            // NOTE Gauss-Jordan elimination with partial pivoting.
+            for (int c = 0; c < p; c++) {
+                int pivot = c;
+                for (int r = c + 1; r < p; r++) if (Math.abs(a[r][c]) > Math.abs(a[pivot][c])) pivot = r;
+                if (Math.abs(a[pivot][c]) < 1E-12 * Math.max(1, Math.abs(m[c][c])))
+                    throw new IllegalArgumentException("Fit: regressors are collinear");
+                final double[] swap = a[c];
+                a[c] = a[pivot];
+                a[pivot] = swap;
+                final double d = a[c][c];
+                for (int j = 0; j < 2 * p; j++) a[c][j] /= d;
+                for (int r = 0; r < p; r++)
+                    if (r != c) {
+                        final double f = a[r][c];
+                        if (f != 0) for (int j = 0; j < 2 * p; j++) a[r][j] -= f * a[c][j];
+                    }
+            }
+            final double[][] result = new double[p][p];
+            for (int r = 0; r < p; r++) System.arraycopy(a[r], p, result[r], 0, p);
+            return result;
+        }
+
+        private final double[] coefficients;
+        private final double[] standardErrors;
+        private final int df;
+        private final double rSquared;
+    }
+
+    private final int start;
+    private final int steps;
+    private final double ratio;
+    private final double tolerance;
+
+    final static LazyLogger logger = new LazyLogger(ComplexityEstimator.class);
+}
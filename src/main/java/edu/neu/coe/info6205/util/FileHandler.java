@@ -9,4 +9,14 @@ import java.util.Collection;
 public interface FileHandler<T extends FileData> {
     boolean writecsv(String colName, String fileName, Collection<T> data);
 
+    /**
+     * Append rows to a file, writing the column names first only if the file is new (or empty).
+     *
+     * @param colName  the column names (as for writecsv).
+     * @param fileName name of file with path and extension.
+     * @param data     the rows to be appended.
+     * @return true if the rows were appended.
+     */
+    boolean appendcsv(String colName, String fileName, Collection<T> data);
+
 }
@@ -2,8 +2,11 @@ package edu.neu.coe.info6205.util;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 
 /**
@@ -38,5 +41,28 @@ public class FileHandlerImpl_CSV<T extends FileData> implements FileHandler<T> {
         return true;
     }
 
+    /**
+     * The rows are written in UTF-8 (regardless of the platform's default charset).
+     *
+     * @param colName  Coma separated names of columns (written only if the file does not yet have any content)
+     * @param fileName name of file to be appended to with path and extension
+     * @param data     list of data where every item in list is a row
+     */
+    @Override
+    public boolean appendcsv(String colName, String fileName, Collection<T> data) {
+        File f = new File(fileName);
+        final boolean empty = f.length() == 0;
+        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(f, true), StandardCharsets.UTF_8))) {
+            if (empty) bw.write(colName);
+            for (T row : data) {
+                bw.write(row.toFile());
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
 
 }
@@ -0,0 +1,174 @@
+package edu.neu.coe.info6205.util;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of the lap times recorded by a Timer.
+ * <p>
+ * All times are given in milliseconds (as with Timer.meanLapTime).
+ * Percentiles are defined by the nearest-rank method, so that each is the time of an actual lap.
+ * The confidence interval is that of the mean lap time, based on Student's t-distribution with laps-1 degrees of freedom.
+ */
+public class LapStatistics {
+
+    /**
+     * Constructor for LapStatistics.
+     *
+     * @param ticks   the clock ticks (nanoseconds) of each lap (not modified).
+     * @param warmups the number of warmup laps which preceded (and are not included in) these laps.
+     */
+    public LapStatistics(long[] ticks, int warmups) {
+        this.warmups = warmups;
+        sorted = ticks.clone();
+        Arrays.sort(sorted);
+        final int n = sorted.length;
+        double sum = 0;
+        for (long t : sorted) sum += t;
+        mean = n > 0 ? sum / n : 0;
+        double variance = 0;
+        for (long t : sorted) variance += (t - mean) * (t - mean);
+        stdDev = n > 1 ? Math.sqrt(variance / (n - 1)) : 0;
+    }
+
+    /**
+     * Get the coefficient of variation (sample standard deviation divided by mean) of some of the given lap times.
+     *
+     * @param ticks the clock ticks of each lap.
+     * @param from  the index of the first lap to be considered.
+     * @param to    the index of the first lap not to be considered.
+     * @return the coefficient of variation (zero if there are fewer than two laps or the mean is zero).
+     */
+    public static double coefficientOfVariation(long[] ticks, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return 0;
+        double sum = 0;
+        for (int i = from; i < to; i++) sum += ticks[i];
+        final double mean = sum / n;
+        if (mean <= 0) return 0;
+        double variance = 0;
+        for (int i = from; i < to; i++) variance += (ticks[i] - mean) * (ticks[i] - mean);
+        return Math.sqrt(variance / (n - 1)) / mean;
+    }
+
+    /**
+     * @return the number of (measured) laps.
+     */
+    public int getLaps() {
+        return sorted.length;
+    }
+
+    /**
+     * @return the number of warmup laps which preceded the measured laps.
+     */
+    public int getWarmups() {
+        return warmups;
+    }
+
+    public double getMean() {
+        return toMillisecs(mean);
+    }
+
+    /**
+     * @return the sample standard deviation of the lap times.
+     */
+    public double getStdDev() {
+        return toMillisecs(stdDev);
+    }
+
+    /**
+     * @return the coefficient of variation (standard deviation divided by mean) of the lap times.
+     */
+    public double getCoefficientOfVariation() {
+        return mean > 0 ? stdDev / mean : 0;
+    }
+
+    public double getMin() {
+        return getPercentile(0);
+    }
+
+    public double getMedian() {
+        return getPercentile(50);
+    }
+
+    public double getP90() {
+        return getPercentile(90);
+    }
+
+    public double getP99() {
+        return getPercentile(99);
+    }
+
+    public double getMax() {
+        return getPercentile(100);
+    }
+
+    /**
+     * Get a percentile of the lap times (by the nearest-rank method).
+     *
+     * @param p the percentile (between 0 and 100).
+     * @return the lap time which at least p% of the laps did not exceed.
+     */
+    public double getPercentile(double p) {
+        if (p < 0 || p > 100) throw new IllegalArgumentException("LapStatistics: percentile must be between 0 and 100: " + p);
+        if (sorted.length == 0) return 0;
+        final int rank = (int) Math.ceil(p / 100 * sorted.length);
+        return toMillisecs(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    /**
+     * @return the half-width of the 95% confidence interval of the mean lap time (zero if there are fewer than two laps).
+     */
+    public double getConfidenceHalfWidth() {
+        final int n = sorted.length;
+        return n > 1 ? tQuantile(n - 1) * getStdDev() / Math.sqrt(n) : 0;
+    }
+
+    /**
+     * @return the lower bound of the 95% confidence interval of the mean lap time.
+     */
+    public double getLower() {
+        return getMean() - getConfidenceHalfWidth();
+    }
+
+    /**
+     * @return the upper bound of the 95% confidence interval of the mean lap time.
+     */
+    public double getUpper() {
+        return getMean() + getConfidenceHalfWidth();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d laps (after %d warmups): mean=%.4f +/- %.4f ms; min=%.4f median=%.4f p90=%.4f p99=%.4f max=%.4f ms; CoV=%.3f",
+                getLaps(), warmups, getMean(), getConfidenceHalfWidth(), getMin(), getMedian(), getP90(), getP99(), getMax(), getCoefficientOfVariation());
+    }
+
+    /**
+     * Get the 97.5% quantile of Student's t-distribution, i.e. the multiplier for a two-sided 95% confidence interval.
+     *
+     * @param df the degrees of freedom (at least 1).
+     * @return the quantile, exact (to three places) for up to 30 degrees of freedom, otherwise a Cornish-Fisher approximation.
+     */
+    static double tQuantile(int df) {
+        if (df <= T_QUANTILES.length) return T_QUANTILES[df - 1];
+        final double z3 = Z * Z * Z, z5 = z3 * Z * Z;
+        return Z + (z3 + Z) / (4.0 * df) + (5 * z5 + 16 * z3 + 3 * Z) / (96.0 * df * df);
+    }
+
+    private static double toMillisecs(double ticks) {
+        return ticks / 1_000_000;
+    }
+
+    private static final double Z = 1.959964;
+
+    private static final double[] T_QUANTILES = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private final long[] sorted;
+    private final int warmups;
+    private final double mean;
+    private final double stdDev;
+}
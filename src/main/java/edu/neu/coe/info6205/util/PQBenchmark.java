@@ -51,13 +51,15 @@ public class PQBenchmark {
         for (int i = 0; i < n; i++) {
             random[i] = ran.nextInt(n);
         }
-        Benchmark<Boolean> bm = new Benchmark_Timer<>(
+        Benchmark_Timer<Boolean> bm = new Benchmark_Timer<>(
                 "testPQwithFloydoff",
                 null,
                 b -> insertArray(random, floyd),
                 null
         );
-        return bm.run(true, m);
+        final BenchmarkStore store = BenchmarkStore.create(config);
+        if (store != null) bm.withStore(store, "n=" + n + ", floyd=" + floyd);
+        return bm.measure(() -> true, m).getMean();
 
     }
 
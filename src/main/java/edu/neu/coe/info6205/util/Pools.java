@@ -0,0 +1,49 @@
+package edu.neu.coe.info6205.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * The shared ForkJoinPools of the parallel sorts (ParSort, SampleSort, ClassicSort, BucketSortPrimitive, LSDStringSort, MSDStringSort, etc.).
+ * <p>
+ * There is at most one pool for each level of parallelism (and the common pool is used by default),
+ * so that creating a sort never leaks threads.
+ * The pools live as long as the JVM and are never shut down:
+ * their worker threads are daemon threads so that they never prevent the JVM from exiting.
+ * This class is thread-safe.
+ */
+public final class Pools {
+
+    /**
+     * Get the shared pool with the given parallelism.
+     *
+     * @param parallelism the number of threads (if zero or negative, we use the common pool).
+     * @return a ForkJoinPool.
+     */
+    public static ForkJoinPool getPool(int parallelism) {
+        if (parallelism <= 0) return ForkJoinPool.commonPool();
+        return pools.computeIfAbsent(parallelism, Pools::createPool);
+    }
+
+    /**
+     * The configuration key (in the section of each sort) for the parallelism of its pool.
+     */
+    public static final String THREADS = "threads";
+
+    private static ForkJoinPool createPool(int parallelism) {
+        return new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread result = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            // NOTE this is already the default for fork/join workers, but we rely on it, so we make sure.
+            result.setDaemon(true);
+            result.setName("pool-" + parallelism + "-worker-" + result.getPoolIndex());
+            return result;
+        }, null, false);
+    }
+
+    private Pools() {
+    }
+
+    private static final Map<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+}
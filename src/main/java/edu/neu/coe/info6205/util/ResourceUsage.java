@@ -0,0 +1,171 @@
+package edu.neu.coe.info6205.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Accumulator of the resources used by the runs of a benchmark: heap allocation, CPU time, wall time and garbage collection.
+ * <p>
+ * Each run is bracketed by calls of begin and end, which must be made on the thread which does the work.
+ * Allocation and CPU time are those of that thread only (so work done by other threads, e.g. the workers of a parallel sort, is not included);
+ * they are obtained from the (HotSpot) ThreadMXBean and are reported as unavailable if the JVM does not support them.
+ * Garbage collection counts and times are those of the whole JVM, summed over all of its GarbageCollectorMXBeans.
+ * <p>
+ * NOTE: begin and end each take a few microseconds, which is charged to the run if they are called while the Timer is running.
+ */
+public class ResourceUsage {
+
+    /**
+     * Mark the beginning of a run.
+     */
+    public void begin() {
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+        startAllocated = allocatedBytes();
+        startCpu = cpuNanos();
+        startWall = System.nanoTime();
+    }
+
+    /**
+     * Mark the end of a run (which must have begun on this thread).
+     */
+    public void end() {
+        final long wall = System.nanoTime();
+        final long cpu = cpuNanos();
+        final long allocated = allocatedBytes();
+        wallNanos += wall - startWall;
+        if (cpu >= 0 && startCpu >= 0) cpuNanos += cpu - startCpu;
+        if (allocated >= 0 && startAllocated >= 0) allocatedBytes += allocated - startAllocated;
+        gcCount += gcCount() - startGcCount;
+        gcMillis += gcMillis() - startGcMillis;
+        runs++;
+    }
+
+    /**
+     * @return true if the allocation of the current thread can be measured.
+     */
+    public static boolean isAllocationSupported() {
+        return allocationBean != null;
+    }
+
+    /**
+     * @return true if the CPU time of the current thread can be measured.
+     */
+    public static boolean isCpuTimeSupported() {
+        return threadBean.isCurrentThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return the total number of bytes allocated by the runs (or -1 if unavailable).
+     */
+    public long getAllocatedBytes() {
+        return isAllocationSupported() ? allocatedBytes : -1;
+    }
+
+    /**
+     * @return the mean number of bytes allocated per run (or -1 if unavailable).
+     */
+    public double getBytesPerRun() {
+        return isAllocationSupported() ? perRun(allocatedBytes) : -1;
+    }
+
+    /**
+     * @return the mean CPU time per run, in milliseconds (or -1 if unavailable).
+     */
+    public double getCpuMillisPerRun() {
+        return isCpuTimeSupported() ? perRun(cpuNanos) / 1E6 : -1;
+    }
+
+    /**
+     * @return the mean elapsed time per run, in milliseconds.
+     */
+    public double getWallMillisPerRun() {
+        return perRun(wallNanos) / 1E6;
+    }
+
+    /**
+     * @return the ratio of CPU time to elapsed time (less than one if the thread was waiting, e.g. for the garbage collector), or -1 if unavailable.
+     */
+    public double getCpuUtilization() {
+        return isCpuTimeSupported() && wallNanos > 0 ? (double) cpuNanos / wallNanos : -1;
+    }
+
+    /**
+     * @return the number of garbage collections during the runs.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * @return the (approximate) total time, in milliseconds, of the garbage collections during the runs.
+     */
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("allocated per run: ").append(isAllocationSupported() ? String.format("%,d bytes", Math.round(getBytesPerRun())) : "n/a");
+        sb.append("; cpu/wall per run (mSec): ");
+        sb.append(isCpuTimeSupported() ? String.format("%.2f", getCpuMillisPerRun()) : "n/a").append("/").append(String.format("%.2f", getWallMillisPerRun()));
+        sb.append("; gc: ").append(gcCount).append(" collections, ").append(gcMillis).append(" mSec");
+        return sb.toString();
+    }
+
+    private double perRun(long total) {
+        return runs > 0 ? (double) total / runs : 0;
+    }
+
+    private static long allocatedBytes() {
+        return allocationBean != null ? allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static long cpuNanos() {
+        return isCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long gcCount() {
+        long result = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) result += Math.max(0, bean.getCollectionCount());
+        return result;
+    }
+
+    private static long gcMillis() {
+        long result = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) result += Math.max(0, bean.getCollectionTime());
+        return result;
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationBean(ThreadMXBean bean) {
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        final com.sun.management.ThreadMXBean result = (com.sun.management.ThreadMXBean) bean;
+        if (!result.isThreadAllocatedMemorySupported()) return null;
+        if (!result.isThreadAllocatedMemoryEnabled()) result.setThreadAllocatedMemoryEnabled(true);
+        return result;
+    }
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean allocationBean = getAllocationBean(threadBean);
+    private static final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private int runs = 0;
+    private long allocatedBytes = 0L;
+    private long cpuNanos = 0L;
+    private long wallNanos = 0L;
+    private long gcCount = 0L;
+    private long gcMillis = 0L;
+
+    private long startAllocated;
+    private long startCpu;
+    private long startWall;
+    private long startGcCount;
+    private long startGcMillis;
+}
@@ -5,13 +5,16 @@ package edu.neu.coe.info6205.util;
 
 import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortPlanner;
 import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.counting.LSDRadixSort;
 import edu.neu.coe.info6205.sort.elementary.BubbleSort;
 import edu.neu.coe.info6205.sort.elementary.InsertionSort;
 import edu.neu.coe.info6205.sort.elementary.RandomSort;
 import edu.neu.coe.info6205.sort.elementary.ShellSort;
 import edu.neu.coe.info6205.sort.linearithmic.TimSort;
 import edu.neu.coe.info6205.sort.linearithmic.*;
+import edu.neu.coe.info6205.sort.primitive.IntroSortPrimitive;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -97,12 +100,21 @@ public class SortBenchmark {
         if (isConfigBenchmarkStringSorter("quicksortDualPivot"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_DualPivot<>(nWords, config), timeLoggersLinearithmic);
 
+        if (isConfigBenchmarkStringSorter("huskysort"))
+            runStringSortBenchmark(words, nWords, nRuns, new HuskySort(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("quicksort"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_Basic<>(nWords, config), timeLoggersLinearithmic);
 
         if (isConfigBenchmarkStringSorter("introsort"))
             runStringSortBenchmark(words, nWords, nRuns, new IntroSort<>(nWords, config), timeLoggersLinearithmic);
 
+        if (isConfigBenchmarkStringSorter("samplesort"))
+            runStringSortBenchmark(words, nWords, nRuns, new SampleSort<>(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("sortplanner"))
+            runStringSortBenchmark(words, nWords, nRuns, new SortPlanner<>(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("randomsort"))
             runStringSortBenchmark(words, nWords, nRuns, new RandomSort<>(nWords, config), timeLoggersLinearithmic);
 
@@ -185,6 +197,27 @@ public class SortBenchmark {
         ).runFromSupplier(intsSupplier, 100);
         for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(t1, n);
 
+        // sort int[] using the primitive (unboxed) version of IntroSort
+        final IntroSortPrimitive introSortPrimitive = new IntroSortPrimitive(n, config);
+        final double t1a = new Benchmark_Timer<int[]>(
+                "intArraysorter (IntroSortPrimitive)",
+                (xs) -> Arrays.copyOf(xs, xs.length),
+                introSortPrimitive::sort,
+                null
+        ).runFromSupplier(intsSupplier, 100);
+        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(t1a, n);
+        introSortPrimitive.close();
+
+        // sort int[] using the (linear) LSD radix sort
+        final LSDRadixSort lsdRadixSort = new LSDRadixSort(config);
+        final double t1b = new Benchmark_Timer<int[]>(
+                "intArraysorter (LSDRadixSort: " + lsdRadixSort.getBits() + "-bit digits)",
+                (xs) -> Arrays.copyOf(xs, xs.length),
+                lsdRadixSort::sort,
+                null
+        ).runFromSupplier(intsSupplier, 100);
+        for (TimeLogger timeLogger : timeLoggersLinear) timeLogger.log(t1b, n);
+
         // sort Integer[]
         final Supplier<Integer[]> integersSupplier = () -> {
             Integer[] result = (Integer[]) Array.newInstance(Integer.class, n);
@@ -226,8 +259,15 @@ public class SortBenchmark {
         // NOTE: Leipzig English words benchmarks (according to command-line arguments)
         wordCounts.forEach(this::doLeipzigBenchmarkEnglish);
 
-        // NOTE: Leipzig Chines words benchmarks (according to command-line arguments)
-//        doLeipzigBenchmark("zho-simp-tw_web_2014_10K-sentences.txt", 5000, 1000);
+        // NOTE: Leipzig Chinese words benchmark (if chinese is set in benchmarkstringsorters)
+        if (isConfigBenchmarkStringSorter("chinese")) {
+            final String resource = "zho-simp-tw_web_2014_10K-sentences.txt";
+            try {
+                doLeipzigBenchmark(resource, 5000, 1000);
+            } catch (FileNotFoundException e) {
+                logger.warn("Unable to find resource: " + resource, e);
+            }
+        }
     }
 
     private void doLeipzigBenchmarkEnglish(int x) {
@@ -372,6 +412,14 @@ public class SortBenchmark {
         sorterBenchmark.run(N);
     }
 
+    /**
+     * For linear sorts (e.g. LSD radix sort), the normalized time per run is simply the time per element.
+     */
+    private final static TimeLogger[] timeLoggersLinear = {
+            new TimeLogger("Raw time per run (mSec): ", (time, n) -> time),
+            new TimeLogger("Normalized time per run (n): ", (time, n) -> time / n * 1e6)
+    };
+
     /**
      * For (basic) insertionsort, the number of array accesses is actually 6 times the number of comparisons.
      * That's because, for each inversion, there will typically be one swap (four array accesses) and (at least) one comparison (two array accesses).
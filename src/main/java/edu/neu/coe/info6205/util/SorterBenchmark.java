@@ -25,8 +25,10 @@ public class SorterBenchmark<T extends Comparable<T>> extends Benchmark_Timer<T[
     public void run(int N) {
         logger.info("run: sort " + formatWhole(N) + " elements using " + this);
         sorter.init(N);
-        final double time = super.runFromSupplier(() -> generateRandomArray(ts), nRuns);
-        for (TimeLogger timeLogger : timeLoggers) timeLogger.log(time, N);
+        if (store != null) withStore(store, "n=" + N + ", runs=" + nRuns);
+        // NOTE measure logs the lap statistics (percentiles and confidence interval) of the timed runs.
+        final double time = measure(() -> generateRandomArray(ts), nRuns).getMean();
+        for (TimeLogger timeLogger : timeLoggers) timeLogger.log(time, N, getResourceUsage());
     }
 
     @Override
@@ -52,6 +54,9 @@ public class SorterBenchmark<T extends Comparable<T>> extends Benchmark_Timer<T[
         this.ts = ts;
         this.nRuns = nRuns;
         this.timeLoggers = timeLoggers;
+        final Config config = sorter.getHelper().getConfig();
+        withResourceUsage(config != null && config.getBoolean(SORTBENCHMARK, RESOURCES));
+        store = BenchmarkStore.create(config);
     }
 
     /**
@@ -88,11 +93,15 @@ public class SorterBenchmark<T extends Comparable<T>> extends Benchmark_Timer<T[
         return sorter.getHelper().random(tClass, (r) -> lookupArray[r.nextInt(lookupArray.length)]);
     }
 
+    public static final String SORTBENCHMARK = "sortbenchmark";
+    public static final String RESOURCES = "resources";
+
     protected final SortWithHelper<T> sorter;
     protected final T[] ts;
     protected final int nRuns;
     protected final TimeLogger[] timeLoggers;
     private final static LazyLogger logger = new LazyLogger(SorterBenchmark.class);
     private final Class<T> tClass;
+    private final BenchmarkStore store;
 
 }
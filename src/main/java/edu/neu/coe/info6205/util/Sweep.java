@@ -0,0 +1,382 @@
+package edu.neu.coe.info6205.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sweep of a benchmark over a grid of parameters, as defined by a section of the configuration.
+ * <p>
+ * Each key of the section which begins with "param." names a parameter, and its value is a comma-separated list of the values to be tried
+ * (the parameters are ordered by name).
+ * Every combination of values (a point of the grid) is measured by the Point class named by the "point" key,
+ * whose result (e.g. the mean milliseconds per run) is to be minimized.
+ * <p>
+ * If fork is true, each point is measured in a fresh JVM, so that the JIT compiler's profile of one point does not affect the next.
+ * If parallel is greater than one, that many points are measured at once;
+ * if affinity is also true (and taskset is available), each forked JVM is confined to its own disjoint set of CPUs
+ * (so affinity requires that parallel be no greater than the number of available processors).
+ * The results are collected into a Table, which can be written (through a FileHandler) as CSV and which identifies the best point.
+ * <p>
+ * The main program runs the sweep of a configuration section: Sweep section.
+ */
+public class Sweep {
+
+    /**
+     * The measurement of one point of the grid.
+     * Implementations must have a public no-argument constructor (so that they may be instantiated in a forked JVM).
+     */
+    public interface Point {
+        /**
+         * Measure one point of the grid.
+         *
+         * @param parameters the value of each parameter.
+         * @return the result (smaller is better), e.g. the mean time per run in milliseconds.
+         * @throws Exception if the point cannot be measured.
+         */
+        double measure(Map<String, String> parameters) throws Exception;
+    }
+
+    /**
+     * Constructor for Sweep.
+     *
+     * @param pointClass the name of the Point class.
+     * @param grid       the values of each parameter (in order).
+     * @param fork       true if each point is to be measured in a separate JVM.
+     * @param parallel   the number of points to be measured at once.
+     * @param affinity   true if each forked JVM is to be confined to its own CPUs.
+     * @param jvmArgs    the additional arguments for each forked JVM.
+     * @throws IllegalArgumentException if parallel is not positive or if affinity is true and parallel is greater than the number of available processors.
+     */
+    public Sweep(String pointClass, Map<String, List<String>> grid, boolean fork, int parallel, boolean affinity, List<String> jvmArgs) {
+        if (parallel < 1) throw new IllegalArgumentException("Sweep: parallel must be positive");
+        // NOTE the CPU sets of the slots would overlap if there were more slots than processors.
+        final int processors = Runtime.getRuntime().availableProcessors();
+        if (affinity && parallel > processors)
+            throw new IllegalArgumentException("Sweep: with affinity, parallel (" + parallel + ") must not exceed the number of processors (" + processors + ")");
+        this.pointClass = pointClass;
+        this.grid = grid;
+        this.fork = fork;
+        this.parallel = parallel;
+        this.affinity = affinity;
+        this.jvmArgs = jvmArgs;
+    }
+
+    /**
+     * Constructor for Sweep which takes its definition from a section of the configuration.
+     *
+     * @param config  the configuration.
+     * @param section the name of the section.
+     */
+    public Sweep(Config config, String section) {
+        this(require(config, section, POINT), grid(config, section), getBoolean(config, section, FORK, true),
+                config.getInt(section, PARALLEL, 1), getBoolean(config, section, AFFINITY, false), split(config.get(section, JVM_ARGS), "\\s+"));
+    }
+
+    /**
+     * @return every point of the grid (the first parameter varies slowest).
+     */
+    public List<Map<String, String>> points() {
+        List<Map<String, String>> result = Collections.singletonList(new LinkedHashMap<>());
+        for (Map.Entry<String, List<String>> e : grid.entrySet()) {
+            final List<Map<String, String>> next = new ArrayList<>();
+            for (Map<String, String> point : result)
+                for (String value : e.getValue()) {
+                    final Map<String, String> m = new LinkedHashMap<>(point);
+                    m.put(e.getKey(), value);
+                    next.add(m);
+                }
+            result = next;
+        }
+        return result;
+    }
+
+    /**
+     * Measure every point of the grid.
+     *
+     * @return a Table of the results.
+     */
+    public Table run() {
+        final List<Map<String, String>> points = points();
+        logger.info("Sweep: " + points.size() + " points of " + pointClass + (fork ? " (forked)" : "") + (parallel > 1 ? " with parallelism " + parallel : ""));
+        final BlockingQueue<Integer> slots = new ArrayBlockingQueue<>(parallel);
+        for (int i = 0; i < parallel; i++) slots.add(i);
+        final ExecutorService executor = Executors.newFixedThreadPool(parallel);
+        try {
+            final List<Future<Result>> futures = new ArrayList<>();
+            for (Map<String, String> point : points)
+                futures.add(executor.submit(() -> {
+                    final int slot = slots.take();
+                    try {
+                        return measure(point, slot);
+                    } finally {
+                        slots.add(slot);
+                    }
+                }));
+            final List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) results.add(future.get());
+            return new Table(new ArrayList<>(grid.keySet()), results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Sweep: interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Sweep: failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The result of one point of the grid.
+     */
+    public static class Result implements FileData {
+
+        Result(Map<String, String> parameters, double value, String error) {
+            this.parameters = parameters;
+            this.value = value;
+            this.error = error;
+        }
+
+        /**
+         * @return true if the point was measured successfully.
+         */
+        public boolean isOK() {
+            return error == null;
+        }
+
+        public Map<String, String> getParameters() {
+            return parameters;
+        }
+
+        /**
+         * @return the result (NaN if the point could not be measured).
+         */
+        public double getValue() {
+            return value;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toFile() {
+            final StringBuilder sb = new StringBuilder();
+            for (String v : parameters.values()) sb.append(v).append(',');
+            return sb.append(isOK() ? String.valueOf(value) : "").append('\n').toString();
+        }
+
+        @Override
+        public String toString() {
+            return parameters + ": " + (isOK() ? String.format("%.4f", value) : "failed (" + error + ")");
+        }
+
+        private final Map<String, String> parameters;
+        private final double value;
+        private final String error;
+    }
+
+    /**
+     * The results of a sweep.
+     */
+    public static class Table {
+
+        Table(List<String> names, List<Result> results) {
+            this.names = names;
+            this.results = results;
+        }
+
+        public List<Result> getResults() {
+            return results;
+        }
+
+        /**
+         * @return the (successful) Result with the smallest value, or null if there is none.
+         */
+        public Result best() {
+            Result result = null;
+            for (Result r : results)
+                if (r.isOK() && (result == null || r.getValue() < result.getValue())) result = r;
+            return result;
+        }
+
+        /**
+         * Write this Table as CSV.
+         *
+         * @param fileName the name of the file.
+         * @return true if the file was written.
+         */
+        public boolean write(String fileName) {
+            return new FileHandlerImpl_CSV<Result>().writecsv(String.join(",", names) + ",value\n", fileName, results);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            for (String name : names) sb.append(String.format("%12s ", name));
+            sb.append(String.format("%12s%n", "value"));
+            for (Result r : results) {
+                for (String v : r.getParameters().values()) sb.append(String.format("%12s ", v));
+                sb.append(r.isOK() ? String.format("%12.4f", r.getValue()) : String.format("%12s", "failed")).append(String.format("%n"));
+            }
+            final Result best = best();
+            if (best != null) sb.append("best: ").append(best);
+            return sb.toString();
+        }
+
+        private final List<String> names;
+        private final List<Result> results;
+    }
+
+    /**
+     * Run the sweep of a section of the configuration, or (in a forked JVM) measure one point.
+     *
+     * @param args section; or (in a forked JVM) --point pointClass name=value...
+     * @throws Exception if the point (in a forked JVM) cannot be measured.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 1 && args[0].equals(POINT_OPTION)) {
+            final Map<String, String> parameters = new LinkedHashMap<>();
+            for (int i = 2; i < args.length; i++) {
+                final int eq = args[i].indexOf('=');
+                parameters.put(args[i].substring(0, eq), args[i].substring(eq + 1));
+            }
+            final double result = newPoint(args[1]).measure(parameters);
+            System.out.println(RESULT_PREFIX + result);
+            return;
+        }
+        if (args.length != 1) {
+            System.err.println("Usage: Sweep section");
+            System.exit(2);
+        }
+        final Config config = Config.load(Sweep.class);
+        final Table table = new Sweep(config, args[0]).run();
+        System.out.println(table);
+        final String output = config.get(args[0], OUTPUT);
+        if (output != null && !output.isEmpty()) table.write(output);
+    }
+
+    public static final String POINT = "point";
+    public static final String FORK = "fork";
+    public static final String PARALLEL = "parallel";
+    public static final String AFFINITY = "affinity";
+    public static final String JVM_ARGS = "jvmargs";
+    public static final String OUTPUT = "output";
+    public static final String PARAM_PREFIX = "param.";
+
+    static final String POINT_OPTION = "--point";
+    static final String RESULT_PREFIX = "SWEEP RESULT: ";
+
+    private Result measure(Map<String, String> point, int slot) {
+        try {
+            final double value = fork ? measureForked(point, slot) : newPoint(pointClass).measure(point);
+            final Result result = new Result(point, value, null);
+            logger.info("Sweep: " + result);
+            return result;
+        } catch (Exception e) {
+            logger.warn("Sweep: point " + point + " failed: " + e);
+            return new Result(point, Double.NaN, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private double measureForked(Map<String, String> point, int slot) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>(cpuSet(slot));
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Sweep.class.getName());
+        command.add(POINT_OPTION);
+        command.add(pointClass);
+        for (Map.Entry<String, String> e : point.entrySet()) command.add(e.getKey() + "=" + e.getValue());
+        logger.debug(() -> "Sweep: " + String.join(" ", command));
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        final StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null)
+                if (line.startsWith(RESULT_PREFIX)) result = line.substring(RESULT_PREFIX.length()).trim();
+                else output.append(line).append('\n');
+        }
+        final int status = process.waitFor();
+        if (status != 0 || result == null)
+            throw new IOException("forked JVM exited with status " + status + (output.length() > 0 ? ": " + lastLine(output) : ""));
+        return Double.parseDouble(result);
+    }
+
+    /**
+     * Get the command prefix which confines a forked JVM to the CPUs of the given slot.
+     *
+     * @param slot the slot (between 0 and parallel-1).
+     * @return a taskset command prefix, or nothing if affinity is not required (or not available).
+     */
+    private List<String> cpuSet(int slot) {
+        if (!affinity || parallel < 2 || !new File(TASKSET).canExecute()) return Collections.emptyList();
+        final int cpus = Math.max(1, Runtime.getRuntime().availableProcessors() / parallel);
+        final int first = (slot * cpus) % Runtime.getRuntime().availableProcessors();
+        return Arrays.asList(TASKSET, "-c", first + "-" + (first + cpus - 1));
+    }
+
+    private static String lastLine(StringBuilder output) {
+        final String[] lines = output.toString().trim().split("\n");
+        return lines[lines.length - 1];
+    }
+
+    private static Point newPoint(String pointClass) throws ReflectiveOperationException {
+        return (Point) Class.forName(pointClass).getConstructor().newInstance();
+    }
+
+    private static Map<String, List<String>> grid(Config config, String section) {
+        final Map<String, String> keys = config.get(section);
+        if (keys == null) throw new IllegalArgumentException("Sweep: no such section: " + section);
+        // NOTE the keys of a section are not kept in order, so the parameters are ordered by name.
+        final Map<String, List<String>> result = new TreeMap<>();
+        for (Map.Entry<String, String> e : keys.entrySet())
+            if (e.getKey().startsWith(PARAM_PREFIX))
+                result.put(e.getKey().substring(PARAM_PREFIX.length()), split(e.getValue(), "\\s*,\\s*"));
+        return result;
+    }
+
+    private static List<String> split(String s, String regex) {
+        if (s == null || s.trim().isEmpty()) return Collections.emptyList();
+        return Arrays.asList(s.trim().split(regex));
+    }
+
+    private static String require(Config config, String section, String key) {
+        final String result = config.get(section, key);
+        if (result == null || result.isEmpty()) throw new IllegalArgumentException("Sweep: " + section + "." + key + " is required");
+        return result;
+    }
+
+    private static boolean getBoolean(Config config, String section, String key, boolean defaultValue) {
+        final String s = config.get(section, key);
+        return s == null || s.isEmpty() ? defaultValue : Boolean.parseBoolean(s);
+    }
+
+    private static final String TASKSET = "/usr/bin/taskset";
+
+    private final String pointClass;
+    private final Map<String, List<String>> grid;
+    private final boolean fork;
+    private final int parallel;
+    private final boolean affinity;
+    private final List<String> jvmArgs;
+
+    final static LazyLogger logger = new LazyLogger(Sweep.class);
+}
@@ -18,6 +18,18 @@ public class TimeLogger {
         logger.info(prefix + " " + formatTime(normalizer.apply(time, N)));
     }
 
+    /**
+     * Log the (normalized) time together with the resources used by each run.
+     *
+     * @param time  the mean time per run (in milliseconds).
+     * @param N     the problem size.
+     * @param usage the ResourceUsage of the runs (may be null, in which case only the time is logged).
+     */
+    public void log(Double time, Integer N, ResourceUsage usage) {
+        if (usage == null) log(time, N);
+        else logger.info(prefix + " " + formatTime(normalizer.apply(time, N)) + " (" + usage + ")");
+    }
+
     private static String formatTime(double time) {
         decimalFormat.applyPattern(timePattern);
         return decimalFormat.format(time);
@@ -1,6 +1,6 @@
 package edu.neu.coe.info6205.util;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -56,32 +56,70 @@ public class Timer {
      * @return the average milliseconds per repetition.
      */
     public <T, U> double repeat(int n, Supplier<T> supplier, Function<T, U> function, UnaryOperator<T> preFunction, Consumer<U> postFunction) {
-        //logger.trace("repeat: with " + n + " runs");
-        // FIXME: note that the timer is running when this method is called and should still be running when it returns. by replacing the following code
-        
-    	pause();
-    	for(int i = 0;i<n;i++) { 
-        	//pause();
-        	T a =supplier.get();
-        	if(preFunction!=null) {
-        		a = preFunction.apply(supplier.get());
-        	}
-        	resume();
-        	U r= function.apply(a);
-        	pauseAndLap();
-        	if(postFunction!=null) {
-        		postFunction.accept(r);
-        	}
-        	
-        	
-        	
-        }
-        
-        //pause();
+        logger.trace("repeat: with " + n + " runs");
+        // NOTE the timer is running when this method is called and is still running when it returns.
+        pauseBeforeLaps();
+        for (int i = 0; i < n; i++) runLap(supplier, function, preFunction, postFunction);
         final double result = meanLapTime();
         resume();
         return result;
-        // END 
+    }
+
+    /**
+     * Pause (without counting a lap); run the given functions (as for repeat) until the lap times reach a steady state; then resume.
+     * <p>
+     * A steady state is reached when the coefficient of variation of the last window laps is no greater than maxCoV.
+     * Typically, this is used to warm up the JIT compiler (and caches, etc.) before a timed run.
+     *
+     * @param supplier    a function which supplies a T value.
+     * @param function    a function T=>U and which is to be timed.
+     * @param preFunction a function which pre-processes a T value and which precedes the call of function, but which is not timed (may be null).
+     * @param window      the number of (most recent) laps whose variation is considered.
+     * @param maxCoV      the greatest coefficient of variation which is considered steady (e.g. 0.05).
+     * @param minRuns     the least number of laps.
+     * @param maxRuns     the greatest number of laps (whether or not a steady state has been reached).
+     * @return the number of laps run.
+     */
+    public <T, U> int repeatUntilSteady(Supplier<T> supplier, Function<T, U> function, UnaryOperator<T> preFunction, int window, double maxCoV, int minRuns, int maxRuns) {
+        if (window < 2) throw new TimerException("repeatUntilSteady: window must be at least 2");
+        pauseBeforeLaps();
+        final int start = laps;
+        while (laps - start < maxRuns) {
+            runLap(supplier, function, preFunction, null);
+            final int runs = laps - start;
+            if (runs >= minRuns && runs >= window && LapStatistics.coefficientOfVariation(lapTicks, laps - window, laps) <= maxCoV)
+                break;
+        }
+        final int result = laps - start;
+        logger.debug(() -> "repeatUntilSteady: " + result + " runs");
+        resume();
+        return result;
+    }
+
+    /**
+     * @return a copy of the ticks (nanoseconds) of every lap recorded by this Timer, in order.
+     */
+    public long[] getLapTicks() {
+        return Arrays.copyOf(lapTicks, laps);
+    }
+
+    /**
+     * Get the statistics of every lap recorded by this Timer.
+     *
+     * @return a LapStatistics.
+     */
+    public LapStatistics lapStatistics() {
+        return lapStatistics(0);
+    }
+
+    /**
+     * Get the statistics of every lap recorded by this Timer.
+     *
+     * @param warmups the number of warmup laps (run by a different Timer) which preceded these laps.
+     * @return a LapStatistics.
+     */
+    public LapStatistics lapStatistics(int warmups) {
+        return new LapStatistics(Arrays.copyOf(lapTicks, laps), warmups);
     }
 
     /**
@@ -114,9 +152,10 @@ public class Timer {
      * @throws TimerException if this Timer is not running.
      */
     public void pauseAndLap() {
-        lap();
+        if (!running) throw new TimerException();
         ticks += getClock();
         running = false;
+        recordLap(ticks);
     }
 
     /**
@@ -138,7 +177,7 @@ public class Timer {
      */
     public void lap() {
         if (!running) throw new TimerException();
-        laps++;
+        recordLap(ticks + getClock());
     }
 
     /**
@@ -148,8 +187,9 @@ public class Timer {
      * @throws TimerException if this Timer is not running.
      */
     public void pause() {
-        pauseAndLap();
-        laps--;
+        if (!running) throw new TimerException();
+        ticks += getClock();
+        running = false;
     }
 
     /**
@@ -176,6 +216,41 @@ public class Timer {
     private long ticks = 0L;
     private int laps = 0;
     private boolean running = false;
+    // NOTE the ticks of each lap: laps is the number of valid elements.
+    private long[] lapTicks = new long[16];
+    // NOTE the value of ticks at the end of the most recent lap.
+    private long lapEnd = 0L;
+
+    private <T, U> void runLap(Supplier<T> supplier, Function<T, U> function, UnaryOperator<T> preFunction, Consumer<U> postFunction) {
+        // NOTE the supplier is invoked exactly once per lap.
+        final T t = supplier.get();
+        final T a = preFunction != null ? preFunction.apply(t) : t;
+        resume();
+        final U r = function.apply(a);
+        pauseAndLap();
+        if (postFunction != null) postFunction.accept(r);
+    }
+
+    /**
+     * Pause this timer such that the next lap begins when it is resumed.
+     * NOTE the time which elapsed since the end of the most recent lap (or since construction) is discarded,
+     * so that it is part of neither the first lap of a repeat nor of the ticks used by meanLapTime.
+     */
+    private void pauseBeforeLaps() {
+        pause();
+        ticks = lapEnd;
+    }
+
+    /**
+     * Record the end of a lap.
+     *
+     * @param end the (virtual) value of ticks at the end of the lap.
+     */
+    private void recordLap(long end) {
+        if (laps == lapTicks.length) lapTicks = Arrays.copyOf(lapTicks, 2 * laps);
+        lapTicks[laps++] = end - lapEnd;
+        lapEnd = end;
+    }
 
     // NOTE: Used by unit tests
     private long getTicks() {
@@ -201,9 +276,7 @@ public class Timer {
      * @return the number of ticks for the system clock. Currently defined as nano time.
      */
     private static long getClock() {
-        // FIXME by replacing the following code
-         return System.nanoTime();
-        // END 
+        return System.nanoTime();
     }
 
     /**
@@ -132,4 +132,37 @@ public class PriorityQueueTest {
         pq.take();
         pq.take();
     }
+
+    @Test
+    public void testOffer() throws PQException {
+        // NOTE a bounded max-PQ retains the smallest elements offered.
+        PriorityQueue<Integer> pq = new PriorityQueue<>(3, true, Comparator.comparing(Integer::intValue));
+        assertEquals(3, pq.capacity());
+        assertTrue(pq.offer(5));
+        assertTrue(pq.offer(9));
+        assertTrue(pq.offer(7));
+        assertEquals(Integer.valueOf(9), pq.peek());
+        assertFalse(pq.offer(10));
+        assertFalse(pq.offer(9));
+        assertTrue(pq.offer(1));
+        assertEquals(3, pq.size());
+        assertEquals(Integer.valueOf(7), pq.take());
+        assertEquals(Integer.valueOf(5), pq.take());
+        assertEquals(Integer.valueOf(1), pq.take());
+    }
+
+    @Test
+    public void testOfferMin() throws PQException {
+        // NOTE a bounded min-PQ retains the largest elements offered.
+        PriorityQueue<Integer> pq = new PriorityQueue<>(2, false, Comparator.comparing(Integer::intValue));
+        for (int x : new int[]{4, 8, 1, 6, 7}) pq.offer(x);
+        assertEquals(Integer.valueOf(7), pq.peek());
+        assertEquals(Integer.valueOf(7), pq.take());
+        assertEquals(Integer.valueOf(8), pq.take());
+    }
+
+    @Test(expected = PQException.class)
+    public void testPeekEmpty() throws PQException {
+        new PriorityQueue<>(3, true, Comparator.comparing(String::toString)).peek();
+    }
 }
@@ -0,0 +1,44 @@
+package edu.neu.coe.info6205.sort;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BlocksTest {
+
+    @Test
+    public void testBounds() {
+        final Blocks blocks = new Blocks(10, 20, 3);
+        assertEquals(3, blocks.getBlocks());
+        assertEquals(10, blocks.start(0));
+        assertEquals(14, blocks.end(0));
+        assertEquals(14, blocks.start(1));
+        assertEquals(18, blocks.end(1));
+        assertEquals(18, blocks.start(2));
+        assertEquals(20, blocks.end(2));
+    }
+
+    @Test
+    public void testEmptyTrailingBlocks() {
+        // NOTE blockSize is 2, so block 2 is empty and block 3 would start beyond to.
+        final Blocks blocks = new Blocks(0, 5, 4);
+        assertEquals(4, blocks.start(2));
+        assertEquals(5, blocks.end(2));
+        assertEquals(5, blocks.start(3));
+        assertEquals(5, blocks.end(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoBlocks() {
+        new Blocks(0, 5, 0);
+    }
+
+    @Test
+    public void testPrefixSums() {
+        final int[][] offsets = {{1, 0, 2}, {3, 1, 0}};
+        final int[] bucketStarts = Blocks.prefixSums(offsets);
+        assertArrayEquals(new int[]{0, 4, 5, 7}, bucketStarts);
+        assertArrayEquals(new int[]{0, 4, 5}, offsets[0]);
+        assertArrayEquals(new int[]{1, 4, 7}, offsets[1]);
+    }
+}
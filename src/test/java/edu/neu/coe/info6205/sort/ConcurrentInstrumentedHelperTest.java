@@ -0,0 +1,92 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.linearithmic.SampleSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+import edu.neu.coe.info6205.util.StatPack;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentInstrumentedHelperTest {
+
+    @Test
+    public void testHelperFactory() {
+        assertTrue(HelperFactory.create("test", 10, config) instanceof ConcurrentInstrumentedHelper);
+        assertFalse(HelperFactory.create("test", 10, Config.setupConfig("true", "0", "0", "", "")) instanceof ConcurrentInstrumentedHelper);
+        assertFalse(HelperFactory.create("test", 10, Config.setupConfig("false", "0", "0", "", "")).instrumented());
+    }
+
+    @Test
+    public void testIncrementConcurrently() {
+        final ConcurrentInstrumentedHelper<Integer> helper = new ConcurrentInstrumentedHelper<>("test", 1000, config);
+        helper.init(1000);
+        final ForkJoinPool pool = Pools.getPool(4);
+        pool.submit(() -> IntStream.range(0, 100000).parallel().forEach(i -> {
+            helper.incrementCompares(1);
+            helper.incrementSwaps(2);
+            helper.incrementCopies(3);
+            helper.incrementHits(4);
+            helper.incrementFixes(5);
+        })).join();
+        assertEquals(100000L, helper.getCompares());
+        assertEquals(200000L, helper.getSwaps());
+        assertEquals(300000L, helper.getCopies());
+        assertEquals(400000L, helper.getHits());
+        assertEquals(500000L, helper.getFixes());
+        assertTrue(helper.stripes() >= 1);
+    }
+
+    @Test
+    public void testLongCounts() {
+        final ConcurrentInstrumentedHelper<Integer> helper = new ConcurrentInstrumentedHelper<>("test", 10, config);
+        helper.init(10);
+        for (int i = 0; i < 3; i++) helper.incrementCompares(Integer.MAX_VALUE);
+        assertEquals(3L * Integer.MAX_VALUE, helper.getCompares());
+    }
+
+    @Test
+    public void testInitResets() {
+        final ConcurrentInstrumentedHelper<Integer> helper = new ConcurrentInstrumentedHelper<>("test", 10, config);
+        helper.init(10);
+        helper.incrementSwaps(7);
+        assertEquals(7L, helper.getSwaps());
+        helper.init(10);
+        assertEquals(0L, helper.getSwaps());
+    }
+
+    @Test
+    public void testRegisterDepth() {
+        final ConcurrentInstrumentedHelper<Integer> helper = new ConcurrentInstrumentedHelper<>("test", 10, config);
+        IntStream.range(0, 1000).parallel().forEach(helper::registerDepth);
+        assertEquals(999, helper.maxDepth());
+    }
+
+    @Test
+    public void testSampleSort() {
+        final int n = 100000;
+        final Helper<Integer> helper = HelperFactory.create(SampleSort.DESCRIPTION, n, config);
+        final SampleSort<Integer> sorter = new SampleSort<>(helper, 1000, 8, Pools.getPool(4));
+        final Random random = new Random(0L);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+        sorter.init(n);
+        final Integer[] ys = sorter.sort(xs, true);
+        sorter.postProcess(ys);
+        final StatPack statPack = ((InstrumentedHelper<Integer>) helper).getStatPack();
+        assertEquals(n, (int) statPack.total(InstrumentedHelper.COPIES));
+        assertEquals(3 * n, (int) statPack.total(InstrumentedHelper.HITS));
+        final double compares = statPack.total(InstrumentedHelper.COMPARES);
+        assertTrue(compares >= n && compares <= n * 6);
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ys);
+    }
+
+    private static final Config config = Config.setupConfig("true", "0", "0", "", "").copy(InstrumentedHelper.INSTRUMENTING, InstrumentedHelper.CONCURRENT, "true");
+}
@@ -27,9 +27,9 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         assertTrue(helper.less("a", "b"));
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
-        assertEquals(1, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(0, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(0, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -38,13 +38,13 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         assertEquals(-1, helper.compare(xs, 0, 1));
-        assertEquals(1, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getCompares"));
         assertEquals(0, helper.compare(xs, 0, 0));
-        assertEquals(2, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getCompares"));
         assertEquals(1, helper.compare(xs, 1, 0));
-        assertEquals(3, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(0, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(6, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(3L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(6L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -53,18 +53,18 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         assertEquals(1, helper.inversions(xs));
-        assertEquals(0, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 0, 1);
         assertArrayEquals(new String[]{"a", "b"}, xs);
         assertEquals(0, helper.inversions(xs));
-        assertEquals(1, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 0, 1);
         assertEquals(1, helper.inversions(xs));
         assertArrayEquals(new String[]{"b", "a"}, xs);
         // NOTE that we do not check fixes here because we did a non-fixing swap which will have generated an incorrect total.
-        assertEquals(0, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(2, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(8, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(8L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -73,17 +73,17 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         assertEquals(3, helper.inversions(xs));
-        assertEquals(0, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 0, 2);
         assertArrayEquals(new String[]{"a", "b", "c"}, xs);
         assertEquals(0, helper.inversions(xs));
-        assertEquals(3, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(3L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 0, 1);
         assertArrayEquals(new String[]{"b", "a", "c"}, xs);
         // NOTE that we do not check fixes here because we did a non-fixing swap which will have generated an incorrect total.
-        assertEquals(0, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(2, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(8, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(8L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -92,18 +92,18 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         assertEquals(4, helper.inversions(xs));
-        assertEquals(0, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 0, 3);
         assertArrayEquals(new String[]{"a", "b", "d", "c"}, xs);
         assertEquals(1, helper.inversions(xs));
-        assertEquals(3, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(3L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 2, 3);
         assertArrayEquals(new String[]{"a", "b", "c", "d"}, xs);
         assertEquals(0, helper.inversions(xs));
-        assertEquals(4, privateMethodTester.invokePrivate("getFixes"));
-        assertEquals(0, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(2, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(8, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(4L, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(8L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -112,22 +112,22 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         assertEquals(7, helper.inversions(xs));
-        assertEquals(0, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 0, 4);
         assertArrayEquals(new String[]{"a", "e", "b", "d", "c"}, xs);
         assertEquals(4, helper.inversions(xs));
-        assertEquals(3, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(3L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 1, 4);
         assertArrayEquals(new String[]{"a", "c", "b", "d", "e"}, xs);
         assertEquals(1, helper.inversions(xs));
-        assertEquals(6, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(6L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 1, 2);
         assertArrayEquals(new String[]{"a", "b", "c", "d", "e"}, xs);
         assertEquals(0, helper.inversions(xs));
-        assertEquals(7, privateMethodTester.invokePrivate("getFixes"));
-        assertEquals(0, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(3, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(12, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(7L, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(3L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(12L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -138,14 +138,14 @@ public class InstrumentedHelperTest {
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         int inversions = n * (n - 1) / 2;
         assertEquals(inversions, helper.inversions(xs));
-        assertEquals(0, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 0, n - 1);
         assertArrayEquals(new String[]{"a", "e", "d", "c", "b", "f"}, xs);
         int fixes = 2 * n - 3;
-        assertEquals(fixes, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals((long) fixes, privateMethodTester.invokePrivate("getFixes"));
         assertEquals(inversions - fixes, helper.inversions(xs));
-        assertEquals(1, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(4, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(4L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -156,14 +156,14 @@ public class InstrumentedHelperTest {
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         int inversions = n * (n - 1) / 2;
         assertEquals(inversions, helper.inversions(xs));
-        assertEquals(0, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getFixes"));
         helper.swap(xs, 0, n - 1);
         assertArrayEquals(new String[]{"a", "f", "e", "d", "c", "b", "g"}, xs);
         int fixes = 2 * n - 3;
-        assertEquals(fixes, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals((long) fixes, privateMethodTester.invokePrivate("getFixes"));
         assertEquals(inversions - fixes, helper.inversions(xs));
-        assertEquals(1, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(4, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(4L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -174,9 +174,9 @@ public class InstrumentedHelperTest {
         helper.swap(xs, 0, 1);
         assertFalse(helper.sorted(xs));
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
-        assertEquals(0, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(1, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(4, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(4L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -263,9 +263,9 @@ public class InstrumentedHelperTest {
         helper.swapStable(xs, 1);
         assertArrayEquals(new String[]{"a", "b"}, xs);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
-        assertEquals(0, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(2, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(8, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(8L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -274,17 +274,17 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         helper.fixInversion(xs, 1); // XXX Deprecated
-        assertEquals(1, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(0, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(2, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getHits"));
         assertArrayEquals(new String[]{"a", "b"}, xs);
         helper.swapStable(xs, 1);
         assertArrayEquals(new String[]{"b", "a"}, xs);
         helper.fixInversion(xs, 1); // XXX Deprecated
         assertArrayEquals(new String[]{"a", "b"}, xs);
-        assertEquals(2, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(2, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(10, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(10L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -293,17 +293,17 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
         helper.fixInversion(xs, 0, 1);
-        assertEquals(1, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(0, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(2, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(0L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getHits"));
         assertArrayEquals(new String[]{"a", "b"}, xs);
         helper.swap(xs, 0, 1);
         assertArrayEquals(new String[]{"b", "a"}, xs);
         helper.fixInversion(xs, 0, 1);
         assertArrayEquals(new String[]{"a", "b"}, xs);
-        assertEquals(2, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(2, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(10, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(10L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -315,7 +315,7 @@ public class InstrumentedHelperTest {
         s.init(N);
         final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
         s.sort(xs);
-        final int compares = (Integer) privateMethodTester.invokePrivate("getCompares");
+        final long compares = (long) privateMethodTester.invokePrivate("getCompares");
         assertTrue(compares <= 20 && compares >= 11);
     }
 
@@ -362,9 +362,9 @@ public class InstrumentedHelperTest {
         helper.swapConditional(xs, 0, 2);
         assertTrue(helper.sorted(xs));
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
-        assertEquals(1, privateMethodTester.invokePrivate("getCompares"));
-        assertEquals(1, privateMethodTester.invokePrivate("getSwaps"));
-        assertEquals(4, privateMethodTester.invokePrivate("getHits"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(4L, privateMethodTester.invokePrivate("getHits"));
     }
 
     @Test
@@ -379,11 +379,11 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         helper.copy(xs, 2, ys, 0);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
-        assertEquals(1, privateMethodTester.invokePrivate("getCopies"));
+        assertEquals(1L, privateMethodTester.invokePrivate("getCopies"));
         helper.copy(xs, 1, ys, 1);
-        assertEquals(2, privateMethodTester.invokePrivate("getCopies"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getCopies"));
         helper.copy(xs, 0, ys, 2);
-        assertEquals(3, privateMethodTester.invokePrivate("getCopies"));
+        assertEquals(3L, privateMethodTester.invokePrivate("getCopies"));
         assertTrue(helper.sorted(ys));
     }
 
@@ -392,7 +392,17 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         helper.incrementCopies(3);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
-        assertEquals(3, privateMethodTester.invokePrivate("getCopies"));
+        assertEquals(3L, privateMethodTester.invokePrivate("getCopies"));
+    }
+
+    @Test
+    public void incrementComparesAndSwaps() {
+        final InstrumentedHelper<String> helper = new InstrumentedHelper<>("test", config);
+        // NOTE counts of more than Integer.MAX_VALUE can be passed in one call.
+        helper.incrementCompares(3_000_000_000L);
+        helper.incrementSwaps(4_000_000_000L);
+        assertEquals(3_000_000_000L, helper.getCompares());
+        assertEquals(4_000_000_000L, helper.getSwaps());
     }
 
     @Test
@@ -400,7 +410,7 @@ public class InstrumentedHelperTest {
         final Helper<String> helper = new InstrumentedHelper<>("test", config);
         helper.incrementFixes(42);
         final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
-        assertEquals(42, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(42L, privateMethodTester.invokePrivate("getFixes"));
     }
 
     @Test
@@ -441,7 +451,7 @@ public class InstrumentedHelperTest {
         int n = xs.length;
         Helper<Integer> helper = HelperFactory.create("RandomSort", n, 0L, config);
         helper.init(n);
-        int i0 = helper.inversions(xs);
+        long i0 = helper.inversions(xs);
         helper.swap(xs, 2, 3);
         assertEquals("fixes+inversions: " + i0, helper.showFixes(xs));
         helper.swap(xs, 1, 2);
@@ -461,7 +471,7 @@ public class InstrumentedHelperTest {
         int n = xs.length;
         Helper<Integer> helper = HelperFactory.create("RandomSort", n, 0L, config);
         helper.init(n);
-        int i0 = helper.inversions(xs);
+        long i0 = helper.inversions(xs);
         helper.swap(xs, 1, 3);
         assertEquals("fixes+inversions: " + i0, helper.showFixes(xs));
         helper.swap(xs, 1, 4);
@@ -482,7 +492,7 @@ public class InstrumentedHelperTest {
         Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
         helper.preProcess(xs);
         System.out.println(Arrays.toString(xs));
-        int i0 = helper.inversions(xs);
+        long i0 = helper.inversions(xs);
         assertEquals(14, i0);
         assertFalse(helper.swapConditional(xs, 3, 8));
         assertEquals("fixes+inversions: " + i0, helper.showFixes(xs));
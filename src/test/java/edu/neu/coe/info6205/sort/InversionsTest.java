@@ -0,0 +1,139 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.StatPack;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class InversionsTest {
+
+    @Test
+    public void testCountSmall() {
+        assertEquals(0, Inversions.count(new Integer[0]));
+        assertEquals(0, Inversions.count(new Integer[]{1}));
+        assertEquals(0, Inversions.count(new Integer[]{1, 2, 3}));
+        assertEquals(1, Inversions.count(new Integer[]{1, 3, 2}));
+        assertEquals(2, Inversions.count(new Integer[]{3, 1, 2}));
+        assertEquals(3, Inversions.count(new Integer[]{3, 2, 1}));
+        // NOTE equal elements are not inverted.
+        assertEquals(0, Inversions.count(new Integer[]{2, 2, 2}));
+        assertEquals(3, Inversions.count(new Integer[]{2, 1, 2, 1}));
+    }
+
+    @Test
+    public void testCountRandom() {
+        final Random random = new Random(0L);
+        for (int n : new int[]{10, 100, 1000}) {
+            final Integer[] xs = new Integer[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextInt(n / 2);
+            final Integer[] copy = Arrays.copyOf(xs, n);
+            assertEquals(bruteForce(xs, 0, n), Inversions.count(xs));
+            // NOTE the array remains unchanged.
+            assertArrayEquals(copy, xs);
+        }
+    }
+
+    @Test
+    public void testCountSubArray() {
+        final Integer[] xs = new Integer[]{9, 5, 4, 3, 8, 0};
+        assertEquals(bruteForce(xs, 1, 5), Inversions.count(xs, 1, 5));
+        assertEquals(3, Inversions.count(xs, 1, 5));
+    }
+
+    @Test
+    public void testCountReversedParallel() {
+        // NOTE large enough to be counted in parallel: the inversions exceed Integer.MAX_VALUE.
+        final int n = 100000;
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = n - i;
+        assertTrue(n >= Inversions.PARALLEL_THRESHOLD);
+        assertEquals((long) n * (n - 1) / 2, Inversions.count(xs));
+        assertEquals(0, Inversions.count(Arrays.stream(xs).sorted().toArray(Integer[]::new)));
+    }
+
+    @Test
+    public void testCountParallelRandom() {
+        final int n = Inversions.PARALLEL_THRESHOLD * 3 + 17;
+        final Random random = new Random(1L);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        // NOTE a nearly sorted array: compare with a sequential count of each half plus a count of the inversions between the halves.
+        for (int k = 0; k < 1000; k++) {
+            final int i = random.nextInt(n), j = random.nextInt(n);
+            final Integer t = xs[i];
+            xs[i] = xs[j];
+            xs[j] = t;
+        }
+        final long expected = Inversions.count(xs, 0, n / 2) + Inversions.count(xs, n / 2, n) + crossInversions(xs, n / 2);
+        assertEquals(expected, Inversions.count(xs));
+    }
+
+    @Test
+    public void testEstimate() {
+        final int n = 10000;
+        final Random random = new Random(0L);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+        final long exact = Inversions.count(xs);
+        final Inversions.Estimate estimate = Inversions.estimate(xs, 10000, new Random(0L));
+        assertEquals(10000, estimate.samples);
+        assertTrue(estimate.lower <= exact && exact <= estimate.upper);
+        assertEquals(exact, estimate.mean, 4 * estimate.standardError);
+    }
+
+    @Test
+    public void testEstimateSorted() {
+        final Integer[] xs = new Integer[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        final Inversions.Estimate estimate = Inversions.estimate(xs, 100, new Random(0L));
+        assertEquals(0, estimate.mean, 0);
+        assertEquals(0, estimate.lower, 0);
+        // NOTE the Wilson interval does not collapse to zero width.
+        assertTrue(estimate.upper > 0);
+        assertEquals(0, Inversions.estimate(new Integer[]{1}, 100, new Random(0L)).mean, 0);
+    }
+
+    @Test
+    public void testInstrumentedHelperSamples() throws IOException {
+        final Config config = new Config(new StringReader("[helper]\ninstrument = true\nseed = 0\n[instrumenting]\ninversions = 0\ninversionsamples = 1000\n"));
+        final Helper<Integer> helper = new InstrumentedHelper<>("inversions", 100, config);
+        helper.init(100);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        helper.preProcess(xs);
+        final StatPack statPack = ((InstrumentedHelper<Integer>) helper).getStatPack();
+        // NOTE the estimate is recorded separately from the exact counts.
+        assertEquals(1, statPack.getCount(InstrumentedHelper.ESTIMATED_INVERSIONS));
+        assertEquals(0, statPack.getCount(InstrumentedHelper.INVERSIONS));
+    }
+
+    private static long bruteForce(Integer[] xs, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++)
+            for (int j = i + 1; j < to; j++)
+                if (xs[j] < xs[i]) result++;
+        return result;
+    }
+
+    private static long crossInversions(Integer[] xs, int mid) {
+        final Integer[] left = Arrays.copyOfRange(xs, 0, mid);
+        Arrays.sort(left);
+        long result = 0;
+        for (int j = mid; j < xs.length; j++) {
+            // NOTE count the elements of the left half which are greater than xs[j].
+            int lo = 0, hi = left.length;
+            while (lo < hi) {
+                final int m = (lo + hi) >>> 1;
+                if (left[m] <= xs[j]) lo = m + 1;
+                else hi = m;
+            }
+            result += left.length - lo;
+        }
+        return result;
+    }
+}
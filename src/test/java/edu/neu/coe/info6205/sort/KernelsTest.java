@@ -0,0 +1,170 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.elementary.HeapSort;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.linearithmic.IntroSort;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_3way;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KernelsTest {
+
+    @Test
+    public void testInsertionSort() {
+        final Integer[] xs = randomIntegers(200, 50);
+        final Integer[] expected = sorted(xs, 10, 150);
+        Kernels.insertionSort(xs, 10, 150);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testInsertionSortStable() {
+        final Item[] xs = new Item[500];
+        final Random random = new Random(0L);
+        for (int i = 0; i < xs.length; i++) xs[i] = new Item(random.nextInt(10), i);
+        Kernels.insertionSort(xs, 0, xs.length);
+        for (int i = 1; i < xs.length; i++)
+            if (xs[i - 1].key == xs[i].key) assertTrue(xs[i - 1].index < xs[i].index);
+    }
+
+    @Test
+    public void testQuickSortDualPivot() {
+        for (int n : new int[]{0, 1, 2, 3, 10, 100, 10000})
+            for (int bound : new int[]{1, 3, 1000000}) {
+                final Integer[] xs = randomIntegers(n, bound);
+                final Integer[] expected = sorted(xs, 0, n);
+                Kernels.quickSortDualPivot(xs, 0, n, 7, Integer.MAX_VALUE);
+                assertArrayEquals(expected, xs);
+            }
+    }
+
+    @Test
+    public void testQuickSortDualPivotDepthLimit() {
+        final Integer[] xs = randomIntegers(10000, 1000000);
+        final Integer[] expected = sorted(xs, 100, 9000);
+        // NOTE with a depth limit of zero, this is a heap sort.
+        Kernels.quickSortDualPivot(xs, 100, 9000, 1, 0);
+        assertArrayEquals(expected, xs);
+        final Integer[] ys = randomIntegers(10000, 1000000);
+        final Integer[] expectedYs = sorted(ys, 0, ys.length);
+        Kernels.quickSortDualPivot(ys, 0, ys.length, 17, 3);
+        assertArrayEquals(expectedYs, ys);
+    }
+
+    @Test
+    public void testQuickSortDualPivotSorted() throws InterruptedException {
+        // NOTE sorted input always leaves (almost) everything in the middle partition,
+        // which would need a stack of depth n/2 unless the largest partition is sorted by iteration.
+        final Integer[] xs = new Integer[5000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        final Integer[] expected = xs.clone();
+        final Throwable[] thrown = new Throwable[1];
+        final Thread thread = new Thread(null, () -> {
+            try {
+                Kernels.quickSortDualPivot(xs, 0, xs.length, 7, Integer.MAX_VALUE);
+            } catch (Throwable t) {
+                thrown[0] = t;
+            }
+        }, "testQuickSortDualPivotSorted", 1 << 16);
+        thread.start();
+        thread.join();
+        assertNull(thrown[0]);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testQuickSort3way() {
+        for (int n : new int[]{0, 1, 2, 3, 10, 100, 10000})
+            for (int bound : new int[]{1, 3, 1000000}) {
+                final Integer[] xs = randomIntegers(n, bound);
+                final Integer[] expected = sorted(xs, 0, n);
+                Kernels.quickSort3way(xs, 0, n, 1);
+                assertArrayEquals(expected, xs);
+            }
+    }
+
+    @Test
+    public void testMergeSort() {
+        for (boolean insurance : new boolean[]{false, true})
+            for (boolean noCopy : new boolean[]{false, true}) {
+                final Item[] xs = new Item[1000];
+                final Random random = new Random(0L);
+                for (int i = 0; i < xs.length; i++) xs[i] = new Item(random.nextInt(20), i);
+                Kernels.mergeSort(xs, 10, 990, new Item[980], 7, insurance, noCopy);
+                for (int i = 11; i < 990; i++) {
+                    assertTrue(xs[i - 1].key <= xs[i].key);
+                    if (xs[i - 1].key == xs[i].key) assertTrue(xs[i - 1].index < xs[i].index);
+                }
+                assertEquals(0, xs[0].index);
+                assertEquals(999, xs[999].index);
+            }
+    }
+
+    @Test
+    public void testHeapSort() {
+        final Integer[] xs = randomIntegers(1000, 100);
+        final Integer[] expected = sorted(xs, 5, 995);
+        Kernels.heapSort(xs, 5, 995);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testKernelSelection() {
+        final Config uninstrumented = Config.setupConfig("false", "0", "0", "", "");
+        final Config instrumented = Config.setupConfig("true", "0", "0", "", "");
+        assertNotNull(new QuickSort_DualPivot<Integer>(100, uninstrumented).getKernel());
+        assertNull(new QuickSort_DualPivot<Integer>(100, instrumented).getKernel());
+        assertNotNull(new IntroSort<Integer>(100, uninstrumented).getKernel());
+        assertNull(new IntroSort<Integer>(100, instrumented).getKernel());
+        assertNotNull(new QuickSort_3way<Integer>(100, uninstrumented).getKernel());
+        assertNotNull(new InsertionSort<Integer>(100, uninstrumented).getKernel());
+        assertNull(new InsertionSort<Integer>(100, instrumented).getKernel());
+        assertNotNull(new HeapSort<>(new BaseHelper<Integer>("heap sort", uninstrumented)).getKernel());
+    }
+
+    @Test
+    public void testSortsWithKernels() {
+        final Config config = Config.setupConfig("false", "0", "0", "", "");
+        final int n = 5000;
+        final Integer[] xs = randomIntegers(n, 1000);
+        final Integer[] expected = sorted(xs, 0, n);
+        assertArrayEquals(expected, new QuickSort_DualPivot<Integer>(n, config).sort(xs, true));
+        assertArrayEquals(expected, new IntroSort<Integer>(n, config).sort(xs, true));
+        assertArrayEquals(expected, new QuickSort_3way<Integer>(n, config).sort(xs, true));
+        assertArrayEquals(expected, new InsertionSort<Integer>(n, config).sort(xs, true));
+        assertArrayEquals(expected, new HeapSort<>(new BaseHelper<Integer>("heap sort", n, config)).sort(xs, true));
+    }
+
+    private static Integer[] randomIntegers(int n, int bound) {
+        final Random random = new Random(n + bound);
+        final Integer[] result = new Integer[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(bound);
+        return result;
+    }
+
+    private static Integer[] sorted(Integer[] xs, int from, int to) {
+        final Integer[] result = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(result, from, to);
+        return result;
+    }
+
+    static class Item implements Comparable<Item> {
+        final int key;
+        final int index;
+
+        Item(int key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        public int compareTo(Item o) {
+            return Integer.compare(key, o.key);
+        }
+    }
+}
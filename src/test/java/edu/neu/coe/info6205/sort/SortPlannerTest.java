@@ -0,0 +1,125 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SortPlannerTest {
+
+    @Test
+    public void testTiny() {
+        final SortPlanner<Integer> sorter = new SortPlanner<>(10, config);
+        final Integer[] xs = {3, 1, 4, 1, 5, 9, 2, 6, 5, 3};
+        checkSorted(sorter, xs);
+        assertEquals(SortPlanner.Algorithm.INSERTION, sorter.getLastAlgorithm());
+    }
+
+    @Test
+    public void testNearlySorted() {
+        final int n = 10000;
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        final Random random = new Random(0L);
+        for (int k = 0; k < 10; k++) {
+            final int i = random.nextInt(n);
+            final Integer temp = xs[i];
+            xs[i] = xs[0];
+            xs[0] = temp;
+        }
+        final SortPlanner<Integer> sorter = new SortPlanner<>(n, config);
+        checkSorted(sorter, xs);
+        assertEquals(SortPlanner.Algorithm.TIM, sorter.getLastAlgorithm());
+    }
+
+    @Test
+    public void testDuplicates() {
+        final int n = 10000;
+        final Integer[] xs = randomIntegers(n, 10);
+        final SortPlanner<Integer> sorter = new SortPlanner<>(n, config);
+        checkSorted(sorter, xs);
+        assertEquals(SortPlanner.Algorithm.QUICK_3WAY, sorter.getLastAlgorithm());
+        assertTrue(sorter.getLastProfile().duplicates > 0.9);
+    }
+
+    @Test
+    public void testRandomStrings() {
+        final int n = 10000;
+        final Random random = new Random(0L);
+        final String[] xs = new String[n];
+        for (int i = 0; i < n; i++) xs[i] = Long.toString(random.nextLong(), 36);
+        final SortPlanner<String> sorter = new SortPlanner<>(n, config);
+        checkSorted(sorter, xs);
+        assertEquals(SortPlanner.Algorithm.MERGE, sorter.getLastAlgorithm());
+    }
+
+    @Test
+    public void testRandomIntegers() {
+        final int n = 500;
+        final Integer[] xs = randomIntegers(n, Integer.MAX_VALUE);
+        final SortPlanner<Integer> sorter = new SortPlanner<>(n, config);
+        checkSorted(sorter, xs);
+        // NOTE 500 distinct keys must not look like duplicates even though more than half of them are sampled.
+        assertEquals(SortPlanner.Algorithm.INTRO, sorter.getLastAlgorithm());
+        final SortPlanner.Profile profile = sorter.getLastProfile();
+        assertEquals(500, profile.n);
+        assertEquals(Integer.class, profile.keyType);
+        assertEquals(0.0, profile.duplicates, 1E-10);
+        assertEquals(n * (n - 1) / 4.0, profile.inversions, n * (n - 1) / 16.0);
+    }
+
+    @Test
+    public void testInstrumented() {
+        final int n = 1000;
+        final SortPlanner<Integer> sorter = new SortPlanner<>(n, Config.setupConfig("true", "0", "0", "", ""));
+        assertTrue(sorter.getHelper().instrumented());
+        for (int bound : new int[]{3, 1000000}) checkSorted(sorter, randomIntegers(n, bound));
+    }
+
+    @Test
+    public void testInstrumentedIntroAdversarial() {
+        // NOTE the ends of every middle partition are its minimum and maximum, so the (first and last) pivots of dual-pivot
+        // partitioning leave all but two elements in the middle: IntroSort must switch to heap sort rather than take quadratic time.
+        final int n = 10000;
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n / 2; i++) {
+            xs[i] = i;
+            xs[n - 1 - i] = n / 2 + i;
+        }
+        final SortPlanner<Integer> sorter = new SortPlanner<>(n, Config.setupConfig("true", "0", "0", "", ""));
+        checkSorted(sorter, xs);
+        assertEquals(SortPlanner.Algorithm.INTRO, sorter.getLastAlgorithm());
+        final long compares = ((InstrumentedHelper<Integer>) sorter.getHelper()).getCompares();
+        final double nLgN = n * Math.log(n) / Math.log(2);
+        assertTrue("compares: " + compares, compares < 8 * nLgN);
+    }
+
+    @Test
+    public void testSubArray() {
+        final SortPlanner<Integer> sorter = new SortPlanner<>(1000, config);
+        final Integer[] xs = randomIntegers(1000, 1000000);
+        final Integer[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 100, 900);
+        sorter.sort(xs, 100, 900);
+        assertArrayEquals(expected, xs);
+        assertEquals(800, sorter.getLastProfile().n);
+    }
+
+    private static <X extends Comparable<X>> void checkSorted(SortPlanner<X> sorter, X[] xs) {
+        final X[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    private static Integer[] randomIntegers(int n, int bound) {
+        final Random random = new Random(n + bound);
+        final Integer[] result = new Integer[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(bound);
+        return result;
+    }
+
+    private final static Config config = Config.setupConfig("false", "0", "0", "", "");
+}
@@ -0,0 +1,207 @@
+package edu.neu.coe.info6205.sort.batch;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.SortKernel;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.linearithmic.IntroSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Statistics;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class BatchSortServiceTest {
+
+    @Test
+    public void testSortCollection() throws IOException {
+        final Config config = new Config(new StringReader("[batchsort]\nthreads = 3\nchunksize = 16\n"));
+        final List<Integer[]> arrays = randomArrays(1000, 0L);
+        final List<Integer[]> expected = sorted(arrays);
+        try (BatchSortService<Integer> service = new BatchSortService<>(() -> new IntroSort<>(new BaseHelper<Integer>("batch", config)), config)) {
+            assertEquals(3, service.getThreads());
+            assertEquals(16, service.getChunkSize());
+            final BatchSortService.Report report = service.sort(arrays);
+            assertEquals(1000, report.getArrays());
+            assertEquals(arrays.stream().mapToLong(xs -> xs.length).sum(), report.getElements());
+            for (int i = 0; i < arrays.size(); i++) assertArrayEquals(expected.get(i), arrays.get(i));
+            // NOTE there is at most one sorter per worker thread.
+            assertTrue(service.getSorters() <= 3);
+            assertTrue(report.getThroughput() > 0);
+            assertTrue(report.getLatency(50) <= report.getLatency(99));
+            assertTrue(report.getLatency(99) <= report.getLatency(100));
+        }
+    }
+
+    @Test
+    public void testSortStream() {
+        final List<Integer[]> arrays = randomArrays(500, 1L);
+        final List<Integer[]> expected = sorted(arrays);
+        try (BatchSortService<Integer> service = new BatchSortService<>(() -> new InsertionSort<Integer>(), 2, 7)) {
+            final BatchSortService.Report report = service.sort(arrays.stream());
+            assertEquals(500, report.getArrays());
+            for (int i = 0; i < arrays.size(); i++) assertArrayEquals(expected.get(i), arrays.get(i));
+            // NOTE the sorters are reused by a second batch.
+            final int sorters = service.getSorters();
+            service.sort(randomArrays(100, 2L).stream());
+            assertEquals(sorters, service.getSorters());
+        }
+    }
+
+    @Test
+    public void testSortInstrumented() throws IOException {
+        // NOTE an instrumented sorter has no kernel, so the service calls init, sort and postProcess.
+        final Config config = new Config(new StringReader("[helper]\ninstrument = true\n[instrumenting]\ncompares = true\n"));
+        final List<Integer[]> arrays = randomArrays(50, 3L);
+        final List<Integer[]> expected = sorted(arrays);
+        final List<InstrumentedHelper<Integer>> helpers = new ArrayList<>();
+        try (BatchSortService<Integer> service = new BatchSortService<>(() -> {
+            final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>("batch", config);
+            helpers.add(helper);
+            return new InsertionSort<>(helper);
+        }, 1, 10)) {
+            service.sort(arrays);
+            for (int i = 0; i < arrays.size(); i++) assertArrayEquals(expected.get(i), arrays.get(i));
+        }
+        assertEquals(1, helpers.size());
+        // NOTE the compares of each sort are gathered separately.
+        final Statistics compares = helpers.get(0).getStatPack().getStatistics(InstrumentedHelper.COMPARES);
+        assertEquals(50, compares.getCount());
+        long expectedCompares = 0;
+        for (Integer[] xs : arrays) expectedCompares += xs.length - 1;
+        assertTrue(compares.total() >= expectedCompares);
+    }
+
+    @Test
+    public void testSortFailure() throws InterruptedException {
+        final Integer[] bad = {3, null, 1};
+        final List<Integer[]> arrays = randomArrays(1000, 4L);
+        arrays.set(0, bad);
+        final AtomicInteger sorted = new AtomicInteger();
+        // NOTE without a kernel, the service calls sort, which here takes (at least) a millisecond.
+        final BatchSortService<Integer> service = new BatchSortService<>(() -> new InsertionSort<Integer>() {
+            @Override
+            public void sort(Integer[] xs, int from, int to) {
+                super.sort(xs, from, to);
+                sorted.incrementAndGet();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            protected SortKernel<Integer> createKernel() {
+                return null;
+            }
+        }, 1, 1);
+        try {
+            service.sort(arrays);
+            fail("expected the sort to fail");
+        } catch (RuntimeException e) {
+            // NOTE the chunks which were outstanding when the first chunk failed are cancelled (other than one which may be running).
+            final int atFailure = sorted.get();
+            Thread.sleep(100);
+            assertTrue(sorted.get() <= atFailure + 1);
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    public void testCloseAwaitsWorkers() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean sorting = new AtomicBoolean();
+        final AtomicBoolean closedWhileSorting = new AtomicBoolean();
+        final BatchSortService<Integer> service = new BatchSortService<>(() -> new InsertionSort<Integer>() {
+            @Override
+            public void sort(Integer[] xs, int from, int to) {
+                sorting.set(true);
+                started.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.sort(xs, from, to);
+                sorting.set(false);
+            }
+
+            @Override
+            protected SortKernel<Integer> createKernel() {
+                return null;
+            }
+
+            @Override
+            public void close() {
+                closedWhileSorting.set(sorting.get());
+                super.close();
+            }
+        }, 1, 1);
+        final Thread client = new Thread(() -> service.sort(randomArrays(1, 5L)));
+        client.start();
+        started.await();
+        service.close();
+        client.join();
+        // NOTE the sorter is closed only once its (running) sort has finished.
+        assertFalse(closedWhileSorting.get());
+    }
+
+    @Test
+    public void testReport() {
+        final BatchSortService.Report report = new BatchSortService.Report(4, 40, 2_000_000, new long[]{10, 20, 30, 40});
+        assertEquals(2000, report.getThroughput(), 1E-9);
+        assertEquals(20000, report.getElementsPerSecond(), 1E-9);
+        assertEquals(10, report.getLatency(0));
+        assertEquals(20, report.getLatency(50));
+        assertEquals(40, report.getLatency(99));
+        assertEquals(40, report.getLatency(100));
+    }
+
+    @Test
+    public void testSortEmpty() {
+        try (BatchSortService<Integer> service = new BatchSortService<>(() -> new InsertionSort<Integer>(), 1, 1)) {
+            final BatchSortService.Report report = service.sort(Stream.empty());
+            assertEquals(0, report.getArrays());
+            assertEquals(0, report.getLatency(50));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadThreads() {
+        new BatchSortService<>(() -> new InsertionSort<Integer>(), 0, 1);
+    }
+
+    private static List<Integer[]> randomArrays(int m, long seed) {
+        final Random random = new Random(seed);
+        final List<Integer[]> result = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            final Integer[] xs = new Integer[10 + random.nextInt(100)];
+            for (int j = 0; j < xs.length; j++) xs[j] = random.nextInt(1000);
+            result.add(xs);
+        }
+        return result;
+    }
+
+    private static List<Integer[]> sorted(List<Integer[]> arrays) {
+        final List<Integer[]> result = new ArrayList<>(arrays.size());
+        for (Integer[] xs : arrays) {
+            final Integer[] ys = xs.clone();
+            Arrays.sort(ys);
+            result.add(ys);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package edu.neu.coe.info6205.sort.classic;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BucketSortPrimitiveTest {
+
+    @Test
+    public void testSortDouble() {
+        final Random random = new Random(0L);
+        final double[] xs = new double[100000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextDouble() * 2000 - 1000;
+        checkSort(new BucketSortPrimitive(), xs);
+    }
+
+    @Test
+    public void testSortDoubleSpecialValues() {
+        // NOTE NaN, -0.0 and 0.0 mixed in with uniform (negative) values.
+        final Random random = new Random(1L);
+        final double[] xs = new double[50000];
+        for (int i = 0; i < xs.length; i++)
+            switch (i % 100) {
+                case 0:
+                    xs[i] = Double.NaN;
+                    break;
+                case 1:
+                    xs[i] = -0.0;
+                    break;
+                case 2:
+                    xs[i] = 0.0;
+                    break;
+                default:
+                    xs[i] = -random.nextDouble();
+            }
+        checkSort(new BucketSortPrimitive(), xs);
+        // NOTE with infinities, we cannot use buckets at all.
+        xs[7] = Double.NEGATIVE_INFINITY;
+        xs[8] = Double.POSITIVE_INFINITY;
+        checkSort(new BucketSortPrimitive(), xs);
+    }
+
+    @Test
+    public void testSortDoubleDegenerate() {
+        final double[] xs = new double[20000];
+        Arrays.fill(xs, 3.0);
+        checkSort(new BucketSortPrimitive(), xs);
+        Arrays.fill(xs, Double.NaN);
+        checkSort(new BucketSortPrimitive(), xs);
+        for (int i = 0; i < xs.length; i++) xs[i] = i % 2 == 0 ? 0.0 : -0.0;
+        checkSort(new BucketSortPrimitive(), xs);
+    }
+
+    @Test
+    public void testSortDoubleSkewed() {
+        // NOTE exponentially-distributed keys are far from uniform: most fall in the first few buckets.
+        final Random random = new Random(2L);
+        final double[] xs = new double[100000];
+        for (int i = 0; i < xs.length; i++) xs[i] = Math.exp(20 * random.nextDouble());
+        checkSort(new BucketSortPrimitive(), xs);
+    }
+
+    @Test
+    public void testSortLong() {
+        final Random random = new Random(3L);
+        final long[] xs = new long[100000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextLong();
+        checkSort(new BucketSortPrimitive(), xs);
+        for (int i = 0; i < xs.length; i++) xs[i] = 1_600_000_000_000L + random.nextInt(1_000_000);
+        checkSort(new BucketSortPrimitive(), xs);
+    }
+
+    @Test
+    public void testSortLongExtremes() {
+        final Random random = new Random(4L);
+        final long[] xs = new long[30000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(1000);
+        xs[0] = Long.MIN_VALUE;
+        xs[1] = Long.MAX_VALUE;
+        xs[2] = Long.MAX_VALUE - 1;
+        checkSort(new BucketSortPrimitive(), xs);
+    }
+
+    @Test
+    public void testSortSubArray() {
+        final Random random = new Random(5L);
+        final double[] xs = new double[40000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextDouble();
+        final double[] expected = xs.clone();
+        Arrays.sort(expected, 1000, 39000);
+        new BucketSortPrimitive(100, 16, 256, Pools.getPool(3)).sort(xs, 1000, 39000);
+        assertArrayEquals(expected, xs, 0);
+    }
+
+    @Test
+    public void testSortSmall() {
+        final double[] xs = {3.5, -1, 0, 2};
+        new BucketSortPrimitive().sort(xs);
+        assertArrayEquals(new double[]{-1, 0, 2, 3.5}, xs, 0);
+        final long[] ys = {};
+        new BucketSortPrimitive().sort(ys);
+        assertEquals(0, ys.length);
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        final Config config = new Config(new StringReader("[bucketsort]\ncutoff = 64\nbucketsize = 8\nsamples = 128\nthreads = 2\n"));
+        final BucketSortPrimitive sorter = new BucketSortPrimitive(config);
+        assertEquals(64, sorter.getCutoff());
+        assertEquals(8, sorter.getBucketSize());
+        assertEquals(2, sorter.getParallelism());
+        final Random random = new Random(6L);
+        final long[] xs = new long[5000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(100000) - 50000;
+        checkSort(sorter, xs);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadBucketSize() {
+        new BucketSortPrimitive(1, 0, 1, Pools.getPool(1));
+    }
+
+    private static void checkSort(BucketSortPrimitive sorter, double[] xs) {
+        final double[] expected = xs.clone();
+        Arrays.sort(expected);
+        sorter.sort(xs);
+        // NOTE Arrays.equals distinguishes -0.0 from 0.0 (and treats NaN as equal to itself).
+        assertTrue(Arrays.equals(expected, xs));
+    }
+
+    private static void checkSort(BucketSortPrimitive sorter, long[] xs) {
+        final long[] expected = xs.clone();
+        Arrays.sort(expected);
+        sorter.sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+}
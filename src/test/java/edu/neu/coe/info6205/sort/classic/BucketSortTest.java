@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("ALL")
@@ -46,5 +47,18 @@ public class BucketSortTest {
         System.out.println(sorter.toString());
     }
 
+    @Test
+    public void sortNegative() throws Exception {
+        // NOTE all of the values are negative, so max must not start at Double.MIN_VALUE.
+        Integer[] xs = new Integer[]{-3, -40, -7, -1, -22, -40, -5};
+        BaseHelper<Integer> helper = new BaseHelper<>("BucketSort", xs.length, Config.load(BucketSortTest.class));
+        GenericSort<Integer> sorter = new BucketSort<>(3, helper);
+        Integer[] ys = sorter.sort(xs);
+        assertTrue(helper.sorted(ys));
+        // NOTE the same sorter can be re-used.
+        ys = sorter.sort(xs);
+        assertTrue(helper.sorted(ys));
+        assertEquals(xs.length, ys.length);
+    }
 
 }
\ No newline at end of file
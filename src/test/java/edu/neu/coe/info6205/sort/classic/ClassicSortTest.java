@@ -1,11 +1,16 @@
 package edu.neu.coe.info6205.sort.classic;
 
 import edu.neu.coe.info6205.sort.GenericHelper;
+import edu.neu.coe.info6205.util.Pools;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.ToIntFunction;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 public class ClassicSortTest {
 
@@ -27,6 +32,21 @@ public class ClassicSortTest {
         }
     }
 
+    static class Keyed implements Classify<Keyed> {
+        Keyed(int key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int classify() {
+            return key;
+        }
+
+        final int key;
+        final int id;
+    }
+
     @Test
     public void mutatingSort() throws IOException {
         ClassicSort<MyClass> sorter = new ClassicSort<>();
@@ -38,4 +58,77 @@ public class ClassicSortTest {
         // Check sorted
         for (int i = 1; i < n; i++) assertTrue(xs[i - 1].classify() <= xs[i].classify());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void sortDenseStable() {
+        final Keyed[] xs = keyed(10000, 7L, r -> r.nextInt(50) - 25);
+        final Keyed[] expected = xs.clone();
+        // NOTE Arrays.sort (of objects) is stable.
+        Arrays.sort(expected, Comparator.comparingInt(k -> k.key));
+        final ClassicSort<Keyed> sorter = new ClassicSort<>(createHelper(), 1 << 16, 1 << 16, Pools.getPool(1));
+        sorter.sort(xs, 0, xs.length);
+        assertTrue(sorter.isDense());
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void sortSparse() {
+        // NOTE the classes are spread over the whole range of int, so they are sparse.
+        final Keyed[] xs = keyed(5000, 8L, r -> r.nextInt(10) * 400_000_000 - 2_000_000_000);
+        xs[0] = new Keyed(Integer.MIN_VALUE, -1);
+        xs[1] = new Keyed(Integer.MAX_VALUE, -2);
+        final Keyed[] expected = xs.clone();
+        Arrays.sort(expected, Comparator.comparingInt(k -> k.key));
+        final ClassicSort<Keyed> sorter = new ClassicSort<>(createHelper(), 1 << 16, 1000, Pools.getPool(1));
+        sorter.sort(xs, 0, xs.length);
+        assertFalse(sorter.isDense());
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void sortParallel() {
+        // NOTE the classes span about a million possible values, more than n, so they are dense only if maxClasses allows it.
+        final Keyed[] xs = keyed(100000, 9L, r -> r.nextInt(1000) * 1000);
+        final Keyed[] expected = xs.clone();
+        Arrays.sort(expected, Comparator.comparingInt(k -> k.key));
+        for (boolean dense : new boolean[]{true, false}) {
+            final Keyed[] ys = xs.clone();
+            final ClassicSort<Keyed> sorter = new ClassicSort<>(createHelper(), 1000, dense ? 1 << 20 : 1000, Pools.getPool(3));
+            sorter.sort(ys, 0, ys.length);
+            assertEquals(dense, sorter.isDense());
+            assertArrayEquals(expected, ys);
+        }
+    }
+
+    @Test
+    public void sortParallelSparse() {
+        // NOTE the classes span 50000 possible values: fewer than n, but more than n per block, so they are sparse.
+        final Keyed[] xs = keyed(100000, 11L, r -> r.nextInt(50000));
+        final Keyed[] expected = xs.clone();
+        Arrays.sort(expected, Comparator.comparingInt(k -> k.key));
+        final ClassicSort<Keyed> sorter = new ClassicSort<>(createHelper(), 1000, 1000, Pools.getPool(3));
+        sorter.sort(xs, 0, xs.length);
+        assertFalse(sorter.isDense());
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void sortSubArray() {
+        final Keyed[] xs = keyed(100, 10L, r -> r.nextInt(5));
+        final Keyed[] expected = xs.clone();
+        Arrays.sort(expected, 10, 90, Comparator.comparingInt(k -> k.key));
+        new ClassicSort<>(createHelper(), 1 << 16, 1 << 16, Pools.getPool(1)).sort(xs, 10, 90);
+        assertArrayEquals(expected, xs);
+    }
+
+    private static GenericHelper<Keyed> createHelper() {
+        return new ClassicHelper<>(ClassicSort.DESCRIPTION, 0, new Random(0L), null);
+    }
+
+    private static Keyed[] keyed(int n, long seed, ToIntFunction<Random> key) {
+        final Random random = new Random(seed);
+        final Keyed[] result = new Keyed[n];
+        for (int i = 0; i < n; i++) result[i] = new Keyed(key.applyAsInt(random), i);
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LSDRadixSortTest {
+
+    @Test
+    public void testSortInt() {
+        final int[] xs = {3, -1, 0, Integer.MAX_VALUE, -100, Integer.MIN_VALUE, 42, 3, -1};
+        final int[] expected = xs.clone();
+        Arrays.sort(expected);
+        new LSDRadixSort().sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIntRandom() {
+        final Random random = new Random(0L);
+        final int[] xs = new int[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+        for (int bits : new int[]{1, 8, 11, 16}) {
+            final int[] ys = xs.clone();
+            final int[] expected = xs.clone();
+            Arrays.sort(expected);
+            new LSDRadixSort(bits).sort(ys);
+            assertArrayEquals(expected, ys);
+        }
+    }
+
+    @Test
+    public void testSortIntSmall() {
+        // NOTE all of the high-order digits are the same (0 or -1) so most passes are skipped.
+        final Random random = new Random(1L);
+        final int[] xs = new int[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(200) - 100;
+        final int[] expected = xs.clone();
+        Arrays.sort(expected);
+        new LSDRadixSort().sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortSubArray() {
+        final int[] xs = {9, 5, -3, 7, -8, 1, 0};
+        new LSDRadixSort().sort(xs, 1, 5);
+        assertArrayEquals(new int[]{9, -8, -3, 5, 7, 1, 0}, xs);
+        final int[] ys = {9, 5, 5, 5, 0};
+        new LSDRadixSort().sort(ys, 1, 4);
+        assertArrayEquals(new int[]{9, 5, 5, 5, 0}, ys);
+    }
+
+    @Test
+    public void testSortLong() {
+        final Random random = new Random(2L);
+        final long[] xs = new long[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextLong();
+        xs[0] = Long.MIN_VALUE;
+        xs[1] = Long.MAX_VALUE;
+        xs[2] = 0L;
+        for (int bits : new int[]{8, 11}) {
+            final long[] ys = xs.clone();
+            final long[] expected = xs.clone();
+            Arrays.sort(expected);
+            new LSDRadixSort(bits).sort(ys);
+            assertArrayEquals(expected, ys);
+        }
+    }
+
+    @Test
+    public void testSortFloat() {
+        final Random random = new Random(3L);
+        final float[] xs = new float[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = (float) random.nextGaussian() * 1000;
+        final float[] special = {Float.NaN, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, -0.0f, 0.0f, Float.MIN_VALUE, -Float.MIN_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE};
+        System.arraycopy(special, 0, xs, 0, special.length);
+        final float[] expected = xs.clone();
+        Arrays.sort(expected);
+        new LSDRadixSort().sort(xs);
+        assertArrayEquals(expected, xs, 0.0f);
+        // NOTE assertArrayEquals does not distinguish -0.0 from 0.0.
+        final int zero = Arrays.binarySearch(xs, 0.0f);
+        assertEquals(Float.floatToIntBits(-0.0f), Float.floatToIntBits(xs[zero - 1]));
+        assertTrue(Float.isNaN(xs[xs.length - 1]));
+    }
+
+    @Test
+    public void testSortDouble() {
+        final Random random = new Random(4L);
+        final double[] xs = new double[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextGaussian() * 1E100;
+        final double[] special = {Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -0.0, 0.0, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE};
+        System.arraycopy(special, 0, xs, 0, special.length);
+        final double[] expected = xs.clone();
+        Arrays.sort(expected);
+        new LSDRadixSort(11).sort(xs);
+        assertArrayEquals(expected, xs, 0.0);
+        assertTrue(Double.isNaN(xs[xs.length - 1]));
+        assertEquals(Double.NEGATIVE_INFINITY, xs[0], 0.0);
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        final Config config = new Config(new StringReader("[lsdradixsort]\nbits = 11\n"));
+        assertEquals(11, new LSDRadixSort(config).getBits());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadBits() {
+        new LSDRadixSort(17);
+    }
+
+    @Test
+    public void testRadixSort() throws Exception {
+        // NOTE RadixSort (whose to is inclusive) now sorts negative numbers too.
+        final int[] xs = {5, -3, 0, -100, 7};
+        new RadixSort().sort(xs, 0, 4);
+        assertArrayEquals(new int[]{-100, -3, 0, 5, 7}, xs);
+    }
+}
@@ -0,0 +1,104 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.SortBenchmark;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.neu.coe.info6205.util.SortBenchmarkHelper.getWords;
+import static org.junit.Assert.*;
+
+public class LSDStringSortTest {
+
+    @Test
+    public void testSort() {
+        final String[] xs = {"she", "sells", "seashells", "by", "the", "sea", "shore", "the", "shells", "she", "sells", "are", "surely", "seashells"};
+        checkSort(new LSDStringSort(), xs);
+    }
+
+    @Test
+    public void testSortSubArray() {
+        final String[] xs = {"z", "dog", "cat", "bee", "ant", "a"};
+        new LSDStringSort().sort(xs, 1, 4);
+        assertArrayEquals(new String[]{"z", "ant", "bee", "cat", "dog", "a"}, xs);
+    }
+
+    @Test
+    public void testSortEmpty() {
+        final String[] xs = new String[0];
+        new LSDStringSort().sort(xs);
+        assertEquals(0, xs.length);
+        final String[] ys = {"", "b", "", "a"};
+        checkSort(new LSDStringSort(), ys);
+    }
+
+    @Test
+    public void testSortRadixes() {
+        final String[] xs = randomStrings(2000, 0x10000);
+        for (int radix : new int[]{2, 4, 16, 256, 65536}) checkSort(new LSDStringSort(radix), xs);
+    }
+
+    @Test
+    public void testSortChinese() throws FileNotFoundException {
+        final String[] xs = getWords("zho-simp-tw_web_2014_10K-words.txt", SortBenchmark::getLeipzigWords);
+        checkSort(new LSDStringSort(), xs);
+        checkSort(new LSDStringSort(LSDStringSort.CHAR_RANGE), xs);
+    }
+
+    @Test
+    public void testSortParallel() {
+        final String[] xs = randomStrings(20000, 0x80);
+        // NOTE with a threshold of 1000, the histograms are split into 1000-element pieces.
+        checkSort(new LSDStringSort(256, 1000, new ForkJoinPool(4)), xs);
+        checkSort(new LSDStringSort(65536, 1000, new ForkJoinPool(4)), randomStrings(20000, 0x10000));
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        final Config config = new Config(new StringReader("[lsdstringsort]\nradix = 65536\nparallelthreshold = 100\n"));
+        final LSDStringSort sorter = new LSDStringSort(config);
+        assertEquals(65536, sorter.getRadix());
+        checkSort(sorter, randomStrings(1000, 0x10000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadRadix() {
+        new LSDStringSort(100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadRadix2() {
+        // NOTE 8 is a power of two but three bits do not divide 16.
+        new LSDStringSort(8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadParallelThreshold() {
+        new LSDStringSort(256, 1, ForkJoinPool.commonPool());
+    }
+
+    private static void checkSort(LSDStringSort sorter, String[] xs) {
+        final String[] ys = Arrays.copyOf(xs, xs.length);
+        final String[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        sorter.sort(ys);
+        assertArrayEquals(expected, ys);
+    }
+
+    private static String[] randomStrings(int n, int range) {
+        final Random random = new Random(n + range);
+        final String[] result = new String[n];
+        for (int i = 0; i < n; i++) {
+            final char[] chars = new char[random.nextInt(8)];
+            for (int j = 0; j < chars.length; j++) chars[j] = (char) random.nextInt(range);
+            result[i] = new String(chars);
+        }
+        return result;
+    }
+}
@@ -3,6 +3,8 @@ package edu.neu.coe.info6205.sort.counting;
 import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.SortBenchmark;
+import edu.neu.coe.info6205.util.SortBenchmarkHelper;
 import org.junit.Test;
 
 import java.io.*;
@@ -10,11 +12,15 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static org.junit.Assert.assertArrayEquals;
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class MSDStringSortTest {
 
@@ -41,6 +47,115 @@ public class MSDStringSortTest {
         assertEquals("Palestinian", xs[16]);
     }
 
+    @Test
+    public void testSortInPlace() {
+        final MSDStringSort sorter = new MSDStringSort(true);
+        assertTrue(sorter.isInPlace());
+        sorter.sort(input, 0, input.length);
+        assertArrayEquals(expected, input);
+        checkSort(sorter, randomStrings(5000, 4, 0x80));
+    }
+
+    @Test
+    public void testSortSubArray() {
+        final String[] xs = {"z", "dog", "cat", "bee", "ant", "a"};
+        new MSDStringSort().sort(xs, 1, 5);
+        assertArrayEquals(new String[]{"z", "ant", "bee", "cat", "dog", "a"}, xs);
+    }
+
+    @Test
+    public void testSortLongPrefixes() {
+        // NOTE every String shares a 100-character prefix, and there are many duplicates and empty Strings.
+        final char[] prefix = new char[100];
+        Arrays.fill(prefix, 'x');
+        final String[] xs = randomStrings(3000, 3, 4);
+        for (int i = 0; i < xs.length; i++) if (i % 3 > 0) xs[i] = new String(prefix) + xs[i];
+        checkSort(new MSDStringSort(), xs);
+        checkSort(new MSDStringSort(true), xs);
+    }
+
+    @Test
+    public void testSortRadixes() {
+        final String[] xs = randomStrings(2000, 8, 0x10000);
+        for (int radix : new int[]{2, 16, 256, 65536})
+            for (boolean inPlace : new boolean[]{false, true})
+                checkSort(new MSDStringSort(radix, MSDStringSort.DEFAULT_CUTOFF, MSDStringSort.DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool(), inPlace), xs);
+    }
+
+    @Test
+    public void testSortChinese() throws FileNotFoundException {
+        final String[] xs = SortBenchmarkHelper.getWords("zho-simp-tw_web_2014_10K-words.txt", SortBenchmark::getLeipzigWords);
+        checkSort(new MSDStringSort(), xs);
+        checkSort(new MSDStringSort(true), xs);
+    }
+
+    @Test
+    public void testSortParallel() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        // NOTE with a threshold of 500, most of the first- and second-level buckets are sorted as separate tasks.
+        checkSort(new MSDStringSort(256, 15, 500, pool, false), randomStrings(50000, 6, 26));
+        checkSort(new MSDStringSort(256, 15, 500, pool, true), randomStrings(50000, 6, 26));
+    }
+
+    @Test
+    public void testSortConcurrently() throws Exception {
+        // NOTE one instance is shared by all of the threads.
+        final MSDStringSort sorter = new MSDStringSort();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final String[] xs = randomStrings(10000 + t, 6, 26);
+                futures.add(executor.submit(() -> checkSort(sorter, xs)));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        final Config config = new Config(new StringReader("[msdstringsort]\nradix = 65536\ncutoff = 4\nparallelthreshold = 100\ninplace = true\n"));
+        final MSDStringSort sorter = new MSDStringSort(config);
+        assertTrue(sorter.isInPlace());
+        checkSort(sorter, randomStrings(2000, 8, 0x10000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadRadix() {
+        new MSDStringSort(8, 15, 1000, ForkJoinPool.commonPool(), false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCutoff() {
+        new MSDStringSort(256, 0, 1000, ForkJoinPool.commonPool(), false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadParallelThreshold() {
+        new MSDStringSort(256, 15, 1, ForkJoinPool.commonPool(), false);
+    }
+
+    private static void checkSort(MSDStringSort sorter, String[] xs) {
+        final String[] ys = Arrays.copyOf(xs, xs.length);
+        final String[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        sorter.sort(ys, 0, ys.length);
+        assertArrayEquals(expected, ys);
+    }
+
+    private static String[] randomStrings(int n, int maxLength, int range) {
+        final Random random = new Random(n + range);
+        final String[] result = new String[n];
+        for (int i = 0; i < n; i++) {
+            final char[] chars = new char[random.nextInt(maxLength)];
+            for (int j = 0; j < chars.length; j++) chars[j] = (char) ('a' + random.nextInt(range) & 0xFFFF);
+            result[i] = new String(chars);
+        }
+        return result;
+    }
+
     /**
      * Create a string representing an integer, with commas to separate thousands.
      *
@@ -0,0 +1,150 @@
+package edu.neu.coe.info6205.sort.external;
+
+import edu.neu.coe.info6205.sort.linearithmic.HuskySort;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSort;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ExternalMergeSortTest {
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("externalsort");
+        input = directory.resolve("input.txt");
+        output = directory.resolve("output.txt");
+        config = new Config(new StringReader("[externalsort]\n"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Object path : paths.toArray()) Files.delete((Path) path);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testSort() throws IOException {
+        final List<String> lines = randomLines(1000, 0x80);
+        Files.write(input, lines, StandardCharsets.UTF_8);
+        final ExternalMergeSort sorter = new ExternalMergeSort(config);
+        assertEquals(1000, sorter.sort(input, output));
+        assertEquals(1, sorter.getRuns());
+        assertEquals(1, sorter.getMergePasses());
+        checkOutput(lines);
+    }
+
+    @Test
+    public void testSortManyRuns() throws IOException {
+        // NOTE with 20K of memory, three threads and a fan-in of 3, there are many runs and several merge passes.
+        final List<String> lines = randomLines(5000, 0x10000);
+        Files.write(input, lines, StandardCharsets.UTF_8);
+        final ExternalMergeSort sorter = new ExternalMergeSort(20000, 3, 3, 100, false, directory, n -> new MergeSort<>(n, config));
+        assertEquals(5000, sorter.sort(input, output));
+        assertTrue(sorter.getRuns() > 27);
+        assertTrue(sorter.getMergePasses() >= 4);
+        checkOutput(lines);
+        // NOTE every run file has been deleted.
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertEquals(2, paths.count());
+        }
+    }
+
+    @Test
+    public void testSortMapped() throws IOException {
+        final List<String> lines = randomLines(3000, 0x80);
+        Files.write(input, lines, StandardCharsets.UTF_8);
+        final ExternalMergeSort sorter = new ExternalMergeSort(10000, 4, 1, 64, true, directory, n -> new HuskySort(n, config));
+        sorter.sort(input, output);
+        assertTrue(sorter.getRuns() > 4);
+        assertTrue(sorter.getMergePasses() >= 2);
+        checkOutput(lines);
+        // NOTE every (mapped) run file has been unmapped and deleted.
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertEquals(2, paths.count());
+        }
+    }
+
+    @Test
+    public void testSortLongLines() throws IOException {
+        // NOTE each line is longer than the I/O buffers.
+        final List<String> lines = new ArrayList<>();
+        final Random random = new Random(0L);
+        for (int i = 0; i < 50; i++) {
+            final char[] chars = new char[200 + random.nextInt(300)];
+            for (int j = 0; j < chars.length; j++) chars[j] = (char) ('a' + random.nextInt(3));
+            lines.add(new String(chars));
+        }
+        Files.write(input, lines, StandardCharsets.UTF_8);
+        final ExternalMergeSort sorter = new ExternalMergeSort(5000, 2, 2, 16, false, directory, n -> new MergeSort<>(n, config));
+        sorter.sort(input, output);
+        checkOutput(lines);
+    }
+
+    @Test
+    public void testSortLineTerminators() throws IOException {
+        // NOTE CRLF line endings, an empty line and an unterminated last line.
+        Files.write(input, "pear\r\napple\r\n\r\nfig".getBytes(StandardCharsets.UTF_8));
+        assertEquals(4, new ExternalMergeSort(config).sort(input, output));
+        assertEquals(Arrays.asList("", "apple", "fig", "pear"), Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSortEmpty() throws IOException {
+        Files.write(input, new byte[0]);
+        final ExternalMergeSort sorter = new ExternalMergeSort(config);
+        assertEquals(0, sorter.sort(input, output));
+        assertEquals(0, sorter.getRuns());
+        assertEquals(0, Files.size(output));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadFanIn() {
+        new ExternalMergeSort(1000, 1, 1, 100, false, null, n -> new MergeSort<>(n, config));
+    }
+
+    private void checkOutput(List<String> lines) throws IOException {
+        final List<String> expected = new ArrayList<>(lines);
+        Collections.sort(expected);
+        assertEquals(expected, Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+
+    private static List<String> randomLines(int n, int range) {
+        final Random random = new Random(n + range);
+        final List<String> result = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int length = random.nextInt(12);
+            // NOTE we avoid (unpaired) surrogates, which do not survive the round trip through UTF-8.
+            for (int j = 0; j < length; j++) {
+                char c;
+                do c = (char) (' ' + random.nextInt(range - ' '));
+                while (Character.isSurrogate(c));
+                sb.append(c);
+            }
+            result.add(sb.toString());
+        }
+        return result;
+    }
+
+    private Path directory;
+    private Path input;
+    private Path output;
+    private Config config;
+}
@@ -7,10 +7,12 @@ package edu.neu.coe.info6205.sort.hashCode;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 @SuppressWarnings("ALL")
 public class HashCodeSortTest {
@@ -108,4 +110,70 @@ public class HashCodeSortTest {
         assertEquals(d3, sorted.get(2));
     }
 
+    @Test
+    public void sortCollisions() {
+        // NOTE all of these dates (within the same 8 milliseconds) have the same hash, so they must be ordered by compareTo.
+        final List<Date> dates = new ArrayList<>();
+        for (int millis = 47; millis >= 40; millis--) dates.add(new Date(2017, 12, 10, 11, 38, 17, millis));
+        dates.add(new Date(2017, 12, 10, 11, 30, 5, 723));
+        dates.add(new Date(2018, 1, 1, 0, 0, 0, 0));
+        assertEquals(dates.get(0).hashCode(), dates.get(7).hashCode());
+        final List<Date> sorted = new HashCodeSort<Date>().sort(dates);
+        final List<Date> expected = new ArrayList<>(dates);
+        Collections.sort(expected);
+        assertEquals(expected, sorted);
+    }
+
+    @Test
+    public void sortStable() {
+        final Element a = new Element(2, "a"), b = new Element(1, "b"), c = new Element(2, "c"), d = new Element(-1, "d");
+        final List<Element> sorted = new HashCodeSort<Element>().sort(Arrays.asList(a, b, c, d));
+        assertEquals(Arrays.asList(d, b, a, c), sorted);
+        // NOTE the identity of equal elements is preserved.
+        assertSame(a, sorted.get(2));
+        assertSame(c, sorted.get(3));
+    }
+
+    @Test
+    public void sortLarge() {
+        final int n = 1000000;
+        final Random random = new Random(0L);
+        final List<Integer> xs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) xs.add(random.nextInt());
+        final List<Integer> sorted = new HashCodeSort<Integer>().sort(xs);
+        final List<Integer> expected = new ArrayList<>(xs);
+        Collections.sort(expected);
+        assertEquals(expected, sorted);
+    }
+
+    @Test
+    public void sortEmpty() {
+        assertTrue(new HashCodeSort<Integer>().sort(new ArrayList<>()).isEmpty());
+    }
+
+    private static class Element implements Comparable<Element> {
+        private final int key;
+        private final String name;
+
+        Element(int key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return key;
+        }
+
+        @Override
+        public int compareTo(Element o) {
+            return Integer.compare(key, o.key);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
 }
\ No newline at end of file
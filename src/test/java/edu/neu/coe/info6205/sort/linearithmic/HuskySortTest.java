@@ -0,0 +1,105 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.PrivateMethodTester;
+import edu.neu.coe.info6205.util.SortBenchmark;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static edu.neu.coe.info6205.util.SortBenchmarkHelper.getWords;
+import static org.junit.Assert.*;
+
+public class HuskySortTest {
+
+    @Test
+    public void testAsciiCode() {
+        assertTrue(HuskySort.asciiCode("a") < HuskySort.asciiCode("b"));
+        assertTrue(HuskySort.asciiCode("a") < HuskySort.asciiCode("aa"));
+        assertTrue(HuskySort.asciiCode("Zebra") < HuskySort.asciiCode("apple"));
+        assertTrue(HuskySort.asciiCode("") < HuskySort.asciiCode("\u0001"));
+        assertTrue(HuskySort.asciiCode("~~~~~~~~~") > 0);
+        // NOTE only the first nine characters are encoded.
+        assertEquals(HuskySort.asciiCode("abcdefghiX"), HuskySort.asciiCode("abcdefghiY"));
+    }
+
+    @Test
+    public void testUnicodeCode() {
+        assertTrue(HuskySort.unicodeCode("a") < HuskySort.unicodeCode("中"));
+        assertTrue(HuskySort.unicodeCode("中") < HuskySort.unicodeCode("￿"));
+        assertTrue(HuskySort.unicodeCode("") < HuskySort.unicodeCode("a"));
+        assertEquals(HuskySort.unicodeCode("abcdX"), HuskySort.unicodeCode("abcdY"));
+    }
+
+    @Test
+    public void testIsAscii() {
+        final String[] xs = {"hello", "world", "0123456789中"};
+        assertTrue(HuskySort.isAscii(xs, 0, xs.length));
+        xs[1] = "wörld";
+        assertFalse(HuskySort.isAscii(xs, 0, xs.length));
+        assertTrue(HuskySort.isAscii(xs, 2, 3));
+    }
+
+    @Test
+    public void testSortRandom() {
+        final Random random = new Random(0L);
+        for (int n : new int[]{0, 1, 2, 10, 1000, 10000}) {
+            final String[] xs = new String[n];
+            for (int i = 0; i < n; i++) xs[i] = Long.toString(random.nextLong() & 0xFFFFFFFFFL, 36);
+            checkSort(xs);
+        }
+    }
+
+    @Test
+    public void testSortLongPrefixes() {
+        // NOTE these all have the same code and so must be sorted entirely by the final insertion sort.
+        final Random random = new Random(0L);
+        final String[] xs = new String[500];
+        for (int i = 0; i < xs.length; i++) xs[i] = "commonprefix" + random.nextInt(100);
+        checkSort(xs);
+    }
+
+    @Test
+    public void testSortUnicode() {
+        final Random random = new Random(0L);
+        final String[] xs = new String[5000];
+        for (int i = 0; i < xs.length; i++) {
+            final char[] chars = new char[1 + random.nextInt(6)];
+            for (int j = 0; j < chars.length; j++) chars[j] = (char) random.nextInt(0x10000);
+            xs[i] = new String(chars);
+        }
+        checkSort(xs);
+    }
+
+    @Test
+    public void testSortLeipzig() throws FileNotFoundException {
+        checkSort(getWords("eng-uk_web_2002_10K-sentences.txt", SortBenchmark::getLeipzigWords));
+        checkSort(getWords("zho-simp-tw_web_2014_10K-sentences.txt", SortBenchmark::getLeipzigWords));
+    }
+
+    @Test
+    public void testSortInstrumented() throws Exception {
+        final String[] xs = {"b", "a", "ab", "aa", "c", "ba"};
+        final HuskySort sorter = new HuskySort(xs.length, Config.setupConfig("true", "0", "0", "", ""));
+        assertArrayEquals(new String[]{"a", "aa", "ab", "b", "ba", "c"}, sorter.sort(xs));
+        // NOTE all of the codes are distinct so the final insertion sort makes only n-1 compares.
+        assertEquals(5L, new PrivateMethodTester(sorter.getHelper()).invokePrivate("getCompares"));
+    }
+
+    @Test
+    public void testSortSubArray() {
+        final String[] xs = {"z", "d", "c", "b", "a", "y"};
+        new HuskySort(xs.length, config).sort(xs, 1, 5);
+        assertArrayEquals(new String[]{"z", "a", "b", "c", "d", "y"}, xs);
+    }
+
+    private static void checkSort(String[] xs) {
+        final String[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, new HuskySort(xs.length, config).sort(xs));
+    }
+
+    private final static Config config = Config.setupConfig("false", "0", "0", "", "");
+}
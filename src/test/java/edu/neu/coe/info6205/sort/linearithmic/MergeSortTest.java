@@ -17,8 +17,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 @SuppressWarnings("ALL")
 public class MergeSortTest {
@@ -387,6 +386,63 @@ public class MergeSortTest {
         assertTrue(helper.sorted(sorted));
     }
 
+    @Test
+    public void testSortKernel() {
+        for (String insurance : new String[]{"false", "true"})
+            for (String noCopy : new String[]{"false", "true"}) {
+                final Config config = mergeSortConfig("false", insurance, noCopy);
+                final MergeSort<Integer> sorter = new MergeSort<>(1000, config);
+                assertNotNull(sorter.getKernel());
+                final Integer[] xs = sorter.getHelper().random(Integer.class, r -> r.nextInt(100));
+                final Integer[] expected = Arrays.copyOf(xs, xs.length);
+                Arrays.sort(expected);
+                assertArrayEquals(expected, sorter.sort(xs, true));
+            }
+    }
+
+    @Test
+    public void testSortSubArray() {
+        for (String instrumenting : new String[]{"false", "true"})
+            for (String noCopy : new String[]{"false", "true"}) {
+                final Config config = mergeSortConfig(instrumenting, "true", noCopy);
+                final MergeSort<Integer> sorter = new MergeSort<>(1000, config);
+                final Integer[] xs = sorter.getHelper().random(Integer.class, r -> r.nextInt(1000));
+                final Integer[] expected = Arrays.copyOf(xs, xs.length);
+                Arrays.sort(expected, 100, 900);
+                sorter.sort(xs, 100, 900);
+                assertArrayEquals(expected, xs);
+            }
+    }
+
+    @Test
+    public void testSortInsurance() {
+        final int N = 1024;
+        final MergeSort<Integer> sorter = new MergeSort<>(N, mergeSortConfig("true", "true", "false"));
+        final Integer[] xs = new Integer[N];
+        for (int i = 0; i < N; i++) xs[i] = i;
+        sorter.sort(xs, false);
+        // NOTE with insurance, sorted input is never merged (and so never copied).
+        final PrivateMethodTester privateMethodTester = new PrivateMethodTester(sorter.getHelper());
+        assertEquals(0L, privateMethodTester.invokePrivate("getCopies"));
+        assertTrue(sorter.getHelper().sorted(xs));
+    }
+
+    @Test
+    public void testSortReusesBuffer() {
+        final Config config = mergeSortConfig("false", "false", "true");
+        final MergeSort<Integer> sorter = new MergeSort<>(1000, config);
+        for (int i = 0; i < 10; i++) {
+            final Integer[] xs = sorter.getHelper().random(Integer.class, r -> r.nextInt(1000));
+            assertTrue(sorter.getHelper().sorted(sorter.sort(xs, false)));
+        }
+        assertEquals(1L, sorter.getPool().getMisses());
+        assertEquals(9L, sorter.getPool().getHits());
+    }
+
+    private static Config mergeSortConfig(String instrumenting, String insurance, String noCopy) {
+        return config.copy(Config.HELPER, Config.INSTRUMENT, instrumenting).copy(MergeSort.MERGESORT, MergeSort.INSURANCE, insurance).copy(MergeSort.MERGESORT, MergeSort.NOCOPY, noCopy);
+    }
+
     final static LazyLogger logger = new LazyLogger(MergeSort.class);
 
     private static Config config;
@@ -186,19 +186,19 @@ public class QuickSort3WayTest {
         assertEquals(inversions, helper.inversions(xs));
         Partitioner<String> partitioner = sorter.createPartitioner();
         List<Partition<String>> partitions = partitioner.partition(new Partition<>(xs, 0, xs.length));
-        assertEquals(14, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(14L, privateMethodTester.invokePrivate("getFixes"));
         assertEquals(7, helper.inversions(xs));
         sorter.sort(xs, 0, partitions.get(0).to, 0);
-        assertEquals(14, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(14L, privateMethodTester.invokePrivate("getFixes"));
         assertEquals(7, helper.inversions(xs));
         sorter.sort(xs, partitions.get(1).from, n, 0);
         assertEquals(0, helper.inversions(xs));
         assertTrue(helper.sorted(xs));
-        int fixes = (int) privateMethodTester.invokePrivate("getFixes");
+        long fixes = (long) privateMethodTester.invokePrivate("getFixes");
         // NOTE: there are at least as many fixes as inversions -- sort methods aren't necessarily perfectly efficient in terms of swaps.
         System.out.println("inversions: " + inversions + ", fixes: " + fixes);
         assertTrue(inversions <= fixes);
-        assertEquals(14, privateMethodTester.invokePrivate("getSwaps")); // XXX check this
+        assertEquals(14L, privateMethodTester.invokePrivate("getSwaps")); // XXX check this
     }
 
     final static LazyLogger logger = new LazyLogger(QuickSort_3way.class);
@@ -16,8 +16,7 @@ import java.io.IOException;
 import java.util.List;
 
 import static edu.neu.coe.info6205.util.Utilities.round;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 @SuppressWarnings("ALL")
 public class QuickSortDualPivotTest {
@@ -214,6 +213,18 @@ public class QuickSortDualPivotTest {
         assertEquals("DBACPPPVPXPWYZ", partitionedString);
     }
 
+    @Test
+    public void testPartitionBounds() throws Exception {
+        String testString = "PBAXWPPVPCPDZY";
+        Character[] array = new Character[testString.length()];
+        for (int i = 0; i < array.length; i++) array[i] = testString.charAt(i);
+        final Config config = Config.setupConfig("true", "0", "1", "", "");
+        QuickSort<Character> sorter = new QuickSort_DualPivot<Character>(array.length, config);
+        final int[] bounds = new int[2 * Partitioner.MAX_PARTITIONS];
+        assertEquals(3, sorter.partitioner.partition(array, 0, array.length, bounds));
+        assertArrayEquals(new int[]{0, 4, 5, 12, 13, 14}, bounds);
+    }
+
     @Test
     public void testPartition2() throws Exception {
         String testString = "SEAYRLFVZQTCMK";
@@ -283,20 +294,20 @@ public class QuickSortDualPivotTest {
         assertEquals(inversions, helper.inversions(xs));
         Partitioner<String> partitioner = sorter.createPartitioner();
         List<Partition<String>> partitions = partitioner.partition(new Partition<>(xs, 0, xs.length));
-        assertEquals(11, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(11L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p0 = partitions.get(0);
         sorter.sort(xs, 0, p0.to, 0);
-        assertEquals(11, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(11L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p1 = partitions.get(1);
         sorter.sort(xs, p1.from, p1.to, 0);
-        assertEquals(21, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(21L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p2 = partitions.get(2);
         sorter.sort(xs, p2.from, n, 0);
-        int fixes = (int) privateMethodTester.invokePrivate("getFixes");
+        long fixes = (long) privateMethodTester.invokePrivate("getFixes");
         // NOTE: there are at least as many fixes as inversions -- sort methods aren't necessarily perfectly efficient in terms of swaps.
         assertTrue(inversions <= fixes);
         assertEquals(0, helper.inversions(xs));
-        assertEquals(13, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(13L, privateMethodTester.invokePrivate("getSwaps"));
     }
 
     private static String[] setupWords(final int n) {
@@ -13,11 +13,11 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import static edu.neu.coe.info6205.util.Utilities.round;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 @SuppressWarnings("ALL")
 public class QuickSort_BasicTest {
@@ -184,6 +184,43 @@ public class QuickSort_BasicTest {
         assertEquals("QEAKRLFMCSTZVY", partitionedString);
     }
 
+    @Test
+    public void testPartitionBounds() throws Exception {
+        Character[] array = toCharacters("HBAXWPQVDCREZY");
+        final Config config = Config.setupConfig("true", "0", "1", "", "");
+        QuickSort<Character> sorter = new QuickSort_Basic<Character>(array.length, config);
+        final int[] bounds = new int[2 * Partitioner.MAX_PARTITIONS];
+        assertEquals(2, sorter.partitioner.partition(array, 0, array.length, bounds));
+        assertArrayEquals(new int[]{0, 5, 6, 14}, Arrays.copyOf(bounds, 4));
+        assertEquals("DBAECHQVPWRXZY", toString(array));
+    }
+
+    @Test
+    public void testSortWithListPartitioner() throws Exception {
+        final Config config = Config.setupConfig("false", "0", "1", "", "");
+        QuickSort<Integer> sorter = new QuickSort_Basic<Integer>(1000, config);
+        final Partitioner<Integer> basic = sorter.createPartitioner();
+        // NOTE a partitioner which implements only partition(Partition) is still supported by the iterative driver.
+        sorter.setPartitioner(partition -> basic.partition(partition));
+        final Integer[] xs = sorter.getHelper().random(Integer.class, r -> r.nextInt(1000));
+        final Integer[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        sorter.sort(xs, 0, xs.length, 0);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortSorted() throws Exception {
+        // NOTE sorted input is the worst case for the basic partitioner: n levels of partitions but only O(1) stacked.
+        final int n = 5000;
+        final Config config = Config.setupConfig("true", "0", "1", "", "");
+        QuickSort<Integer> sorter = new QuickSort_Basic<Integer>(n, config);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        sorter.sort(xs, 0, n, 0);
+        assertTrue(sorter.getHelper().sorted(xs));
+    }
+
     @Test
     public void testSortDetailed() throws Exception {
         int k = 7;
@@ -259,18 +296,18 @@ public class QuickSort_BasicTest {
         assertEquals(inversions, helper.inversions(xs));
         Partitioner<String> partitioner = sorter.createPartitioner();
         List<Partition<String>> partitions = partitioner.partition(new Partition<>(xs, 0, xs.length));
-        assertEquals(11, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(11L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p0 = partitions.get(0);
         sorter.sort(xs, 0, p0.to, 0);
-        assertEquals(21, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(21L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p1 = partitions.get(1);
         sorter.sort(xs, p1.from, p1.to, 0);
-        assertEquals(21, privateMethodTester.invokePrivate("getFixes"));
-        int fixes = (int) privateMethodTester.invokePrivate("getFixes");
+        assertEquals(21L, privateMethodTester.invokePrivate("getFixes"));
+        long fixes = (long) privateMethodTester.invokePrivate("getFixes");
         // NOTE: there are at least as many fixes as inversions -- sort methods aren't necessarily perfectly efficient in terms of swaps.
         assertTrue(inversions <= fixes);
         assertEquals(0, helper.inversions(xs));
-        assertEquals(11, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(11L, privateMethodTester.invokePrivate("getSwaps"));
     }
 
     private static String[] setupWords(final int n) {
@@ -283,6 +320,18 @@ public class QuickSort_BasicTest {
         return words;
     }
 
+    private static Character[] toCharacters(String s) {
+        final Character[] result = new Character[s.length()];
+        for (int i = 0; i < result.length; i++) result[i] = s.charAt(i);
+        return result;
+    }
+
+    private static String toString(Character[] array) {
+        final StringBuilder sb = new StringBuilder();
+        for (Character c : array) sb.append(c);
+        return sb.toString();
+    }
+
     final static LazyLogger logger = new LazyLogger(QuickSort_Basic.class);
 
     @BeforeClass
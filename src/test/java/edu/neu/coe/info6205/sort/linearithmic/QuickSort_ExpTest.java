@@ -280,18 +280,18 @@ public class QuickSort_ExpTest {
         assertEquals(inversions, helper.inversions(xs));
         Partitioner<String> partitioner = sorter.createPartitioner();
         List<Partition<String>> partitions = partitioner.partition(new Partition<>(xs, 0, xs.length));
-        assertEquals(17, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(17L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p0 = partitions.get(0);
         sorter.sort(xs, 0, p0.to, 0);
-        assertEquals(19, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(19L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p1 = partitions.get(1);
         sorter.sort(xs, p1.from, p1.to, 0);
-        assertEquals(21, privateMethodTester.invokePrivate("getFixes"));
-        int fixes = (int) privateMethodTester.invokePrivate("getFixes");
+        assertEquals(21L, privateMethodTester.invokePrivate("getFixes"));
+        long fixes = (long) privateMethodTester.invokePrivate("getFixes");
         // NOTE: there are at least as many fixes as inversions -- sort methods aren't necessarily perfectly efficient in terms of swaps.
         assertTrue(inversions <= fixes);
         assertEquals(0, helper.inversions(xs));
-        assertEquals(9, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(9L, privateMethodTester.invokePrivate("getSwaps"));
     }
 
 
@@ -306,16 +306,16 @@ public class QuickSort_ExpTest {
         assertEquals(0, helper.inversions(xs));
         Partitioner<String> partitioner = sorter.createPartitioner();
         List<Partition<String>> partitions = partitioner.partition(new Partition<>(xs, 0, xs.length));
-        assertEquals(4, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(4L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p0 = partitions.get(0);
         sorter.sort(xs, 0, p0.to, 0);
-        assertEquals(4, privateMethodTester.invokePrivate("getFixes"));
+        assertEquals(4L, privateMethodTester.invokePrivate("getFixes"));
         Partition<String> p1 = partitions.get(1);
         sorter.sort(xs, p1.from, p1.to, 0);
-        assertEquals(4, privateMethodTester.invokePrivate("getFixes"));
-        int fixes = (int) privateMethodTester.invokePrivate("getFixes");
+        assertEquals(4L, privateMethodTester.invokePrivate("getFixes"));
+        long fixes = (long) privateMethodTester.invokePrivate("getFixes");
         assertEquals(0, helper.inversions(xs));
-        assertEquals(2, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(2L, privateMethodTester.invokePrivate("getSwaps"));
     }
 
     private static String[] setupWords(final int n) {
@@ -0,0 +1,148 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.GenericSort;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+import edu.neu.coe.info6205.util.PrivateMethodTester;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("ALL")
+public class SampleSortTest {
+
+    @Test
+    public void testSort1() throws Exception {
+        Integer[] xs = {3, 4, 2, 1};
+        GenericSort<Integer> s = new SampleSort<>(Config.load(getClass()));
+        Integer[] ys = s.sort(xs);
+        assertArrayEquals(new Integer[]{1, 2, 3, 4}, ys);
+    }
+
+    @Test
+    public void testSortRandom() throws Exception {
+        final Random random = new Random(0L);
+        final Helper<Integer> helper = new BaseHelper<>(SampleSort.DESCRIPTION, Config.load(getClass()));
+        final SampleSort<Integer> s = new SampleSort<>(helper, 100, 8, Pools.getPool(4));
+        for (int n : new int[]{0, 1, 100, 101, 1000, 100000}) {
+            Integer[] xs = new Integer[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+            Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            s.sort(xs, 0, n);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testSortDuplicates() throws Exception {
+        final Random random = new Random(0L);
+        final Helper<String> helper = new BaseHelper<>(SampleSort.DESCRIPTION, Config.load(getClass()));
+        final SampleSort<String> s = new SampleSort<>(helper, 100, 4, Pools.getPool(3));
+        final String[] words = {"a", "b", "c", "d"};
+        String[] xs = new String[50000];
+        for (int i = 0; i < xs.length; i++) xs[i] = words[random.nextInt(words.length)];
+        String[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        s.sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortSubArray() throws Exception {
+        final Random random = new Random(0L);
+        final Helper<Integer> helper = new BaseHelper<>(SampleSort.DESCRIPTION, Config.load(getClass()));
+        final SampleSort<Integer> s = new SampleSort<>(helper, 16, 4, Pools.getPool(2));
+        Integer[] xs = new Integer[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(1000);
+        Integer[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 500, 9000);
+        s.sort(xs, 500, 9000);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortWithConfig() throws Exception {
+        final int n = 200000;
+        final Config config = Config.load(getClass());
+        final Helper<Integer> helper = HelperFactory.create(SampleSort.DESCRIPTION, n, config);
+        final SampleSort<Integer> s = new SampleSort<>(helper, SampleSort.DEFAULT_CUTOFF, SampleSort.DEFAULT_OVERSAMPLING, Pools.getPool(4));
+        final Random random = new Random(1L);
+        Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+        Integer[] ys = s.sort(xs, true);
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ys);
+        s.postProcess(ys);
+    }
+
+    @Test
+    public void testSortInstrumentedEmptyBlocks() throws Exception {
+        // NOTE 20 elements in 8 blocks of 3: the last block is empty.
+        final int n = 20;
+        final Helper<Integer> helper = HelperFactory.create(SampleSort.DESCRIPTION, n, Config.setupConfig("true", "0", "0", "", ""));
+        final SampleSort<Integer> s = new SampleSort<>(helper, 16, 4, Pools.getPool(8));
+        final Random random = new Random(5L);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt(1000);
+        helper.init(n);
+        s.sort(xs, 0, n);
+        assertTrue(helper.sorted(xs));
+        // NOTE each element is classified (one hit) and distributed (two hits) exactly once.
+        assertEquals(3L * n, new PrivateMethodTester(helper).invokePrivate("getHits"));
+        assertEquals((long) n, new PrivateMethodTester(helper).invokePrivate("getCopies"));
+    }
+
+    @Test
+    public void testChooseSplitters() throws Exception {
+        final Helper<Integer> helper = new BaseHelper<>(SampleSort.DESCRIPTION, Config.load(getClass()));
+        final SampleSort<Integer> s = new SampleSort<>(helper, 16, 4, Pools.getPool(2));
+        Integer[] xs = new Integer[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i % 3;
+        final Integer[] splitters = s.chooseSplitters(xs, 0, xs.length, 8);
+        assertTrue(splitters.length <= 3);
+        for (int i = 1; i < splitters.length; i++) assertTrue(splitters[i - 1] < splitters[i]);
+    }
+
+    @Test
+    public void testClassify() {
+        final Integer[] splitters = {10, 20, 30};
+        assertEquals(0, SampleSort.classify(splitters, 5));
+        assertEquals(1, SampleSort.classify(splitters, 10));
+        assertEquals(2, SampleSort.classify(splitters, 15));
+        assertEquals(3, SampleSort.classify(splitters, 20));
+        assertEquals(5, SampleSort.classify(splitters, 30));
+        assertEquals(6, SampleSort.classify(splitters, 31));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadOversampling() throws Exception {
+        new SampleSort<Integer>(new BaseHelper<>(SampleSort.DESCRIPTION, Config.load(getClass())), 16, 0, Pools.getPool(2));
+    }
+
+    @Test
+    public void testConfig() throws Exception {
+        final Config config = new Config(new StringReader("[samplesort]\ncutoff = 100\noversampling = 8\nthreads = 2\n"));
+        final SampleSort<Integer> s = new SampleSort<>(config);
+        assertEquals(100, s.getCutoff());
+        assertEquals(8, s.getOversampling());
+        assertEquals(2, s.getParallelism());
+        final SampleSort<Integer> t = new SampleSort<>(1000, config);
+        assertEquals(100, t.getCutoff());
+        assertEquals(8, t.getOversampling());
+        assertEquals(2, t.getParallelism());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadConfig() throws Exception {
+        new SampleSort<Integer>(1000, new Config(new StringReader("[samplesort]\noversampling = 0\n")));
+    }
+}
@@ -0,0 +1,31 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.util.Pools;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+
+public class ParSortPointTest {
+
+    @Test
+    public void testMeasure() throws Exception {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put(ParSortPoint.N, "20000");
+        parameters.put(ParSortPoint.CUTOFF_RATIO, "0.25");
+        parameters.put(Pools.THREADS, "2");
+        parameters.put(ParSortPoint.RUNS, "3");
+        final double time = new ParSortPoint().measure(parameters);
+        assertTrue(time > 0);
+    }
+
+    @Test
+    public void testMeasureDefaults() throws Exception {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put(ParSortPoint.N, "5000");
+        parameters.put(ParSort.CUTOFF, "1000");
+        assertTrue(new ParSortPoint().measure(parameters) > 0);
+    }
+}
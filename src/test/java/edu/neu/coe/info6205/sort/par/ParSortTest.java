@@ -0,0 +1,143 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.Pools;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("ALL")
+public class ParSortTest {
+
+    @Test
+    public void testSortInts() {
+        final Random random = new Random(0L);
+        final ParSort parSort = new ParSort(64, 128, ForkJoinPool.commonPool());
+        for (int n : new int[]{0, 1, 2, 63, 64, 65, 1000, 10000, 100001}) {
+            int[] xs = new int[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+            int[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            parSort.sort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testSortIntsDuplicates() {
+        final Random random = new Random(0L);
+        final ParSort parSort = new ParSort(16, 16, Pools.getPool(4));
+        int[] xs = new int[50000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(10);
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        parSort.sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIntsSubArray() {
+        final Random random = new Random(0L);
+        final ParSort parSort = new ParSort(100, 200, Pools.getPool(2));
+        int[] xs = new int[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 1234, 8765);
+        parSort.sort(xs, 1234, 8765);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortComparable() {
+        final Random random = new Random(0L);
+        final ParSort parSort = new ParSort(32, 64, Pools.getPool(3));
+        for (int n : new int[]{0, 1, 31, 32, 33, 5000, 20001}) {
+            Integer[] xs = new Integer[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextInt(n + 1);
+            Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            parSort.sort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testSortComparableSubArray() {
+        final ParSort parSort = new ParSort(8, 8, Pools.getPool(2));
+        String[] xs = "the quick brown fox jumps over the lazy dog and then the dog sleeps while the fox runs away into the dark".split(" ");
+        String[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 3, xs.length - 2);
+        parSort.sort(xs, 3, xs.length - 2);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testStable() {
+        final Random random = new Random(0L);
+        final ParSort parSort = new ParSort(16, 32, Pools.getPool(4));
+        Item[] xs = new Item[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = new Item(random.nextInt(20), i);
+        parSort.sort(xs);
+        for (int i = 1; i < xs.length; i++) {
+            assertTrue(xs[i - 1].key <= xs[i].key);
+            if (xs[i - 1].key == xs[i].key) assertTrue(xs[i - 1].index < xs[i].index);
+        }
+    }
+
+    @Test
+    public void testParallelism() {
+        assertEquals(5, new ParSort(1000, 5).getParallelism());
+    }
+
+    @Test
+    public void testConfig() throws Exception {
+        final Config config = new Config(new StringReader("[parsort]\ncutoff = 100\nmergecutoff =\nthreads = 2\n"));
+        final ParSort parSort = new ParSort(config);
+        assertEquals(100, parSort.getCutoff());
+        assertEquals(ParSort.DEFAULT_MERGE_CUTOFF, parSort.getMergeCutoff());
+        assertEquals(2, parSort.getParallelism());
+    }
+
+    @Test
+    public void testMergeCutoffOne() {
+        final Random random = new Random(0L);
+        final ParSort parSort = new ParSort(1, 1, Pools.getPool(2));
+        assertEquals(2, parSort.getMergeCutoff());
+        int[] xs = new int[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(100);
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        parSort.sort(xs);
+        assertArrayEquals(expected, xs);
+        Integer[] ys = new Integer[1000];
+        for (int i = 0; i < ys.length; i++) ys[i] = random.nextInt(100);
+        Integer[] expectedYs = Arrays.copyOf(ys, ys.length);
+        Arrays.sort(expectedYs);
+        parSort.sort(ys);
+        assertArrayEquals(expectedYs, ys);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCutoff() {
+        new ParSort(0);
+    }
+
+    static class Item implements Comparable<Item> {
+        final int key;
+        final int index;
+
+        Item(int key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        public int compareTo(Item o) {
+            return Integer.compare(key, o.key);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.PrivateMethodTester;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("ALL")
+public class IntroSortPrimitiveTest extends PrimitiveSortTest {
+
+    public IntroSortPrimitiveTest() {
+        super(IntroSortPrimitive::new, IntroSortPrimitive::new, 2);
+    }
+
+    @Test
+    public void testHeapSort() throws Exception {
+        IntroSortPrimitive sorter = new IntroSortPrimitive(0, Config.load(getClass()));
+        PrivateMethodTester t = new PrivateMethodTester(sorter);
+        int[] xs = {15, 3, -1, 2, 4, 1, 0, 5, 8, 6, 1, 9, 17, 7, 11};
+        Class<?>[] classes = {int[].class, int.class, int.class};
+        t.invokePrivateExplicit("heapSort", classes, xs, 0, xs.length);
+        assertTrue(PrimitiveSortWithHelper.sorted(xs));
+    }
+}
@@ -0,0 +1,28 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("ALL")
+public class MergeSortPrimitiveTest extends PrimitiveSortTest {
+
+    public MergeSortPrimitiveTest() {
+        super(MergeSortPrimitive::new, MergeSortPrimitive::new, 2);
+    }
+
+    @Test
+    public void testInsurance() throws Exception {
+        final Config config = Config.load(getClass()).copy("mergesort", "insurance", "true");
+        int[] xs = new int[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        xs[5000] = -1;
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        createSorter(config).sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+}
@@ -0,0 +1,143 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.PrivateMethodTester;
+import edu.neu.coe.info6205.util.StatPack;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * The tests which are common to every PrimitiveSortWithHelper.
+ * Each sort has a sub-class which supplies the factories for its sorter and adds the tests which are specific to it.
+ */
+@SuppressWarnings("ALL")
+public abstract class PrimitiveSortTest {
+
+    /**
+     * Constructor for PrimitiveSortTest.
+     *
+     * @param configFactory a function which, given N and a configuration, yields a sorter.
+     * @param helperFactory a function which, given a Helper, yields a sorter.
+     * @param maxCompares   the greatest number of compares (as a multiple of n lg n) expected for a random array.
+     */
+    protected PrimitiveSortTest(BiFunction<Integer, Config, PrimitiveSortWithHelper> configFactory, Function<Helper<Integer>, PrimitiveSortWithHelper> helperFactory, double maxCompares) {
+        this.configFactory = configFactory;
+        this.helperFactory = helperFactory;
+        this.maxCompares = maxCompares;
+    }
+
+    @Test
+    public void testSortInts() throws Exception {
+        int[] xs = {15, 3, -1, 2, 4, 1, 0, 5, 8, 6, 1, 9, 17, 7, 11, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        createSorter().sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIntsRandom() throws Exception {
+        final Random random = new Random(0L);
+        for (int n : new int[]{0, 1, 2, 10, 100, 1000, 10000}) {
+            int[] xs = new int[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextInt(n / 4 + 1) - n / 8;
+            int[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            createSorter().sort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testSortSubArray() throws Exception {
+        final Random random = new Random(1L);
+        int[] xs = new int[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 100, 900);
+        createSorter().sort(xs, 100, 900);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortLongs() throws Exception {
+        final Random random = new Random(2L);
+        long[] xs = new long[5000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextLong();
+        long[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        createSorter().sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortDoubles() throws Exception {
+        final Random random = new Random(3L);
+        double[] xs = new double[5000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextGaussian();
+        xs[10] = Double.NaN;
+        xs[20] = 0.0;
+        xs[30] = -0.0;
+        xs[40] = Double.NEGATIVE_INFINITY;
+        xs[50] = 0.0;
+        double[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        createSorter().sort(xs);
+        assertArrayEquals(expected, xs, 0.0);
+        assertTrue(PrimitiveSortWithHelper.sorted(xs));
+    }
+
+    @Test
+    public void testInstrumented() throws Exception {
+        final int n = 1000;
+        final Config config = Config.setupConfig("true", "0", "0", "", "");
+        final Helper<Integer> helper = HelperFactory.create("primitive", n, config);
+        final PrimitiveSortWithHelper sorter = helperFactory.apply(helper);
+        final Random random = new Random(4L);
+        int[] xs = new int[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+        sorter.sort(xs);
+        sorter.postProcess(xs);
+        final StatPack statPack = (StatPack) new PrivateMethodTester(helper).invokePrivate("getStatPack");
+        final double compares = statPack.getStatistics(InstrumentedHelper.COMPARES).mean();
+        final double swaps = statPack.getStatistics(InstrumentedHelper.SWAPS).mean();
+        final double hits = statPack.getStatistics(InstrumentedHelper.HITS).mean();
+        final double lgN = Math.log(n) / Math.log(2);
+        assertTrue(compares > n * lgN / 2);
+        assertTrue(compares < maxCompares * n * lgN);
+        assertTrue(swaps > 0);
+        assertTrue(hits > compares);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testPostProcessUnsorted() throws Exception {
+        final Config config = Config.setupConfig("true", "0", "0", "", "");
+        final Helper<Integer> helper = HelperFactory.create("primitive", 3, config);
+        helper.init(3);
+        helperFactory.apply(helper).postProcess(new int[]{3, 2, 1});
+    }
+
+    /**
+     * @return a sorter configured by the configuration (config.ini) of this test.
+     */
+    protected PrimitiveSortWithHelper createSorter() throws Exception {
+        return createSorter(Config.load(getClass()));
+    }
+
+    protected PrimitiveSortWithHelper createSorter(Config config) {
+        return configFactory.apply(0, config);
+    }
+
+    private final BiFunction<Integer, Config, PrimitiveSortWithHelper> configFactory;
+    private final Function<Helper<Integer>, PrimitiveSortWithHelper> helperFactory;
+    private final double maxCompares;
+}
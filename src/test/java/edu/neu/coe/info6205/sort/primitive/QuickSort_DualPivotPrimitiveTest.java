@@ -0,0 +1,116 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("ALL")
+public class QuickSort_DualPivotPrimitiveTest extends PrimitiveSortTest {
+
+    public QuickSort_DualPivotPrimitiveTest() {
+        super(QuickSort_DualPivotPrimitive::new, QuickSort_DualPivotPrimitive::new, 2);
+    }
+
+    @Test
+    public void testSortIntsManyDuplicates() throws Exception {
+        final Random random = new Random(5L);
+        int[] xs = new int[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(3);
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        createSorter().sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortSortedAndConstantInts() throws Exception {
+        final int n = 1_000_000;
+        int[] xs = new int[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        int[] expected = Arrays.copyOf(xs, n);
+        createSorter().sort(xs);
+        assertArrayEquals(expected, xs);
+        int[] ys = new int[n];
+        Arrays.fill(ys, 42);
+        createSorter().sort(ys);
+        assertTrue(PrimitiveSortWithHelper.sorted(ys));
+    }
+
+    @Test
+    public void testSortSortedAndConstantLongs() throws Exception {
+        final int n = 1_000_000;
+        long[] xs = new long[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        long[] expected = Arrays.copyOf(xs, n);
+        createSorter().sort(xs);
+        assertArrayEquals(expected, xs);
+        long[] ys = new long[n];
+        Arrays.fill(ys, 42L);
+        createSorter().sort(ys);
+        assertTrue(PrimitiveSortWithHelper.sorted(ys));
+    }
+
+    @Test
+    public void testSortSortedAndConstantDoubles() throws Exception {
+        final int n = 1_000_000;
+        double[] xs = new double[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        double[] expected = Arrays.copyOf(xs, n);
+        createSorter().sort(xs);
+        assertArrayEquals(expected, xs, 0.0);
+        double[] ys = new double[n];
+        Arrays.fill(ys, 42.0);
+        createSorter().sort(ys);
+        assertTrue(PrimitiveSortWithHelper.sorted(ys));
+    }
+
+    @Test
+    public void testSortIntsNoCutoff() throws Exception {
+        final Random random = new Random(6L);
+        for (int n : new int[]{2, 3, 10, 1000}) {
+            int[] xs = new int[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextInt(n);
+            int[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            createSorter(noCutoff()).sort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testSortLongsNoCutoff() throws Exception {
+        final Random random = new Random(7L);
+        for (int n : new int[]{2, 3, 10, 1000}) {
+            long[] xs = new long[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextLong();
+            long[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            createSorter(noCutoff()).sort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testSortDoublesNoCutoff() throws Exception {
+        final Random random = new Random(8L);
+        for (int n : new int[]{2, 3, 10, 1000}) {
+            double[] xs = new double[n];
+            for (int i = 0; i < n; i++) xs[i] = random.nextDouble();
+            double[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            createSorter(noCutoff()).sort(xs);
+            assertArrayEquals(expected, xs, 0.0);
+        }
+    }
+
+    /**
+     * @return a configuration whose cutoff (of 1) disables insertion sort.
+     */
+    private static Config noCutoff() {
+        return Config.setupConfig("true", "0", "0", "1", "");
+    }
+}
@@ -0,0 +1,40 @@
+package edu.neu.coe.info6205.sort.primitive;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("ALL")
+public class ShellSortPrimitiveTest extends PrimitiveSortTest {
+
+    public ShellSortPrimitiveTest() {
+        // NOTE Shellsort (with Knuth's gaps) makes rather more compares than the linearithmic sorts.
+        super((n, config) -> new ShellSortPrimitive(3, n, config), helper -> new ShellSortPrimitive(3, helper), 10);
+    }
+
+    @Test
+    public void testGaps() {
+        assertArrayEquals(new int[]{1}, ShellSortPrimitive.gaps(1, 100));
+        assertArrayEquals(new int[]{1, 3, 7, 15, 31, 63}, ShellSortPrimitive.gaps(2, 100));
+        assertArrayEquals(new int[]{1, 4, 13, 40}, ShellSortPrimitive.gaps(3, 100));
+        assertArrayEquals(new int[]{1, 5, 19, 41}, ShellSortPrimitive.gaps(4, 50));
+        assertArrayEquals(new int[]{1, 2, 3, 4, 6, 8, 9, 12, 16, 18}, ShellSortPrimitive.gaps(5, 20));
+    }
+
+    @Test
+    public void testAllModes() throws Exception {
+        final Random random = new Random(6L);
+        for (int m = 1; m <= 5; m++) {
+            int[] xs = new int[2000];
+            for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+            int[] expected = Arrays.copyOf(xs, xs.length);
+            Arrays.sort(expected);
+            new ShellSortPrimitive(m, 0, Config.load(getClass())).sort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+}
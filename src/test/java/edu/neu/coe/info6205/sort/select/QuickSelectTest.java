@@ -0,0 +1,131 @@
+package edu.neu.coe.info6205.sort.select;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_Basic;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class QuickSelectTest {
+
+    @Test
+    public void testSelect() throws IOException {
+        final Config config = Config.load(QuickSelectTest.class);
+        final Integer[] xs = randomIntegers(1000, 1000);
+        final Integer[] sorted = xs.clone();
+        Arrays.sort(sorted);
+        final QuickSelect<Integer> selector = new QuickSelect<>(xs.length, config);
+        for (int k = 0; k < xs.length; k += 7) {
+            final Integer[] ys = xs.clone();
+            assertEquals(sorted[k], selector.select(ys, k));
+            checkPartitioned(ys, k);
+        }
+        selector.close();
+    }
+
+    @Test
+    public void testSelectPartitioners() throws IOException {
+        final Config config = Config.load(QuickSelectTest.class);
+        final Helper<Integer> helper = new BaseHelper<>("test", config);
+        final Integer[] xs = randomIntegers(500, 50);
+        final Integer[] sorted = xs.clone();
+        Arrays.sort(sorted);
+        final QuickSelect<Integer> basic = new QuickSelect<>(helper, new QuickSort_Basic<>(helper).createPartitioner());
+        final QuickSelect<Integer> dualPivot = new QuickSelect<>(helper, new QuickSort_DualPivot<>(helper).createPartitioner());
+        for (int k = 0; k < xs.length; k += 11) {
+            final Integer[] ys = xs.clone();
+            assertEquals(sorted[k], basic.select(ys, k));
+            checkPartitioned(ys, k);
+            final Integer[] zs = xs.clone();
+            assertEquals(sorted[k], dualPivot.select(zs, k));
+            checkPartitioned(zs, k);
+        }
+    }
+
+    @Test
+    public void testSelectSortedAndEqual() throws IOException {
+        final Config config = Config.load(QuickSelectTest.class);
+        final int n = 100000;
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        final QuickSelect<Integer> selector = new QuickSelect<>(n, config);
+        assertEquals(Integer.valueOf(n / 2), selector.select(xs, n / 2));
+        final Integer[] ys = new Integer[n];
+        Arrays.fill(ys, 42);
+        assertEquals(Integer.valueOf(42), selector.select(ys, 12345));
+    }
+
+    @Test
+    public void testSelectInstrumented() throws IOException {
+        // NOTE selection makes a small multiple of n compares, whereas a sort would make about n lg n.
+        // NOTE the instrumented helper counts fixes, which makes each long swap expensive, so n is modest.
+        final Config config = Config.load(QuickSelectTest.class);
+        final int n = 10000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>("test", n, config);
+        final Integer[] xs = randomIntegers(n, Integer.MAX_VALUE);
+        final Integer[] sorted = xs.clone();
+        Arrays.sort(sorted);
+        final QuickSelect<Integer> selector = new QuickSelect<>(helper);
+        assertEquals(sorted[n / 2], selector.select(xs, n / 2));
+        final long compares = helper.getCompares();
+        assertTrue(compares > n);
+        assertTrue("compares: " + compares, compares < 5L * n);
+    }
+
+    @Test
+    public void testPartialSort() throws IOException {
+        final Config config = Config.load(QuickSelectTest.class);
+        final Integer[] xs = randomIntegers(10000, 100000);
+        final Integer[] sorted = xs.clone();
+        Arrays.sort(sorted);
+        final QuickSelect<Integer> selector = new QuickSelect<>(xs.length, config);
+        final Integer[] ys = xs.clone();
+        selector.partialSort(ys, 100);
+        assertArrayEquals(Arrays.copyOf(sorted, 100), Arrays.copyOf(ys, 100));
+        final Integer[] zs = xs.clone();
+        selector.partialSort(zs, zs.length);
+        assertArrayEquals(sorted, zs);
+    }
+
+    @Test
+    public void testPartialSortSortedInstrumented() throws IOException {
+        // NOTE sorted input is adversarial for the (instrumented) dual-pivot partitioning of IntroSort,
+        // which must therefore switch to heap sort rather than make a quadratic number of compares.
+        final Config config = Config.load(QuickSelectTest.class);
+        final int n = 10000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>("test", n, config);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        final QuickSelect<Integer> selector = new QuickSelect<>(helper);
+        selector.partialSort(xs, n);
+        for (int i = 0; i < n; i++) assertEquals(Integer.valueOf(i), xs[i]);
+        final long compares = helper.getCompares();
+        final double nLgN = n * Math.log(n) / Math.log(2);
+        assertTrue("compares: " + compares, compares < 8 * nLgN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelectBadK() throws IOException {
+        new QuickSelect<Integer>(3, Config.load(QuickSelectTest.class)).select(new Integer[]{1, 2, 3}, 3);
+    }
+
+    private static void checkPartitioned(Integer[] xs, int k) {
+        for (int i = 0; i < k; i++) assertTrue(xs[i] <= xs[k]);
+        for (int i = k + 1; i < xs.length; i++) assertTrue(xs[i] >= xs[k]);
+    }
+
+    private static Integer[] randomIntegers(int n, int range) {
+        final Random random = new Random(n);
+        final Integer[] result = new Integer[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(range);
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package edu.neu.coe.info6205.sort.select;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.InstrumentedHelper;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TopKTest {
+
+    @Test
+    public void testSmallest() throws IOException {
+        final List<Integer> xs = randomIntegers(10000);
+        final TopK<Integer> topK = new TopK<>(100, false, new BaseHelper<Integer>("test", Config.load(TopKTest.class)));
+        topK.addAll(xs);
+        assertEquals(100, topK.size());
+        assertEquals(10000, topK.getCount());
+        final List<Integer> expected = new ArrayList<>(xs);
+        Collections.sort(expected);
+        assertEquals(expected.subList(0, 100), topK.take());
+        assertEquals(0, topK.size());
+    }
+
+    @Test
+    public void testLargest() throws IOException {
+        final List<Integer> xs = randomIntegers(10000);
+        final TopK<Integer> topK = new TopK<>(10, true, new BaseHelper<Integer>("test", Config.load(TopKTest.class)));
+        assertTrue(topK.isLargest());
+        topK.addAll(xs);
+        final List<Integer> expected = new ArrayList<>(xs);
+        expected.sort(Collections.reverseOrder());
+        assertEquals(expected.subList(0, 10), topK.take());
+    }
+
+    @Test
+    public void testFewerThanK() throws IOException {
+        final TopK<String> topK = new TopK<>(5, false, new BaseHelper<String>("test", Config.load(TopKTest.class)));
+        assertTrue(topK.add("b"));
+        assertTrue(topK.add("c"));
+        assertTrue(topK.add("a"));
+        assertEquals(3, topK.size());
+        final List<String> expected = new ArrayList<>();
+        Collections.addAll(expected, "a", "b", "c");
+        assertEquals(expected, topK.take());
+    }
+
+    @Test
+    public void testInstrumented() throws IOException {
+        // NOTE for an ascending stream, every element displaces the root of a min-PQ but none displaces the root of a max-PQ.
+        final int n = 10000;
+        final InstrumentedHelper<Integer> helper = new InstrumentedHelper<>("test", n, Config.load(TopKTest.class));
+        final TopK<Integer> smallest = new TopK<>(16, false, helper);
+        for (int i = 0; i < n; i++) assertEquals(i < 16, smallest.add(i));
+        final long compares = helper.getCompares();
+        assertTrue("compares: " + compares, compares < n + 16 * 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadK() throws IOException {
+        new TopK<Integer>(0, false, new BaseHelper<>("test", Config.load(TopKTest.class)));
+    }
+
+    private static List<Integer> randomIntegers(int n) {
+        final Random random = new Random(n);
+        final List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < n; i++) result.add(random.nextInt());
+        return result;
+    }
+}
@@ -0,0 +1,160 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BenchmarkStoreTest {
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("benchmarks", ".csv");
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    @Test
+    public void testRecordAndRead() throws IOException {
+        final BenchmarkStore store = new BenchmarkStore(file.getPath(), "abc123", new FileHandlerImpl_CSV<>());
+        store.record("MergeSort", "n=1000", new long[]{1000, 2000, 3000});
+        // NOTE the parameters contain a comma and the name a quote.
+        store.record("Sort \"x\"", "n=10, runs=2", new long[]{5, 6});
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals(BenchmarkResult.HEADER.trim(), lines.get(0));
+        final List<BenchmarkResult> results = store.read();
+        assertEquals(2, results.size());
+        final BenchmarkResult r0 = results.get(0);
+        assertEquals("MergeSort", r0.getName());
+        assertEquals("n=1000", r0.getParameters());
+        assertEquals("abc123", r0.getRevision());
+        assertEquals(BenchmarkStore.jvm(), r0.getJvm());
+        assertArrayEquals(new long[]{1000, 2000, 3000}, r0.getLaps());
+        assertEquals(0.002, r0.getLapStatistics().getMean(), 1E-12);
+        final BenchmarkResult r1 = results.get(1);
+        assertEquals("Sort \"x\"", r1.getName());
+        assertEquals("n=10, runs=2", r1.getParameters());
+        assertArrayEquals(new long[]{5, 6}, r1.getLaps());
+    }
+
+    @Test
+    public void testReadMissing() throws IOException {
+        assertTrue(new BenchmarkStore(file.getPath(), "r", new FileHandlerImpl_CSV<>()).read().isEmpty());
+    }
+
+    @Test
+    public void testCompare() throws IOException {
+        final Random random = new Random(0L);
+        final BenchmarkStore baseline = new BenchmarkStore(file.getPath(), "r1", new FileHandlerImpl_CSV<>());
+        final BenchmarkStore current = new BenchmarkStore(file.getPath(), "r2", new FileHandlerImpl_CSV<>());
+        baseline.record("A", "n=1", laps(random, 1_000_000, 30));
+        baseline.record("B", "n=1", laps(random, 1_000_000, 30));
+        baseline.record("C", "n=1", laps(random, 1_000_000, 30));
+        baseline.record("D", "n=1", laps(random, 1_000_000, 30));
+        // NOTE A is 50% slower; B is unchanged; C is 50% faster; D is 1% slower (below the threshold); only r1 has E.
+        current.record("A", "n=1", laps(random, 1_500_000, 30));
+        current.record("B", "n=1", laps(random, 1_000_000, 30));
+        current.record("C", "n=1", laps(random, 500_000, 30));
+        current.record("D", "n=1", laps(random, 1_010_000, 30));
+        baseline.record("E", "n=1", laps(random, 1_000_000, 30));
+        final List<BenchmarkStore.Comparison> comparisons = current.compare("r1", "r2", BenchmarkStore.DEFAULT_THRESHOLD);
+        assertEquals(4, comparisons.size());
+        assertTrue(comparisons.get(0).isRegression());
+        assertEquals(1.5, comparisons.get(0).getRatio(), 0.05);
+        assertFalse(comparisons.get(1).isRegression());
+        assertFalse(comparisons.get(1).isImprovement());
+        assertFalse(comparisons.get(2).isRegression());
+        assertTrue(comparisons.get(2).isImprovement());
+        assertFalse(comparisons.get(3).isRegression());
+        for (BenchmarkStore.Comparison comparison : comparisons) System.out.println(comparison);
+    }
+
+    @Test
+    public void testCompareUsesLatest() throws IOException {
+        final BenchmarkStore baseline = new BenchmarkStore(file.getPath(), "r1", new FileHandlerImpl_CSV<>());
+        final BenchmarkStore current = new BenchmarkStore(file.getPath(), "r2", new FileHandlerImpl_CSV<>());
+        baseline.record("A", "n=1", new long[]{100, 101, 99, 100});
+        current.record("A", "n=1", new long[]{200, 201, 199, 200});
+        // NOTE a later run of the current revision supersedes the earlier one.
+        current.record("A", "n=1", new long[]{100, 99, 101, 100});
+        final List<BenchmarkStore.Comparison> comparisons = current.compare("r1", "r2", 0.05);
+        assertEquals(1, comparisons.size());
+        assertFalse(comparisons.get(0).isRegression());
+    }
+
+    @Test
+    public void testCreate() throws IOException {
+        assertNull(BenchmarkStore.create(null));
+        assertNull(BenchmarkStore.create(new Config(new StringReader("[benchmarkstore]\nfile =\n"))));
+        final BenchmarkStore store = BenchmarkStore.create(new Config(new StringReader("[benchmarkstore]\nfile = " + file.getPath() + "\nrevision = v1\n")));
+        assertNotNull(store);
+        assertEquals("v1", store.getRevision());
+    }
+
+    @Test
+    public void testBenchmarkTimer() throws IOException {
+        final BenchmarkStore store = new BenchmarkStore(file.getPath(), "r", new FileHandlerImpl_CSV<>());
+        final Benchmark_Timer<int[]> bm = new Benchmark_Timer<>("sort", xs -> xs.clone(), java.util.Arrays::sort, null);
+        bm.withStore(store, "n=100").runFromSupplier(() -> new Random().ints(100).toArray(), 7);
+        final List<BenchmarkResult> results = store.read();
+        assertEquals(1, results.size());
+        assertEquals("sort (n=100)", results.get(0).getKey());
+        // NOTE the warmup runs are not recorded.
+        assertEquals(7, results.get(0).getLaps().length);
+    }
+
+    @Test
+    public void testReadLineBreakInField() throws IOException {
+        final BenchmarkStore store = new BenchmarkStore(file.getPath(), "r", new FileHandlerImpl_CSV<>());
+        store.record("Sort", "n=10\r\nruns=2", new long[]{5, 6});
+        store.record("Sort \u00e9", "n=20", new long[]{7});
+        final List<BenchmarkResult> results = store.read();
+        assertEquals(2, results.size());
+        assertEquals("n=10\r\nruns=2", results.get(0).getParameters());
+        assertArrayEquals(new long[]{5, 6}, results.get(0).getLaps());
+        // NOTE the file is written (as well as read) in UTF-8.
+        assertEquals("Sort \u00e9", results.get(1).getName());
+    }
+
+    @Test
+    public void testReadSkipsMalformedRow() throws IOException {
+        final BenchmarkStore store = new BenchmarkStore(file.getPath(), "r", new FileHandlerImpl_CSV<>());
+        store.record("A", "n=1", new long[]{1});
+        Files.write(file.toPath(), "1,a,b,c\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        store.record("B", "n=2", new long[]{2});
+        final List<BenchmarkResult> results = store.read();
+        assertEquals(2, results.size());
+        assertEquals("A", results.get(0).getName());
+        assertEquals("B", results.get(1).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseMalformed() {
+        BenchmarkResult.parse("1,a,b,c");
+    }
+
+    private static long[] laps(Random random, long mean, int n) {
+        final long[] result = new long[n];
+        for (int i = 0; i < n; i++) result[i] = mean + (long) (random.nextGaussian() * mean / 50);
+        return result;
+    }
+
+    private File file;
+}
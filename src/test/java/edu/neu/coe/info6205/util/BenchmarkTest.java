@@ -7,6 +7,8 @@ package edu.neu.coe.info6205.util;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("ALL")
 public class BenchmarkTest {
@@ -37,6 +39,50 @@ public class BenchmarkTest {
         assertEquals(200, x, 10);
     }
 
+    @Test // Slow
+    public void testMeasure() {
+        int nRuns = 5;
+        Benchmark_Timer<Boolean> bm = new Benchmark_Timer<>(
+                "testMeasure", b -> {
+            GoToSleep(10L, -1);
+            return b;
+        },
+                b -> {
+                    GoToSleep(20L, 0);
+                },
+                b -> {
+                    GoToSleep(5L, 1);
+                });
+        LapStatistics statistics = bm.measure(() -> true, nRuns, 3, 0.5, 20);
+        int warmups = statistics.getWarmups();
+        assertTrue(warmups >= 3 && warmups <= 20);
+        assertEquals(nRuns, statistics.getLaps());
+        assertEquals(nRuns, post);
+        assertEquals(nRuns + warmups, run);
+        assertEquals(nRuns + warmups, pre);
+        assertEquals(20, statistics.getMedian(), 10);
+        assertTrue(statistics.getMin() <= statistics.getMedian() && statistics.getMedian() <= statistics.getMax());
+        assertTrue(statistics.getLower() <= statistics.getMean() && statistics.getMean() <= statistics.getUpper());
+    }
+
+    @Test
+    public void testResourceUsage() {
+        Benchmark_Timer<int[]> bm = new Benchmark_Timer<int[]>(
+                "testResourceUsage", xs -> xs.clone(), xs -> {
+            run++;
+            System.arraycopy(new int[xs.length], 0, xs, 0, xs.length);
+        }, null);
+        assertNull(bm.getResourceUsage());
+        bm.withResourceUsage(true).runFromSupplier(() -> new int[1 << 16], 10);
+        ResourceUsage usage = bm.getResourceUsage();
+        // NOTE only the timed runs are accounted for.
+        assertEquals(10, usage.getRuns());
+        assertEquals(12, run);
+        if (ResourceUsage.isAllocationSupported()) assertTrue(usage.getBytesPerRun() >= 4 << 16);
+        bm.withResourceUsage(false).runFromSupplier(() -> new int[1], 2);
+        assertNull(bm.getResourceUsage());
+    }
+
     private void GoToSleep(long mSecs, int which) {
         try {
             Thread.sleep(mSecs);
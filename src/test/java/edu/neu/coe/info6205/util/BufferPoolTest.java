@@ -0,0 +1,61 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BufferPoolTest {
+
+    @Test
+    public void testAcquire() {
+        final BufferPool<String> pool = new BufferPool<>(String[]::new);
+        final String[] buffer = pool.acquire(100);
+        assertEquals(128, buffer.length);
+        assertEquals(0L, pool.getHits());
+        assertEquals(1L, pool.getMisses());
+    }
+
+    @Test
+    public void testRelease() {
+        final BufferPool<String> pool = new BufferPool<>(String[]::new);
+        final String[] buffer = pool.acquire(100);
+        pool.release(buffer);
+        // NOTE 70 rounds up to the same capacity as 100.
+        assertSame(buffer, pool.acquire(70));
+        assertEquals(1L, pool.getHits());
+        assertNotSame(buffer, pool.acquire(100));
+        assertEquals(2L, pool.getMisses());
+    }
+
+    @Test
+    public void testMaxPerCapacity() {
+        final BufferPool<String> pool = new BufferPool<>(String[]::new, 1);
+        final String[] buffer1 = pool.acquire(16);
+        final String[] buffer2 = pool.acquire(16);
+        pool.release(buffer1);
+        pool.release(buffer2);
+        assertSame(buffer1, pool.acquire(16));
+        assertNotSame(buffer2, pool.acquire(16));
+    }
+
+    @Test
+    public void testClear() {
+        final BufferPool<Integer> pool = new BufferPool<>(Integer[]::new);
+        pool.release(pool.acquire(10));
+        pool.clear();
+        pool.acquire(10);
+        assertEquals(0L, pool.getHits());
+        assertEquals("BufferPool{hits=0, misses=2}", pool.toString());
+    }
+
+    @Test
+    public void testKey() {
+        assertEquals(0, BufferPool.key(0));
+        assertEquals(0, BufferPool.key(1));
+        assertEquals(1, BufferPool.key(2));
+        assertEquals(2, BufferPool.key(3));
+        assertEquals(10, BufferPool.key(1024));
+        assertEquals(11, BufferPool.key(1025));
+        assertEquals(31, BufferPool.key(Integer.MAX_VALUE));
+    }
+}
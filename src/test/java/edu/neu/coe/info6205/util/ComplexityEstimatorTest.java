@@ -0,0 +1,99 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ComplexityEstimatorTest {
+
+    @Test
+    public void testSizes() {
+        assertArrayEquals(new int[]{250, 500, 1000, 2000}, new ComplexityEstimator<>(250, 4).sizes());
+        assertArrayEquals(new int[]{100, 150, 225}, new ComplexityEstimator<>(100, 3, 1.5, 0.1).sizes());
+    }
+
+    @Test
+    public void testLeastSquares() {
+        // NOTE y = 1 + 2x exactly.
+        final ComplexityEstimator.Fit fit = ComplexityEstimator.Fit.leastSquares(new double[]{1, 3, 5, 7}, new double[]{0, 1, 2, 3});
+        assertEquals(1, fit.getCoefficient(0), 1E-9);
+        assertEquals(2, fit.getCoefficient(1), 1E-9);
+        assertEquals(0, fit.getStandardError(1), 1E-9);
+        assertEquals(1, fit.getRSquared(), 1E-9);
+        assertEquals(2, fit.getDegreesOfFreedom());
+    }
+
+    @Test
+    public void testLeastSquaresNoisy() {
+        // NOTE y = 1 + 2x + 3z + e, with small noise e.
+        final Random random = new Random(0L);
+        final int k = 50;
+        final double[] x = new double[k], z = new double[k], y = new double[k];
+        for (int i = 0; i < k; i++) {
+            x[i] = random.nextDouble() * 10;
+            z[i] = random.nextDouble() * 10;
+            y[i] = 1 + 2 * x[i] + 3 * z[i] + random.nextGaussian() * 0.1;
+        }
+        final ComplexityEstimator.Fit fit = ComplexityEstimator.Fit.leastSquares(y, x, z);
+        assertEquals(2, fit.getCoefficient(1), 0.02);
+        assertEquals(3, fit.getCoefficient(2), 0.02);
+        assertTrue(fit.getLower(1) < 2 && 2 < fit.getUpper(1));
+        assertTrue(fit.getLower(2) < 3 && 3 < fit.getUpper(2));
+        assertEquals(k - 3, fit.getDegreesOfFreedom());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCollinear() {
+        ComplexityEstimator.Fit.leastSquares(new double[]{1, 2, 3}, new double[]{1, 2, 3}, new double[]{2, 4, 6});
+    }
+
+    @Test
+    public void testQuadratic() {
+        final int[] sizes = {1000, 2000, 4000, 8000, 16000};
+        final double[] times = new double[sizes.length];
+        final Random random = new Random(1L);
+        for (int i = 0; i < sizes.length; i++) times[i] = 1E-6 * sizes[i] * sizes[i] * (1 + random.nextGaussian() * 0.02);
+        final ComplexityEstimator.Report quadratic = new ComplexityEstimator.Report(sizes, times, 2, 0, 0.1);
+        assertEquals(2, quadratic.getPowerLaw().getCoefficient(1), 0.05);
+        assertFalse(quadratic.isDeviant());
+        // NOTE an (accidentally) quadratic algorithm, expected to be linearithmic.
+        final ComplexityEstimator.Report linearithmic = new ComplexityEstimator.Report(sizes, times, 1, 1, 0.1);
+        assertTrue(linearithmic.isDeviant());
+        assertTrue(linearithmic.getDeviation().getCoefficient(1) > 0.5);
+        System.out.println(linearithmic);
+    }
+
+    @Test
+    public void testLinearithmic() {
+        final int[] sizes = {1 << 10, 1 << 12, 1 << 14, 1 << 16, 1 << 18, 1 << 20};
+        final double[] times = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) times[i] = 1E-5 * sizes[i] * Math.log(sizes[i]);
+        final ComplexityEstimator.Report report = new ComplexityEstimator.Report(sizes, times, 1, 1, 0.1);
+        assertFalse(report.isDeviant());
+        // NOTE a pure power law overestimates the exponent of n log n.
+        assertTrue(report.getPowerLaw().getCoefficient(1) > 1);
+        assertEquals(1, report.getLogPowerLaw().getCoefficient(1), 1E-6);
+        assertEquals(1, report.getLogPowerLaw().getCoefficient(2), 1E-6);
+        assertEquals(0, report.getDeviation().getCoefficient(1), 1E-9);
+    }
+
+    @Test
+    public void testEstimate() {
+        // NOTE a Benchmark whose time is exactly cubic in the size of its input.
+        final Benchmark<Integer> benchmark = (supplier, m) -> {
+            final double n = supplier.get();
+            return 1E-9 * n * n * n;
+        };
+        final ComplexityEstimator.Report report = new ComplexityEstimator<Integer>(100, 4).estimate(benchmark, n -> () -> n, n -> 1, 3, 0);
+        assertEquals(3, report.getPowerLaw().getCoefficient(1), 1E-9);
+        assertFalse(report.isDeviant());
+        assertTrue(report.toString().contains("consistent"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewSizes() {
+        new ComplexityEstimator.Report(new int[]{1, 2}, new double[]{1, 2}, 1, 0, 0.1);
+    }
+}
@@ -0,0 +1,69 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LapStatisticsTest {
+
+    @Test
+    public void testPercentiles() {
+        // NOTE lap times of 1..100 ms, given out of order.
+        final long[] ticks = new long[100];
+        for (int i = 0; i < ticks.length; i++) ticks[i] = (long) ((i * 37) % 100 + 1) * 1_000_000;
+        final LapStatistics statistics = new LapStatistics(ticks, 7);
+        assertEquals(100, statistics.getLaps());
+        assertEquals(7, statistics.getWarmups());
+        assertEquals(1, statistics.getMin(), 1E-9);
+        assertEquals(50, statistics.getMedian(), 1E-9);
+        assertEquals(90, statistics.getP90(), 1E-9);
+        assertEquals(99, statistics.getP99(), 1E-9);
+        assertEquals(100, statistics.getMax(), 1E-9);
+        assertEquals(50.5, statistics.getMean(), 1E-9);
+        // NOTE the given ticks are not modified.
+        assertEquals(1_000_000, ticks[0]);
+    }
+
+    @Test
+    public void testConfidenceInterval() {
+        final long[] ticks = {2_000_000, 4_000_000, 4_000_000, 4_000_000, 5_000_000, 5_000_000, 7_000_000, 9_000_000};
+        final LapStatistics statistics = new LapStatistics(ticks, 0);
+        assertEquals(5, statistics.getMean(), 1E-9);
+        // NOTE the sample standard deviation is sqrt(32/7).
+        assertEquals(Math.sqrt(32.0 / 7), statistics.getStdDev(), 1E-9);
+        final double halfWidth = 2.365 * Math.sqrt(32.0 / 7) / Math.sqrt(8);
+        assertEquals(halfWidth, statistics.getConfidenceHalfWidth(), 1E-9);
+        assertEquals(5 - halfWidth, statistics.getLower(), 1E-9);
+        assertEquals(5 + halfWidth, statistics.getUpper(), 1E-9);
+        assertEquals(Math.sqrt(32.0 / 7) / 5, statistics.getCoefficientOfVariation(), 1E-9);
+    }
+
+    @Test
+    public void testTQuantile() {
+        assertEquals(12.706, LapStatistics.tQuantile(1), 1E-9);
+        assertEquals(2.042, LapStatistics.tQuantile(30), 1E-9);
+        assertEquals(2.021, LapStatistics.tQuantile(40), 0.0005);
+        assertEquals(1.984, LapStatistics.tQuantile(100), 0.0005);
+    }
+
+    @Test
+    public void testCoefficientOfVariation() {
+        final long[] ticks = {100, 1, 10, 10, 10, 10};
+        assertEquals(0, LapStatistics.coefficientOfVariation(ticks, 2, 6), 1E-9);
+        assertEquals(0, LapStatistics.coefficientOfVariation(ticks, 0, 1), 1E-9);
+        assertEquals(Math.sqrt(40.5) / 5.5, LapStatistics.coefficientOfVariation(ticks, 1, 3), 1E-9);
+    }
+
+    @Test
+    public void testEmpty() {
+        final LapStatistics statistics = new LapStatistics(new long[0], 0);
+        assertEquals(0, statistics.getLaps());
+        assertEquals(0, statistics.getMedian(), 0);
+        assertEquals(0, statistics.getConfidenceHalfWidth(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadPercentile() {
+        new LapStatistics(new long[]{1}, 0).getPercentile(101);
+    }
+}
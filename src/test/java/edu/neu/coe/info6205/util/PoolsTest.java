@@ -0,0 +1,25 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class PoolsTest {
+
+    @Test
+    public void testGetPool() {
+        assertSame(Pools.getPool(3), Pools.getPool(3));
+        assertEquals(3, Pools.getPool(3).getParallelism());
+        assertSame(ForkJoinPool.commonPool(), Pools.getPool(0));
+        assertSame(ForkJoinPool.commonPool(), Pools.getPool(-1));
+    }
+
+    @Test
+    public void testDaemon() {
+        final Thread thread = Pools.getPool(2).submit(Thread::currentThread).join();
+        assertTrue(thread.isDaemon());
+        assertTrue(thread.getName().startsWith("pool-2-worker-"));
+    }
+}
@@ -0,0 +1,59 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ResourceUsageTest {
+
+    @Test
+    public void testAllocation() {
+        final ResourceUsage usage = new ResourceUsage();
+        for (int i = 0; i < 4; i++) {
+            usage.begin();
+            sink = new long[1 << 17];
+            usage.end();
+        }
+        assertEquals(4, usage.getRuns());
+        if (ResourceUsage.isAllocationSupported()) {
+            // NOTE each run allocates (at least) a 1 MB array.
+            assertTrue(usage.getBytesPerRun() >= 8 << 17);
+            assertTrue(usage.getAllocatedBytes() >= 4 * (8 << 17));
+        } else assertEquals(-1, usage.getAllocatedBytes());
+    }
+
+    @Test
+    public void testCpuAndWall() throws InterruptedException {
+        final ResourceUsage usage = new ResourceUsage();
+        usage.begin();
+        Thread.sleep(50);
+        usage.end();
+        assertEquals(50, usage.getWallMillisPerRun(), 40);
+        if (ResourceUsage.isCpuTimeSupported()) {
+            // NOTE a sleeping thread uses (almost) no CPU.
+            assertTrue(usage.getCpuMillisPerRun() < usage.getWallMillisPerRun());
+            assertTrue(usage.getCpuUtilization() < 0.5);
+        } else assertEquals(-1, usage.getCpuUtilization(), 0);
+    }
+
+    @Test
+    public void testGc() {
+        final ResourceUsage usage = new ResourceUsage();
+        usage.begin();
+        System.gc();
+        usage.end();
+        assertTrue(usage.getGcCount() >= 0);
+        assertTrue(usage.getGcMillis() >= 0);
+        System.out.println(usage);
+    }
+
+    @Test
+    public void testEmpty() {
+        final ResourceUsage usage = new ResourceUsage();
+        assertEquals(0, usage.getRuns());
+        assertEquals(0, usage.getWallMillisPerRun(), 0);
+        assertEquals(0, usage.getGcCount());
+    }
+
+    private static long[] sink;
+}
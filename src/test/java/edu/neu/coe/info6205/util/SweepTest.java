@@ -0,0 +1,101 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SweepTest {
+
+    /**
+     * A Point whose value is least at x=3, y=a.
+     */
+    public static class Parabola implements Sweep.Point {
+        @Override
+        public double measure(Map<String, String> parameters) {
+            final double x = Double.parseDouble(parameters.get("x"));
+            if (x < 0) throw new IllegalArgumentException("negative x");
+            return (x - 3) * (x - 3) + (parameters.get("y").equals("a") ? 0 : 1);
+        }
+    }
+
+    @Test
+    public void testPoints() {
+        final Map<String, List<String>> grid = new LinkedHashMap<>();
+        grid.put("x", Arrays.asList("1", "2", "3"));
+        grid.put("y", Arrays.asList("a", "b"));
+        final List<Map<String, String>> points = new Sweep(Parabola.class.getName(), grid, false, 1, false, Collections.emptyList()).points();
+        assertEquals(6, points.size());
+        assertEquals("{x=1, y=a}", points.get(0).toString());
+        assertEquals("{x=1, y=b}", points.get(1).toString());
+        assertEquals("{x=3, y=b}", points.get(5).toString());
+    }
+
+    @Test
+    public void testRunInProcess() throws IOException {
+        final Config config = new Config(new StringReader("[sweep]\npoint = " + Parabola.class.getName() + "\nfork = false\nparallel = 2\nparam.x = -1, 1, 2, 3, 4\nparam.y = a, b\n"));
+        final Sweep.Table table = new Sweep(config, "sweep").run();
+        final List<Sweep.Result> results = table.getResults();
+        assertEquals(10, results.size());
+        // NOTE results are in grid order, regardless of parallelism.
+        assertEquals("{x=-1, y=a}", results.get(0).getParameters().toString());
+        assertFalse(results.get(0).isOK());
+        assertEquals("negative x", results.get(0).getError());
+        assertEquals(1.0, results.get(4).getValue(), 0);
+        final Sweep.Result best = table.best();
+        assertEquals("{x=3, y=a}", best.getParameters().toString());
+        assertEquals(0.0, best.getValue(), 0);
+        System.out.println(table);
+    }
+
+    @Test
+    public void testRunForked() {
+        final Map<String, List<String>> grid = new LinkedHashMap<>();
+        grid.put("x", Arrays.asList("-2", "2", "3"));
+        grid.put("y", Collections.singletonList("a"));
+        final Sweep.Table table = new Sweep(Parabola.class.getName(), grid, true, 1, true, Collections.singletonList("-Xmx64m")).run();
+        final List<Sweep.Result> results = table.getResults();
+        assertEquals(3, results.size());
+        // NOTE the exception in the forked JVM is reported as a failure of that point only.
+        assertFalse(results.get(0).isOK());
+        assertEquals(1.0, results.get(1).getValue(), 0);
+        assertEquals("{x=3, y=a}", table.best().getParameters().toString());
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        final Map<String, List<String>> grid = new LinkedHashMap<>();
+        grid.put("x", Arrays.asList("2", "3"));
+        grid.put("y", Collections.singletonList("b"));
+        final Sweep.Table table = new Sweep(Parabola.class.getName(), grid, false, 1, false, Collections.emptyList()).run();
+        final File file = File.createTempFile("sweep", ".csv");
+        try {
+            assertTrue(table.write(file.getPath()));
+            assertEquals(Arrays.asList("x,y,value", "2,b,2.0", "3,b,1.0"), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAffinityTooParallel() {
+        // NOTE the CPU sets of more slots than processors cannot be disjoint.
+        new Sweep(Parabola.class.getName(), Collections.emptyMap(), true, Runtime.getRuntime().availableProcessors() + 1, true, Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingPoint() throws IOException {
+        new Sweep(new Config(new StringReader("[sweep]\nparam.x = 1\n")), "sweep");
+    }
+}
@@ -174,6 +174,88 @@ public class TimerTest {
         assertEquals(40, result);
     }
 
+    @Test
+    public void testRepeatSuppliesOnce() {
+        final Timer timer = new Timer();
+        final int[] supplied = {0};
+        timer.repeat(10, () -> supplied[0]++, t -> {
+            GoToSleep(1, 0);
+            return null;
+        }, t -> {
+            GoToSleep(0, -1);
+            return t;
+        }, null);
+        // NOTE the supplier must be invoked exactly once per lap, even when there is a pre-function.
+        assertEquals(10, supplied[0]);
+        assertEquals(10, pre);
+    }
+
+    @Test
+    public void testLapStatistics() {
+        final Timer timer = new Timer();
+        GoToSleep(HUNDREDTH, 0);
+        timer.lap();
+        GoToSleep(HUNDREDTH, 0);
+        timer.pause();
+        GoToSleep(TENTH, 0);
+        timer.resume();
+        GoToSleep(2 * HUNDREDTH, 0);
+        timer.stop();
+        final LapStatistics statistics = timer.lapStatistics();
+        assertEquals(2, statistics.getLaps());
+        // NOTE the paused time is not included in the second lap.
+        assertEquals(HUNDREDTH, statistics.getMin(), 6);
+        assertEquals(3 * HUNDREDTH, statistics.getMax(), 6);
+        assertEquals(timer.meanLapTime(), statistics.getMean(), 1E-9);
+    }
+
+    @Test
+    public void testRepeatAfterDelay() {
+        final Timer timer = new Timer();
+        GoToSleep(5 * HUNDREDTH, -1);
+        timer.repeat(5, () -> null, t -> {
+            GoToSleep(1, 0);
+            return null;
+        });
+        final long[] laps = timer.getLapTicks();
+        assertEquals(5, laps.length);
+        // NOTE the time which elapsed before repeat is not part of the first lap.
+        assertTrue(laps[0] < 2 * HUNDREDTH * 1_000_000L);
+        assertEquals(5, run);
+    }
+
+    @Test
+    public void testRepeatMeanAgreesWithLapStatistics() {
+        final Timer timer = new Timer();
+        GoToSleep(5 * HUNDREDTH, -1);
+        final double mean = timer.repeat(5, () -> null, t -> {
+            GoToSleep(HUNDREDTH, 0);
+            return null;
+        });
+        // NOTE the mean returned by repeat and the mean of the lap statistics derive from the same ticks.
+        assertEquals(mean, timer.lapStatistics().getMean(), 1E-9);
+        assertEquals(5, run);
+    }
+
+    @Test
+    public void testRepeatUntilSteady() {
+        final Timer timer = new Timer();
+        // NOTE constant work is steady after the first window.
+        final int runs = timer.repeatUntilSteady(() -> HUNDREDTH, t -> {
+            GoToSleep(t, 0);
+            return null;
+        }, null, 5, 0.5, 2, 50);
+        assertEquals(5, runs);
+        assertEquals(5, run);
+        assertTrue((Boolean) new PrivateMethodTester(timer).invokePrivate("isRunning"));
+        // NOTE never steady: the limit applies.
+        final int limited = new Timer().repeatUntilSteady(() -> null, t -> {
+            GoToSleep(run % 2 == 0 ? 1 : 2 * HUNDREDTH, 0);
+            return null;
+        }, null, 4, 0.01, 2, 12);
+        assertEquals(12, limited);
+    }
+
     int pre = 0;
     int run = 0;
     int post = 0;